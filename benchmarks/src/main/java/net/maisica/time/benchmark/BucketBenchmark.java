@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.TimeBucketer;
+import net.maisica.time.span.InstantSpan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares locating the 15-minute bucket of events in a day with {@link TimeBucketer} and with scanning quantized buckets, reported per event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BucketBenchmark {
+
+    private static final int EVENTS = 100000;
+
+    private final InstantSpan day = InstantSpan.parse("2016-01-01T00:00:00Z/PT24H");
+    private final Duration step = Duration.ofMinutes(15L);
+    private final TimeBucketer<Instant> bucketer = TimeBucketer.of(day, step);
+    private final List<InstantInterval> buckets = day.quantize(step).map(s -> InstantInterval.of(s, step)).collect(Collectors.toList());
+    private final long[] millis = new long[EVENTS];
+    private final Instant[] instants = new Instant[EVENTS];
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        final long start = day.getStart().toEpochMilli();
+        for (int i = 0; i < EVENTS; i++) {
+            millis[i] = start + (long) (random.nextDouble() * 86400000L);
+            instants[i] = Instant.ofEpochMilli(millis[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long scanQuantized() {
+        long sum = 0L;
+        for (final Instant instant : instants) {
+            for (int b = 0; b < buckets.size(); b++) {
+                if (buckets.get(b).contains(instant)) {
+                    sum += b;
+                    break;
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long bucketIndexInstant() {
+        long sum = 0L;
+        for (final Instant instant : instants) {
+            sum += bucketer.bucketIndex(instant);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long bucketIndexEpochMilli() {
+        long sum = 0L;
+        for (final long milli : millis) {
+            sum += bucketer.bucketIndex(milli);
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.BusinessCalendar;
+import net.maisica.time.interval.DateTimeInterval;
+import net.maisica.time.interval.DayOfWeekInterval;
+import net.maisica.time.interval.Recurrence;
+import net.maisica.time.interval.TimeInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares working time within an interval and added to a date-time through a {@link BusinessCalendar} and by stepping the interval minute by minute.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BusinessCalendarBenchmark {
+
+    private static final Duration MINUTE = Duration.ofMinutes(1L);
+
+    @Param({"7", "90"})
+    public int days;
+
+    private final List<LocalDate> holidays = Arrays.asList(LocalDate.parse("2016-01-01"), LocalDate.parse("2016-01-06"), LocalDate.parse("2016-03-28"),
+            LocalDate.parse("2016-05-03"), LocalDate.parse("2016-05-26"), LocalDate.parse("2016-08-15"), LocalDate.parse("2016-11-01"),
+            LocalDate.parse("2016-11-11"), LocalDate.parse("2016-12-26"));
+    private final Recurrence schedule = Recurrence.weekly(DayOfWeekInterval.parse("MONDAY/SATURDAY"), TimeInterval.parse("08:00/16:00"));
+    private BusinessCalendar calendar;
+    private DateTimeInterval interval;
+    private Duration amount;
+
+    @Setup
+    public void setup() {
+        calendar = BusinessCalendar.of(schedule, holidays);
+        interval = DateTimeInterval.of(LocalDateTime.parse("2016-04-27T10:30"), LocalDateTime.parse("2016-04-27T10:30").plusDays(days));
+        amount = calendar.workingDuration(interval);
+    }
+
+    @Benchmark
+    public Duration streamWorkingDuration() {
+        return MINUTE.multipliedBy(interval.stream(MINUTE).filter(this::isWorking).count());
+    }
+
+    @Benchmark
+    public Duration workingDuration() {
+        return calendar.workingDuration(interval);
+    }
+
+    @Benchmark
+    public LocalDateTime streamPlusWorking() {
+        final long minutes = amount.toMinutes();
+        long count = 0L;
+        LocalDateTime dateTime = interval.getStart();
+        while (count < minutes) {
+            if (isWorking(dateTime)) {
+                count++;
+            }
+            dateTime = dateTime.plus(MINUTE);
+        }
+        return dateTime;
+    }
+
+    @Benchmark
+    public LocalDateTime plusWorking() {
+        return calendar.plusWorking(interval.getStart(), amount);
+    }
+
+    private boolean isWorking(final LocalDateTime dateTime) {
+        return schedule.isActive(dateTime) && !holidays.contains(dateTime.toLocalDate());
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.Interval;
+import net.maisica.time.interval.IntervalCollectors;
+import net.maisica.time.interval.IntervalFactory;
+import net.maisica.time.interval.IntervalSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link IntervalCollectors} with reducing through {@link Interval#join(Interval)} and with collecting to a list first, on 100000 random intervals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectorBenchmark {
+
+    private static final int SIZE = 100000;
+
+    private final IntervalFactory<Instant, InstantInterval> factory = InstantInterval::of;
+    private final List<InstantInterval> intervals = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < SIZE; i++) {
+            final Instant start = Instant.ofEpochSecond(random.nextInt(100000000), random.nextInt(1000) * 1000000L);
+            intervals.add(InstantInterval.of(start, start.plusMillis(random.nextInt(1000000))));
+        }
+    }
+
+    @Benchmark
+    public Interval<Instant> reduceJoin() {
+        return intervals.stream().map(i -> (Interval<Instant>) i).reduce(Interval::join).orElse(null);
+    }
+
+    @Benchmark
+    public InstantInterval bounding() {
+        return intervals.stream().collect(IntervalCollectors.bounding(factory));
+    }
+
+    @Benchmark
+    public InstantInterval parallelBounding() {
+        return intervals.parallelStream().collect(IntervalCollectors.bounding(factory));
+    }
+
+    @Benchmark
+    public IntervalSet<Instant, InstantInterval> listToIntervalSet() {
+        return IntervalSet.of(factory, intervals.stream().collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public IntervalSet<Instant, InstantInterval> toIntervalSet() {
+        return intervals.stream().collect(IntervalCollectors.toIntervalSet(factory));
+    }
+
+    @Benchmark
+    public IntervalSet<Instant, InstantInterval> parallelToIntervalSet() {
+        return intervals.parallelStream().collect(IntervalCollectors.toIntervalSet(factory));
+    }
+
+    @Benchmark
+    public Duration reduceDuration() {
+        return intervals.stream().map(InstantInterval::toDuration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    @Benchmark
+    public Duration totalDuration() {
+        return intervals.stream().collect(IntervalCollectors.totalDuration());
+    }
+
+    @Benchmark
+    public Duration parallelTotalDuration() {
+        return intervals.parallelStream().collect(IntervalCollectors.totalDuration());
+    }
+
+}
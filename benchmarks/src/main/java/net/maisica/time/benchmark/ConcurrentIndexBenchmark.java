@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.ConcurrentIntervalIndex;
+import net.maisica.time.interval.DateTimeInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares conflict-checked reservations through a {@link ConcurrentIntervalIndex} and through a list under a global lock, from four threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentIndexBenchmark {
+
+    private static final int RESERVATIONS = 10000;
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2016, 1, 1, 0, 0);
+    private static final int MINUTES = 366 * 24 * 60;
+
+    private final ConcurrentIntervalIndex<LocalDateTime, DateTimeInterval> index = new ConcurrentIntervalIndex<>(Duration.ofHours(1L));
+    private final List<DateTimeInterval> list = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        while (index.size() < RESERVATIONS) {
+            final DateTimeInterval interval = reservation(random.nextInt(MINUTES), random.nextInt(120));
+            if (index.tryInsertIfNoOverlap(interval)) {
+                list.add(interval);
+            }
+        }
+    }
+
+    private static DateTimeInterval reservation(final int minute, final int length) {
+        final LocalDateTime start = ORIGIN.plusMinutes(minute);
+        return DateTimeInterval.of(start, start.plusMinutes(15L + length));
+    }
+
+    @Benchmark
+    public boolean lockedList() {
+        final DateTimeInterval interval = reservation(ThreadLocalRandom.current().nextInt(MINUTES), ThreadLocalRandom.current().nextInt(120));
+        synchronized (list) {
+            for (final DateTimeInterval reserved : list) {
+                if (reserved.overlaps(interval)) {
+                    return false;
+                }
+            }
+            list.add(interval);
+            list.remove(list.size() - 1);
+            return true;
+        }
+    }
+
+    @Benchmark
+    public boolean concurrentIndex() {
+        final DateTimeInterval interval = reservation(ThreadLocalRandom.current().nextInt(MINUTES), ThreadLocalRandom.current().nextInt(120));
+        if (index.tryInsertIfNoOverlap(interval)) {
+            return index.remove(interval);
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.DateInterval;
+import net.maisica.time.interval.DateSet;
+import net.maisica.time.interval.IntervalFactory;
+import net.maisica.time.interval.IntervalSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares set operations over the booked nights of many properties as {@link DateSet}s and as {@link IntervalSet}s of date intervals, reported per
+ * property.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateSetBenchmark {
+
+    private static final int PROPERTIES = 1000;
+
+    private final IntervalFactory<LocalDate, DateInterval> factory = DateInterval::of;
+    private final List<IntervalSet<LocalDate, DateInterval>> intervalSets = new ArrayList<>();
+    private final List<DateSet> dateSets = new ArrayList<>();
+    private IntervalSet<LocalDate, DateInterval> intervalWeekends;
+    private DateSet dateWeekends;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        final LocalDate start = LocalDate.of(2016, 1, 1);
+        for (int i = 0; i < PROPERTIES; i++) {
+            final List<DateInterval> bookings = new ArrayList<>();
+            LocalDate date = start.plusDays(random.nextInt(7));
+            while (date.getYear() < 2018) {
+                final LocalDate end = date.plusDays(1 + random.nextInt(14));
+                bookings.add(DateInterval.of(date, end));
+                date = end.plusDays(random.nextInt(10));
+            }
+            intervalSets.add(IntervalSet.of(factory, bookings));
+            dateSets.add(DateSet.of(bookings));
+        }
+        final List<DateInterval> weekends = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(2016, 1, 2); date.getYear() < 2018; date = date.plusWeeks(1)) {
+            weekends.add(DateInterval.of(date, date.plusDays(2)));
+        }
+        intervalWeekends = IntervalSet.of(factory, weekends);
+        dateWeekends = DateSet.of(weekends);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPERTIES)
+    public long intervalSetWeekendNights() {
+        long count = 0L;
+        for (final IntervalSet<LocalDate, DateInterval> set : intervalSets) {
+            count += set.intersection(intervalWeekends).length(ChronoUnit.DAYS);
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPERTIES)
+    public long dateSetWeekendNights() {
+        long count = 0L;
+        for (final DateSet set : dateSets) {
+            count += set.intersection(dateWeekends).cardinality();
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPERTIES)
+    public long intervalSetFreeNights() {
+        long count = 0L;
+        for (final IntervalSet<LocalDate, DateInterval> set : intervalSets) {
+            count += intervalWeekends.difference(set).length(ChronoUnit.DAYS);
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPERTIES)
+    public long dateSetFreeNights() {
+        long count = 0L;
+        for (final DateSet set : dateSets) {
+            count += dateWeekends.difference(set).cardinality();
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPERTIES)
+    public int intervalSetOccupancy() {
+        IntervalSet<LocalDate, DateInterval> result = IntervalSet.empty(factory);
+        for (final IntervalSet<LocalDate, DateInterval> set : intervalSets) {
+            result = result.union(set);
+        }
+        return result.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROPERTIES)
+    public boolean dateSetOccupancy() {
+        DateSet result = DateSet.empty();
+        for (final DateSet set : dateSets) {
+            result = result.union(set);
+        }
+        return result.isEmpty();
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.AbstractInterval;
+import net.maisica.time.span.AbstractSpan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares formatting of every concrete interval and span type through {@code appendTo} with the former string concatenation.
+ * <p>
+ * The setup of each state fails unless both produce identical text for the sample.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    @State(Scope.Thread)
+    public static class IntervalState {
+
+        @Param
+        private IntervalSample sample;
+
+        private AbstractInterval<?, ?> interval;
+        private final StringBuilder builder = new StringBuilder(128);
+
+        @Setup
+        public void setup() {
+            interval = (AbstractInterval<?, ?>) sample.parse(sample.getFirst());
+            verify(concat(interval), interval.toString(), interval.appendTo(new StringBuilder()));
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class SpanState {
+
+        @Param
+        private SpanSample sample;
+
+        private AbstractSpan<?, ?> span;
+        private final StringBuilder builder = new StringBuilder(128);
+
+        @Setup
+        public void setup() {
+            span = (AbstractSpan<?, ?>) sample.parse(sample.getText());
+            verify(concat(span), span.toString(), span.appendTo(new StringBuilder()));
+        }
+
+    }
+
+    private static String concat(final AbstractInterval<?, ?> interval) {
+        return interval.getStart().toString() + '/' + interval.getEnd().toString();
+    }
+
+    private static String concat(final AbstractSpan<?, ?> span) {
+        return span.getStart().toString() + '/' + span.getDuration().toString();
+    }
+
+    private static void verify(final String expected, final String text, final CharSequence appended) {
+        if (!expected.equals(text) || !expected.contentEquals(appended)) {
+            throw new IllegalStateException("format mismatch, expected " + expected + " but was " + text + " and " + appended);
+        }
+    }
+
+    @Benchmark
+    public String concatInterval(final IntervalState state) {
+        return concat(state.interval);
+    }
+
+    @Benchmark
+    public String toStringInterval(final IntervalState state) {
+        return state.interval.toString();
+    }
+
+    @Benchmark
+    public StringBuilder appendInterval(final IntervalState state) {
+        state.builder.setLength(0);
+        return state.interval.appendTo(state.builder);
+    }
+
+    @Benchmark
+    public String concatSpan(final SpanState state) {
+        return concat(state.span);
+    }
+
+    @Benchmark
+    public String toStringSpan(final SpanState state) {
+        return state.span.toString();
+    }
+
+    @Benchmark
+    public StringBuilder appendSpan(final SpanState state) {
+        state.builder.setLength(0);
+        return state.span.appendTo(state.builder);
+    }
+
+}
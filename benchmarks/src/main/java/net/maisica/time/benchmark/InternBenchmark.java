@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.DateInterval;
+import net.maisica.time.interval.IntervalInterner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares creating equal day intervals with obtaining them from an interner, and comparing new with canonical instances.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InternBenchmark {
+
+    private static final int DAYS = 365;
+    private static final int ROWS = 10000;
+
+    private final IntervalInterner<LocalDate, DateInterval> interner = IntervalInterner.of(DateInterval::of);
+    private final LocalDate[] starts = new LocalDate[DAYS + 1];
+    private final DateInterval[] created = new DateInterval[ROWS];
+    private final DateInterval[] interned = new DateInterval[ROWS];
+
+    @Setup
+    public void setup() {
+        for (int day = 0; day <= DAYS; day++) {
+            starts[day] = LocalDate.of(2016, 1, 1).plusDays(day);
+        }
+        for (int row = 0; row < ROWS; row++) {
+            created[row] = create();
+            interned[row] = intern();
+        }
+    }
+
+    private int day;
+
+    private DateInterval create() {
+        day = (day + 7) % DAYS;
+        return DateInterval.of(LocalDate.ofEpochDay(starts[day].toEpochDay()), LocalDate.ofEpochDay(starts[day + 1].toEpochDay()));
+    }
+
+    private DateInterval intern() {
+        day = (day + 7) % DAYS;
+        return interner.createInterval(LocalDate.ofEpochDay(starts[day].toEpochDay()), LocalDate.ofEpochDay(starts[day + 1].toEpochDay()));
+    }
+
+    @Benchmark
+    public DateInterval[] createRows() {
+        final DateInterval[] rows = new DateInterval[ROWS];
+        for (int row = 0; row < ROWS; row++) {
+            rows[row] = create();
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public DateInterval[] internRows() {
+        final DateInterval[] rows = new DateInterval[ROWS];
+        for (int row = 0; row < ROWS; row++) {
+            rows[row] = intern();
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public int equalsCreated() {
+        int count = 0;
+        for (int row = 0; row < ROWS; row++) {
+            if (created[row].equals(created[(row + 52) % ROWS])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int equalsInterned() {
+        int count = 0;
+        for (int row = 0; row < ROWS; row++) {
+            if (interned[row].equals(interned[(row + 52) % ROWS])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.Interval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the interval algebra of every concrete interval type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class IntervalAlgebraBenchmark {
+
+    @Param
+    private IntervalSample sample;
+
+    private Interval first;
+    private Interval overlapping;
+    private Interval following;
+    private Comparable point;
+
+    @Setup
+    public void setup() {
+        first = sample.parse(sample.getFirst());
+        overlapping = sample.parse(sample.getOverlapping());
+        following = sample.parse(sample.getFollowing());
+        point = overlapping.getStart();
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return first.contains(point);
+    }
+
+    @Benchmark
+    public boolean encloses() {
+        return first.encloses(overlapping);
+    }
+
+    @Benchmark
+    public boolean abuts() {
+        return first.abuts(following);
+    }
+
+    @Benchmark
+    public boolean overlaps() {
+        return first.overlaps(overlapping);
+    }
+
+    @Benchmark
+    public Interval overlap() {
+        return first.overlap(overlapping);
+    }
+
+    @Benchmark
+    public Interval gap() {
+        return first.gap(following);
+    }
+
+    @Benchmark
+    public Interval join() {
+        return first.join(following);
+    }
+
+}
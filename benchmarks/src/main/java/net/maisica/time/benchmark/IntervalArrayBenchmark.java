@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.InstantIntervalArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the columnar bulk kernels with iterating a list of intervals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalArrayBenchmark {
+
+    private static final long DAY_MILLIS = 24L * 3600L * 1000L;
+
+    @Param({"1000000"})
+    private int size;
+
+    private final List<InstantInterval> list = new ArrayList<>();
+    private final InstantIntervalArray array = new InstantIntervalArray();
+    private InstantInterval query;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < size; i++) {
+            final long start = (long) (random.nextDouble() * 365L * DAY_MILLIS);
+            final InstantInterval interval = InstantInterval.ofEpochMillis(start, start + (long) (random.nextDouble() * DAY_MILLIS));
+            list.add(interval);
+            array.add(interval);
+        }
+        query = InstantInterval.ofEpochMillis(100L * DAY_MILLIS, 101L * DAY_MILLIS);
+    }
+
+    @Benchmark
+    public int countOverlappingList() {
+        int count = 0;
+        for (final InstantInterval interval : list) {
+            if (interval.overlaps(query)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countOverlappingArray() {
+        return array.countOverlapping(query);
+    }
+
+    @Benchmark
+    public BitSet containingList() {
+        final BitSet result = new BitSet(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).contains(query.getStart())) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public BitSet containingArray() {
+        return array.containing(query.getStart());
+    }
+
+    @Benchmark
+    public Duration totalDurationList() {
+        Duration result = Duration.ZERO;
+        for (final InstantInterval interval : list) {
+            result = result.plus(interval.toDuration());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Duration totalDurationArray() {
+        return array.totalDuration();
+    }
+
+}
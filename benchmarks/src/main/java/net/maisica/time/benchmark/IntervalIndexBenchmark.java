@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.IntervalIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares overlap and stabbing queries against an interval index with a linear scan over the same intervals.
+ * <p>
+ * Intervals are one minute to one hour long and spread uniformly over one year.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalIndexBenchmark {
+
+    private static final long YEAR_MILLIS = 365L * 24L * 3600L * 1000L;
+    private static final long HOUR_MILLIS = 3600L * 1000L;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private final List<InstantInterval> list = new ArrayList<>();
+    private final IntervalIndex<Instant, InstantInterval> index = new IntervalIndex<>();
+    private InstantInterval[] queries;
+    private int next;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < size; i++) {
+            final long start = (long) (random.nextDouble() * YEAR_MILLIS);
+            final InstantInterval interval = InstantInterval.ofEpochMillis(start, start + 60000L + (long) (random.nextDouble() * HOUR_MILLIS));
+            list.add(interval);
+            index.add(interval);
+        }
+        queries = new InstantInterval[1024];
+        for (int i = 0; i < queries.length; i++) {
+            final long start = (long) (random.nextDouble() * YEAR_MILLIS);
+            queries[i] = InstantInterval.ofEpochMillis(start, start + HOUR_MILLIS);
+        }
+    }
+
+    private InstantInterval nextQuery() {
+        return queries[next++ & (queries.length - 1)];
+    }
+
+    @Benchmark
+    public void overlappingIndex(final Blackhole blackhole) {
+        index.forEachOverlapping(nextQuery(), blackhole::consume);
+    }
+
+    @Benchmark
+    public void overlappingScan(final Blackhole blackhole) {
+        final InstantInterval query = nextQuery();
+        for (final InstantInterval interval : list) {
+            if (interval.overlaps(query)) {
+                blackhole.consume(interval);
+            }
+        }
+    }
+
+    @Benchmark
+    public void containingIndex(final Blackhole blackhole) {
+        index.forEachContaining(nextQuery().getStart(), blackhole::consume);
+    }
+
+    @Benchmark
+    public InstantInterval successor() {
+        return index.successor(nextQuery().getStart());
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import net.maisica.time.format.IntervalReader;
+import net.maisica.time.interval.DateTimeInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading a file of intervals through {@link IntervalReader} with decoding its lines into strings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalReaderBenchmark {
+
+    @Param({"1000000"})
+    private int lines;
+
+    private Path path;
+
+    @Setup
+    public void setup() throws IOException {
+        path = Files.createTempFile("intervals", ".txt");
+        final Random random = new Random(42L);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < lines; i++) {
+                final LocalDateTime start = LocalDateTime.of(2016, 1, 1, 0, 0).plusSeconds(random.nextInt(100000000));
+                DateTimeInterval.of(start, start.plusMinutes(random.nextInt(1000))).appendTo(writer).write('\n');
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(path);
+    }
+
+    @Benchmark
+    public long stringLines() throws IOException {
+        try (Stream<String> stream = Files.lines(path, StandardCharsets.US_ASCII)) {
+            return stream.map(DateTimeInterval::parse).count();
+        }
+    }
+
+    @Benchmark
+    public long readerLines() throws IOException {
+        try (Stream<DateTimeInterval> stream = IntervalReader.lines(path, DateTimeInterval::parse)) {
+            return stream.filter(interval -> interval != null).count();
+        }
+    }
+
+    @Benchmark
+    public long readerParallelLines() throws IOException {
+        try (Stream<DateTimeInterval> stream = IntervalReader.lines(path, DateTimeInterval::parse)) {
+            return stream.parallel().filter(interval -> interval != null).count();
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.util.function.Function;
+import net.maisica.time.interval.DateInterval;
+import net.maisica.time.interval.DateTimeInterval;
+import net.maisica.time.interval.DayOfWeekInterval;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.Interval;
+import net.maisica.time.interval.MonthDayInterval;
+import net.maisica.time.interval.MonthInterval;
+import net.maisica.time.interval.OffsetDateTimeInterval;
+import net.maisica.time.interval.OffsetTimeInterval;
+import net.maisica.time.interval.TimeInterval;
+import net.maisica.time.interval.YearInterval;
+import net.maisica.time.interval.YearMonthInterval;
+import net.maisica.time.interval.ZoneOffsetInterval;
+import net.maisica.time.interval.ZonedDateTimeInterval;
+
+/**
+ * Benchmark fixtures for every concrete interval type.
+ * <p>
+ * Each sample provides three intervals in canonical text form: the first two overlap, the third one follows the first with a gap.
+ * </p>
+ */
+public enum IntervalSample {
+
+    DATE(DateInterval::parse,
+            "2016-01-01/2016-03-01",
+            "2016-02-01/2016-04-01",
+            "2016-05-01/2016-06-01"),
+    DATE_TIME(DateTimeInterval::parse,
+            "2016-01-01T08:00/2016-01-01T16:00",
+            "2016-01-01T12:00/2016-01-01T20:00",
+            "2016-01-02T08:00/2016-01-02T16:00"),
+    DAY_OF_WEEK(DayOfWeekInterval::parse,
+            "MONDAY/THURSDAY",
+            "WEDNESDAY/SATURDAY",
+            "FRIDAY/SUNDAY"),
+    INSTANT(InstantInterval::parse,
+            "2016-01-01T08:00:00Z/2016-01-01T16:00:00Z",
+            "2016-01-01T12:00:00Z/2016-01-01T20:00:00Z",
+            "2016-01-02T08:00:00Z/2016-01-02T16:00:00Z"),
+    MONTH_DAY(MonthDayInterval::parse,
+            "--01-01/--03-01",
+            "--02-01/--04-01",
+            "--05-01/--06-01"),
+    MONTH(MonthInterval::parse,
+            "JANUARY/MARCH",
+            "FEBRUARY/APRIL",
+            "MAY/JUNE"),
+    OFFSET_DATE_TIME(OffsetDateTimeInterval::parse,
+            "2016-01-01T08:00+01:00/2016-01-01T16:00+01:00",
+            "2016-01-01T12:00+01:00/2016-01-01T20:00+01:00",
+            "2016-01-02T08:00+01:00/2016-01-02T16:00+01:00"),
+    OFFSET_TIME(OffsetTimeInterval::parse,
+            "08:00+01:00/16:00+01:00",
+            "12:00+01:00/20:00+01:00",
+            "21:00+01:00/23:00+01:00"),
+    TIME(TimeInterval::parse,
+            "08:00/16:00",
+            "12:00/20:00",
+            "21:00/23:00"),
+    YEAR(YearInterval::parse,
+            "2010/2014",
+            "2012/2016",
+            "2018/2020"),
+    YEAR_MONTH(YearMonthInterval::parse,
+            "2016-01/2016-03",
+            "2016-02/2016-04",
+            "2016-05/2016-06"),
+    ZONED_DATE_TIME(ZonedDateTimeInterval::parse,
+            "2016-01-01T08:00+01:00[CET]/2016-01-01T16:00+01:00[CET]",
+            "2016-01-01T12:00+01:00[CET]/2016-01-01T20:00+01:00[CET]",
+            "2016-01-02T08:00+01:00[CET]/2016-01-02T16:00+01:00[CET]"),
+    ZONE_OFFSET(ZoneOffsetInterval::parse,
+            "+08:00/+01:00",
+            "+04:00/-02:00",
+            "-04:00/-06:00");
+
+    private final Function<CharSequence, ? extends Interval<?>> parser;
+    private final String first;
+    private final String overlapping;
+    private final String following;
+
+    private IntervalSample(final Function<CharSequence, ? extends Interval<?>> parser, final String first, final String overlapping, final String following) {
+        this.parser = parser;
+        this.first = first;
+        this.overlapping = overlapping;
+        this.following = following;
+    }
+
+    public Interval<?> parse(final CharSequence text) {
+        return parser.apply(text);
+    }
+
+    public String getFirst() {
+        return first;
+    }
+
+    public String getOverlapping() {
+        return overlapping;
+    }
+
+    public String getFollowing() {
+        return following;
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.TemporalAmount;
+import java.util.function.Function;
+import net.maisica.time.interval.DateInterval;
+import net.maisica.time.interval.DateTimeInterval;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.OffsetDateTimeInterval;
+import net.maisica.time.interval.OffsetTimeInterval;
+import net.maisica.time.interval.TemporalInterval;
+import net.maisica.time.interval.TimeInterval;
+import net.maisica.time.interval.ZonedDateTimeInterval;
+
+/**
+ * Benchmark fixtures for streaming every concrete temporal interval type.
+ * <p>
+ * Each sample is split by its step into exactly {@value #ELEMENTS} temporals. Year and year-month intervals are not listed, as no period step is supported by
+ * their temporals.
+ * </p>
+ */
+public enum IntervalStreamSample {
+
+    DATE(DateInterval::parse, "2016-01-01/2018-09-27", Period.ofDays(1)),
+    DATE_TIME(DateTimeInterval::parse, "2016-01-01T00:00/2016-01-01T16:40", Duration.ofMinutes(1L)),
+    INSTANT(InstantInterval::parse, "2016-01-01T00:00:00Z/2016-01-01T00:16:40Z", Duration.ofSeconds(1L)),
+    OFFSET_DATE_TIME(OffsetDateTimeInterval::parse, "2016-01-01T00:00+01:00/2016-01-01T16:40+01:00", Duration.ofMinutes(1L)),
+    OFFSET_TIME(OffsetTimeInterval::parse, "00:00+01:00/16:40+01:00", Duration.ofMinutes(1L)),
+    TIME(TimeInterval::parse, "00:00/16:40", Duration.ofMinutes(1L)),
+    ZONED_DATE_TIME(ZonedDateTimeInterval::parse,
+            "2016-01-01T00:00+01:00[CET]/2016-01-01T16:40+01:00[CET]", Duration.ofMinutes(1L));
+
+    public static final int ELEMENTS = 1000;
+
+    private final Function<CharSequence, ? extends TemporalInterval<?>> parser;
+    private final String text;
+    private final TemporalAmount step;
+
+    private IntervalStreamSample(final Function<CharSequence, ? extends TemporalInterval<?>> parser, final String text, final TemporalAmount step) {
+        this.parser = parser;
+        this.text = text;
+        this.step = step;
+    }
+
+    public TemporalInterval<?> createInterval() {
+        return parser.apply(text);
+    }
+
+    public TemporalAmount getStep() {
+        return step;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.IntervalJoin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares joining 10000 sorted sessions with 1000 sorted maintenance windows on overlap through {@link IntervalJoin} and through a nested loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JoinBenchmark {
+
+    private final List<InstantInterval> sessions = new ArrayList<>();
+    private final List<InstantInterval> windows = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < 10000; i++) {
+            final Instant start = Instant.ofEpochSecond(random.nextInt(30 * 86400));
+            sessions.add(InstantInterval.of(start, start.plusSeconds(random.nextInt(7200))));
+        }
+        for (int i = 0; i < 1000; i++) {
+            final Instant start = Instant.ofEpochSecond(random.nextInt(30 * 86400));
+            windows.add(InstantInterval.of(start, start.plusSeconds(random.nextInt(1800))));
+        }
+        sessions.sort(Comparator.comparing(InstantInterval::getStart));
+        windows.sort(Comparator.comparing(InstantInterval::getStart));
+    }
+
+    @Benchmark
+    public int nestedLoop() {
+        int count = 0;
+        for (final InstantInterval session : sessions) {
+            for (final InstantInterval window : windows) {
+                if (session.overlaps(window)) {
+                    count += session.overlap(window).isEmpty() ? 0 : 1;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int mergeJoin() {
+        int count = 0;
+        final Iterator<IntervalJoin.Match<Instant, InstantInterval, InstantInterval>> iterator = IntervalJoin.iterator(sessions.iterator(),
+                windows.iterator());
+        while (iterator.hasNext()) {
+            count += iterator.next().getOverlap().isEmpty() ? 0 : 1;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.Interval;
+import net.maisica.time.span.Span;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of every concrete interval and span type from its canonical text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class IntervalState {
+
+        @Param
+        private IntervalSample sample;
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class SpanState {
+
+        @Param
+        private SpanSample sample;
+
+    }
+
+    @Benchmark
+    public Interval<?> parseInterval(final IntervalState state) {
+        return state.sample.parse(state.sample.getFirst());
+    }
+
+    @Benchmark
+    public Span<?, ?> parseSpan(final SpanState state) {
+        return state.sample.parse(state.sample.getText());
+    }
+
+}
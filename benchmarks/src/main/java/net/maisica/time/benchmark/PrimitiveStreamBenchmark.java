@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.DateInterval;
+import net.maisica.time.interval.InstantInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares summing numeric keys of stepped temporals with the primitive streams, reported per step.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveStreamBenchmark {
+
+    private static final int ELEMENTS = 100000;
+
+    private final DateInterval days = DateInterval.of(LocalDate.of(2016, 1, 1), Period.ofDays(ELEMENTS));
+    private final InstantInterval millis = InstantInterval.ofEpochMillis(1451606400000L, 1451606400000L + ELEMENTS);
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long epochDaysFromDates() {
+        return days.stream(Period.ofDays(1)).mapToLong(LocalDate::toEpochDay).sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long epochDays() {
+        return days.epochDays(1L).sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long epochMillisFromInstants() {
+        return millis.stream(Duration.ofMillis(1L)).mapToLong(Instant::toEpochMilli).sum();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long epochMillis() {
+        return millis.epochMillis(1L).sum();
+    }
+
+}
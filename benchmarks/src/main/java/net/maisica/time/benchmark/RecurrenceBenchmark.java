@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.DateTimeInterval;
+import net.maisica.time.interval.DayOfWeekInterval;
+import net.maisica.time.interval.MonthDayInterval;
+import net.maisica.time.interval.Recurrence;
+import net.maisica.time.interval.TimeInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares checking opening hours with a {@link Recurrence} and with a list of day-of-week, time and excluded date intervals, reported per check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecurrenceBenchmark {
+
+    private static final int CHECKS = 10000;
+
+    private final List<DayOfWeekInterval> days = Arrays.asList(DayOfWeekInterval.parse("MONDAY/FRIDAY"), DayOfWeekInterval.parse("FRIDAY/SATURDAY"),
+            DayOfWeekInterval.parse("SATURDAY/SUNDAY"));
+    private final List<TimeInterval> times = Arrays.asList(TimeInterval.parse("08:00/17:00"), TimeInterval.parse("08:00/20:00"),
+            TimeInterval.parse("10:00/14:00"));
+    private final List<MonthDayInterval> holidays = Arrays.asList(MonthDayInterval.parse("--01-01/--01-02"), MonthDayInterval.parse("--05-01/--05-04"),
+            MonthDayInterval.parse("--08-15/--08-16"), MonthDayInterval.parse("--11-01/--11-02"), MonthDayInterval.parse("--12-24/--12-27"));
+    private final LocalDateTime[] dateTimes = new LocalDateTime[CHECKS];
+    private Recurrence recurrence;
+
+    @Setup
+    public void setup() {
+        Recurrence recurrence = Recurrence.never();
+        for (int i = 0; i < days.size(); i++) {
+            recurrence = recurrence.plus(days.get(i), times.get(i));
+        }
+        for (final MonthDayInterval holiday : holidays) {
+            recurrence = recurrence.except(holiday);
+        }
+        this.recurrence = recurrence;
+        final Random random = new Random(42L);
+        final LocalDateTime start = LocalDateTime.of(2016, 1, 1, 0, 0);
+        for (int i = 0; i < CHECKS; i++) {
+            dateTimes[i] = start.plusSeconds(random.nextInt(366 * 86400));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int intervalRules() {
+        int count = 0;
+        for (final LocalDateTime dateTime : dateTimes) {
+            final DayOfWeek day = dateTime.getDayOfWeek();
+            final MonthDay date = MonthDay.from(dateTime);
+            boolean holiday = false;
+            for (final MonthDayInterval interval : holidays) {
+                holiday |= interval.contains(date);
+            }
+            if (!holiday) {
+                for (int i = 0; i < days.size(); i++) {
+                    if (days.get(i).contains(day) && times.get(i).contains(dateTime.toLocalTime())) {
+                        count++;
+                        break;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int isActive() {
+        int count = 0;
+        for (final LocalDateTime dateTime : dateTimes) {
+            if (recurrence.isActive(dateTime)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public int nextOccurrence() {
+        int count = 0;
+        for (final LocalDateTime dateTime : dateTimes) {
+            final DateTimeInterval next = recurrence.nextOccurrence(dateTime);
+            count += next.getStart().getHour();
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Java serialization of every concrete interval and span type, each object in its own stream as stored in a cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @State(Scope.Thread)
+    public static class IntervalState {
+
+        @Param
+        private IntervalSample sample;
+
+        private Object interval;
+        private byte[] data;
+
+        @Setup
+        public void setup() throws IOException {
+            interval = sample.parse(sample.getFirst());
+            data = serialize(interval);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class SpanState {
+
+        @Param
+        private SpanSample sample;
+
+        private Object span;
+        private byte[] data;
+
+        @Setup
+        public void setup() throws IOException {
+            span = sample.parse(sample.getText());
+            data = serialize(span);
+        }
+
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public byte[] writeInterval(final IntervalState state) throws IOException {
+        return serialize(state.interval);
+    }
+
+    @Benchmark
+    public Object readInterval(final IntervalState state) throws IOException, ClassNotFoundException {
+        return deserialize(state.data);
+    }
+
+    @Benchmark
+    public byte[] writeSpan(final SpanState state) throws IOException {
+        return serialize(state.span);
+    }
+
+    @Benchmark
+    public Object readSpan(final SpanState state) throws IOException, ClassNotFoundException {
+        return deserialize(state.data);
+    }
+
+}
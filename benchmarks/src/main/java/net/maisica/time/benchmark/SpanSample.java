@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.util.function.Function;
+import net.maisica.time.span.DateSpan;
+import net.maisica.time.span.DateTimeSpan;
+import net.maisica.time.span.InstantSpan;
+import net.maisica.time.span.OffsetDateTimeSpan;
+import net.maisica.time.span.OffsetTimeSpan;
+import net.maisica.time.span.Span;
+import net.maisica.time.span.TimeSpan;
+import net.maisica.time.span.YearMonthSpan;
+import net.maisica.time.span.YearSpan;
+import net.maisica.time.span.ZonedDateTimeSpan;
+
+/**
+ * Benchmark fixtures for every concrete span type.
+ */
+public enum SpanSample {
+
+    DATE(DateSpan::parse, "2016-01-01/PT72H"),
+    DATE_TIME(DateTimeSpan::parse, "2016-01-01T08:00/PT8H"),
+    INSTANT(InstantSpan::parse, "2016-01-01T08:00:00Z/PT8H"),
+    OFFSET_DATE_TIME(OffsetDateTimeSpan::parse, "2016-01-01T08:00+01:00/PT8H"),
+    OFFSET_TIME(OffsetTimeSpan::parse, "08:00+01:00/PT8H"),
+    TIME(TimeSpan::parse, "08:00/PT8H"),
+    YEAR(YearSpan::parse, "2016/PT8784H"),
+    YEAR_MONTH(YearMonthSpan::parse, "2016-01/PT744H"),
+    ZONED_DATE_TIME(ZonedDateTimeSpan::parse, "2016-01-01T08:00+01:00[CET]/PT8H");
+
+    private final Function<CharSequence, ? extends Span<?, ?>> parser;
+    private final String text;
+
+    private SpanSample(final Function<CharSequence, ? extends Span<?, ?>> parser, final String text) {
+        this.parser = parser;
+        this.text = text;
+    }
+
+    public Span<?, ?> parse(final CharSequence text) {
+        return parser.apply(text);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.util.function.Function;
+import net.maisica.time.span.DateTimeSpan;
+import net.maisica.time.span.InstantSpan;
+import net.maisica.time.span.OffsetDateTimeSpan;
+import net.maisica.time.span.OffsetTimeSpan;
+import net.maisica.time.span.TemporalSpan;
+import net.maisica.time.span.TimeSpan;
+import net.maisica.time.span.ZonedDateTimeSpan;
+
+/**
+ * Benchmark fixtures for streaming concrete temporal span types.
+ * <p>
+ * Each sample is split by its step into exactly {@value #ELEMENTS} temporals. Spans based on date-only temporals are not listed, as their duration cannot be
+ * measured between the streamed temporals.
+ * </p>
+ */
+public enum SpanStreamSample {
+
+    DATE_TIME(DateTimeSpan::parse, "2016-01-01T00:00/PT16H40M", Duration.ofMinutes(1L)),
+    INSTANT(InstantSpan::parse, "2016-01-01T00:00:00Z/PT16M40S", Duration.ofSeconds(1L)),
+    OFFSET_DATE_TIME(OffsetDateTimeSpan::parse, "2016-01-01T00:00+01:00/PT16H40M", Duration.ofMinutes(1L)),
+    OFFSET_TIME(OffsetTimeSpan::parse, "00:00+01:00/PT16H40M", Duration.ofMinutes(1L)),
+    TIME(TimeSpan::parse, "00:00/PT16H40M", Duration.ofMinutes(1L)),
+    ZONED_DATE_TIME(ZonedDateTimeSpan::parse, "2016-01-01T00:00+01:00[CET]/PT16H40M", Duration.ofMinutes(1L));
+
+    public static final int ELEMENTS = 1000;
+
+    private final Function<CharSequence, ? extends TemporalSpan<?>> parser;
+    private final String text;
+    private final Duration step;
+
+    private SpanStreamSample(final Function<CharSequence, ? extends TemporalSpan<?>> parser, final String text, final Duration step) {
+        this.parser = parser;
+        this.text = text;
+        this.step = step;
+    }
+
+    public TemporalSpan<?> createSpan() {
+        return parser.apply(text);
+    }
+
+    public Duration getStep() {
+        return step;
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.TemporalAmount;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.TemporalInterval;
+import net.maisica.time.span.AbstractSpan;
+import net.maisica.time.span.DateTimeSpan;
+import net.maisica.time.span.TemporalSpan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures stepping through temporal intervals and spans, reported per emitted temporal, counting and indexing the steps of an interval, and quantizing spans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class IntervalState {
+
+        @Param
+        private IntervalStreamSample sample;
+
+        private TemporalInterval<?> interval;
+        private TemporalAmount step;
+
+        @Setup
+        public void setup() {
+            interval = sample.createInterval();
+            step = sample.getStep();
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class SpanState {
+
+        @Param
+        private SpanStreamSample sample;
+
+        private TemporalSpan<?> span;
+        private Duration step;
+
+        @Setup
+        public void setup() {
+            span = sample.createSpan();
+            step = sample.getStep();
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class MonthState {
+
+        public static final int ELEMENTS = 1200;
+
+        private final DateTimeSpan span = DateTimeSpan.parse("1950-01-01T00:00/PT876576H");
+        private final Period step = Period.ofMonths(1);
+
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IntervalStreamSample.ELEMENTS)
+    public void streamInterval(final IntervalState state, final Blackhole blackhole) {
+        state.interval.stream(state.step).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IntervalStreamSample.ELEMENTS)
+    public void parallelStreamInterval(final IntervalState state, final Blackhole blackhole) {
+        state.interval.stream(state.step).parallel().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public long countInterval(final IntervalState state) {
+        return state.interval.count(state.step);
+    }
+
+    @Benchmark
+    public Object getInterval(final IntervalState state) {
+        return state.interval.get(state.step, IntervalStreamSample.ELEMENTS / 2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SpanStreamSample.ELEMENTS)
+    public void streamSpan(final SpanState state, final Blackhole blackhole) {
+        state.span.stream(state.step).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SpanStreamSample.ELEMENTS)
+    public void quantizeSpan(final SpanState state, final Blackhole blackhole) {
+        ((AbstractSpan<?, ?>) state.span).quantize(state.step).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MonthState.ELEMENTS)
+    public void streamSpanByMonth(final MonthState state, final Blackhole blackhole) {
+        state.span.stream(state.step).forEach(blackhole::consume);
+    }
+
+}
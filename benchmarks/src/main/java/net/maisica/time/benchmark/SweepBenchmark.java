@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.IntervalFactory;
+import net.maisica.time.interval.IntervalSet;
+import net.maisica.time.interval.IntervalSweep;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the peak concurrency and covered duration of random intervals of a day through {@link IntervalSweep} and through nested loops and an
+ * {@link IntervalSet} union.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SweepBenchmark {
+
+    private final IntervalFactory<Instant, InstantInterval> factory = InstantInterval::of;
+    private final List<InstantInterval> intervals = new ArrayList<>();
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        final Instant day = Instant.parse("2016-01-01T00:00:00Z");
+        for (int i = 0; i < size; i++) {
+            final Instant start = day.plusMillis((long) (random.nextDouble() * 86400000L));
+            intervals.add(InstantInterval.of(start, start.plusMillis((long) (random.nextDouble() * 3600000L))));
+        }
+    }
+
+    @Benchmark
+    public int nestedMaxConcurrency() {
+        int max = 0;
+        for (final InstantInterval interval : intervals) {
+            int count = 0;
+            for (final InstantInterval other : intervals) {
+                if (other.contains(interval.getStart())) {
+                    count++;
+                }
+            }
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    @Benchmark
+    public Duration unionCoveredDuration() {
+        Duration covered = Duration.ZERO;
+        for (final InstantInterval interval : IntervalSet.of(factory, intervals)) {
+            covered = covered.plus(interval.toDuration());
+        }
+        return covered;
+    }
+
+    @Benchmark
+    public int sweep() {
+        final IntervalSweep<Instant> sweep = IntervalSweep.of(intervals);
+        return sweep.maxConcurrency() + (int) sweep.coveredDuration().getSeconds();
+    }
+
+    @Benchmark
+    public int parallelSweep() {
+        final IntervalSweep<Instant> sweep = IntervalSweep.of(intervals.parallelStream());
+        return sweep.maxConcurrency() + (int) sweep.coveredDuration().getSeconds();
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.TimingWheel;
+import net.maisica.time.span.InstantSpan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares session timeouts in a {@link TimingWheel} and in a priority queue of spans by end, scheduled and cancelled among 100000 live sessions, or
+ * scheduled and expired in batches, reported per session.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimingWheelBenchmark {
+
+    private static final int SESSIONS = 100000;
+    private static final int BATCH = 10000;
+    private static final Duration TIMEOUT = Duration.ofMinutes(30L);
+
+    private static final class ManualClock extends Clock {
+
+        private Instant instant = Instant.parse("2016-12-19T08:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+    private final ManualClock clock = new ManualClock();
+    private final Random random = new Random(42L);
+    private final PriorityQueue<InstantSpan> queue = new PriorityQueue<>(Comparator.comparing(InstantSpan::computeEnd));
+    private TimingWheel<InstantSpan> wheel;
+
+    @Setup
+    public void setup() {
+        wheel = new TimingWheel<>(clock, Duration.ofMillis(1L));
+        for (int i = 0; i < SESSIONS; i++) {
+            final InstantSpan session = session();
+            wheel.schedule(session, session);
+            queue.add(session);
+        }
+    }
+
+    private InstantSpan session() {
+        return InstantSpan.of(clock.instant().plusMillis(random.nextInt(60000)), TIMEOUT);
+    }
+
+    @Benchmark
+    public boolean priorityQueueScheduleCancel() {
+        final InstantSpan session = session();
+        queue.add(session);
+        return queue.remove(session);
+    }
+
+    @Benchmark
+    public boolean wheelScheduleCancel() {
+        final InstantSpan session = session();
+        return wheel.schedule(session, session).cancel();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int priorityQueueExpire() {
+        final PriorityQueue<InstantSpan> batch = new PriorityQueue<>(Comparator.comparing(InstantSpan::computeEnd));
+        final Instant start = clock.instant;
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(InstantSpan.of(start.plusMillis(random.nextInt(60000)), TIMEOUT));
+        }
+        int count = 0;
+        for (int minute = 1; minute <= 32; minute++) {
+            final Instant now = start.plus(Duration.ofMinutes(minute));
+            while (!batch.isEmpty() && !batch.peek().computeEnd().isAfter(now)) {
+                batch.poll();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int wheelExpire() {
+        final ManualClock batchClock = new ManualClock();
+        final TimingWheel<InstantSpan> batch = new TimingWheel<>(batchClock, Duration.ofMillis(1L));
+        final Instant start = batchClock.instant;
+        for (int i = 0; i < BATCH; i++) {
+            final InstantSpan session = InstantSpan.of(start.plusMillis(random.nextInt(60000)), TIMEOUT);
+            batch.schedule(session, session);
+        }
+        int count = 0;
+        for (int minute = 1; minute <= 32; minute++) {
+            batchClock.instant = start.plus(Duration.ofMinutes(minute));
+            count += batch.advance(expired -> {
+            });
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import net.maisica.time.interval.ZonedDateTimeInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares an hourly grid of a year of zoned date-times across daylight saving time transitions through a stream and through
+ * {@link ZonedDateTime#plusHours(long)}, reported per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZoneStepBenchmark {
+
+    private static final int HOURS = 8784;
+
+    private final ZonedDateTime start = ZonedDateTime.of(LocalDateTime.of(2016, 1, 1, 0, 0), ZoneId.of("America/New_York"));
+    private final ZonedDateTimeInterval year = ZonedDateTimeInterval.of(start, start.plusYears(1L));
+
+    @Benchmark
+    @OperationsPerInvocation(HOURS)
+    public void plusHours(final Blackhole blackhole) {
+        for (int i = 0; i < HOURS; i++) {
+            blackhole.consume(start.plusHours(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HOURS)
+    public void streamHours(final Blackhole blackhole) {
+        year.stream(Duration.ofHours(1L)).forEach(blackhole::consume);
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.format;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Compact binary encoding of temporals, used by the serialized forms of intervals and spans.
+ * <p>
+ * Numbers are written as variable-length integers of seven bits per byte, signed ones in zig-zag order, so that small magnitudes take a single byte.
+ * Dates take the epoch day, times the second of day and the fraction if any, offsets the number of quarter hours unless they are irregular. Zone
+ * region identifiers written to an {@link ObjectOutput} are shared by the whole object stream.
+ * </p>
+ */
+public final class CompactEncoding {
+
+    private static final int ZONE_OFFSET = 0;
+    private static final int ZONE_PREVIOUS = 1;
+    private static final int ZONE_REGION = 2;
+
+    public static void writeVarLong(final DataOutput out, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0L) {
+            out.writeByte((int) (remaining & 0x7FL) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    public static long readVarLong(final DataInput in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Variable-length integer too long");
+    }
+
+    public static void writeZigZag(final DataOutput out, final long value) throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readZigZag(final DataInput in) throws IOException {
+        final long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    public static void writeLocalDate(final DataOutput out, final LocalDate date) throws IOException {
+        writeZigZag(out, date.toEpochDay());
+    }
+
+    public static LocalDate readLocalDate(final DataInput in) throws IOException {
+        return LocalDate.ofEpochDay(readZigZag(in));
+    }
+
+    /**
+     * Writes a nanosecond adjustment from 0 to 999,999,999, in fewer bytes if it is a whole number of milliseconds or microseconds.
+     *
+     * @param out the output to write to, not null
+     * @param nano the nanosecond adjustment
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeNano(final DataOutput out, final int nano) throws IOException {
+        if (nano % 1000000 == 0) {
+            writeVarLong(out, (long) (nano / 1000000) << 2);
+        } else if (nano % 1000 == 0) {
+            writeVarLong(out, (long) (nano / 1000) << 2 | 1L);
+        } else {
+            writeVarLong(out, (long) nano << 2 | 2L);
+        }
+    }
+
+    public static int readNano(final DataInput in) throws IOException {
+        final long value = readVarLong(in);
+        switch ((int) (value & 3L)) {
+            case 0:
+                return (int) (value >>> 2) * 1000000;
+            case 1:
+                return (int) (value >>> 2) * 1000;
+            case 2:
+                return (int) (value >>> 2);
+            default:
+                throw new StreamCorruptedException("Invalid nanosecond adjustment");
+        }
+    }
+
+    public static void writeLocalTime(final DataOutput out, final LocalTime time) throws IOException {
+        if (time.getNano() == 0) {
+            writeVarLong(out, (long) time.toSecondOfDay() << 1);
+        } else {
+            writeVarLong(out, (long) time.toSecondOfDay() << 1 | 1L);
+            writeNano(out, time.getNano());
+        }
+    }
+
+    public static LocalTime readLocalTime(final DataInput in) throws IOException {
+        final long value = readVarLong(in);
+        final LocalTime time = LocalTime.ofSecondOfDay(value >>> 1);
+        return (value & 1L) == 0L ? time : time.withNano(readNano(in));
+    }
+
+    public static void writeLocalDateTime(final DataOutput out, final LocalDateTime dateTime) throws IOException {
+        writeLocalDate(out, dateTime.toLocalDate());
+        writeLocalTime(out, dateTime.toLocalTime());
+    }
+
+    public static LocalDateTime readLocalDateTime(final DataInput in) throws IOException {
+        return LocalDateTime.of(readLocalDate(in), readLocalTime(in));
+    }
+
+    public static void writeZoneOffset(final DataOutput out, final ZoneOffset offset) throws IOException {
+        final int seconds = offset.getTotalSeconds();
+        if (seconds % 900 == 0) {
+            writeZigZag(out, (long) (seconds / 900) << 1);
+        } else {
+            writeZigZag(out, (long) seconds << 1 | 1L);
+        }
+    }
+
+    public static ZoneOffset readZoneOffset(final DataInput in) throws IOException {
+        final long value = readZigZag(in);
+        if ((value & 1L) == 0L) {
+            return ZoneOffset.ofTotalSeconds((int) (value >> 1) * 900);
+        }
+        return ZoneOffset.ofTotalSeconds((int) (value >> 1));
+    }
+
+    /**
+     * Writes a zoned date-time, whose zone is written only if it is neither its offset nor the specified previous zone.
+     *
+     * @param out the output to write to, not null
+     * @param dateTime the date-time to write, not null
+     * @param previous the zone of the previously written date-time, null if none
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeZonedDateTime(final DataOutput out, final ZonedDateTime dateTime, final ZoneId previous) throws IOException {
+        writeLocalDateTime(out, dateTime.toLocalDateTime());
+        writeZoneOffset(out, dateTime.getOffset());
+        final ZoneId zone = dateTime.getZone();
+        if (zone instanceof ZoneOffset) {
+            out.writeByte(ZONE_OFFSET);
+        } else if (zone.equals(previous)) {
+            out.writeByte(ZONE_PREVIOUS);
+        } else {
+            out.writeByte(ZONE_REGION);
+            if (out instanceof ObjectOutput) {
+                // repeated identifiers are written as back references
+                ((ObjectOutput) out).writeObject(zone.getId());
+            } else {
+                out.writeUTF(zone.getId());
+            }
+        }
+    }
+
+    /**
+     * Reads a zoned date-time written by {@link #writeZonedDateTime}, with the same previous zone.
+     *
+     * @param in the input to read from, not null
+     * @param previous the zone of the previously read date-time, null if none
+     * @return the date-time
+     * @throws IOException if an I/O error occurs
+     */
+    public static ZonedDateTime readZonedDateTime(final DataInput in, final ZoneId previous) throws IOException {
+        final LocalDateTime dateTime = readLocalDateTime(in);
+        final ZoneOffset offset = readZoneOffset(in);
+        final int zone = in.readUnsignedByte();
+        switch (zone) {
+            case ZONE_OFFSET:
+                return ZonedDateTime.ofInstant(dateTime, offset, offset);
+            case ZONE_PREVIOUS:
+                if (previous == null) {
+                    throw new StreamCorruptedException("No previous zone");
+                }
+                return ZonedDateTime.ofInstant(dateTime, offset, previous);
+            case ZONE_REGION:
+                return ZonedDateTime.ofInstant(dateTime, offset, ZoneId.of(readZoneId(in)));
+            default:
+                throw new StreamCorruptedException("Unknown zone kind " + zone);
+        }
+    }
+
+    private static String readZoneId(final DataInput in) throws IOException {
+        if (in instanceof ObjectInput) {
+            try {
+                return (String) ((ObjectInput) in).readObject();
+            } catch (ClassNotFoundException | ClassCastException ex) {
+                throw new InvalidObjectException("Invalid zone identifier");
+            }
+        }
+        return in.readUTF();
+    }
+
+    private CompactEncoding() {
+    }
+
+}
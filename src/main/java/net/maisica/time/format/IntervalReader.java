@@ -0,0 +1,331 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.format;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reader of files with one interval or span per line, such as {@code 2016-01-01T00:00/2016-01-02T00:00}.
+ * <p>
+ * The file is memory-mapped and each line is handed to the parser as a {@link CharSequence} view of its ASCII bytes, without decoding it into a string.
+ * Lines are limited to 64 KiB.
+ * Any {@code parse(CharSequence)} method of the interval and span types can serve as the parser, for example {@code DateTimeInterval::parse}. Empty lines
+ * are skipped and a carriage return before the line feed is ignored.
+ * </p>
+ * <p>
+ * The spliterator splits the file at line boundaries, so the stream may be processed in parallel. Parsing errors are reported with the byte offset of
+ * the line in the file.
+ * </p>
+ *
+ * @param <U> the parsed type
+ */
+public final class IntervalReader<U> implements Closeable {
+
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final long MIN_SPLIT_SIZE = 64 * 1024;
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int SCAN_SIZE = 8192;
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param <U> the parsed type
+     * @param path the file to read, not null
+     * @param parser the parser of a single line, not null
+     * @return the reader, which must be closed
+     * @throws IOException if the file cannot be opened
+     */
+    public static <U> IntervalReader<U> open(final Path path, final Function<? super CharSequence, ? extends U> parser) throws IOException {
+        return open(path, parser, WINDOW_SIZE, MIN_SPLIT_SIZE);
+    }
+
+    static <U> IntervalReader<U> open(final Path path, final Function<? super CharSequence, ? extends U> parser, final int windowSize,
+            final long minSplitSize) throws IOException {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(parser, "parser");
+        return new IntervalReader<>(FileChannel.open(path, StandardOpenOption.READ), parser, windowSize, minSplitSize);
+    }
+
+    /**
+     * Reads all lines of a file as a stream, which closes the file when closed itself.
+     *
+     * @param <U> the parsed type
+     * @param path the file to read, not null
+     * @param parser the parser of a single line, not null
+     * @return the stream of parsed lines, which must be closed
+     * @throws IOException if the file cannot be opened
+     */
+    public static <U> Stream<U> lines(final Path path, final Function<? super CharSequence, ? extends U> parser) throws IOException {
+        final IntervalReader<U> reader = open(path, parser);
+        return reader.stream().onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private final FileChannel channel;
+    private final Function<? super CharSequence, ? extends U> parser;
+    private final int windowSize;
+    private final long minSplitSize;
+    private final long size;
+
+    private IntervalReader(final FileChannel channel, final Function<? super CharSequence, ? extends U> parser, final int windowSize,
+            final long minSplitSize) throws IOException {
+        this.channel = channel;
+        this.parser = parser;
+        this.windowSize = windowSize;
+        this.minSplitSize = minSplitSize;
+        this.size = channel.size();
+    }
+
+    /**
+     * Creates a spliterator over all lines of the file.
+     *
+     * @return the spliterator
+     */
+    public Spliterator<U> spliterator() {
+        return new LineSpliterator(0L, size);
+    }
+
+    /**
+     * Creates a sequential stream of all lines of the file, which may be turned into a parallel one.
+     *
+     * @return the stream
+     */
+    public Stream<U> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Finds the start of the first line starting at or after the specified position.
+     */
+    private long nextLineStart(final long position) throws IOException {
+        if (position == 0L) {
+            return 0L;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        long offset = position - 1L;
+        while (offset < size) {
+            buffer.clear();
+            final int count = channel.read(buffer, offset);
+            if (count < 0) {
+                break;
+            }
+            for (int i = 0; i < count; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1L;
+                }
+            }
+            offset += count;
+        }
+        return size;
+    }
+
+    /**
+     * Spliterator over the lines starting within a range of the file, which are copied block by block from a mapped window.
+     */
+    private final class LineSpliterator implements Spliterator<U> {
+
+        private final AsciiSequence line = new AsciiSequence();
+        private long position;
+        private final long end;
+        private MappedByteBuffer window;
+        private long windowStart;
+        private byte[] block;
+        private long blockStart;
+        private int blockLength;
+
+        LineSpliterator(final long position, final long end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super U> action) {
+            Objects.requireNonNull(action, "action");
+            while (position < end) {
+                final long lineStart = position;
+                int index = lineStart >= blockStart && lineStart < blockStart + blockLength ? (int) (lineStart - blockStart) : -1;
+                int lineEnd = index < 0 ? -1 : indexOfLineFeed(index);
+                if (lineEnd < 0 && (index < 0 || blockStart + blockLength < size)) {
+                    fill(lineStart);
+                    index = 0;
+                    lineEnd = indexOfLineFeed(0);
+                    if (lineEnd < 0 && blockStart + blockLength < size) {
+                        throw new IllegalStateException("Line at byte " + lineStart + " exceeds " + block.length + " bytes");
+                    }
+                }
+                if (lineEnd < 0) {
+                    lineEnd = blockLength;
+                    position = blockStart + blockLength;
+                } else {
+                    position = blockStart + lineEnd + 1L;
+                }
+                if (lineEnd > index && block[lineEnd - 1] == '\r') {
+                    lineEnd--;
+                }
+                if (lineEnd > index) {
+                    action.accept(parse(index, lineEnd - index, lineStart));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<U> trySplit() {
+            final long remaining = end - position;
+            if (remaining < 2L * minSplitSize) {
+                return null;
+            }
+            final long split;
+            try {
+                split = nextLineStart(position + remaining / 2L);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            if (split <= position || split >= end) {
+                return null;
+            }
+            final LineSpliterator prefix = new LineSpliterator(position, split);
+            position = split;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        /**
+         * Copies the block starting at the specified offset from the window, mapping a new window if it does not cover the whole block.
+         */
+        private void fill(final long offset) {
+            if (block == null) {
+                block = new byte[Math.min(windowSize, BLOCK_SIZE)];
+            }
+            final int length = (int) Math.min(block.length, size - offset);
+            if (window == null || offset < windowStart || offset + length > windowStart + window.limit()) {
+                try {
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, size - offset));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                windowStart = offset;
+            }
+            window.position((int) (offset - windowStart));
+            window.get(block, 0, length);
+            blockStart = offset;
+            blockLength = length;
+        }
+
+        private int indexOfLineFeed(final int index) {
+            for (int i = index; i < blockLength; i++) {
+                if (block[i] == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private U parse(final int index, final int length, final long lineStart) {
+            line.reset(block, index, length);
+            try {
+                return parser.apply(line);
+            } catch (DateTimeParseException ex) {
+                throw new DateTimeParseException("Line at byte " + lineStart + " cannot be parsed: " + ex.getMessage(), line, ex.getErrorIndex(), ex);
+            } catch (DateTimeException ex) {
+                throw new DateTimeException("Line at byte " + lineStart + " is invalid: " + ex.getMessage(), ex);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Line at byte " + lineStart + " is invalid: " + ex.getMessage(), ex);
+            }
+        }
+
+    }
+
+    /**
+     * Character sequence view of ASCII bytes in a block, reused for every line.
+     */
+    private static final class AsciiSequence implements CharSequence {
+
+        private byte[] bytes;
+        private int offset;
+        private int length;
+
+        void reset(final byte[] bytes, final int offset, final int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("index " + index + " out of " + length);
+            }
+            return (char) (bytes[offset + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("range " + start + ".." + end + " out of " + length);
+            }
+            return new String(bytes, offset + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+
+    }
+
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.format;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Formatters writing the same text as {@code toString()} of the {@code java.time} types, digit by digit into a {@link StringBuilder}.
+ * <p>
+ * No intermediate strings are created, except for instants beyond the years 1 to 9999, which are rare enough to be formatted by the JDK.
+ * </p>
+ *
+ * @see IsoParser
+ */
+public final class IsoFormatter {
+
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final long DAYS_0000_TO_1970 = 719528L;
+    private static final long MIN_FAST_INSTANT = -62135596800L;
+    private static final long MAX_FAST_INSTANT = 253402300800L;
+    private static final int NANOS_PER_SECOND = 1000000000;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+    private static final ThreadLocal<char[]> CHARS = ThreadLocal.withInitial(() -> new char[256]);
+
+    /**
+     * Appends the text of any value held by intervals and spans, using the dedicated formatter for the ISO types and the name for enums.
+     *
+     * @param builder the builder to append to, not null
+     * @param value the value to append, not null
+     * @return the builder
+     */
+    public static StringBuilder append(final StringBuilder builder, final Object value) {
+        Objects.requireNonNull(builder, "builder");
+        Objects.requireNonNull(value, "value");
+        if (value instanceof LocalDateTime) {
+            return appendLocalDateTime(builder, (LocalDateTime) value);
+        } else if (value instanceof Instant) {
+            return appendInstant(builder, (Instant) value);
+        } else if (value instanceof LocalDate) {
+            return appendLocalDate(builder, (LocalDate) value);
+        } else if (value instanceof LocalTime) {
+            return appendLocalTime(builder, (LocalTime) value);
+        } else if (value instanceof OffsetDateTime) {
+            return appendOffsetDateTime(builder, (OffsetDateTime) value);
+        } else if (value instanceof ZonedDateTime) {
+            return appendZonedDateTime(builder, (ZonedDateTime) value);
+        } else if (value instanceof OffsetTime) {
+            return appendOffsetTime(builder, (OffsetTime) value);
+        } else if (value instanceof Duration) {
+            return appendDuration(builder, (Duration) value);
+        } else if (value instanceof Year) {
+            return builder.append(((Year) value).getValue());
+        } else if (value instanceof YearMonth) {
+            return appendYearMonth(builder, (YearMonth) value);
+        } else if (value instanceof MonthDay) {
+            return appendMonthDay(builder, (MonthDay) value);
+        } else if (value instanceof ZoneId) {
+            return builder.append(((ZoneId) value).getId());
+        } else if (value instanceof Enum) {
+            return builder.append(((Enum<?>) value).name());
+        }
+        return builder.append(value.toString());
+    }
+
+    /**
+     * Gets the per-thread buffer for formatting text destined to an {@link Appendable}, which must be passed to {@link #flush} before any other use of the
+     * buffer on the same thread.
+     *
+     * @return the empty buffer
+     */
+    public static StringBuilder buffer() {
+        final StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        return buffer;
+    }
+
+    /**
+     * Writes the content of a buffer obtained from {@link #buffer()} to an appendable, without converting it to a string.
+     *
+     * @param <A> the appendable type
+     * @param buffer the buffer holding the text, not null
+     * @param appendable the appendable to write to, not null
+     * @return the appendable
+     * @throws IOException if an I/O error occurs
+     */
+    public static <A extends Appendable> A flush(final StringBuilder buffer, final A appendable) throws IOException {
+        Objects.requireNonNull(buffer, "buffer");
+        Objects.requireNonNull(appendable, "appendable");
+        if (appendable instanceof Writer) {
+            // Writer.append(CharSequence) would copy the buffer into a string
+            final char[] chars = CHARS.get();
+            for (int offset = 0; offset < buffer.length(); offset += chars.length) {
+                final int end = Math.min(buffer.length(), offset + chars.length);
+                buffer.getChars(offset, end, chars, 0);
+                ((Writer) appendable).write(chars, 0, end - offset);
+            }
+        } else {
+            appendable.append(buffer);
+        }
+        return appendable;
+    }
+
+    public static StringBuilder appendLocalDate(final StringBuilder builder, final LocalDate date) {
+        return appendDate(builder, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    public static StringBuilder appendLocalTime(final StringBuilder builder, final LocalTime time) {
+        return appendTime(builder, time.getHour(), time.getMinute(), time.getSecond(), time.getNano(), false);
+    }
+
+    public static StringBuilder appendLocalDateTime(final StringBuilder builder, final LocalDateTime dateTime) {
+        appendDate(builder, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth()).append('T');
+        return appendTime(builder, dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano(), false);
+    }
+
+    public static StringBuilder appendOffsetDateTime(final StringBuilder builder, final OffsetDateTime dateTime) {
+        return appendLocalDateTime(builder, dateTime.toLocalDateTime()).append(dateTime.getOffset().getId());
+    }
+
+    public static StringBuilder appendOffsetTime(final StringBuilder builder, final OffsetTime time) {
+        return appendLocalTime(builder, time.toLocalTime()).append(time.getOffset().getId());
+    }
+
+    public static StringBuilder appendZonedDateTime(final StringBuilder builder, final ZonedDateTime dateTime) {
+        appendLocalDateTime(builder, dateTime.toLocalDateTime()).append(dateTime.getOffset().getId());
+        if (dateTime.getOffset() != dateTime.getZone()) {
+            builder.append('[').append(dateTime.getZone().getId()).append(']');
+        }
+        return builder;
+    }
+
+    public static StringBuilder appendInstant(final StringBuilder builder, final Instant instant) {
+        return appendInstant(builder, instant.getEpochSecond(), instant.getNano());
+    }
+
+    /**
+     * Appends the text of the instant with the specified epoch second and nano adjustment.
+     *
+     * @param builder the builder to append to, not null
+     * @param epochSecond the seconds from the epoch of 1970-01-01T00:00:00Z
+     * @param nano the nanosecond adjustment, from 0 to 999,999,999
+     * @return the builder
+     */
+    public static StringBuilder appendInstant(final StringBuilder builder, final long epochSecond, final int nano) {
+        if (epochSecond < MIN_FAST_INSTANT || epochSecond >= MAX_FAST_INSTANT) {
+            return builder.append(Instant.ofEpochSecond(epochSecond, nano).toString());
+        }
+        final long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        final int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+        appendEpochDay(builder, epochDay).append('T');
+        return appendTime(builder, secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, nano, true).append('Z');
+    }
+
+    public static StringBuilder appendYearMonth(final StringBuilder builder, final YearMonth yearMonth) {
+        final int year = yearMonth.getYear();
+        if (Math.abs(year) < 1000) {
+            appendPaddedYear(builder, year);
+        } else {
+            builder.append(year);
+        }
+        return appendTwoDigits(builder.append('-'), yearMonth.getMonthValue());
+    }
+
+    public static StringBuilder appendMonthDay(final StringBuilder builder, final MonthDay monthDay) {
+        appendTwoDigits(builder.append("--"), monthDay.getMonthValue());
+        return appendTwoDigits(builder.append('-'), monthDay.getDayOfMonth());
+    }
+
+    public static StringBuilder appendZoneOffset(final StringBuilder builder, final ZoneOffset offset) {
+        return builder.append(offset.getId());
+    }
+
+    public static StringBuilder appendDuration(final StringBuilder builder, final Duration duration) {
+        return appendDuration(builder, duration.getSeconds(), duration.getNano());
+    }
+
+    /**
+     * Appends the text of the duration with the specified seconds and nano adjustment.
+     *
+     * @param builder the builder to append to, not null
+     * @param seconds the length of the duration in seconds, possibly negative
+     * @param nano the nanosecond adjustment, from 0 to 999,999,999
+     * @return the builder
+     */
+    public static StringBuilder appendDuration(final StringBuilder builder, final long seconds, final int nano) {
+        if (seconds == 0L && nano == 0) {
+            return builder.append("PT0S");
+        }
+        final long effectiveSeconds = seconds < 0L && nano > 0 ? seconds + 1L : seconds;
+        final long hours = effectiveSeconds / 3600L;
+        final int minutes = (int) (effectiveSeconds % 3600L / 60L);
+        final int secs = (int) (effectiveSeconds % 60L);
+        builder.append("PT");
+        if (hours != 0L) {
+            builder.append(hours).append('H');
+        }
+        if (minutes != 0) {
+            builder.append(minutes).append('M');
+        }
+        if (secs == 0 && nano == 0 && (hours != 0L || minutes != 0)) {
+            return builder;
+        }
+        if (seconds < 0L && nano > 0 && secs == 0) {
+            builder.append("-0");
+        } else {
+            builder.append(secs);
+        }
+        if (nano > 0) {
+            final int position = builder.length();
+            if (seconds < 0L) {
+                builder.append(2 * NANOS_PER_SECOND - nano);
+            } else {
+                builder.append(nano + NANOS_PER_SECOND);
+            }
+            while (builder.charAt(builder.length() - 1) == '0') {
+                builder.setLength(builder.length() - 1);
+            }
+            builder.setCharAt(position, '.');
+        }
+        return builder.append('S');
+    }
+
+    private static StringBuilder appendDate(final StringBuilder builder, final int year, final int month, final int day) {
+        if (Math.abs(year) < 1000) {
+            appendPaddedYear(builder, year);
+        } else {
+            if (year > 9999) {
+                builder.append('+');
+            }
+            builder.append(year);
+        }
+        appendTwoDigits(builder.append('-'), month);
+        return appendTwoDigits(builder.append('-'), day);
+    }
+
+    private static StringBuilder appendPaddedYear(final StringBuilder builder, final int year) {
+        if (year < 0) {
+            builder.append('-');
+        }
+        final int value = Math.abs(year);
+        return builder.append((char) ('0' + value / 1000)).append((char) ('0' + value / 100 % 10)).append((char) ('0' + value / 10 % 10))
+                .append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Appends the date of an epoch day within the years 1 to 9999.
+     */
+    private static StringBuilder appendEpochDay(final StringBuilder builder, final long epochDay) {
+        final long zeroDay = epochDay + DAYS_0000_TO_1970 - 60L;
+        long yearEstimate = (400L * zeroDay + 591L) / 146097L;
+        long dayOfYearEstimate = zeroDay - (365L * yearEstimate + yearEstimate / 4L - yearEstimate / 100L + yearEstimate / 400L);
+        if (dayOfYearEstimate < 0L) {
+            yearEstimate--;
+            dayOfYearEstimate = zeroDay - (365L * yearEstimate + yearEstimate / 4L - yearEstimate / 100L + yearEstimate / 400L);
+        }
+        final int marchDayOfYear = (int) dayOfYearEstimate;
+        final int marchMonth = (marchDayOfYear * 5 + 2) / 153;
+        final int month = (marchMonth + 2) % 12 + 1;
+        final int day = marchDayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+        final int year = (int) (yearEstimate + marchMonth / 10);
+        return appendDate(builder, year, month, day);
+    }
+
+    private static StringBuilder appendTime(final StringBuilder builder, final int hour, final int minute, final int second, final int nano,
+            final boolean seconds) {
+        appendTwoDigits(builder, hour).append(':');
+        appendTwoDigits(builder, minute);
+        if (seconds || second > 0 || nano > 0) {
+            appendTwoDigits(builder.append(':'), second);
+            if (nano > 0) {
+                builder.append('.');
+                if (nano % 1000000 == 0) {
+                    appendDigits(builder, nano / 1000000, 3);
+                } else if (nano % 1000 == 0) {
+                    appendDigits(builder, nano / 1000, 6);
+                } else {
+                    appendDigits(builder, nano, 9);
+                }
+            }
+        }
+        return builder;
+    }
+
+    private static StringBuilder appendTwoDigits(final StringBuilder builder, final int value) {
+        return builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static StringBuilder appendDigits(final StringBuilder builder, final int value, final int count) {
+        int divisor = 1;
+        for (int i = 1; i < count; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            builder.append((char) ('0' + value / divisor % 10));
+        }
+        return builder;
+    }
+
+    private IsoFormatter() {
+    }
+
+}
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.format;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Parsers of the canonical ISO-8601 text produced by {@code toString()} of the {@code java.time} types.
+ * <p>
+ * Every method reads a region of a character sequence in place, in a single scan and without intermediate objects. Text outside of the canonical form,
+ * such as lower case designators, signed or expanded years or offsets with seconds, is handed over to the JDK parser of the type, so the result and any
+ * exception are the same as of that parser applied to the region.
+ * </p>
+ */
+public final class IsoParser {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final long DAYS_0000_TO_1970 = 719528L;
+    private static final int NO_OFFSET = Integer.MIN_VALUE;
+
+    private static volatile ZoneId lastZone;
+
+    /**
+     * Finds the forward slash separating the two parts of an interval or span, skipping bracketed zone region identifiers.
+     *
+     * @param text the text to search
+     * @return the index of the separator or -1 if not found
+     */
+    public static int indexOfSeparator(final CharSequence text) {
+        Objects.requireNonNull(text, "text");
+        boolean bracket = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == '[') {
+                bracket = true;
+            } else if (c == ']') {
+                bracket = false;
+            } else if (c == '/' && !bracket) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static LocalDate parseLocalDate(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        if (end - start == 10) {
+            final int date = date(text, start);
+            if (date >= 0) {
+                return LocalDate.of(date >>> 9, (date >>> 5) & 0xF, date & 0x1F);
+            }
+        }
+        return LocalDate.parse(text.subSequence(start, end).toString());
+    }
+
+    public static LocalTime parseLocalTime(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        final long time = time(text, start, end);
+        if (time >= 0L) {
+            return LocalTime.ofNanoOfDay(time);
+        }
+        return LocalTime.parse(text.subSequence(start, end).toString());
+    }
+
+    public static LocalDateTime parseLocalDateTime(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        if (end - start > 11 && text.charAt(start + 10) == 'T') {
+            final int date = date(text, start);
+            final long time = time(text, start + 11, end);
+            if (date >= 0 && time >= 0L) {
+                return dateTime(date, time);
+            }
+        }
+        return LocalDateTime.parse(text.subSequence(start, end).toString());
+    }
+
+    public static OffsetDateTime parseOffsetDateTime(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        if (end - start > 11 && text.charAt(start + 10) == 'T') {
+            final int date = date(text, start);
+            final int timeEnd = timeEnd(text, start + 11, end);
+            final long time = time(text, start + 11, timeEnd);
+            final int offset = offset(text, timeEnd, end);
+            if (date >= 0 && time >= 0L && offset != NO_OFFSET) {
+                return OffsetDateTime.of(dateTime(date, time), ZoneOffset.ofTotalSeconds(offset));
+            }
+        }
+        return OffsetDateTime.parse(text.subSequence(start, end).toString());
+    }
+
+    public static OffsetTime parseOffsetTime(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        final int timeEnd = timeEnd(text, start, end);
+        final long time = time(text, start, timeEnd);
+        final int offset = offset(text, timeEnd, end);
+        if (time >= 0L && offset != NO_OFFSET) {
+            return OffsetTime.of(LocalTime.ofNanoOfDay(time), ZoneOffset.ofTotalSeconds(offset));
+        }
+        return OffsetTime.parse(text.subSequence(start, end).toString());
+    }
+
+    public static ZonedDateTime parseZonedDateTime(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        if (end - start > 11 && text.charAt(start + 10) == 'T') {
+            final int date = date(text, start);
+            final int timeEnd = timeEnd(text, start + 11, end);
+            final long time = time(text, start + 11, timeEnd);
+            int offsetEnd = timeEnd;
+            while (offsetEnd < end && text.charAt(offsetEnd) != '[') {
+                offsetEnd++;
+            }
+            final int offset = offset(text, timeEnd, offsetEnd);
+            if (date >= 0 && time >= 0L && offset != NO_OFFSET) {
+                final ZoneOffset zoneOffset = ZoneOffset.ofTotalSeconds(offset);
+                if (offsetEnd == end) {
+                    return ZonedDateTime.ofInstant(dateTime(date, time), zoneOffset, zoneOffset);
+                }
+                if (text.charAt(end - 1) == ']') {
+                    final ZoneId zone = zone(text, offsetEnd + 1, end - 1);
+                    if (zone != null) {
+                        return ZonedDateTime.ofInstant(dateTime(date, time), zoneOffset, zone);
+                    }
+                }
+            }
+        }
+        return ZonedDateTime.parse(text.subSequence(start, end).toString());
+    }
+
+    public static Instant parseInstant(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        if (end - start >= 20 && text.charAt(start + 10) == 'T' && text.charAt(end - 1) == 'Z') {
+            final int date = date(text, start);
+            final long time = time(text, start + 11, end - 1);
+            if (date >= 0 && time >= 0L) {
+                final long seconds = epochDay(date) * SECONDS_PER_DAY + time / NANOS_PER_SECOND;
+                return Instant.ofEpochSecond(seconds, time % NANOS_PER_SECOND);
+            }
+        }
+        return Instant.parse(text.subSequence(start, end).toString());
+    }
+
+    public static Year parseYear(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        if (end - start == 4) {
+            final int year = digits(text, start, 4);
+            if (year >= 0) {
+                return Year.of(year);
+            }
+        }
+        return Year.parse(text.subSequence(start, end).toString());
+    }
+
+    public static YearMonth parseYearMonth(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        if (end - start == 7 && text.charAt(start + 4) == '-') {
+            final int year = digits(text, start, 4);
+            final int month = digits(text, start + 5, 2);
+            if (year >= 0 && month >= 1 && month <= 12) {
+                return YearMonth.of(year, month);
+            }
+        }
+        return YearMonth.parse(text.subSequence(start, end).toString());
+    }
+
+    public static MonthDay parseMonthDay(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        if (end - start == 7 && text.charAt(start) == '-' && text.charAt(start + 1) == '-' && text.charAt(start + 4) == '-') {
+            final int month = digits(text, start + 2, 2);
+            final int day = digits(text, start + 5, 2);
+            if (month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).maxLength()) {
+                return MonthDay.of(month, day);
+            }
+        }
+        return MonthDay.parse(text.subSequence(start, end).toString());
+    }
+
+    public static ZoneOffset parseZoneOffset(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        final int offset = offset(text, start, end);
+        if (offset != NO_OFFSET) {
+            return ZoneOffset.ofTotalSeconds(offset);
+        }
+        return ZoneOffset.of(text.subSequence(start, end).toString());
+    }
+
+    public static Duration parseDuration(final CharSequence text, final int start, final int end) {
+        checkRegion(text, start, end);
+        final Duration duration = duration(text, start, end);
+        if (duration != null) {
+            return duration;
+        }
+        return Duration.parse(text.subSequence(start, end).toString());
+    }
+
+    private static void checkRegion(final CharSequence text, final int start, final int end) {
+        Objects.requireNonNull(text, "text");
+        if (start < 0 || end > text.length() || start > end) {
+            throw new IndexOutOfBoundsException("region " + start + ".." + end + " out of " + text.length());
+        }
+    }
+
+    private static LocalDateTime dateTime(final int date, final long time) {
+        return LocalDateTime.of(LocalDate.of(date >>> 9, (date >>> 5) & 0xF, date & 0x1F), LocalTime.ofNanoOfDay(time));
+    }
+
+    /**
+     * Parses {@code uuuu-MM-dd} at the given index, which must be followed by at least 10 characters.
+     *
+     * @return the year, month and day packed as {@code year << 9 | month << 5 | day} or -1 if not canonical
+     */
+    private static int date(final CharSequence text, final int index) {
+        if (text.charAt(index + 4) != '-' || text.charAt(index + 7) != '-') {
+            return -1;
+        }
+        final int year = digits(text, index, 4);
+        final int month = digits(text, index + 5, 2);
+        final int day = digits(text, index + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return -1;
+        }
+        return year << 9 | month << 5 | day;
+    }
+
+    private static long epochDay(final int date) {
+        final long year = date >>> 9;
+        final long month = (date >>> 5) & 0xF;
+        long total = 365L * year + (year + 3L) / 4L - (year + 99L) / 100L + (year + 399L) / 400L;
+        total += (367L * month - 362L) / 12L;
+        total += (date & 0x1F) - 1L;
+        if (month > 2L) {
+            total -= Year.isLeap(year) ? 1L : 2L;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Finds the end of the time starting at the given index, that is the first character which is neither a digit, a colon nor a dot.
+     */
+    private static int timeEnd(final CharSequence text, final int index, final int end) {
+        int i = index;
+        while (i < end) {
+            final char c = text.charAt(i);
+            if ((c < '0' || c > '9') && c != ':' && c != '.') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Parses {@code HH:mm[:ss[.S]]} with one to nine fraction digits, filling the whole region.
+     *
+     * @return the nano of day or -1 if not canonical
+     */
+    private static long time(final CharSequence text, final int start, final int end) {
+        final int length = end - start;
+        if ((length != 5 && length != 8 && length < 10) || length > 18 || text.charAt(start + 2) != ':') {
+            return -1L;
+        }
+        final int hour = digits(text, start, 2);
+        final int minute = digits(text, start + 3, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return -1L;
+        }
+        long time = (hour * 60L + minute) * 60L * NANOS_PER_SECOND;
+        if (length == 5) {
+            return time;
+        }
+        final int second = digits(text, start + 6, 2);
+        if (text.charAt(start + 5) != ':' || second < 0 || second > 59) {
+            return -1L;
+        }
+        time += second * NANOS_PER_SECOND;
+        if (length == 8) {
+            return time;
+        }
+        int fraction = digits(text, start + 9, length - 9);
+        if (text.charAt(start + 8) != '.' || fraction < 0) {
+            return -1L;
+        }
+        for (int i = length; i < 18; i++) {
+            fraction *= 10;
+        }
+        return time + fraction;
+    }
+
+    /**
+     * Parses {@code Z} or {@code +HH:MM}, filling the whole region.
+     *
+     * @return the total offset in seconds or {@link #NO_OFFSET} if not canonical
+     */
+    private static int offset(final CharSequence text, final int start, final int end) {
+        final int length = end - start;
+        if (length == 1 && text.charAt(start) == 'Z') {
+            return 0;
+        }
+        if (length != 6 || text.charAt(start + 3) != ':') {
+            return NO_OFFSET;
+        }
+        final char sign = text.charAt(start);
+        final int hours = digits(text, start + 1, 2);
+        final int minutes = digits(text, start + 4, 2);
+        if ((sign != '+' && sign != '-') || hours < 0 || hours > 18 || minutes < 0 || minutes > 59 || (hours == 18 && minutes > 0)) {
+            return NO_OFFSET;
+        }
+        final int offset = hours * 3600 + minutes * 60;
+        return sign == '-' ? -offset : offset;
+    }
+
+    /**
+     * Resolves a zone region identifier, reusing the last resolved zone while the identifiers repeat.
+     *
+     * @return the zone or null if the identifier is not a known region
+     */
+    private static ZoneId zone(final CharSequence text, final int start, final int end) {
+        final ZoneId last = lastZone;
+        if (last != null && regionEquals(last.getId(), text, start, end)) {
+            return last;
+        }
+        if (start == end) {
+            return null;
+        }
+        final char first = text.charAt(start);
+        if ((first < 'A' || first > 'Z') && (first < 'a' || first > 'z')) {
+            return null;
+        }
+        if (regionStartsWith("UT", text, start, end) || regionStartsWith("GMT", text, start, end)) {
+            // identifiers prefixed with UT, UTC or GMT are resolved by the formatter as offsets
+            return null;
+        }
+        final ZoneId zone;
+        try {
+            zone = ZoneId.of(text.subSequence(start, end).toString());
+        } catch (DateTimeException ex) {
+            return null;
+        }
+        if (zone instanceof ZoneOffset) {
+            return null;
+        }
+        lastZone = zone;
+        return zone;
+    }
+
+    private static boolean regionStartsWith(final String prefix, final CharSequence text, final int start, final int end) {
+        return end - start >= prefix.length() && regionEquals(prefix, text, start, start + prefix.length());
+    }
+
+    private static boolean regionEquals(final String id, final CharSequence text, final int start, final int end) {
+        if (id.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            if (id.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses {@code PT[nH][nM][n[.S]S]} with at least one component, unsigned numbers and one to nine fraction digits.
+     *
+     * @return the duration or null if not canonical
+     */
+    private static Duration duration(final CharSequence text, final int start, final int end) {
+        if (end - start < 4 || text.charAt(start) != 'P' || text.charAt(start + 1) != 'T') {
+            return null;
+        }
+        long seconds = 0L;
+        int nanos = 0;
+        int unit = 0;
+        int i = start + 2;
+        try {
+            while (i < end) {
+                final int numberEnd = digitsEnd(text, i, end);
+                if (numberEnd == i || numberEnd == end || numberEnd - i > 18) {
+                    return null;
+                }
+                long value = 0L;
+                for (int j = i; j < numberEnd; j++) {
+                    value = value * 10L + (text.charAt(j) - '0');
+                }
+                final char c = text.charAt(numberEnd);
+                i = numberEnd + 1;
+                if (c == 'H' && unit < 1) {
+                    seconds = Math.multiplyExact(value, 3600L);
+                    unit = 1;
+                } else if (c == 'M' && unit < 2) {
+                    seconds = Math.addExact(seconds, Math.multiplyExact(value, 60L));
+                    unit = 2;
+                } else if (c == 'S' && unit < 3) {
+                    seconds = Math.addExact(seconds, value);
+                    unit = 3;
+                } else if (c == '.' && unit < 3) {
+                    final int fractionEnd = digitsEnd(text, i, end);
+                    if (fractionEnd == i || fractionEnd - i > 9 || fractionEnd != end - 1 || text.charAt(fractionEnd) != 'S') {
+                        return null;
+                    }
+                    nanos = digits(text, i, fractionEnd - i);
+                    for (int j = fractionEnd - i; j < 9; j++) {
+                        nanos *= 10;
+                    }
+                    seconds = Math.addExact(seconds, value);
+                    i = end;
+                    unit = 3;
+                } else {
+                    return null;
+                }
+            }
+        } catch (ArithmeticException ex) {
+            return null;
+        }
+        return Duration.ofSeconds(seconds, nanos);
+    }
+
+    private static int digitsEnd(final CharSequence text, final int index, final int end) {
+        int i = index;
+        while (i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Reads a fixed number of decimal digits.
+     *
+     * @return the value or -1 if any of the characters is not a digit
+     */
+    private static int digits(final CharSequence text, final int index, final int count) {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private IsoParser() {
+    }
+
+}
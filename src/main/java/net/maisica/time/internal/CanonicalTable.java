@@ -0,0 +1,244 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A weak table of canonical values identified by a pair of keys, shared by the interners of intervals and spans.
+ * <p>
+ * The values are referenced weakly, in a table split into independently locked segments. The keys read with the two accessors only hash a value, a lookup
+ * compares the stored hashes first and then matches the candidates against the keys with the matcher, which may read the fields of a packed value
+ * directly rather than creating its keys. This class is internal to the library and not part of its API.
+ * </p>
+ *
+ * @param <A> the type of the first key
+ * @param <B> the type of the second key
+ * @param <V> the value type
+ */
+public final class CanonicalTable<A, B, V> {
+
+    private static final int SEGMENT_SHIFT = 28;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Function<? super V, ? extends A> first;
+    private final Function<? super V, ? extends B> second;
+    private final Matcher<? super A, ? super B, ? super V> matcher;
+    private final Segment<A, B, V>[] segments;
+
+    /**
+     * Creates a table of values identified by the specified keys.
+     *
+     * @param first the accessor of the first key of a value, not null
+     * @param second the accessor of the second key of a value, not null
+     * @param matcher the check of a value against the keys, not null
+     */
+    public CanonicalTable(final Function<? super V, ? extends A> first, final Function<? super V, ? extends B> second,
+            final Matcher<? super A, ? super B, ? super V> matcher) {
+        this.first = Objects.requireNonNull(first, "first");
+        this.second = Objects.requireNonNull(second, "second");
+        this.matcher = Objects.requireNonNull(matcher, "matcher");
+        this.segments = newArray(1 << (32 - SEGMENT_SHIFT));
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment<>(this);
+        }
+    }
+
+    /**
+     * Gets the canonical value with the specified keys, creating it with the factory if there is none.
+     *
+     * @param a the first key, not null
+     * @param b the second key, not null
+     * @param factory the factory of a new value, not null
+     * @return the canonical value
+     */
+    public V get(final A a, final B b, final BiFunction<? super A, ? super B, ? extends V> factory) {
+        final int hash = hash(a, b);
+        final Segment<A, B, V> segment = segments[hash >>> SEGMENT_SHIFT];
+        final V existing = segment.get(a, b, hash);
+        if (existing != null) {
+            return existing;
+        }
+        return intern(factory.apply(a, b));
+    }
+
+    /**
+     * Gets the canonical value equal to the specified value, making the specified value canonical if there is none.
+     *
+     * @param value the value, not null
+     * @return the canonical value
+     */
+    public V intern(final V value) {
+        final int hash = hash(first.apply(value), second.apply(value));
+        return segments[hash >>> SEGMENT_SHIFT].putIfAbsent(value, hash);
+    }
+
+    /**
+     * Gets the number of canonical values not yet reclaimed by the garbage collector.
+     *
+     * @return the number of canonical values
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment<A, B, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * A check whether a value has the specified keys.
+     *
+     * @param <A> the type of the first key
+     * @param <B> the type of the second key
+     * @param <V> the value type
+     */
+    @FunctionalInterface
+    public interface Matcher<A, B, V> {
+
+        /**
+         * Checks whether the value has the specified keys.
+         *
+         * @param value the value, not null
+         * @param a the first key, not null
+         * @param b the second key, not null
+         * @return true if the keys of the value are equal to the specified keys
+         */
+        boolean matches(V value, A a, B b);
+
+    }
+
+    private static int hash(final Object a, final Object b) {
+        int h = 31 * a.hashCode() + b.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <A, B, V> Segment<A, B, V>[] newArray(final int length) {
+        return new Segment[length];
+    }
+
+    private static final class Entry<V> extends WeakReference<V> {
+
+        final int hash;
+        Entry<V> next;
+
+        Entry(final V referent, final ReferenceQueue<? super V> queue, final int hash, final Entry<V> next) {
+            super(referent, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static <V> Entry<V>[] newArray(final int length) {
+            return new Entry[length];
+        }
+
+    }
+
+    private static final class Segment<A, B, V> {
+
+        private final CanonicalTable<A, B, V> owner;
+        private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+        private Entry<V>[] table = Entry.newArray(INITIAL_CAPACITY);
+        private int count;
+
+        Segment(final CanonicalTable<A, B, V> owner) {
+            this.owner = owner;
+        }
+
+        synchronized V get(final A a, final B b, final int hash) {
+            expunge();
+            for (Entry<V> e = table[hash & (table.length - 1)]; e != null; e = e.next) {
+                if (e.hash == hash) {
+                    final V value = e.get();
+                    if (value != null && owner.matcher.matches(value, a, b)) {
+                        return value;
+                    }
+                }
+            }
+            return null;
+        }
+
+        synchronized V putIfAbsent(final V value, final int hash) {
+            expunge();
+            for (Entry<V> e = table[hash & (table.length - 1)]; e != null; e = e.next) {
+                if (e.hash == hash) {
+                    final V existing = e.get();
+                    if (existing != null && existing.equals(value)) {
+                        return existing;
+                    }
+                }
+            }
+            if (count >= table.length - (table.length >>> 2)) {
+                resize();
+            }
+            final int i = hash & (table.length - 1);
+            table[i] = new Entry<>(value, queue, hash, table[i]);
+            count++;
+            return value;
+        }
+
+        synchronized int size() {
+            expunge();
+            return count;
+        }
+
+        private void expunge() {
+            for (Object reference; (reference = queue.poll()) != null;) {
+                @SuppressWarnings("unchecked")
+                final Entry<V> stale = (Entry<V>) reference;
+                final int i = stale.hash & (table.length - 1);
+                Entry<V> previous = null;
+                for (Entry<V> e = table[i]; e != null; previous = e, e = e.next) {
+                    if (e == stale) {
+                        if (previous == null) {
+                            table[i] = e.next;
+                        } else {
+                            previous.next = e.next;
+                        }
+                        count--;
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void resize() {
+            final Entry<V>[] resized = Entry.newArray(table.length << 1);
+            for (Entry<V> e : table) {
+                while (e != null) {
+                    final Entry<V> next = e.next;
+                    final int i = e.hash & (resized.length - 1);
+                    e.next = resized[i];
+                    resized[i] = e;
+                    e = next;
+                }
+            }
+            table = resized;
+        }
+
+    }
+
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.internal;
+
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+/**
+ * A spliterator over temporals separated by a fixed-length step.
+ * <p>
+ * The temporal at index {@code i} is the start plus {@code i} times the step, so the number of temporals is known in advance, any of them can be computed
+ * directly, and the spliterator splits by halving its index range. A step has a fixed length if it is a {@link Duration}, or a {@link Period} of days only
+ * applied to any temporal except a zoned date-time, whose days vary in length. Other steps, such as months, must be iterated, see
+ * {@link #stepping(Temporal, Temporal, TemporalAmount)}.
+ * </p>
+ * <p>
+ * Zoned date-times in a region are resolved from a table of the transitions of the zone within the range, computed once on first use, so each temporal
+ * is converted from its epoch second with a known offset, see {@link ZonedDateTime#ofInstant(java.time.LocalDateTime, ZoneOffset, java.time.ZoneId)}.
+ * </p>
+ * <p>
+ * The temporals are distinct, sorted in natural order and never null. This class is immutable, except for the position of the spliterator. It is shared
+ * by the interval and span packages and is not part of the API.
+ * </p>
+ *
+ * @param <T> the {@link Temporal} comparable type
+ */
+public final class StepSpliterator<T extends Temporal & Comparable<? super T>> implements Spliterator<T> {
+
+    private static final int CHARACTERISTICS = DISTINCT | IMMUTABLE | NONNULL | ORDERED | SORTED | SIZED | SUBSIZED;
+    private static final long NANOS_PER_SECOND = 1000_000_000L;
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final BigInteger BIG_NANOS_PER_SECOND = BigInteger.valueOf(NANOS_PER_SECOND);
+    private static final BigInteger BIG_MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
+
+    /**
+     * Obtains a spliterator over the temporals from the start inclusive to the end exclusive.
+     *
+     * @param <T> the temporal type
+     * @param start the start, not null
+     * @param end the end, not before the start, not null
+     * @param step the positive step, not null
+     * @return the spliterator, null if the step does not have a fixed length
+     * @throws UnsupportedTemporalTypeException if a unit of the step is not supported by the start
+     * @throws IllegalArgumentException if the step has a fixed length which is not positive
+     */
+    public static <T extends Temporal & Comparable<? super T>> StepSpliterator<T> of(final T start, final T end, final TemporalAmount step) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        Objects.requireNonNull(step, "step");
+        requireSupported(start, step);
+        if (toFixedLength(start, step) == null) {
+            return null;
+        }
+        final Duration length = start instanceof LocalDate
+                ? Duration.ofDays(ChronoUnit.DAYS.between(start, end))
+                : Duration.between(start, end);
+        return of(start, length, step);
+    }
+
+    /**
+     * Obtains a spliterator over the temporals from the start inclusive, until the specified duration elapses.
+     *
+     * @param <T> the temporal type
+     * @param start the start, not null
+     * @param duration the non-negative duration, not null
+     * @param step the positive step, not null
+     * @return the spliterator, null if the step does not have a fixed length
+     * @throws UnsupportedTemporalTypeException if a unit of the step is not supported by the start
+     * @throws IllegalArgumentException if the step has a fixed length which is not positive
+     */
+    public static <T extends Temporal & Comparable<? super T>> StepSpliterator<T> of(final T start, final Duration duration, final TemporalAmount step) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(duration, "duration");
+        Objects.requireNonNull(step, "step");
+        requireSupported(start, step);
+        final Duration stepLength = toFixedLength(start, step);
+        if (stepLength == null) {
+            return null;
+        }
+        if (stepLength.isNegative() || stepLength.isZero()) {
+            throw new IllegalArgumentException("step is not positive");
+        }
+        final long count = count(duration, stepLength);
+        return count < 0 ? null : new StepSpliterator<>(start, stepLength.getSeconds(), stepLength.getNano(), 0L, count);
+    }
+
+    /**
+     * Obtains a spliterator over the temporals from the start inclusive to the end exclusive, with a step of any length.
+     * <p>
+     * Returns the spliterator of {@link #of(Temporal, Temporal, TemporalAmount)} for a fixed-length step. Otherwise the step is added one by one and each
+     * temporal is compared with the end, so the result is neither sized nor splittable.
+     * </p>
+     *
+     * @param <T> the temporal type
+     * @param start the start, not null
+     * @param end the end, not before the start, not null
+     * @param step the positive step, not null
+     * @return the spliterator, not null
+     * @throws UnsupportedTemporalTypeException if a unit of the step is not supported by the start
+     * @throws IllegalArgumentException if the step has a fixed length which is not positive
+     */
+    public static <T extends Temporal & Comparable<? super T>> Spliterator<T> stepping(final T start, final T end, final TemporalAmount step) {
+        final StepSpliterator<T> fixed = of(start, end, step);
+        return fixed != null ? fixed : new AddingSpliterator<>(start, end, step);
+    }
+
+    /**
+     * Obtains a spliterator over the temporals from the start inclusive until the specified duration elapses, with a step of any length.
+     * <p>
+     * Returns the spliterator of {@link #of(Temporal, Duration, TemporalAmount)} for a fixed-length step. Otherwise the step is added one by one and each
+     * temporal is compared with the end computed once. A duration reaching beyond the maximum temporal ends with the last representable temporal.
+     * </p>
+     *
+     * @param <T> the temporal type
+     * @param start the start, not null
+     * @param duration the non-negative duration, not null
+     * @param step the positive step, not null
+     * @return the spliterator, not null
+     * @throws UnsupportedTemporalTypeException if a unit of the step is not supported by the start
+     * @throws IllegalArgumentException if the step has a fixed length which is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Temporal & Comparable<? super T>> Spliterator<T> stepping(final T start, final Duration duration, final TemporalAmount step) {
+        final StepSpliterator<T> fixed = of(start, duration, step);
+        if (fixed != null) {
+            return fixed;
+        }
+        T end;
+        try {
+            end = start instanceof LocalDate
+                    ? (T) ((LocalDate) start).plusDays(-Math.floorDiv(-duration.getSeconds() - (duration.getNano() > 0 ? 1L : 0L), SECONDS_PER_DAY))
+                    : (T) start.plus(duration);
+        } catch (final DateTimeException ex) {
+            end = null;
+        }
+        return new AddingSpliterator<>(start, end, step);
+    }
+
+    /**
+     * Checks that all units with a non-zero amount in the step are supported by the temporal, a period of months applies to a year-month.
+     */
+    private static void requireSupported(final Temporal temporal, final TemporalAmount step) {
+        for (final TemporalUnit unit : step.getUnits()) {
+            if (step.get(unit) != 0L && !temporal.isSupported(unit)) {
+                throw new UnsupportedTemporalTypeException(String.format("Unsupported unit: %s", unit));
+            }
+        }
+    }
+
+    /**
+     * Gets a sized stream of numbers from the start inclusive to the end exclusive, separated by the step.
+     *
+     * @param start the first number
+     * @param end the end, exclusive
+     * @param step the positive step
+     * @return the stream of numbers
+     * @throws IllegalArgumentException if the step is not positive
+     * @throws ArithmeticException if the distance from start to end overflows
+     */
+    public static LongStream range(final long start, final long end, final long step) {
+        if (step <= 0L) {
+            throw new IllegalArgumentException("step is not positive");
+        }
+        if (step == 1L) {
+            return LongStream.range(start, end);
+        }
+        return end > start ? iterate(start, step, (Math.subtractExact(end, start) - 1L) / step + 1L) : LongStream.empty();
+    }
+
+    /**
+     * Gets a sized stream of the specified count of numbers separated by the step, which splits by index ranges like this spliterator.
+     *
+     * @param start the first number
+     * @param step the step
+     * @param count the number of elements
+     * @return the stream of numbers
+     */
+    public static LongStream iterate(final long start, final long step, final long count) {
+        return LongStream.range(0L, count).map(i -> start + i * step);
+    }
+
+    private static Duration toFixedLength(final Temporal start, final TemporalAmount step) {
+        if (step instanceof Duration) {
+            return (Duration) step;
+        }
+        if (step instanceof Period && !(start instanceof ChronoZonedDateTime)) {
+            final Period period = (Period) step;
+            if (period.getYears() == 0 && period.getMonths() == 0) {
+                return Duration.ofDays(period.getDays());
+            }
+        }
+        return null;
+    }
+
+    private static long count(final Duration duration, final Duration step) {
+        if (duration.isNegative() || duration.isZero()) {
+            return 0L;
+        }
+        if (duration.getSeconds() < Long.MAX_VALUE / NANOS_PER_SECOND && step.getSeconds() < Long.MAX_VALUE / NANOS_PER_SECOND) {
+            return (duration.toNanos() - 1L) / step.toNanos() + 1L;
+        }
+        final BigInteger count = toBigNanos(duration).subtract(BigInteger.ONE).divide(toBigNanos(step)).add(BigInteger.ONE);
+        return count.compareTo(BIG_MAX_LONG) > 0 ? -1L : count.longValue();
+    }
+
+    private static BigInteger toBigNanos(final Duration duration) {
+        return BigInteger.valueOf(duration.getSeconds()).multiply(BIG_NANOS_PER_SECOND).add(BigInteger.valueOf(duration.getNano()));
+    }
+
+    private final T start;
+    private final long stepSeconds;
+    private final int stepNano;
+    private long index;
+    private final long fence;
+    private ZoneStepper zone;
+
+    private StepSpliterator(final T start, final long stepSeconds, final int stepNano, final long index, final long fence) {
+        this.start = start;
+        this.stepSeconds = stepSeconds;
+        this.stepNano = stepNano;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * Gets the temporal at the specified index, counted from the start regardless of the position of this spliterator.
+     *
+     * @param index the index, from zero to the end of this spliterator exclusive
+     * @return the temporal, not null
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public T get(final long index) {
+        if (index < 0L || index >= fence) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + fence);
+        }
+        final long split = index % NANOS_PER_SECOND * stepNano;
+        final long seconds = seconds(index);
+        final long nanos = split % NANOS_PER_SECOND;
+        if (start instanceof LocalDate) {
+            return (T) start.plus(seconds / SECONDS_PER_DAY, ChronoUnit.DAYS);
+        }
+        if (start instanceof Instant) {
+            final Instant instant = (Instant) start;
+            return (T) Instant.ofEpochSecond(instant.getEpochSecond() + seconds, instant.getNano() + nanos);
+        }
+        if (start instanceof ZonedDateTime && index > 0L && !(((ZonedDateTime) start).getZone() instanceof ZoneOffset)) {
+            final ZonedDateTime zoned = (ZonedDateTime) start;
+            ZoneStepper zone = this.zone;
+            if (zone == null) {
+                zone = ZoneStepper.of(zoned, lastEpochSecond(zoned));
+                this.zone = zone;
+            }
+            final long nano = zoned.getNano() + nanos;
+            return (T) zone.ofEpochSecond(zoned.toEpochSecond() + seconds + nano / NANOS_PER_SECOND, (int) (nano % NANOS_PER_SECOND));
+        }
+        final Temporal temporal = seconds == 0L ? start : start.plus(seconds, ChronoUnit.SECONDS);
+        return (T) (nanos == 0L ? temporal : temporal.plus(nanos, ChronoUnit.NANOS));
+    }
+
+    /**
+     * Gets the whole seconds from the start to the temporal at the specified index.
+     */
+    private long seconds(final long index) {
+        return stepSeconds * index + index / NANOS_PER_SECOND * stepNano + index % NANOS_PER_SECOND * stepNano / NANOS_PER_SECOND;
+    }
+
+    private long lastEpochSecond(final ZonedDateTime start) {
+        try {
+            return Math.addExact(start.toEpochSecond(), seconds(fence - 1L)) + 1L;
+        } catch (final ArithmeticException ex) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Gets the step between consecutive temporals.
+     *
+     * @return the positive step
+     */
+    public Duration getStep() {
+        return Duration.ofSeconds(stepSeconds, stepNano);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        if (index < fence) {
+            action.accept(get(index++));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        final long fence = this.fence;
+        long i = index;
+        index = fence;
+        for (; i < fence; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    @Override
+    public StepSpliterator<T> trySplit() {
+        final long middle = index + (fence - index >>> 1);
+        if (middle <= index) {
+            return null;
+        }
+        final StepSpliterator<T> prefix = new StepSpliterator<>(start, stepSeconds, stepNano, index, middle);
+        prefix.zone = zone;
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return null;
+    }
+
+    private static final class AddingSpliterator<T extends Temporal & Comparable<? super T>> extends Spliterators.AbstractSpliterator<T> {
+
+        private final T start;
+        private final T end;
+        private final TemporalAmount step;
+        private T current;
+        private boolean done;
+
+        AddingSpliterator(final T start, final T end, final TemporalAmount step) {
+            super(Long.MAX_VALUE, DISTINCT | IMMUTABLE | NONNULL | ORDERED | SORTED);
+            this.start = start;
+            this.end = end;
+            this.step = step;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            Objects.requireNonNull(action, "action");
+            if (done) {
+                return false;
+            }
+            final T next;
+            if (current == null) {
+                next = start;
+            } else if (end != null) {
+                next = (T) step.addTo(current);
+            } else {
+                try {
+                    next = (T) step.addTo(current);
+                } catch (final DateTimeException ex) {
+                    done = true;
+                    return false;
+                }
+            }
+            if (end != null && next.compareTo(end) >= 0) {
+                done = true;
+                return false;
+            }
+            if (current != null && next.compareTo(current) <= 0) {
+                throw new IllegalArgumentException("step is not positive");
+            }
+            current = next;
+            action.accept(next);
+            return true;
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return null;
+        }
+
+    }
+
+}
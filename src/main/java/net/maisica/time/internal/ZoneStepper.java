@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.internal;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts instants to zoned date-times of a time-zone from a table of its transitions within a range, computed once.
+ * <p>
+ * Between two transitions the offset is constant, so an epoch second is converted to a zoned date-time with the offset found in the table, without the
+ * search of the rules for the offset of the instant. The rules still validate the offset found, a cheap check. Instants beyond the range of the table are
+ * resolved by the rules.
+ * </p>
+ * <p>
+ * The table is limited to {@value #MAX_TRANSITIONS} transitions. This class is immutable and thread-safe.
+ * </p>
+ */
+final class ZoneStepper {
+
+    private static final int MAX_TRANSITIONS = 256;
+
+    /**
+     * Obtains a stepper for the zone of the specified start, with the transitions after the start until the specified epoch second.
+     *
+     * @param start the start, not null
+     * @param endEpochSecond the last epoch second to be resolved from the table
+     * @return the stepper, null if the zone is an offset
+     */
+    static ZoneStepper of(final ZonedDateTime start, final long endEpochSecond) {
+        final ZoneId zone = start.getZone();
+        if (zone instanceof ZoneOffset) {
+            return null;
+        }
+        final ZoneRules rules = zone.getRules();
+        final List<ZoneOffsetTransition> transitions = new ArrayList<>();
+        ZoneOffsetTransition next = rules.isFixedOffset() ? null : rules.nextTransition(Instant.ofEpochSecond(start.toEpochSecond()));
+        while (next != null && next.toEpochSecond() <= endEpochSecond && transitions.size() < MAX_TRANSITIONS) {
+            transitions.add(next);
+            next = rules.nextTransition(next.getInstant());
+        }
+        final long[] seconds = new long[transitions.size()];
+        final ZoneOffset[] offsets = new ZoneOffset[transitions.size()];
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] = transitions.get(i).toEpochSecond();
+            offsets[i] = transitions.get(i).getOffsetAfter();
+        }
+        return new ZoneStepper(zone, start.getOffset(), seconds, offsets, next == null ? Long.MAX_VALUE : next.toEpochSecond());
+    }
+
+    private final ZoneId zone;
+    private final ZoneOffset initial;
+    private final long[] seconds;
+    private final ZoneOffset[] offsets;
+    private final long limitSecond;
+
+    private ZoneStepper(final ZoneId zone, final ZoneOffset initial, final long[] seconds, final ZoneOffset[] offsets, final long limitSecond) {
+        this.zone = zone;
+        this.initial = initial;
+        this.seconds = seconds;
+        this.offsets = offsets;
+        this.limitSecond = limitSecond;
+    }
+
+    /**
+     * Gets the zoned date-time at the specified instant, not before the start.
+     *
+     * @param epochSecond the epoch second
+     * @param nano the nano-of-second, from 0 to 999,999,999
+     * @return the zoned date-time
+     */
+    ZonedDateTime ofEpochSecond(final long epochSecond, final int nano) {
+        if (epochSecond >= limitSecond) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), zone);
+        }
+        int low = 0;
+        int high = seconds.length - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (seconds[middle] <= epochSecond) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        final ZoneOffset offset = high < 0 ? initial : offsets[high];
+        return ZonedDateTime.ofInstant(LocalDateTime.ofEpochSecond(epochSecond, nano, offset), offset, zone);
+    }
+
+}
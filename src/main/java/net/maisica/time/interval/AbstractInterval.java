@@ -15,16 +15,24 @@
  */
 package net.maisica.time.interval;
 
+import java.io.IOException;
+import java.io.Serializable;
 import java.util.Objects;
-import java.util.stream.Stream;
+import net.maisica.time.format.IsoFormatter;
 
 /**
  * Base implementation for specialized intervals.
+ * <p>
+ * The start and end temporals are kept in this class by default. Implementations with a more compact representation use the no-argument constructor and
+ * override the accessors, together with any operation they can perform without materializing the temporals.
+ * </p>
  * 
  * @param <T> the temporal-on-continuum type, must be comparable
  * @param <U> the final implementation type
  */
-public abstract class AbstractInterval<T extends Comparable<? super T>, U extends AbstractInterval<T, U>> implements Interval<T> {
+public abstract class AbstractInterval<T extends Comparable<? super T>, U extends AbstractInterval<T, U>> implements Interval<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final T start;
     private final T end;
@@ -34,21 +42,37 @@ public abstract class AbstractInterval<T extends Comparable<? super T>, U extend
         this.end = end;
     }
 
+    /**
+     * Constructor for implementations keeping their own representation of start and end, which must override {@link #getStart()} and {@link #getEnd()}.
+     */
+    protected AbstractInterval() {
+        this.start = null;
+        this.end = null;
+    }
+
     protected abstract IntervalFactory<T, U> getFactory();
 
     @Override
-    public final T getStart() {
+    public T getStart() {
         return start;
     }
 
     @Override
-    public final T getEnd() {
+    public T getEnd() {
         return end;
     }
 
+    /**
+     * Checks whether this interval has the specified bounds, overridden by packed implementations to compare their fields without creating temporals.
+     */
+    boolean hasBounds(final T start, final T end) {
+        return start.equals(getStart()) && end.equals(getEnd());
+    }
+
     @Override
     public final U withStart(final T start) {
         Objects.requireNonNull(start, "start");
+        final T end = getEnd();
         if (end.compareTo(start) < 0) {
             throw new IllegalArgumentException("end is before start");
         }
@@ -58,6 +82,7 @@ public abstract class AbstractInterval<T extends Comparable<? super T>, U extend
     @Override
     public final U withEnd(final T end) {
         Objects.requireNonNull(end, "end");
+        final T start = getStart();
         if (end.compareTo(start) < 0) {
             throw new IllegalArgumentException("end is before start");
         }
@@ -65,44 +90,56 @@ public abstract class AbstractInterval<T extends Comparable<? super T>, U extend
     }
 
     @Override
-    public final boolean isEmpty() {
-        return start.equals(end);
+    public boolean isEmpty() {
+        return getStart().equals(getEnd());
     }
 
     @Override
-    public final boolean contains(final T o) {
-        return o == null ? false : o.compareTo(start) >= 0 && o.compareTo(end) < 0;
+    public boolean contains(final T o) {
+        return o == null ? false : o.compareTo(getStart()) >= 0 && o.compareTo(getEnd()) < 0;
     }
 
     @Override
-    public final boolean encloses(final Interval<T> interval) {
+    public boolean encloses(final Interval<T> interval) {
         Objects.requireNonNull(interval, "interval");
-        return interval.getStart().compareTo(start) >= 0 && interval.getEnd().compareTo(end) <= 0;
+        return interval.getStart().compareTo(getStart()) >= 0 && interval.getEnd().compareTo(getEnd()) <= 0;
     }
 
     @Override
-    public final boolean abuts(final Interval<T> interval) {
+    public boolean abuts(final Interval<T> interval) {
         Objects.requireNonNull(interval, "interval");
-        return interval.getEnd().equals(start) ^ interval.getStart().equals(end);
+        return interval.getEnd().equals(getStart()) ^ interval.getStart().equals(getEnd());
     }
 
     @Override
-    public final boolean overlaps(final Interval<T> interval) {
+    public boolean overlaps(final Interval<T> interval) {
         Objects.requireNonNull(interval, "interval");
-        return (interval.getEnd().compareTo(start) > 0 && interval.getStart().compareTo(end) < 0) || equals(interval);
+        return (interval.getEnd().compareTo(getStart()) > 0 && interval.getStart().compareTo(getEnd()) < 0) || equals(interval);
     }
 
     @Override
-    public final U overlap(final Interval<T> interval) {
+    public U overlap(final Interval<T> interval) {
         Objects.requireNonNull(interval, "interval");
-        return !overlaps(interval) ? null : getFactory().createInterval(
-                Stream.of(start, interval.getStart()).max(Comparable::compareTo).get(),
-                Stream.of(end, interval.getEnd()).min(Comparable::compareTo).get());
+        if (!overlaps(interval)) {
+            return null;
+        }
+        final T start = getStart();
+        final T end = getEnd();
+        final T thatStart = interval.getStart();
+        final T thatEnd = interval.getEnd();
+        final boolean thisStart = start.compareTo(thatStart) >= 0;
+        final boolean thisEnd = end.compareTo(thatEnd) <= 0;
+        if (thisStart && thisEnd) {
+            return self();
+        }
+        return getFactory().createInterval(thisStart ? start : thatStart, thisEnd ? end : thatEnd);
     }
 
     @Override
-    public final U gap(final Interval<T> interval) {
+    public U gap(final Interval<T> interval) {
         Objects.requireNonNull(interval, "interval");
+        final T start = getStart();
+        final T end = getEnd();
         final T thatStart = interval.getStart();
         final T thatEnd = interval.getEnd();
         if (thatStart.compareTo(end) > 0) {
@@ -115,11 +152,23 @@ public abstract class AbstractInterval<T extends Comparable<? super T>, U extend
     }
 
     @Override
-    public final U join(final Interval<T> interval) {
+    public U join(final Interval<T> interval) {
         Objects.requireNonNull(interval, "interval");
-        return getFactory().createInterval(
-                Stream.of(start, interval.getStart()).min(Comparable::compareTo).get(),
-                Stream.of(end, interval.getEnd()).max(Comparable::compareTo).get());
+        final T start = getStart();
+        final T end = getEnd();
+        final T thatStart = interval.getStart();
+        final T thatEnd = interval.getEnd();
+        final boolean thisStart = start.compareTo(thatStart) <= 0;
+        final boolean thisEnd = end.compareTo(thatEnd) >= 0;
+        if (thisStart && thisEnd) {
+            return self();
+        }
+        return getFactory().createInterval(thisStart ? start : thatStart, thisEnd ? end : thatEnd);
+    }
+
+    @SuppressWarnings("unchecked")
+    private U self() {
+        return (U) this;
     }
 
     @Override
@@ -151,9 +200,38 @@ public abstract class AbstractInterval<T extends Comparable<? super T>, U extend
         return true;
     }
 
+    /**
+     * Appends the text of this interval, the same as of {@link #toString()}, without creating intermediate strings.
+     *
+     * @param builder the builder to append to, not null
+     * @return the builder
+     */
+    public StringBuilder appendTo(final StringBuilder builder) {
+        Objects.requireNonNull(builder, "builder");
+        IsoFormatter.append(builder, getStart()).append('/');
+        return IsoFormatter.append(builder, getEnd());
+    }
+
+    /**
+     * Appends the text of this interval, the same as of {@link #toString()}, without creating intermediate strings.
+     *
+     * @param <A> the appendable type
+     * @param appendable the appendable to append to, not null
+     * @return the appendable
+     * @throws IOException if an I/O error occurs
+     */
+    public <A extends Appendable> A appendTo(final A appendable) throws IOException {
+        Objects.requireNonNull(appendable, "appendable");
+        if (appendable instanceof StringBuilder) {
+            appendTo((StringBuilder) appendable);
+            return appendable;
+        }
+        return IsoFormatter.flush(appendTo(IsoFormatter.buffer()), appendable);
+    }
+
     @Override
     public String toString() {
-        return start.toString() + '/' + end.toString();
+        return appendTo(new StringBuilder(64)).toString();
     }
 
 }
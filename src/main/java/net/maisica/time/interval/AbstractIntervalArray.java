@@ -0,0 +1,404 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.temporal.TemporalUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Base implementation for growable columnar arrays of intervals.
+ * <p>
+ * Each interval is encoded as a pair of {@code long} keys, measured in the {@linkplain #getUnit() unit} of the implementation, and the starts and ends are
+ * stored in two parallel primitive arrays. The bulk operations are plain branch-free loops over those arrays, which avoids dereferencing an object per
+ * interval. Intervals are only created when read with {@link #get(int)}.
+ * </p>
+ *
+ * @param <T> the temporal-on-continuum type, must be comparable
+ * @param <U> the interval type
+ */
+public abstract class AbstractIntervalArray<T extends Comparable<? super T>, U extends Interval<T>> implements Iterable<U> {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private long[] starts;
+    private long[] ends;
+    private int size;
+
+    public AbstractIntervalArray(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity is negative");
+        }
+        this.starts = new long[capacity];
+        this.ends = new long[capacity];
+    }
+
+    /**
+     * Gets the unit of the keys.
+     *
+     * @return the unit, not null
+     */
+    public abstract TemporalUnit getUnit();
+
+    /**
+     * Converts the temporal to its key.
+     *
+     * @param temporal the temporal, not null
+     * @return the key
+     * @throws ArithmeticException if the temporal cannot be encoded
+     */
+    protected abstract long toKey(T temporal);
+
+    protected long startKey(final Interval<T> interval) {
+        return toKey(interval.getStart());
+    }
+
+    protected long endKey(final Interval<T> interval) {
+        return toKey(interval.getEnd());
+    }
+
+    protected abstract U createInterval(long start, long end);
+
+    /*
+     * The keys of queries clamp temporals beyond the encodable range to the extreme keys, which give the same answers as no stored interval reaches them.
+     */
+
+    private long queryStartKey(final Interval<T> interval) {
+        try {
+            return startKey(interval);
+        } catch (final ArithmeticException ex) {
+            return clampedKey(interval.getStart());
+        }
+    }
+
+    private long queryEndKey(final Interval<T> interval) {
+        try {
+            return endKey(interval);
+        } catch (final ArithmeticException ex) {
+            return clampedKey(interval.getEnd());
+        }
+    }
+
+    private long queryKey(final T temporal) {
+        try {
+            return toKey(temporal);
+        } catch (final ArithmeticException ex) {
+            return clampedKey(temporal);
+        }
+    }
+
+    private long clampedKey(final T temporal) {
+        return temporal.compareTo(createInterval(0L, 0L).getStart()) < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        addKeys(startKey(interval), endKey(interval));
+    }
+
+    public void addAll(final Iterable<? extends Interval<T>> intervals) {
+        Objects.requireNonNull(intervals, "intervals");
+        intervals.forEach(this::add);
+    }
+
+    protected void addKeys(final long start, final long end) {
+        if (end < start) {
+            throw new IllegalArgumentException("end is before start");
+        }
+        if (size == starts.length) {
+            final int capacity = Math.max(16, size + (size >> 1));
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        starts[size] = start;
+        ends[size++] = end;
+    }
+
+    public U get(final int index) {
+        checkIndex(index);
+        return createInterval(starts[index], ends[index]);
+    }
+
+    /**
+     * Gets the key of the start of the interval at the specified position.
+     *
+     * @param index the position
+     * @return the start key
+     */
+    public long getStartKey(final int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    /**
+     * Gets the key of the end of the interval at the specified position.
+     *
+     * @param index the position
+     * @return the end key
+     */
+    public long getEndKey(final int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public Iterator<U> iterator() {
+        return new Iterator<U>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public U next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+
+        };
+    }
+
+    /**
+     * Counts the intervals overlapping the specified interval.
+     *
+     * @param interval the interval, not null
+     * @return the number of overlapping intervals
+     * @see Interval#overlaps(Interval)
+     */
+    public int countOverlapping(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        final long start = queryStartKey(interval);
+        final long end = queryEndKey(interval);
+        final long[] starts = this.starts;
+        final long[] ends = this.ends;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += (ends[i] > start & starts[i] < end) | (starts[i] == start & ends[i] == end) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the positions of the intervals overlapping the specified interval.
+     *
+     * @param interval the interval, not null
+     * @return the ascending positions of overlapping intervals
+     * @see Interval#overlaps(Interval)
+     */
+    public int[] filterOverlapping(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        final long start = queryStartKey(interval);
+        final long end = queryEndKey(interval);
+        final long[] starts = this.starts;
+        final long[] ends = this.ends;
+        int[] result = new int[16];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if ((ends[i] > start & starts[i] < end) | (starts[i] == start & ends[i] == end)) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count << 1);
+                }
+                result[count++] = i;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Gets the positions of the intervals containing the specified temporal as a bit mask.
+     *
+     * @param temporal the temporal, not null
+     * @return the bit set with a bit set for each position of an interval containing the temporal
+     * @see Interval#contains(Comparable)
+     */
+    public BitSet containing(final T temporal) {
+        Objects.requireNonNull(temporal, "temporal");
+        final long key = queryKey(temporal);
+        final long[] starts = this.starts;
+        final long[] ends = this.ends;
+        final long[] words = new long[(size + 63) >>> 6];
+        for (int word = 0; word < words.length; word++) {
+            final int offset = word << 6;
+            final int length = Math.min(64, size - offset);
+            long bits = 0L;
+            for (int bit = 0; bit < length; bit++) {
+                final int i = offset + bit;
+                bits |= (starts[i] <= key & ends[i] > key ? 1L : 0L) << bit;
+            }
+            words[word] = bits;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Gets the length of the shortest interval in the unit of the keys.
+     *
+     * @return the minimum length
+     * @throws NoSuchElementException if this array is empty
+     * @throws ArithmeticException if a length overflows
+     */
+    public long minLength() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        long result = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            result = Math.min(result, Math.subtractExact(ends[i], starts[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the length of the longest interval in the unit of the keys.
+     *
+     * @return the maximum length
+     * @throws NoSuchElementException if this array is empty
+     * @throws ArithmeticException if a length overflows
+     */
+    public long maxLength() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        long result = 0L;
+        for (int i = 0; i < size; i++) {
+            result = Math.max(result, Math.subtractExact(ends[i], starts[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the total length of all intervals in the unit of the keys.
+     *
+     * @return the total length, zero if this array is empty
+     * @throws ArithmeticException if the total overflows
+     */
+    public long totalLength() {
+        long result = 0L;
+        for (int i = 0; i < size; i++) {
+            result = Math.addExact(result, Math.subtractExact(ends[i], starts[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the length of the shortest interval, for implementations with keys in nanoseconds.
+     * <p>
+     * Each length is split into whole seconds and the remaining nanoseconds, so it does not overflow where {@link #minLength()} would.
+     * </p>
+     *
+     * @return the minimum duration
+     * @throws NoSuchElementException if this array is empty
+     */
+    protected Duration minNanos() {
+        return extremeNanos(true);
+    }
+
+    /**
+     * Gets the length of the longest interval, for implementations with keys in nanoseconds.
+     * <p>
+     * Each length is split into whole seconds and the remaining nanoseconds, so it does not overflow where {@link #maxLength()} would.
+     * </p>
+     *
+     * @return the maximum duration
+     * @throws NoSuchElementException if this array is empty
+     */
+    protected Duration maxNanos() {
+        return extremeNanos(false);
+    }
+
+    private Duration extremeNanos(final boolean min) {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        long seconds = lengthSeconds(0);
+        long nanos = lengthNanos(0);
+        for (int i = 1; i < size; i++) {
+            final long s = lengthSeconds(i);
+            final long n = lengthNanos(i);
+            final int order = s != seconds ? Long.compare(s, seconds) : Long.compare(n, nanos);
+            if (min ? order < 0 : order > 0) {
+                seconds = s;
+                nanos = n;
+            }
+        }
+        return Duration.ofSeconds(seconds, nanos);
+    }
+
+    /**
+     * Gets the total length of all intervals, for implementations with keys in nanoseconds.
+     * <p>
+     * Each length is split into whole seconds and the remaining nanoseconds, and both are summed separately, so the total does not overflow where
+     * {@link #totalLength()} would.
+     * </p>
+     *
+     * @return the total duration
+     * @throws ArithmeticException if the total overflows a duration
+     */
+    protected Duration totalNanos() {
+        long seconds = 0L;
+        long nanos = 0L;
+        for (int i = 0; i < size; i++) {
+            seconds = Math.addExact(seconds, lengthSeconds(i));
+            nanos += lengthNanos(i);
+        }
+        return Duration.ofSeconds(seconds, nanos);
+    }
+
+    private long lengthSeconds(final int index) {
+        final long seconds = Math.floorDiv(ends[index], NANOS_PER_SECOND) - Math.floorDiv(starts[index], NANOS_PER_SECOND);
+        return Math.floorMod(ends[index], NANOS_PER_SECOND) < Math.floorMod(starts[index], NANOS_PER_SECOND) ? seconds - 1L : seconds;
+    }
+
+    private long lengthNanos(final int index) {
+        return Math.floorMod(Math.floorMod(ends[index], NANOS_PER_SECOND) - Math.floorMod(starts[index], NANOS_PER_SECOND), NANOS_PER_SECOND);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder().append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(get(i));
+        }
+        return builder.append(']').toString();
+    }
+
+}
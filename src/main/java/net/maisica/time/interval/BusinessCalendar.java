@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Working time of a weekly schedule with holidays.
+ * <p>
+ * The working minutes of the schedule are summed once into prefix sums over the minutes of a week, and the working minutes of the holidays into prefix sums
+ * over the sorted holidays. The working time before any date-time is then a number of whole weeks times the working minutes of a week, plus the prefix sum
+ * at its minute of week, less the prefix sum of the holidays before it, found by binary search. So the working duration within an interval takes
+ * O(log h) time for h holidays, no matter how long the interval is. Adding working time searches the day by doubling and halving, evaluating the working
+ * time before each day tried the same way.
+ * </p>
+ * <p>
+ * The schedule has the resolution of a minute of its {@link Recurrence}, a working minute is counted to the nanosecond. This class is immutable and
+ * thread-safe.
+ * </p>
+ */
+public final class BusinessCalendar {
+
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    /**
+     * Obtains a calendar of the specified weekly schedule and holidays.
+     *
+     * @param schedule the weekly schedule, not restricted to dates of the year, not null
+     * @param holidays the dates without working time, not null
+     * @return the calendar
+     * @throws IllegalArgumentException if the schedule is restricted to dates of the year, which must be listed as holidays instead
+     */
+    public static BusinessCalendar of(final Recurrence schedule, final Collection<LocalDate> holidays) {
+        Objects.requireNonNull(schedule, "schedule");
+        Objects.requireNonNull(holidays, "holidays");
+        if (schedule.isRestricted()) {
+            throw new IllegalArgumentException("schedule is restricted to dates");
+        }
+        final long[] days = holidays.stream().mapToLong(LocalDate::toEpochDay).sorted().distinct().toArray();
+        return new BusinessCalendar(schedule.minutesOfWeek(), days);
+    }
+
+    private final BitSet working;
+    private final int[] weekPrefix;
+    private final long[] holidays;
+    private final long[] holidayPrefix;
+
+    private BusinessCalendar(final BitSet working, final long[] holidays) {
+        this.working = working;
+        this.weekPrefix = new int[MINUTES_PER_WEEK + 1];
+        for (int i = 0; i < MINUTES_PER_WEEK; i++) {
+            weekPrefix[i + 1] = weekPrefix[i] + (working.get(i) ? 1 : 0);
+        }
+        this.holidays = holidays;
+        this.holidayPrefix = new long[holidays.length + 1];
+        for (int i = 0; i < holidays.length; i++) {
+            final int base = dayOfWeek(holidays[i]) * MINUTES_PER_DAY;
+            holidayPrefix[i + 1] = holidayPrefix[i] + weekPrefix[base + MINUTES_PER_DAY] - weekPrefix[base];
+        }
+    }
+
+    private static int dayOfWeek(final long epochDay) {
+        return (int) Math.floorMod(epochDay + 3L, 7L);
+    }
+
+    private static long week(final long epochDay) {
+        return Math.floorDiv(epochDay + 3L, 7L);
+    }
+
+    /**
+     * Checks if the specified date-time is working time.
+     *
+     * @param dateTime the date-time, not null
+     * @return true if the minute of the date-time is a working minute of a day which is not a holiday
+     */
+    public boolean isWorking(final LocalDateTime dateTime) {
+        Objects.requireNonNull(dateTime, "dateTime");
+        final long day = dateTime.toLocalDate().toEpochDay();
+        return working.get(dayOfWeek(day) * MINUTES_PER_DAY + dateTime.getHour() * 60 + dateTime.getMinute()) && Arrays.binarySearch(holidays, day) < 0;
+    }
+
+    /**
+     * Gets the working time within the specified interval.
+     *
+     * @param interval the interval, not null
+     * @return the working duration
+     * @throws ArithmeticException if the working time overflows a {@code long} of nanoseconds
+     */
+    public Duration workingDuration(final DateTimeInterval interval) {
+        Objects.requireNonNull(interval, "interval");
+        final long origin = week(interval.getStart().toLocalDate().toEpochDay());
+        return Duration.ofNanos(Math.subtractExact(before(interval.getEnd(), origin), before(interval.getStart(), origin)));
+    }
+
+    /**
+     * Adds the specified working time to the date-time.
+     * <p>
+     * The result is the earliest date-time at which the working time since the specified date-time equals the amount, so it is the end of a working period
+     * rather than the start of the next one when the amount runs out at a break.
+     * </p>
+     *
+     * @param dateTime the date-time, not null
+     * @param amount the non-negative working time to add, not null
+     * @return the date-time, null if the schedule has no working time
+     * @throws IllegalArgumentException if the amount is negative
+     * @throws ArithmeticException if the working time overflows a {@code long} of nanoseconds
+     */
+    public LocalDateTime plusWorking(final LocalDateTime dateTime, final Duration amount) {
+        Objects.requireNonNull(dateTime, "dateTime");
+        Objects.requireNonNull(amount, "amount");
+        if (amount.isNegative()) {
+            throw new IllegalArgumentException("amount is negative");
+        }
+        if (amount.isZero()) {
+            return dateTime;
+        }
+        if (weekPrefix[MINUTES_PER_WEEK] == 0) {
+            return null;
+        }
+        final long first = dateTime.toLocalDate().toEpochDay();
+        final long origin = week(first);
+        final long target = Math.addExact(before(dateTime, origin), amount.toNanos());
+        long low = first;
+        long step = 7L * (amount.toMinutes() / weekPrefix[MINUTES_PER_WEEK] + 1L);
+        long high = Math.addExact(first, step);
+        while (beforeDay(high + 1L, origin) < target) {
+            low = high + 1L;
+            step = Math.multiplyExact(step, 2L);
+            high = Math.addExact(high, step);
+        }
+        while (low < high) {
+            final long middle = low + (high - low) / 2L;
+            if (beforeDay(middle + 1L, origin) < target) {
+                low = middle + 1L;
+            } else {
+                high = middle;
+            }
+        }
+        final long remaining = target - beforeDay(low, origin);
+        final int base = dayOfWeek(low) * MINUTES_PER_DAY;
+        int minutes = 0;
+        int end = MINUTES_PER_DAY;
+        while (minutes < end) {
+            final int middle = (minutes + end) >>> 1;
+            if ((weekPrefix[base + middle] - weekPrefix[base]) * NANOS_PER_MINUTE < remaining) {
+                minutes = middle + 1;
+            } else {
+                end = middle;
+            }
+        }
+        final long nanos = remaining - (weekPrefix[base + minutes - 1] - weekPrefix[base]) * NANOS_PER_MINUTE;
+        return LocalDate.ofEpochDay(low).atStartOfDay().plusMinutes(minutes - 1L).plusNanos(nanos);
+    }
+
+    /**
+     * Gets the working time from the start of the week of origin to the specified date-time, in nanoseconds.
+     */
+    private long before(final LocalDateTime dateTime, final long origin) {
+        final long day = dateTime.toLocalDate().toEpochDay();
+        final int minute = dayOfWeek(day) * MINUTES_PER_DAY + dateTime.getHour() * 60 + dateTime.getMinute();
+        final int holiday = Arrays.binarySearch(holidays, day);
+        final long nanos = beforeDay(day, origin) + (holiday >= 0 ? 0L : (weekPrefix[minute] - weekPrefix[minute - minute % MINUTES_PER_DAY]) * NANOS_PER_MINUTE);
+        return holiday < 0 && working.get(minute) ? nanos + dateTime.getSecond() * 1000_000_000L + dateTime.getNano() : nanos;
+    }
+
+    private int holidaysBefore(final long day) {
+        final int i = Arrays.binarySearch(holidays, day);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * Gets the working time from the start of the week of origin to the start of the specified epoch day, in nanoseconds.
+     */
+    private long beforeDay(final long day, final long origin) {
+        final long minutes = Math.addExact(Math.multiplyExact(week(day) - origin, (long) weekPrefix[MINUTES_PER_WEEK]),
+                weekPrefix[dayOfWeek(day) * MINUTES_PER_DAY]) - (holidayPrefix[holidaysBefore(day)] - holidayPrefix[holidaysBefore(origin * 7L - 3L)]);
+        return Math.multiplyExact(minutes, NANOS_PER_MINUTE);
+    }
+
+}
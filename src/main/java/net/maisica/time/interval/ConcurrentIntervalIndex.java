@@ -0,0 +1,286 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe index of non-overlapping intervals, for conflict detection such as reservations of a resource.
+ * <p>
+ * Intervals are only added by {@link #tryInsertIfNoOverlap(Interval)}, so the stored intervals never overlap each other and are ordered alike by start and by
+ * end. They are kept in a concurrent skip list by start, and any overlap test is a single lookup of the interval with the latest start before the end of the
+ * tested one. Queries do not lock.
+ * </p>
+ * <p>
+ * Writes lock stripes of the timeline: the timeline is cut into buckets of a fixed duration, mapped onto a fixed number of locks, and an insertion or removal
+ * holds the locks of all buckets its interval touches. Two overlapping intervals share a bucket, so conflicting writes are serialized, while writes in
+ * distant parts of the timeline proceed in parallel. Insertion is linearizable: each call appears to check and insert at a single point in time. Temporals
+ * which cannot be located on the timeline of epoch seconds fall into a single bucket.
+ * </p>
+ * <p>
+ * The bounds of each interval are read once, when the interval is inserted. Empty intervals cannot be inserted.
+ * </p>
+ *
+ * @param <T> the temporal type
+ * @param <U> the stored interval type
+ */
+public final class ConcurrentIntervalIndex<T extends Temporal & Comparable<? super T>, U extends Interval<T>> {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ConcurrentSkipListMap<T, Entry<T, U>> byStart = new ConcurrentSkipListMap<>();
+    private final long bucketSeconds;
+    private final ReentrantLock[] locks;
+
+    /**
+     * Creates an index locking buckets of the specified duration on 64 stripes.
+     *
+     * @param bucket the duration of a bucket of the timeline, at least a second, not null
+     * @throws IllegalArgumentException if the bucket is shorter than a second
+     */
+    public ConcurrentIntervalIndex(final Duration bucket) {
+        this(bucket, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates an index locking buckets of the specified duration on the specified number of stripes.
+     *
+     * @param bucket the duration of a bucket of the timeline, at least a second, not null
+     * @param stripes the positive number of locks
+     * @throws IllegalArgumentException if the bucket is shorter than a second or the number of stripes is not positive
+     */
+    public ConcurrentIntervalIndex(final Duration bucket, final int stripes) {
+        Objects.requireNonNull(bucket, "bucket");
+        if (bucket.getSeconds() < 1L) {
+            throw new IllegalArgumentException("bucket is shorter than a second");
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes is not positive");
+        }
+        this.bucketSeconds = bucket.getSeconds();
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public int size() {
+        return byStart.size();
+    }
+
+    public boolean isEmpty() {
+        return byStart.isEmpty();
+    }
+
+    /**
+     * Inserts the interval unless it overlaps any interval of this index, atomically.
+     *
+     * @param interval the non-empty interval, not null
+     * @return true if inserted, false if it overlaps an interval of this index
+     * @throws IllegalArgumentException if the interval is empty
+     */
+    public boolean tryInsertIfNoOverlap(final U interval) {
+        Objects.requireNonNull(interval, "interval");
+        final Entry<T, U> entry = new Entry<>(interval.getStart(), interval.getEnd(), interval);
+        if (entry.start.compareTo(entry.end) >= 0) {
+            throw new IllegalArgumentException("interval is empty");
+        }
+        final int[] stripes = lock(entry.start, entry.end);
+        try {
+            if (find(entry.start, entry.end) != null) {
+                return false;
+            }
+            byStart.put(entry.start, entry);
+            return true;
+        } finally {
+            unlock(stripes);
+        }
+    }
+
+    /**
+     * Removes the specified interval, compared by equality.
+     *
+     * @param interval the interval, not null
+     * @return true if removed
+     */
+    public boolean remove(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        final T start = interval.getStart();
+        final T end = interval.getEnd();
+        if (start.compareTo(end) >= 0) {
+            return false;
+        }
+        final int[] stripes = lock(start, end);
+        try {
+            final Entry<T, U> found = byStart.get(start);
+            return found != null && found.interval.equals(interval) && byStart.remove(start, found);
+        } finally {
+            unlock(stripes);
+        }
+    }
+
+    /**
+     * Gets the interval containing the specified temporal.
+     *
+     * @param temporal the temporal, not null
+     * @return the interval containing the temporal, null if none
+     */
+    public U containing(final T temporal) {
+        Objects.requireNonNull(temporal, "temporal");
+        final Map.Entry<T, Entry<T, U>> floor = byStart.floorEntry(temporal);
+        return floor != null && floor.getValue().end.compareTo(temporal) > 0 ? floor.getValue().interval : null;
+    }
+
+    /**
+     * Checks if any interval overlaps the specified interval.
+     *
+     * @param interval the interval, not null
+     * @return true if an interval of this index overlaps the interval
+     * @see Interval#overlaps(Interval)
+     */
+    public boolean overlapsAny(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        return find(interval.getStart(), interval.getEnd()) != null;
+    }
+
+    /**
+     * Gets all intervals overlapping the specified interval, as seen by a weakly consistent traversal.
+     *
+     * @param interval the interval, not null
+     * @return the intervals overlapping the interval, ordered by start
+     * @see Interval#overlaps(Interval)
+     */
+    public List<U> overlapping(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        final T start = interval.getStart();
+        final T end = interval.getEnd();
+        final T from = byStart.floorKey(start);
+        final List<U> result = new ArrayList<>();
+        for (final Entry<T, U> entry : byStart.subMap(from == null ? start : from, true, end, false).values()) {
+            if (entry.end.compareTo(start) > 0) {
+                result.add(entry.interval);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets a weakly consistent view of the intervals of this index.
+     *
+     * @return the unmodifiable intervals, ordered by start
+     */
+    public Collection<U> intervals() {
+        return new AbstractCollection<U>() {
+
+            @Override
+            public Iterator<U> iterator() {
+                final Iterator<Entry<T, U>> entries = byStart.values().iterator();
+                return new Iterator<U>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public U next() {
+                        return entries.next().interval;
+                    }
+
+                };
+            }
+
+            @Override
+            public int size() {
+                return byStart.size();
+            }
+
+        };
+    }
+
+    /**
+     * Finds the stored interval overlapping the specified bounds, the only candidate being the one with the latest start before the end.
+     */
+    private Entry<T, U> find(final T start, final T end) {
+        final Map.Entry<T, Entry<T, U>> lower = byStart.lowerEntry(end);
+        return lower != null && lower.getValue().end.compareTo(start) > 0 ? lower.getValue() : null;
+    }
+
+    private long bucket(final T temporal) {
+        final long second = Timeline.epochSecond(temporal);
+        return second == Long.MIN_VALUE ? 0L : Math.floorDiv(second, bucketSeconds);
+    }
+
+    /**
+     * Locks the stripes of the buckets from start to end in ascending order of stripe, so that writers cannot deadlock.
+     */
+    private int[] lock(final T start, final T end) {
+        final long first = bucket(start);
+        final long count = bucket(end) - first + 1L;
+        final int[] stripes;
+        if (count >= locks.length || count <= 0L) {
+            stripes = new int[locks.length];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = i;
+            }
+        } else {
+            stripes = new int[(int) count];
+            final int from = (int) Math.floorMod(first, (long) locks.length);
+            final int wrapped = Math.max(0, from + stripes.length - locks.length);
+            for (int i = 0; i < wrapped; i++) {
+                stripes[i] = i;
+            }
+            for (int i = wrapped; i < stripes.length; i++) {
+                stripes[i] = from + i - wrapped;
+            }
+        }
+        for (final int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        return stripes;
+    }
+
+    private void unlock(final int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    private static final class Entry<T, U> {
+
+        private final T start;
+        private final T end;
+        private final U interval;
+
+        Entry(final T start, final T end, final U interval) {
+            this.start = start;
+            this.end = end;
+            this.interval = interval;
+        }
+
+    }
+
+}
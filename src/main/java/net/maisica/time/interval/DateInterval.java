@@ -15,25 +15,31 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import java.util.stream.LongStream;
+import net.maisica.time.format.IsoParser;
+import net.maisica.time.internal.StepSpliterator;
 import net.maisica.time.span.DateSpan;
 
 public final class DateInterval extends AbstractInterval<LocalDate, DateInterval> implements TemporalInterval<LocalDate>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static DateInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final LocalDate start = LocalDate.parse(text.subSequence(0, i++).toString());
-                final LocalDate end = LocalDate.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final LocalDate start = IsoParser.parseLocalDate(text, 0, i);
+        final LocalDate end = IsoParser.parseLocalDate(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static DateInterval of(final Interval<LocalDate> interval) {
@@ -73,4 +79,24 @@ public final class DateInterval extends AbstractInterval<LocalDate, DateInterval
         return DateSpan.of(getStart(), toDuration());
     }
 
+    /**
+     * Gets the epoch days of the dates of {@link #stream(java.time.temporal.TemporalAmount)} stepping by the specified number of days, without creating any
+     * date.
+     *
+     * @param step the positive step in days
+     * @return the sized stream of days from 1970-01-01
+     * @throws IllegalArgumentException if the step is not positive
+     */
+    public LongStream epochDays(final long step) {
+        return StepSpliterator.range(getStart().toEpochDay(), getEnd().toEpochDay(), step);
+    }
+
+    private Object writeReplace() {
+        return new Ser(Ser.DATE_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
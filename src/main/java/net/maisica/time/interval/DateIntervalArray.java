@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * A columnar array of date intervals.
+ * <p>
+ * Dates are encoded as epoch days, so the lengths are measured in days.
+ * </p>
+ */
+public final class DateIntervalArray extends AbstractIntervalArray<LocalDate, DateInterval> {
+
+    public DateIntervalArray() {
+        this(16);
+    }
+
+    public DateIntervalArray(final int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public TemporalUnit getUnit() {
+        return ChronoUnit.DAYS;
+    }
+
+    @Override
+    protected long toKey(final LocalDate temporal) {
+        return temporal.toEpochDay();
+    }
+
+    @Override
+    protected DateInterval createInterval(final long start, final long end) {
+        return DateInterval.of(LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(end));
+    }
+
+}
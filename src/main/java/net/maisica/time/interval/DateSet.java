@@ -0,0 +1,918 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import net.maisica.time.format.IsoFormatter;
+
+/**
+ * An immutable set of dates represented by a compressed bitmap of epoch days.
+ * <p>
+ * The epoch days are split into chunks of 65536 days, about 179 years, keyed by their high bits, the way Roaring bitmaps do. Each chunk keeps its low
+ * bits in the smallest of three containers: a sorted array of days, a bitmap of 1024 words or a list of runs. Day-granular data such as bookings and
+ * holidays mostly ends up in runs, a few bytes per interval. Union, intersection and difference merge the chunks by key and combine the containers pairwise,
+ * runs with runs, arrays with arrays, and anything else word by word, choosing the smallest container again for the result.
+ * </p>
+ * <p>
+ * A set converts from any intervals of dates, and to the disjoint {@link DateInterval}s it contains, abutting ones coalesced.
+ * </p>
+ */
+public final class DateSet implements Iterable<DateInterval> {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int WORDS = CHUNK_SIZE >> 6;
+    private static final int BITMAP_BYTES = WORDS * 8;
+
+    private static final DateSet EMPTY = new DateSet(new int[0], new Container[0]);
+
+    /**
+     * Gets the empty set.
+     *
+     * @return the empty set
+     */
+    public static DateSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Obtains a set of the dates of the specified intervals.
+     *
+     * @param intervals the intervals, in any order, overlapping or not, not null
+     * @return the set
+     */
+    @SafeVarargs
+    public static DateSet of(final Interval<LocalDate>... intervals) {
+        Objects.requireNonNull(intervals, "intervals");
+        final List<Interval<LocalDate>> list = new ArrayList<>(intervals.length);
+        for (final Interval<LocalDate> interval : intervals) {
+            list.add(interval);
+        }
+        return of(list);
+    }
+
+    /**
+     * Obtains a set of the dates of the specified intervals.
+     *
+     * @param intervals the intervals, in any order, overlapping or not, not null
+     * @return the set
+     */
+    public static DateSet of(final Iterable<? extends Interval<LocalDate>> intervals) {
+        Objects.requireNonNull(intervals, "intervals");
+        long[] bounds = new long[32];
+        int count = 0;
+        for (final Interval<LocalDate> interval : intervals) {
+            Objects.requireNonNull(interval, "interval");
+            final long start = interval.getStart().toEpochDay();
+            final long end = interval.getEnd().toEpochDay();
+            if (start >= end) {
+                continue;
+            }
+            if (count == bounds.length) {
+                bounds = Arrays.copyOf(bounds, count * 2);
+            }
+            bounds[count++] = start;
+            bounds[count++] = end;
+        }
+        return build(bounds, count);
+    }
+
+    /**
+     * Obtains a set of the specified dates.
+     *
+     * @param dates the dates, not null
+     * @return the set
+     */
+    public static DateSet ofDates(final Iterable<LocalDate> dates) {
+        Objects.requireNonNull(dates, "dates");
+        long[] bounds = new long[32];
+        int count = 0;
+        for (final LocalDate date : dates) {
+            Objects.requireNonNull(date, "date");
+            if (count == bounds.length) {
+                bounds = Arrays.copyOf(bounds, count * 2);
+            }
+            bounds[count] = date.toEpochDay();
+            bounds[count + 1] = bounds[count] + 1L;
+            count += 2;
+        }
+        return build(bounds, count);
+    }
+
+    /**
+     * Builds a set of the epoch day intervals given as pairs of bounds, in any order.
+     * <p>
+     * The starts and the ends are sorted separately as primitives, and the union is swept counting the intervals open at each bound, starts first, so that
+     * abutting intervals coalesce.
+     * </p>
+     */
+    private static DateSet build(final long[] bounds, final int count) {
+        final int n = count >> 1;
+        final long[] starts = new long[n];
+        final long[] ends = new long[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = bounds[i << 1];
+            ends[i] = bounds[(i << 1) + 1];
+        }
+        Arrays.sort(starts);
+        Arrays.sort(ends);
+        final Builder builder = new Builder();
+        long start = 0L;
+        int open = 0;
+        int i = 0;
+        int j = 0;
+        while (j < n) {
+            if (i < n && starts[i] <= ends[j]) {
+                if (open++ == 0) {
+                    start = starts[i];
+                }
+                i++;
+            } else {
+                if (--open == 0) {
+                    builder.append(start, ends[j]);
+                }
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    private final int[] keys;
+    private final Container[] containers;
+
+    private DateSet(final int[] keys, final Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+    }
+
+    /**
+     * Checks if this set contains no dates.
+     *
+     * @return true if this set is empty
+     */
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /**
+     * Gets the number of dates of this set.
+     *
+     * @return the number of dates
+     */
+    public long cardinality() {
+        long result = 0L;
+        for (final Container container : containers) {
+            result += container.cardinality();
+        }
+        return result;
+    }
+
+    /**
+     * Checks if this set contains the specified date.
+     *
+     * @param date the date, may be null
+     * @return true if the date is in this set
+     */
+    public boolean contains(final LocalDate date) {
+        if (date == null) {
+            return false;
+        }
+        final long day = date.toEpochDay();
+        final int index = Arrays.binarySearch(keys, (int) (day >> CHUNK_BITS));
+        return index >= 0 && containers[index].contains((int) day & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Gets the disjoint intervals of this set, sorted, the abutting ones coalesced.
+     *
+     * @return the unmodifiable list of intervals
+     */
+    public List<DateInterval> intervals() {
+        final List<DateInterval> result = new ArrayList<>();
+        long start = 0L;
+        long end = Long.MIN_VALUE;
+        for (int i = 0; i < keys.length; i++) {
+            final long base = (long) keys[i] << CHUNK_BITS;
+            final int[] runs = containers[i].toRuns();
+            for (int j = 0; j < runs.length; j += 2) {
+                if (base + runs[j] != end) {
+                    if (end != Long.MIN_VALUE) {
+                        result.add(DateInterval.of(LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(end)));
+                    }
+                    start = base + runs[j];
+                }
+                end = base + runs[j + 1];
+            }
+        }
+        if (end != Long.MIN_VALUE) {
+            result.add(DateInterval.of(LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(end)));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public Iterator<DateInterval> iterator() {
+        return intervals().iterator();
+    }
+
+    /**
+     * Converts this set to a set of intervals.
+     *
+     * @return the set of the intervals of this set
+     */
+    public IntervalSet<LocalDate, DateInterval> toIntervalSet() {
+        final IntervalFactory<LocalDate, DateInterval> factory = DateInterval::of;
+        return IntervalSet.of(factory, intervals());
+    }
+
+    /**
+     * Gets the smallest interval enclosing this set.
+     *
+     * @return the bounding interval, null if this set is empty
+     */
+    public DateInterval span() {
+        if (isEmpty()) {
+            return null;
+        }
+        final int[] first = containers[0].toRuns();
+        final int[] last = containers[keys.length - 1].toRuns();
+        return DateInterval.of(LocalDate.ofEpochDay(((long) keys[0] << CHUNK_BITS) + first[0]),
+                LocalDate.ofEpochDay(((long) keys[keys.length - 1] << CHUNK_BITS) + last[last.length - 1]));
+    }
+
+    /**
+     * Gets the union of this and the specified set.
+     *
+     * @param other the other set, not null
+     * @return the set of dates contained in any of the sets
+     */
+    public DateSet union(final DateSet other) {
+        Objects.requireNonNull(other, "other");
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        final Builder builder = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                builder.add(keys[i], containers[i++]);
+            } else if (i == keys.length || other.keys[j] < keys[i]) {
+                builder.add(other.keys[j], other.containers[j++]);
+            } else {
+                builder.add(keys[i], Container.or(containers[i++], other.containers[j++]));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the intersection of this and the specified set.
+     *
+     * @param other the other set, not null
+     * @return the set of dates contained in both sets
+     */
+    public DateSet intersection(final DateSet other) {
+        Objects.requireNonNull(other, "other");
+        final Builder builder = new Builder();
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (other.keys[j] < keys[i]) {
+                j++;
+            } else {
+                builder.add(keys[i], Container.and(containers[i++], other.containers[j++]));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the difference of this and the specified set.
+     *
+     * @param other the other set, not null
+     * @return the set of dates contained in this set but not in the other
+     */
+    public DateSet difference(final DateSet other) {
+        Objects.requireNonNull(other, "other");
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        final Builder builder = new Builder();
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.keys.length && other.keys[j] == keys[i]) {
+                builder.add(keys[i], Container.andNot(containers[i], other.containers[j]));
+            } else {
+                builder.add(keys[i], containers[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Arrays.hashCode(keys);
+        for (final Container container : containers) {
+            hash = 31 * hash + container.hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null) {
+            return false;
+        }
+        if (getClass() != o.getClass()) {
+            return false;
+        }
+        final DateSet that = (DateSet) o;
+        return Arrays.equals(this.keys, that.keys) && Arrays.equals(this.containers, that.containers);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder().append('[');
+        for (final DateInterval interval : intervals()) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            IsoFormatter.append(builder, interval.getStart()).append('/');
+            IsoFormatter.append(builder, interval.getEnd());
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Accumulates the containers of a set by ascending key, either whole or from sorted disjoint runs of epoch days.
+     */
+    private static final class Builder {
+
+        private int[] keys = new int[4];
+        private Container[] containers = new Container[4];
+        private int size;
+        private int key;
+        private int[] runs = new int[16];
+        private int length;
+
+        void append(long start, final long end) {
+            while (start < end) {
+                final int chunk = (int) (start >> CHUNK_BITS);
+                if (length > 0 && chunk != key) {
+                    flush();
+                }
+                key = chunk;
+                final long base = (long) chunk << CHUNK_BITS;
+                final long stop = Math.min(end, base + CHUNK_SIZE);
+                if (length > 0 && runs[length - 1] == (int) (start - base)) {
+                    runs[length - 1] = (int) (stop - base);
+                } else {
+                    if (length == runs.length) {
+                        runs = Arrays.copyOf(runs, length * 2);
+                    }
+                    runs[length++] = (int) (start - base);
+                    runs[length++] = (int) (stop - base);
+                }
+                start = stop;
+            }
+        }
+
+        private void flush() {
+            if (length > 0) {
+                final int count = length;
+                length = 0;
+                add(key, Container.ofRuns(runs, count));
+            }
+        }
+
+        void add(final int key, final Container container) {
+            if (container == null) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+            }
+            keys[size] = key;
+            containers[size++] = container;
+        }
+
+        DateSet build() {
+            flush();
+            return size == 0 ? EMPTY : new DateSet(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size));
+        }
+
+    }
+
+    /**
+     * The low 16 bits of the epoch days of a chunk, never empty.
+     */
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(int value);
+
+        /**
+         * Gets the runs of this container as pairs of inclusive start and exclusive end.
+         */
+        abstract int[] toRuns();
+
+        /**
+         * Gets a new bitmap of this container.
+         */
+        abstract long[] toWords();
+
+        /**
+         * Creates the smallest container of sorted disjoint runs given as pairs of inclusive start and exclusive end.
+         */
+        static Container ofRuns(final int[] runs, final int length) {
+            int cardinality = 0;
+            for (int i = 0; i < length; i += 2) {
+                cardinality += runs[i + 1] - runs[i];
+            }
+            if (cardinality == 0) {
+                return null;
+            }
+            final int runBytes = length * 2;
+            if (runBytes <= cardinality * 2 && runBytes <= BITMAP_BYTES) {
+                final char[] values = new char[length];
+                for (int i = 0; i < length; i += 2) {
+                    values[i] = (char) runs[i];
+                    values[i + 1] = (char) (runs[i + 1] - 1);
+                }
+                return new RunContainer(values, cardinality);
+            } else if (cardinality * 2 <= BITMAP_BYTES) {
+                final char[] values = new char[cardinality];
+                int n = 0;
+                for (int i = 0; i < length; i += 2) {
+                    for (int value = runs[i]; value < runs[i + 1]; value++) {
+                        values[n++] = (char) value;
+                    }
+                }
+                return new ArrayContainer(values);
+            } else {
+                final long[] words = new long[WORDS];
+                for (int i = 0; i < length; i += 2) {
+                    setRange(words, runs[i], runs[i + 1]);
+                }
+                return new BitmapContainer(words, cardinality);
+            }
+        }
+
+        /**
+         * Creates the smallest container of sorted distinct values.
+         */
+        static Container ofValues(final char[] values, final int length) {
+            if (length == 0) {
+                return null;
+            }
+            int count = 1;
+            for (int i = 1; i < length; i++) {
+                if (values[i] != values[i - 1] + 1) {
+                    count++;
+                }
+            }
+            if (count * 4 <= length * 2 || length * 2 > BITMAP_BYTES) {
+                final int[] runs = new int[count * 2];
+                int n = 0;
+                for (int i = 0; i < length; i++) {
+                    if (i == 0 || values[i] != values[i - 1] + 1) {
+                        runs[n] = values[i];
+                        n += 2;
+                    }
+                    runs[n - 1] = values[i] + 1;
+                }
+                return ofRuns(runs, n);
+            }
+            return new ArrayContainer(length == values.length ? values : Arrays.copyOf(values, length));
+        }
+
+        /**
+         * Creates the smallest container of a bitmap, which it may keep.
+         */
+        static Container ofWords(final long[] words) {
+            int cardinality = 0;
+            int count = 0;
+            long previous = 0L;
+            for (final long word : words) {
+                cardinality += Long.bitCount(word);
+                count += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+                previous = word;
+            }
+            if (cardinality == 0) {
+                return null;
+            }
+            if (count * 4 <= BITMAP_BYTES || cardinality * 2 <= BITMAP_BYTES) {
+                final int[] runs = new int[count * 2];
+                int n = 0;
+                int value = nextSetBit(words, 0);
+                while (value >= 0) {
+                    final int end = nextClearBit(words, value);
+                    runs[n++] = value;
+                    runs[n++] = end;
+                    value = nextSetBit(words, end);
+                }
+                return ofRuns(runs, n);
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+
+        static Container or(final Container a, final Container b) {
+            if (a instanceof RunContainer && b instanceof RunContainer) {
+                final char[] x = ((RunContainer) a).runs;
+                final char[] y = ((RunContainer) b).runs;
+                final int[] runs = new int[x.length + y.length];
+                int n = 0;
+                int i = 0;
+                int j = 0;
+                while (i < x.length || j < y.length) {
+                    final int start;
+                    final int end;
+                    if (j == y.length || (i < x.length && x[i] <= y[j])) {
+                        start = x[i++];
+                        end = x[i++] + 1;
+                    } else {
+                        start = y[j++];
+                        end = y[j++] + 1;
+                    }
+                    if (n > 0 && start <= runs[n - 1]) {
+                        runs[n - 1] = Math.max(runs[n - 1], end);
+                    } else {
+                        runs[n++] = start;
+                        runs[n++] = end;
+                    }
+                }
+                return ofRuns(runs, n);
+            } else if (a instanceof ArrayContainer && b instanceof ArrayContainer) {
+                final char[] x = ((ArrayContainer) a).values;
+                final char[] y = ((ArrayContainer) b).values;
+                final char[] values = new char[x.length + y.length];
+                int n = 0;
+                int i = 0;
+                int j = 0;
+                while (i < x.length || j < y.length) {
+                    if (j == y.length || (i < x.length && x[i] < y[j])) {
+                        values[n++] = x[i++];
+                    } else if (i == x.length || y[j] < x[i]) {
+                        values[n++] = y[j++];
+                    } else {
+                        values[n++] = x[i++];
+                        j++;
+                    }
+                }
+                return ofValues(values, n);
+            }
+            final long[] words = a.toWords();
+            final long[] that = b instanceof BitmapContainer ? ((BitmapContainer) b).words : b.toWords();
+            for (int i = 0; i < WORDS; i++) {
+                words[i] |= that[i];
+            }
+            return ofWords(words);
+        }
+
+        static Container and(final Container a, final Container b) {
+            if (a instanceof RunContainer && b instanceof RunContainer) {
+                final char[] x = ((RunContainer) a).runs;
+                final char[] y = ((RunContainer) b).runs;
+                final int[] runs = new int[x.length + y.length];
+                int n = 0;
+                int i = 0;
+                int j = 0;
+                while (i < x.length && j < y.length) {
+                    final int start = Math.max(x[i], y[j]);
+                    final int end;
+                    if (x[i + 1] <= y[j + 1]) {
+                        end = x[i + 1] + 1;
+                        i += 2;
+                    } else {
+                        end = y[j + 1] + 1;
+                        j += 2;
+                    }
+                    if (start < end) {
+                        runs[n++] = start;
+                        runs[n++] = end;
+                    }
+                }
+                return ofRuns(runs, n);
+            } else if (a instanceof ArrayContainer || b instanceof ArrayContainer) {
+                final ArrayContainer array = (ArrayContainer) (a instanceof ArrayContainer ? a : b);
+                final Container other = array == a ? b : a;
+                final char[] values = new char[array.values.length];
+                int n = 0;
+                for (final char value : array.values) {
+                    if (other.contains(value)) {
+                        values[n++] = value;
+                    }
+                }
+                return ofValues(values, n);
+            }
+            final long[] words = a.toWords();
+            final long[] that = b instanceof BitmapContainer ? ((BitmapContainer) b).words : b.toWords();
+            for (int i = 0; i < WORDS; i++) {
+                words[i] &= that[i];
+            }
+            return ofWords(words);
+        }
+
+        static Container andNot(final Container a, final Container b) {
+            if (a instanceof RunContainer && b instanceof RunContainer) {
+                final char[] x = ((RunContainer) a).runs;
+                final char[] y = ((RunContainer) b).runs;
+                final int[] runs = new int[x.length + y.length];
+                int n = 0;
+                int j = 0;
+                for (int i = 0; i < x.length; i += 2) {
+                    int start = x[i];
+                    final int end = x[i + 1] + 1;
+                    while (j < y.length && y[j + 1] < start) {
+                        j += 2;
+                    }
+                    while (j < y.length && y[j] < end) {
+                        if (start < y[j]) {
+                            runs[n++] = start;
+                            runs[n++] = y[j];
+                        }
+                        if (y[j + 1] + 1 >= end) {
+                            start = end;
+                            break;
+                        }
+                        start = Math.max(start, y[j + 1] + 1);
+                        j += 2;
+                    }
+                    if (start < end) {
+                        runs[n++] = start;
+                        runs[n++] = end;
+                    }
+                }
+                return ofRuns(runs, n);
+            } else if (a instanceof ArrayContainer) {
+                final char[] values = new char[a.cardinality()];
+                int n = 0;
+                for (final char value : ((ArrayContainer) a).values) {
+                    if (!b.contains(value)) {
+                        values[n++] = value;
+                    }
+                }
+                return ofValues(values, n);
+            }
+            final long[] words = a.toWords();
+            final long[] that = b instanceof BitmapContainer ? ((BitmapContainer) b).words : b.toWords();
+            for (int i = 0; i < WORDS; i++) {
+                words[i] &= ~that[i];
+            }
+            return ofWords(words);
+        }
+
+        static void setRange(final long[] words, final int start, final int end) {
+            final int first = start >>> 6;
+            final int last = (end - 1) >>> 6;
+            if (first == last) {
+                words[first] |= (-1L << start) & (-1L >>> -end);
+                return;
+            }
+            words[first] |= -1L << start;
+            for (int i = first + 1; i < last; i++) {
+                words[i] = -1L;
+            }
+            words[last] |= -1L >>> -end;
+        }
+
+        static int nextSetBit(final long[] words, final int from) {
+            int i = from >>> 6;
+            if (i >= WORDS) {
+                return -1;
+            }
+            long word = words[i] & (-1L << from);
+            while (word == 0L) {
+                if (++i == WORDS) {
+                    return -1;
+                }
+                word = words[i];
+            }
+            return (i << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        static int nextClearBit(final long[] words, final int from) {
+            int i = from >>> 6;
+            long word = ~words[i] & (-1L << from);
+            while (word == 0L) {
+                if (++i == WORDS) {
+                    return CHUNK_SIZE;
+                }
+                word = ~words[i];
+            }
+            return (i << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private final char[] values;
+
+        ArrayContainer(final char[] values) {
+            this.values = values;
+        }
+
+        @Override
+        int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        boolean contains(final int value) {
+            return Arrays.binarySearch(values, (char) value) >= 0;
+        }
+
+        @Override
+        int[] toRuns() {
+            int[] runs = new int[8];
+            int n = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0 && values[i] == values[i - 1] + 1) {
+                    runs[n - 1]++;
+                } else {
+                    if (n == runs.length) {
+                        runs = Arrays.copyOf(runs, n * 2);
+                    }
+                    runs[n++] = values[i];
+                    runs[n++] = values[i] + 1;
+                }
+            }
+            return n == runs.length ? runs : Arrays.copyOf(runs, n);
+        }
+
+        @Override
+        long[] toWords() {
+            final long[] words = new long[WORDS];
+            for (final char value : values) {
+                words[value >>> 6] |= 1L << value;
+            }
+            return words;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof ArrayContainer && Arrays.equals(values, ((ArrayContainer) o).values);
+        }
+
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private final int cardinality;
+
+        BitmapContainer(final long[] words, final int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(final int value) {
+            return (words[value >>> 6] & 1L << value) != 0L;
+        }
+
+        @Override
+        int[] toRuns() {
+            int[] runs = new int[64];
+            int n = 0;
+            int value = nextSetBit(words, 0);
+            while (value >= 0) {
+                final int end = nextClearBit(words, value);
+                if (n == runs.length) {
+                    runs = Arrays.copyOf(runs, n * 2);
+                }
+                runs[n++] = value;
+                runs[n++] = end;
+                value = end == CHUNK_SIZE ? -1 : nextSetBit(words, end);
+            }
+            return n == runs.length ? runs : Arrays.copyOf(runs, n);
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof BitmapContainer && Arrays.equals(words, ((BitmapContainer) o).words);
+        }
+
+    }
+
+    /**
+     * Runs kept as pairs of start and inclusive last value, so that a whole chunk fits.
+     */
+    private static final class RunContainer extends Container {
+
+        private final char[] runs;
+        private final int cardinality;
+
+        RunContainer(final char[] runs, final int cardinality) {
+            this.runs = runs;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(final int value) {
+            int low = 0;
+            int high = (runs.length >> 1) - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                if (runs[middle << 1] > value) {
+                    high = middle - 1;
+                } else if (runs[(middle << 1) + 1] < value) {
+                    low = middle + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int[] toRuns() {
+            final int[] result = new int[runs.length];
+            for (int i = 0; i < runs.length; i += 2) {
+                result[i] = runs[i];
+                result[i + 1] = runs[i + 1] + 1;
+            }
+            return result;
+        }
+
+        @Override
+        long[] toWords() {
+            final long[] words = new long[WORDS];
+            for (int i = 0; i < runs.length; i += 2) {
+                setRange(words, runs[i], runs[i + 1] + 1);
+            }
+            return words;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(runs);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof RunContainer && Arrays.equals(runs, ((RunContainer) o).runs);
+        }
+
+    }
+
+}
@@ -15,6 +15,8 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.LocalDate;
@@ -22,20 +24,22 @@ import java.time.LocalDateTime;
 import java.time.Period;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.span.DateTimeSpan;
 
 public final class DateTimeInterval extends AbstractInterval<LocalDateTime, DateTimeInterval> implements TemporalInterval<LocalDateTime>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static DateTimeInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final LocalDateTime start = LocalDateTime.parse(text.subSequence(0, i++).toString());
-                final LocalDateTime end = LocalDateTime.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final LocalDateTime start = IsoParser.parseLocalDateTime(text, 0, i);
+        final LocalDateTime end = IsoParser.parseLocalDateTime(text, i + 1, text.length());
+        return of(start, end);
     }
     
     public static DateTimeInterval wholeDay(final LocalDate date) {
@@ -87,4 +91,12 @@ public final class DateTimeInterval extends AbstractInterval<LocalDateTime, Date
         return DateTimeSpan.of(getStart(), toDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.DATE_TIME_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
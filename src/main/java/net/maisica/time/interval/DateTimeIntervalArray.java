@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * A columnar array of local date-time intervals.
+ * <p>
+ * Date-times are encoded as nanoseconds from 1970-01-01T00:00, which limits them to years 1677 through 2262.
+ * </p>
+ */
+public final class DateTimeIntervalArray extends AbstractIntervalArray<LocalDateTime, DateTimeInterval> {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    public DateTimeIntervalArray() {
+        this(16);
+    }
+
+    public DateTimeIntervalArray(final int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public TemporalUnit getUnit() {
+        return ChronoUnit.NANOS;
+    }
+
+    @Override
+    protected long toKey(final LocalDateTime temporal) {
+        return Math.addExact(Math.multiplyExact(temporal.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), temporal.getNano());
+    }
+
+    private static LocalDateTime toDateTime(final long key) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(key, NANOS_PER_SECOND), (int) Math.floorMod(key, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    @Override
+    protected DateTimeInterval createInterval(final long start, final long end) {
+        return DateTimeInterval.of(toDateTime(start), toDateTime(end));
+    }
+
+    public Duration minDuration() {
+        return minNanos();
+    }
+
+    public Duration maxDuration() {
+        return maxNanos();
+    }
+
+    public Duration totalDuration() {
+        return totalNanos();
+    }
+
+}
@@ -15,25 +15,46 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import java.util.stream.LongStream;
+import net.maisica.time.format.IsoFormatter;
+import net.maisica.time.format.IsoParser;
+import net.maisica.time.internal.StepSpliterator;
 import net.maisica.time.span.InstantSpan;
 
+/**
+ * An interval between two instants.
+ * <p>
+ * The instants are kept packed as epoch seconds and nano-of-second primitives and are materialized by {@link #getStart()} and {@link #getEnd()} on each call.
+ * Predicates and algebra against another instant interval compare the primitives directly.
+ * </p>
+ */
 public final class InstantInterval extends AbstractInterval<Instant, InstantInterval> implements TemporalInterval<Instant>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
+    private static final long MIN_SECOND = Instant.MIN.getEpochSecond();
+    private static final long MAX_SECOND = Instant.MAX.getEpochSecond();
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final long MILLIS_PER_SECOND = 1000L;
+
     public static InstantInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final Instant start = Instant.parse(text.subSequence(0, i++).toString());
-                final Instant end = Instant.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final Instant start = IsoParser.parseInstant(text, 0, i);
+        final Instant end = IsoParser.parseInstant(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static InstantInterval of(final Interval<Instant> interval) {
@@ -59,8 +80,87 @@ public final class InstantInterval extends AbstractInterval<Instant, InstantInte
         return new InstantInterval(start, end);
     }
 
+    /**
+     * Obtains an interval from epoch seconds and nanosecond adjustments, without creating any instant.
+     *
+     * @param startSecond the epoch seconds of the start
+     * @param startNanoAdjustment the nanosecond adjustment to the start seconds, positive or negative
+     * @param endSecond the epoch seconds of the end
+     * @param endNanoAdjustment the nanosecond adjustment to the end seconds, positive or negative
+     * @return the interval
+     * @throws DateTimeException if any bound exceeds the minimum or maximum instant
+     * @throws IllegalArgumentException if end is before start
+     */
+    public static InstantInterval ofEpochSeconds(final long startSecond, final long startNanoAdjustment, final long endSecond, final long endNanoAdjustment) {
+        final long normalizedStartSecond = checkSecond(Math.addExact(startSecond, Math.floorDiv(startNanoAdjustment, NANOS_PER_SECOND)));
+        final long normalizedEndSecond = checkSecond(Math.addExact(endSecond, Math.floorDiv(endNanoAdjustment, NANOS_PER_SECOND)));
+        return ofNormalized(normalizedStartSecond, (int) Math.floorMod(startNanoAdjustment, NANOS_PER_SECOND),
+                normalizedEndSecond, (int) Math.floorMod(endNanoAdjustment, NANOS_PER_SECOND));
+    }
+
+    /**
+     * Obtains an interval from milliseconds since epoch, without creating any instant.
+     *
+     * @param startMilli the start in milliseconds from 1970-01-01T00:00:00Z
+     * @param endMilli the end in milliseconds from 1970-01-01T00:00:00Z
+     * @return the interval
+     * @throws IllegalArgumentException if end is before start
+     */
+    public static InstantInterval ofEpochMillis(final long startMilli, final long endMilli) {
+        return ofNormalized(Math.floorDiv(startMilli, MILLIS_PER_SECOND), (int) (Math.floorMod(startMilli, MILLIS_PER_SECOND) * NANOS_PER_MILLI),
+                Math.floorDiv(endMilli, MILLIS_PER_SECOND), (int) (Math.floorMod(endMilli, MILLIS_PER_SECOND) * NANOS_PER_MILLI));
+    }
+
+    /**
+     * Obtains an interval from nanoseconds since epoch, without creating any instant.
+     *
+     * @param startNano the start in nanoseconds from 1970-01-01T00:00:00Z
+     * @param endNano the end in nanoseconds from 1970-01-01T00:00:00Z
+     * @return the interval
+     * @throws IllegalArgumentException if end is before start
+     */
+    public static InstantInterval ofEpochNanos(final long startNano, final long endNano) {
+        return ofNormalized(Math.floorDiv(startNano, NANOS_PER_SECOND), (int) Math.floorMod(startNano, NANOS_PER_SECOND),
+                Math.floorDiv(endNano, NANOS_PER_SECOND), (int) Math.floorMod(endNano, NANOS_PER_SECOND));
+    }
+
+    private static InstantInterval ofNormalized(final long startSecond, final int startNano, final long endSecond, final int endNano) {
+        if (compare(endSecond, endNano, startSecond, startNano) < 0) {
+            throw new IllegalArgumentException("end is before start");
+        }
+        return new InstantInterval(startSecond, startNano, endSecond, endNano);
+    }
+
+    private static long checkSecond(final long second) {
+        if (second < MIN_SECOND || second > MAX_SECOND) {
+            throw new DateTimeException("Instant exceeds minimum or maximum instant");
+        }
+        return second;
+    }
+
+    private static int compare(final long second, final int nano, final long thatSecond, final int thatNano) {
+        final int result = Long.compare(second, thatSecond);
+        return result != 0 ? result : nano - thatNano;
+    }
+
+    private static int hash(final long second, final int nano) {
+        return ((int) (second ^ (second >>> 32))) + 51 * nano;
+    }
+
+    private final long startSecond;
+    private final int startNano;
+    private final long endSecond;
+    private final int endNano;
+
     private InstantInterval(final Instant start, final Instant end) {
-        super(start, end);
+        this(start.getEpochSecond(), start.getNano(), end.getEpochSecond(), end.getNano());
+    }
+
+    private InstantInterval(final long startSecond, final int startNano, final long endSecond, final int endNano) {
+        this.startSecond = startSecond;
+        this.startNano = startNano;
+        this.endSecond = endSecond;
+        this.endNano = endNano;
     }
 
     @Override
@@ -68,9 +168,219 @@ public final class InstantInterval extends AbstractInterval<Instant, InstantInte
         return InstantInterval::new;
     }
 
+    @Override
+    public Instant getStart() {
+        return Instant.ofEpochSecond(startSecond, startNano);
+    }
+
+    @Override
+    public Instant getEnd() {
+        return Instant.ofEpochSecond(endSecond, endNano);
+    }
+
+    @Override
+    boolean hasBounds(final Instant start, final Instant end) {
+        return startSecond == start.getEpochSecond() && startNano == start.getNano() && endSecond == end.getEpochSecond() && endNano == end.getNano();
+    }
+
+    public long getStartEpochSecond() {
+        return startSecond;
+    }
+
+    public int getStartNano() {
+        return startNano;
+    }
+
+    public long getEndEpochSecond() {
+        return endSecond;
+    }
+
+    public int getEndNano() {
+        return endNano;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return startSecond == endSecond && startNano == endNano;
+    }
+
+    @Override
+    public boolean contains(final Instant o) {
+        if (o == null) {
+            return false;
+        }
+        final long second = o.getEpochSecond();
+        final int nano = o.getNano();
+        return compare(second, nano, startSecond, startNano) >= 0 && compare(second, nano, endSecond, endNano) < 0;
+    }
+
+    @Override
+    public boolean encloses(final Interval<Instant> interval) {
+        if (!(interval instanceof InstantInterval)) {
+            return super.encloses(interval);
+        }
+        final InstantInterval that = (InstantInterval) interval;
+        return compare(that.startSecond, that.startNano, startSecond, startNano) >= 0 && compare(that.endSecond, that.endNano, endSecond, endNano) <= 0;
+    }
+
+    @Override
+    public boolean abuts(final Interval<Instant> interval) {
+        if (!(interval instanceof InstantInterval)) {
+            return super.abuts(interval);
+        }
+        final InstantInterval that = (InstantInterval) interval;
+        return (that.endSecond == startSecond && that.endNano == startNano) ^ (that.startSecond == endSecond && that.startNano == endNano);
+    }
+
+    @Override
+    public boolean overlaps(final Interval<Instant> interval) {
+        if (!(interval instanceof InstantInterval)) {
+            return super.overlaps(interval);
+        }
+        final InstantInterval that = (InstantInterval) interval;
+        return (compare(that.endSecond, that.endNano, startSecond, startNano) > 0 && compare(that.startSecond, that.startNano, endSecond, endNano) < 0)
+                || equals(that);
+    }
+
+    @Override
+    public InstantInterval overlap(final Interval<Instant> interval) {
+        if (!(interval instanceof InstantInterval)) {
+            return super.overlap(interval);
+        }
+        final InstantInterval that = (InstantInterval) interval;
+        if (!overlaps(that)) {
+            return null;
+        }
+        final boolean thisStart = compare(startSecond, startNano, that.startSecond, that.startNano) >= 0;
+        final boolean thisEnd = compare(endSecond, endNano, that.endSecond, that.endNano) <= 0;
+        if (thisStart && thisEnd) {
+            return this;
+        } else if (!thisStart && !thisEnd) {
+            return that;
+        }
+        return thisStart
+                ? new InstantInterval(startSecond, startNano, that.endSecond, that.endNano)
+                : new InstantInterval(that.startSecond, that.startNano, endSecond, endNano);
+    }
+
+    @Override
+    public InstantInterval gap(final Interval<Instant> interval) {
+        if (!(interval instanceof InstantInterval)) {
+            return super.gap(interval);
+        }
+        final InstantInterval that = (InstantInterval) interval;
+        if (compare(that.startSecond, that.startNano, endSecond, endNano) > 0) {
+            return new InstantInterval(endSecond, endNano, that.startSecond, that.startNano);
+        } else if (compare(that.endSecond, that.endNano, startSecond, startNano) < 0) {
+            return new InstantInterval(that.endSecond, that.endNano, startSecond, startNano);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public InstantInterval join(final Interval<Instant> interval) {
+        if (!(interval instanceof InstantInterval)) {
+            return super.join(interval);
+        }
+        final InstantInterval that = (InstantInterval) interval;
+        final boolean thisStart = compare(startSecond, startNano, that.startSecond, that.startNano) <= 0;
+        final boolean thisEnd = compare(endSecond, endNano, that.endSecond, that.endNano) >= 0;
+        if (thisStart && thisEnd) {
+            return this;
+        } else if (!thisStart && !thisEnd) {
+            return that;
+        }
+        return thisStart
+                ? new InstantInterval(startSecond, startNano, that.endSecond, that.endNano)
+                : new InstantInterval(that.startSecond, that.startNano, endSecond, endNano);
+    }
+
+    @Override
+    public Duration toDuration() {
+        return Duration.ofSeconds(endSecond - startSecond, endNano - startNano);
+    }
+
     @Override
     public InstantSpan toSpan() {
-        return InstantSpan.of(getStart(), toDuration());
+        return InstantSpan.ofEpochSeconds(startSecond, startNano, endSecond - startSecond, endNano - startNano);
+    }
+
+    /**
+     * Gets the milliseconds since epoch of the instants of {@link #stream(java.time.temporal.TemporalAmount)} stepping by the specified number of
+     * milliseconds, without creating any instant.
+     * <p>
+     * Each value is rounded down to the millisecond, the same as of {@link Instant#toEpochMilli()}.
+     * </p>
+     *
+     * @param step the positive step in milliseconds
+     * @return the sized stream of milliseconds from 1970-01-01T00:00:00Z
+     * @throws IllegalArgumentException if the step is not positive
+     * @throws ArithmeticException if the start or end cannot be represented in milliseconds
+     */
+    public LongStream epochMillis(final long step) {
+        if (step <= 0L) {
+            throw new IllegalArgumentException("step is not positive");
+        }
+        final long start = Math.addExact(Math.multiplyExact(startSecond, MILLIS_PER_SECOND), startNano / NANOS_PER_MILLI);
+        if (endSecond > Long.MAX_VALUE / MILLIS_PER_SECOND || endSecond < Long.MIN_VALUE / MILLIS_PER_SECOND) {
+            throw new ArithmeticException("end cannot be represented in milliseconds");
+        }
+        if (isEmpty()) {
+            return LongStream.empty();
+        }
+        final long lastMillis = Math.multiplyExact(Math.subtractExact(endSecond, startSecond), MILLIS_PER_SECOND)
+                + Math.floorDiv(endNano - startNano - 1L, NANOS_PER_MILLI);
+        return StepSpliterator.iterate(start, step, lastMillis / step + 1L);
+    }
+
+    /**
+     * Gets the nanoseconds since epoch of the instants of {@link #stream(java.time.temporal.TemporalAmount)} stepping by the specified number of
+     * nanoseconds, without creating any instant.
+     *
+     * @param step the positive step in nanoseconds
+     * @return the sized stream of nanoseconds from 1970-01-01T00:00:00Z
+     * @throws IllegalArgumentException if the step is not positive
+     * @throws ArithmeticException if the start or end cannot be represented in nanoseconds, outside of years 1677 to 2262
+     */
+    public LongStream epochNanos(final long step) {
+        return StepSpliterator.range(Math.addExact(Math.multiplyExact(startSecond, NANOS_PER_SECOND), startNano),
+                Math.addExact(Math.multiplyExact(endSecond, NANOS_PER_SECOND), endNano), step);
+    }
+
+    @Override
+    public StringBuilder appendTo(final StringBuilder builder) {
+        Objects.requireNonNull(builder, "builder");
+        IsoFormatter.appendInstant(builder, startSecond, startNano).append('/');
+        return IsoFormatter.appendInstant(builder, endSecond, endNano);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 29 * hash + hash(startSecond, startNano);
+        hash = 29 * hash + hash(endSecond, endNano);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InstantInterval)) {
+            return false;
+        }
+        final InstantInterval that = (InstantInterval) o;
+        return this.startSecond == that.startSecond && this.startNano == that.startNano && this.endSecond == that.endSecond && this.endNano == that.endNano;
+    }
+
+    private Object writeReplace() {
+        return new Ser(Ser.INSTANT_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
     }
 
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * A columnar array of instant intervals.
+ * <p>
+ * Instants are encoded as nanoseconds from 1970-01-01T00:00:00Z, which limits them to years 1677 through 2262.
+ * </p>
+ */
+public final class InstantIntervalArray extends AbstractIntervalArray<Instant, InstantInterval> {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private static long toKey(final long second, final int nano) {
+        return Math.addExact(Math.multiplyExact(second, NANOS_PER_SECOND), nano);
+    }
+
+    public InstantIntervalArray() {
+        this(16);
+    }
+
+    public InstantIntervalArray(final int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public TemporalUnit getUnit() {
+        return ChronoUnit.NANOS;
+    }
+
+    @Override
+    protected long toKey(final Instant temporal) {
+        return toKey(temporal.getEpochSecond(), temporal.getNano());
+    }
+
+    @Override
+    protected long startKey(final Interval<Instant> interval) {
+        if (interval instanceof InstantInterval) {
+            final InstantInterval packed = (InstantInterval) interval;
+            return toKey(packed.getStartEpochSecond(), packed.getStartNano());
+        }
+        return super.startKey(interval);
+    }
+
+    @Override
+    protected long endKey(final Interval<Instant> interval) {
+        if (interval instanceof InstantInterval) {
+            final InstantInterval packed = (InstantInterval) interval;
+            return toKey(packed.getEndEpochSecond(), packed.getEndNano());
+        }
+        return super.endKey(interval);
+    }
+
+    @Override
+    protected InstantInterval createInterval(final long start, final long end) {
+        return InstantInterval.ofEpochNanos(start, end);
+    }
+
+    /**
+     * Appends an interval given in nanoseconds from epoch.
+     *
+     * @param start the start in nanoseconds from 1970-01-01T00:00:00Z
+     * @param end the end in nanoseconds from 1970-01-01T00:00:00Z
+     * @throws IllegalArgumentException if end is before start
+     */
+    public void addEpochNanos(final long start, final long end) {
+        addKeys(start, end);
+    }
+
+    public Duration minDuration() {
+        return minNanos();
+    }
+
+    public Duration maxDuration() {
+        return maxNanos();
+    }
+
+    public Duration totalDuration() {
+        return totalNanos();
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collector;
+
+/**
+ * Collectors of intervals, with combiners merging partial results of a parallel stream in linear time.
+ * <p>
+ * Unlike reducing with {@link Interval#join(Interval)}, these collectors keep a mutable partial result per thread: the bounds of the intervals, the overall
+ * bounding interval, or a sum of seconds and nanoseconds. Each partial set is sorted and coalesced in its own thread, and combining two of them is a single
+ * merge pass, see {@link IntervalSet#union(IntervalSet)}.
+ * </p>
+ */
+public final class IntervalCollectors {
+
+    /**
+     * Returns a collector of the intervals into a set of disjoint intervals.
+     * <p>
+     * Overlapping and abutting intervals are coalesced as by {@link Interval#join(Interval)}, empty intervals are dropped.
+     * </p>
+     *
+     * @param <T> the temporal type
+     * @param <U> the interval type of the result
+     * @param factory the factory of the intervals of the result, not null
+     * @return the collector
+     */
+    public static <T extends Comparable<? super T>, U extends Interval<T>> Collector<Interval<T>, ?, IntervalSet<T, U>> toIntervalSet(
+            final IntervalFactory<T, U> factory) {
+        Objects.requireNonNull(factory, "factory");
+        return Collector.of(() -> new SetAccumulator<>(factory), SetAccumulator::add, SetAccumulator::combine, SetAccumulator::toSet);
+    }
+
+    /**
+     * Returns a collector of the intervals into the list of disjoint intervals of their union, in order of start.
+     * <p>
+     * Overlapping and abutting intervals are coalesced as by {@link Interval#join(Interval)}, empty intervals are dropped.
+     * </p>
+     *
+     * @param <T> the temporal type
+     * @param <U> the interval type of the result
+     * @param factory the factory of the intervals of the result, not null
+     * @return the collector of an unmodifiable list
+     */
+    public static <T extends Comparable<? super T>, U extends Interval<T>> Collector<Interval<T>, ?, List<U>> coalescing(
+            final IntervalFactory<T, U> factory) {
+        Objects.requireNonNull(factory, "factory");
+        return Collector.of(() -> new SetAccumulator<>(factory), SetAccumulator::add, SetAccumulator::combine,
+                a -> Collections.unmodifiableList(new ArrayList<>(a.toSet().intervals())));
+    }
+
+    /**
+     * Returns a collector of the intervals into the smallest interval enclosing all of them, the same as joining them all.
+     * <p>
+     * An interval is joined only if it is not enclosed by the bounds collected so far, so most intervals are only tested with
+     * {@link Interval#encloses(Interval)}. The result is created once by the factory.
+     * </p>
+     *
+     * @param <T> the temporal type
+     * @param <U> the interval type of the result
+     * @param factory the factory of the interval of the result, not null
+     * @return the collector of the interval, null if there is no interval
+     */
+    public static <T extends Comparable<? super T>, U extends Interval<T>> Collector<Interval<T>, ?, U> bounding(final IntervalFactory<T, U> factory) {
+        Objects.requireNonNull(factory, "factory");
+        return Collector.of(BoundsAccumulator<T>::new, BoundsAccumulator::add, BoundsAccumulator::combine,
+                a -> a.bounds == null ? null : factory.createInterval(a.bounds.getStart(), a.bounds.getEnd()), Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a collector of the sum of durations of the intervals.
+     * <p>
+     * Overlapping parts are counted once for each interval, the duration of the union is given by {@link IntervalSet#toDuration()} of
+     * {@link #toIntervalSet(IntervalFactory)}.
+     * </p>
+     *
+     * @param <T> the temporal type
+     * @return the collector of the non-negative total duration, throwing {@link ArithmeticException} if numeric overflow occurs
+     */
+    public static <T extends Temporal & Comparable<? super T>> Collector<TemporalInterval<T>, ?, Duration> totalDuration() {
+        return Collector.of(DurationAccumulator::new, DurationAccumulator::add, DurationAccumulator::combine,
+                a -> Duration.ofSeconds(a.seconds, a.nanos), Collector.Characteristics.UNORDERED);
+    }
+
+    private IntervalCollectors() {
+    }
+
+    private static final class SetAccumulator<T extends Comparable<? super T>, U extends Interval<T>> {
+
+        private final IntervalFactory<T, U> factory;
+        private List<Interval<T>> pending = new ArrayList<>();
+        private IntervalSet<T, U> set;
+
+        private SetAccumulator(final IntervalFactory<T, U> factory) {
+            this.factory = factory;
+        }
+
+        private void add(final Interval<T> interval) {
+            pending.add(Objects.requireNonNull(interval, "interval"));
+        }
+
+        private SetAccumulator<T, U> combine(final SetAccumulator<T, U> other) {
+            set = toSet().union(other.toSet());
+            return this;
+        }
+
+        private IntervalSet<T, U> toSet() {
+            if (!pending.isEmpty()) {
+                final IntervalSet<T, U> added = IntervalSet.of(factory, pending);
+                set = set == null ? added : set.union(added);
+                pending = new ArrayList<>();
+            }
+            if (set == null) {
+                set = IntervalSet.empty(factory);
+            }
+            return set;
+        }
+
+    }
+
+    private static final class BoundsAccumulator<T extends Comparable<? super T>> {
+
+        private Interval<T> bounds;
+
+        private void add(final Interval<T> interval) {
+            Objects.requireNonNull(interval, "interval");
+            if (bounds == null) {
+                bounds = interval;
+            } else if (!bounds.encloses(interval)) {
+                bounds = bounds.join(interval);
+            }
+        }
+
+        private BoundsAccumulator<T> combine(final BoundsAccumulator<T> other) {
+            if (other.bounds != null) {
+                add(other.bounds);
+            }
+            return this;
+        }
+
+    }
+
+    private static final class DurationAccumulator {
+
+        private long seconds;
+        private long nanos;
+
+        private void add(final TemporalInterval<?> interval) {
+            add(interval.toDuration());
+        }
+
+        private void add(final Duration duration) {
+            seconds = Math.addExact(seconds, duration.getSeconds());
+            nanos += duration.getNano();
+            if (nanos >= 1000_000_000L) {
+                seconds = Math.addExact(seconds, 1L);
+                nanos -= 1000_000_000L;
+            }
+        }
+
+        private DurationAccumulator combine(final DurationAccumulator other) {
+            add(Duration.ofSeconds(other.seconds, other.nanos));
+            return this;
+        }
+
+    }
+
+}
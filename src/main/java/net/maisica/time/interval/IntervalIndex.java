@@ -0,0 +1,475 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A mutable collection of intervals indexed for stabbing, overlap and nearest-neighbour queries.
+ * <p>
+ * Intervals are kept in a balanced binary search tree ordered by start, then end, where each node is augmented with the greatest end in its subtree. This gives
+ * logarithmic insertion and removal. Queries skip the subtrees ending too early or starting too late, so they take {@code O(min(n, k log n))} for the
+ * {@code k} matching intervals. A second tree ordered by end answers {@link #predecessor(Comparable)} in logarithmic time. Equal intervals may be added more than once. Iteration and query results are ordered by start, then
+ * end, then insertion order.
+ * </p>
+ * <p>
+ * The bounds of each interval are read once, when the interval is added. This implementation is not synchronized.
+ * </p>
+ *
+ * @param <T> the temporal-on-continuum type, must be comparable
+ * @param <U> the stored interval type
+ */
+public final class IntervalIndex<T extends Comparable<? super T>, U extends Interval<T>> extends AbstractCollection<U> {
+
+    private Node<T, U> byStart;
+    private Node<T, U> byEnd;
+    private int size;
+    private long sequence;
+    private int modCount;
+
+    public IntervalIndex() {
+    }
+
+    public IntervalIndex(final Collection<? extends U> intervals) {
+        addAll(intervals);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(final U interval) {
+        Objects.requireNonNull(interval, "interval");
+        final Node<T, U> node = new Node<>(interval, interval.getStart(), interval.getEnd(), sequence++);
+        byStart = insert(byStart, node, false);
+        byEnd = insert(byEnd, new Node<>(interval, node.start, node.end, node.sequence), true);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        final Node<T, U> node = find(o);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return find(o) != null;
+    }
+
+    @Override
+    public void clear() {
+        byStart = null;
+        byEnd = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<U> iterator() {
+        return new NodeIterator();
+    }
+
+    /**
+     * Gets all intervals containing the specified temporal.
+     *
+     * @param temporal the temporal, not null
+     * @return the intervals containing the temporal, ordered by start
+     * @see Interval#contains(Comparable)
+     */
+    public List<U> containing(final T temporal) {
+        final List<U> result = new ArrayList<>();
+        forEachContaining(temporal, result::add);
+        return result;
+    }
+
+    /**
+     * Performs the action for each interval containing the specified temporal, in order of start.
+     *
+     * @param temporal the temporal, not null
+     * @param action the action, not null
+     */
+    public void forEachContaining(final T temporal, final Consumer<? super U> action) {
+        Objects.requireNonNull(temporal, "temporal");
+        Objects.requireNonNull(action, "action");
+        containing(byStart, temporal, action);
+    }
+
+    /**
+     * Gets all intervals overlapping the specified interval.
+     *
+     * @param interval the interval, not null
+     * @return the intervals overlapping the interval, ordered by start
+     * @see Interval#overlaps(Interval)
+     */
+    public List<U> overlapping(final Interval<T> interval) {
+        final List<U> result = new ArrayList<>();
+        forEachOverlapping(interval, result::add);
+        return result;
+    }
+
+    /**
+     * Performs the action for each interval overlapping the specified interval, in order of start.
+     *
+     * @param interval the interval, not null
+     * @param action the action, not null
+     */
+    public void forEachOverlapping(final Interval<T> interval, final Consumer<? super U> action) {
+        Objects.requireNonNull(interval, "interval");
+        Objects.requireNonNull(action, "action");
+        overlapping(byStart, interval.getStart(), interval.getEnd(), action);
+    }
+
+    /**
+     * Checks if any interval overlaps the specified interval.
+     *
+     * @param interval the interval, not null
+     * @return true if at least one interval overlaps the interval
+     */
+    public boolean overlapsAny(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        return anyOverlapping(byStart, interval.getStart(), interval.getEnd());
+    }
+
+    /**
+     * Gets the nearest interval entirely before the specified temporal.
+     * <p>
+     * The result is the interval with the latest end that is before or equal to the temporal, so it does not contain the temporal. Ties are resolved in
+     * favour of the latest start.
+     * </p>
+     *
+     * @param temporal the temporal, not null
+     * @return the preceding interval, null if none
+     */
+    public U predecessor(final T temporal) {
+        Objects.requireNonNull(temporal, "temporal");
+        Node<T, U> result = null;
+        Node<T, U> node = byEnd;
+        while (node != null) {
+            if (node.end.compareTo(temporal) <= 0) {
+                result = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result == null ? null : result.interval;
+    }
+
+    /**
+     * Gets the nearest interval entirely after the specified temporal.
+     * <p>
+     * The result is the interval with the earliest start that is after the temporal. Ties are resolved in favour of the earliest end.
+     * </p>
+     *
+     * @param temporal the temporal, not null
+     * @return the following interval, null if none
+     */
+    public U successor(final T temporal) {
+        Objects.requireNonNull(temporal, "temporal");
+        Node<T, U> result = null;
+        Node<T, U> node = byStart;
+        while (node != null) {
+            if (node.start.compareTo(temporal) > 0) {
+                result = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return result == null ? null : result.interval;
+    }
+
+    private static <T extends Comparable<? super T>, U> void containing(final Node<T, U> node, final T temporal, final Consumer<? super U> action) {
+        if (node == null || node.maxEnd.compareTo(temporal) <= 0) {
+            return;
+        }
+        containing(node.left, temporal, action);
+        if (node.start.compareTo(temporal) <= 0) {
+            if (node.end.compareTo(temporal) > 0) {
+                action.accept(node.interval);
+            }
+            containing(node.right, temporal, action);
+        }
+    }
+
+    private static <T extends Comparable<? super T>, U> void overlapping(final Node<T, U> node, final T start, final T end, final Consumer<? super U> action) {
+        if (node == null || node.maxEnd.compareTo(start) < 0) {
+            return;
+        }
+        overlapping(node.left, start, end, action);
+        if (node.start.compareTo(end) <= 0) {
+            if (overlaps(node, start, end)) {
+                action.accept(node.interval);
+            }
+            overlapping(node.right, start, end, action);
+        }
+    }
+
+    private static <T extends Comparable<? super T>, U> boolean anyOverlapping(final Node<T, U> node, final T start, final T end) {
+        if (node == null || node.maxEnd.compareTo(start) < 0) {
+            return false;
+        }
+        if (anyOverlapping(node.left, start, end)) {
+            return true;
+        }
+        return node.start.compareTo(end) <= 0 && (overlaps(node, start, end) || anyOverlapping(node.right, start, end));
+    }
+
+    private static <T extends Comparable<? super T>, U> boolean overlaps(final Node<T, U> node, final T start, final T end) {
+        return (node.end.compareTo(start) > 0 && node.start.compareTo(end) < 0) || (node.start.compareTo(start) == 0 && node.end.compareTo(end) == 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<T, U> find(final Object o) {
+        if (!(o instanceof Interval)) {
+            return null;
+        }
+        final Interval<T> interval = (Interval<T>) o;
+        return find(byStart, interval.getStart(), interval.getEnd(), o);
+    }
+
+    private static <T extends Comparable<? super T>, U> Node<T, U> find(final Node<T, U> node, final T start, final T end, final Object o) {
+        if (node == null) {
+            return null;
+        }
+        int result = start.compareTo(node.start);
+        if (result == 0) {
+            result = end.compareTo(node.end);
+        }
+        if (result < 0) {
+            return find(node.left, start, end, o);
+        } else if (result > 0) {
+            return find(node.right, start, end, o);
+        }
+        if (node.interval.equals(o)) {
+            return node;
+        }
+        final Node<T, U> left = find(node.left, start, end, o);
+        return left != null ? left : find(node.right, start, end, o);
+    }
+
+    private void unlink(final Node<T, U> node) {
+        byStart = delete(byStart, node, false);
+        byEnd = delete(byEnd, node, true);
+        size--;
+        modCount++;
+    }
+
+    private static <T extends Comparable<? super T>, U> int compare(final Node<T, U> a, final Node<T, U> b, final boolean byEnd) {
+        int result = byEnd ? a.end.compareTo(b.end) : a.start.compareTo(b.start);
+        if (result == 0) {
+            result = byEnd ? a.start.compareTo(b.start) : a.end.compareTo(b.end);
+        }
+        return result != 0 ? result : Long.compare(a.sequence, b.sequence);
+    }
+
+    private static <T extends Comparable<? super T>, U> Node<T, U> insert(final Node<T, U> root, final Node<T, U> node, final boolean byEnd) {
+        if (root == null) {
+            return node;
+        }
+        if (compare(node, root, byEnd) < 0) {
+            root.left = insert(root.left, node, byEnd);
+        } else {
+            root.right = insert(root.right, node, byEnd);
+        }
+        return balance(root);
+    }
+
+    private static <T extends Comparable<? super T>, U> Node<T, U> delete(final Node<T, U> root, final Node<T, U> key, final boolean byEnd) {
+        if (root == null) {
+            return null;
+        }
+        final int result = compare(key, root, byEnd);
+        if (result < 0) {
+            root.left = delete(root.left, key, byEnd);
+        } else if (result > 0) {
+            root.right = delete(root.right, key, byEnd);
+        } else {
+            if (root.left == null) {
+                return root.right;
+            } else if (root.right == null) {
+                return root.left;
+            }
+            Node<T, U> successor = root.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteFirst(root.right);
+            successor.left = root.left;
+            return balance(successor);
+        }
+        return balance(root);
+    }
+
+    private static <T extends Comparable<? super T>, U> Node<T, U> deleteFirst(final Node<T, U> root) {
+        if (root.left == null) {
+            return root.right;
+        }
+        root.left = deleteFirst(root.left);
+        return balance(root);
+    }
+
+    private static <T extends Comparable<? super T>, U> Node<T, U> balance(final Node<T, U> node) {
+        final int difference = height(node.left) - height(node.right);
+        if (difference > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (difference < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        update(node);
+        return node;
+    }
+
+    private static <T extends Comparable<? super T>, U> Node<T, U> rotateLeft(final Node<T, U> node) {
+        final Node<T, U> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T extends Comparable<? super T>, U> Node<T, U> rotateRight(final Node<T, U> node) {
+        final Node<T, U> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static <T extends Comparable<? super T>, U> void update(final Node<T, U> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        T maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.compareTo(maxEnd) > 0) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.compareTo(maxEnd) > 0) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(final Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<T, U> {
+
+        private final U interval;
+        private final T start;
+        private final T end;
+        private final long sequence;
+        private T maxEnd;
+        private int height = 1;
+        private Node<T, U> left;
+        private Node<T, U> right;
+
+        private Node(final U interval, final T start, final T end, final long sequence) {
+            this.interval = interval;
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.maxEnd = end;
+        }
+
+    }
+
+    private final class NodeIterator implements Iterator<U> {
+
+        private final Deque<Node<T, U>> path = new ArrayDeque<>();
+        private Node<T, U> last;
+        private int expectedModCount = modCount;
+
+        private NodeIterator() {
+            descend(byStart);
+        }
+
+        private void descend(final Node<T, U> subtree) {
+            for (Node<T, U> node = subtree; node != null; node = node.left) {
+                path.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public U next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            last = path.pop();
+            descend(last.right);
+            return last.interval;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            unlink(last);
+            expectedModCount = modCount;
+            path.clear();
+            Node<T, U> node = byStart;
+            while (node != null) {
+                if (compare(node, last, false) > 0) {
+                    path.push(node);
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+            last = null;
+        }
+
+    }
+
+}
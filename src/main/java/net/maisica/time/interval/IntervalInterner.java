@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+import net.maisica.time.internal.CanonicalTable;
+
+/**
+ * A factory returning canonical instances of equal intervals.
+ * <p>
+ * Intervals are created by the wrapped factory the first time a start and end are requested, and the same instance is returned for them as long as it is
+ * strongly reachable elsewhere. Holding intervals through an interner saves heap where many equal intervals are created, and makes equality checks of
+ * canonical instances succeed on identity.
+ * </p>
+ * <p>
+ * The instances are referenced weakly, in a table split into independently locked segments. This class is thread-safe; the wrapped factory may be called
+ * concurrently for different intervals and must not call back into the interner.
+ * </p>
+ *
+ * @param <T> the temporal-on-continuum type, must be comparable
+ * @param <U> the interval type
+ */
+public final class IntervalInterner<T extends Comparable<? super T>, U extends Interval<T>> implements IntervalFactory<T, U> {
+
+    /**
+     * Obtains an interner creating intervals with the specified factory, usually the {@code of(start, end)} method of the interval type.
+     *
+     * @param <T> the temporal-on-continuum type
+     * @param <U> the interval type
+     * @param factory the factory of new intervals, not null
+     * @return the interner, not null
+     */
+    public static <T extends Comparable<? super T>, U extends Interval<T>> IntervalInterner<T, U> of(final BiFunction<? super T, ? super T, ? extends U> factory) {
+        Objects.requireNonNull(factory, "factory");
+        return new IntervalInterner<>(factory);
+    }
+
+    private final BiFunction<? super T, ? super T, ? extends U> factory;
+    private final CanonicalTable<T, T, U> table = new CanonicalTable<>(Interval::getStart, Interval::getEnd, IntervalInterner::hasBounds);
+
+    private IntervalInterner(final BiFunction<? super T, ? super T, ? extends U> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the canonical interval with the specified start and end, creating it with the wrapped factory if there is none.
+     *
+     * @param start the start, not null
+     * @param end the end, not null
+     * @return the canonical interval, not null
+     * @throws IllegalArgumentException if the factory rejects the start and end
+     */
+    @Override
+    public U createInterval(final T start, final T end) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        return table.get(start, end, factory);
+    }
+
+    /**
+     * Gets the canonical interval equal to the specified interval, making the specified interval canonical if there is none.
+     *
+     * @param interval the interval, not null
+     * @return the canonical interval, not null
+     */
+    public U intern(final U interval) {
+        Objects.requireNonNull(interval, "interval");
+        return table.intern(interval);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<? super T>> boolean hasBounds(final Interval<T> interval, final T start, final T end) {
+        if (interval instanceof AbstractInterval) {
+            return ((AbstractInterval<T, ?>) interval).hasBounds(start, end);
+        }
+        return start.equals(interval.getStart()) && end.equals(interval.getEnd());
+    }
+
+    /**
+     * Gets the number of canonical intervals not yet reclaimed by the garbage collector.
+     *
+     * @return the number of canonical intervals
+     */
+    public int size() {
+        return table.size();
+    }
+
+}
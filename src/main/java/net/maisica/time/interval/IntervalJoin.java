@@ -0,0 +1,254 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy merge-join of two sequences of intervals sorted by start, pairing the intervals which overlap.
+ * <p>
+ * Both inputs are consumed in a single merge by start. Each interval is tested only against the active intervals of the other input, those not ending
+ * before its start, and becomes active itself. Active intervals are dropped as soon as an interval of the other input starts after their end, so the memory
+ * used is bounded by the number of intervals active at the same time, not by the size of the inputs. Pairs are emitted when the later starting interval
+ * of the pair is read, see {@link Interval#overlaps(Interval)}.
+ * </p>
+ * <p>
+ * The inputs must be sorted by start, otherwise {@link IllegalArgumentException} is thrown by the iteration reaching the first unsorted interval.
+ * </p>
+ */
+public final class IntervalJoin {
+
+    /**
+     * Joins the intervals of the specified iterators.
+     *
+     * @param <T> the temporal type
+     * @param <L> the left interval type
+     * @param <R> the right interval type
+     * @param left the left intervals sorted by start, not null
+     * @param right the right intervals sorted by start, not null
+     * @return the lazy iterator of overlapping pairs
+     */
+    public static <T extends Comparable<? super T>, L extends Interval<T>, R extends Interval<T>> Iterator<Match<T, L, R>> iterator(
+            final Iterator<? extends L> left, final Iterator<? extends R> right) {
+        Objects.requireNonNull(left, "left");
+        Objects.requireNonNull(right, "right");
+        return new JoinIterator<>(left, right);
+    }
+
+    /**
+     * Joins the intervals of the specified streams.
+     * <p>
+     * Closing the result closes both input streams.
+     * </p>
+     *
+     * @param <T> the temporal type
+     * @param <L> the left interval type
+     * @param <R> the right interval type
+     * @param left the left intervals sorted by start, not null
+     * @param right the right intervals sorted by start, not null
+     * @return the lazy sequential stream of overlapping pairs
+     */
+    public static <T extends Comparable<? super T>, L extends Interval<T>, R extends Interval<T>> Stream<Match<T, L, R>> stream(
+            final Stream<? extends L> left, final Stream<? extends R> right) {
+        Objects.requireNonNull(left, "left");
+        Objects.requireNonNull(right, "right");
+        final Iterator<Match<T, L, R>> iterator = iterator(left.iterator(), right.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(left::close).onClose(right::close);
+    }
+
+    private IntervalJoin() {
+    }
+
+    /**
+     * A pair of overlapping intervals.
+     *
+     * @param <T> the temporal type
+     * @param <L> the left interval type
+     * @param <R> the right interval type
+     */
+    public static final class Match<T extends Comparable<? super T>, L extends Interval<T>, R extends Interval<T>> {
+
+        private final L left;
+        private final R right;
+
+        private Match(final L left, final R right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public L getLeft() {
+            return left;
+        }
+
+        public R getRight() {
+            return right;
+        }
+
+        /**
+         * Gets the overlap of the intervals, created by {@link Interval#overlap(Interval)} of the left interval on each call.
+         *
+         * @return the overlap
+         */
+        public Interval<T> getOverlap() {
+            return left.overlap(right);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * left.hashCode() + right.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Match<?, ?, ?> that = (Match<?, ?, ?>) o;
+            return left.equals(that.left) && right.equals(that.right);
+        }
+
+        @Override
+        public String toString() {
+            return left + " " + right;
+        }
+
+    }
+
+    private static final class JoinIterator<T extends Comparable<? super T>, L extends Interval<T>, R extends Interval<T>> implements Iterator<Match<T, L, R>> {
+
+        private static final int MIN_LIMIT = 16;
+
+        private final Iterator<? extends L> left;
+        private final Iterator<? extends R> right;
+        private final List<L> activeLeft = new ArrayList<>();
+        private final List<R> activeRight = new ArrayList<>();
+        private final ArrayDeque<Match<T, L, R>> matches = new ArrayDeque<>();
+        private L nextLeft;
+        private R nextRight;
+        private int leftLimit = MIN_LIMIT;
+        private int rightLimit = MIN_LIMIT;
+
+        private JoinIterator(final Iterator<? extends L> left, final Iterator<? extends R> right) {
+            this.left = left;
+            this.right = right;
+            this.nextLeft = next(left, null);
+            this.nextRight = next(right, null);
+        }
+
+        private static <T extends Comparable<? super T>, U extends Interval<T>> U next(final Iterator<? extends U> iterator, final U previous) {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            final U next = Objects.requireNonNull(iterator.next(), "interval");
+            if (previous != null && next.getStart().compareTo(previous.getStart()) < 0) {
+                throw new IllegalArgumentException("intervals are not sorted by start");
+            }
+            return next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (matches.isEmpty() && (nextLeft != null || nextRight != null)) {
+                if (nextRight == null || (nextLeft != null && nextLeft.getStart().compareTo(nextRight.getStart()) <= 0)) {
+                    final L interval = nextLeft;
+                    nextLeft = next(left, interval);
+                    if (nextRight == null && activeRight.isEmpty()) {
+                        nextLeft = null;
+                        break;
+                    }
+                    for (final R active : retain(activeRight, interval.getStart())) {
+                        if (interval.overlaps(active)) {
+                            matches.add(new Match<>(interval, active));
+                        }
+                    }
+                    if (nextRight != null && activates(interval, nextRight.getStart())) {
+                        activeLeft.add(interval);
+                        if (activeLeft.size() > leftLimit) {
+                            leftLimit = Math.max(MIN_LIMIT, 2 * retain(activeLeft, nextRight.getStart()).size());
+                        }
+                    }
+                } else {
+                    final R interval = nextRight;
+                    nextRight = next(right, interval);
+                    if (nextLeft == null && activeLeft.isEmpty()) {
+                        nextRight = null;
+                        break;
+                    }
+                    for (final L active : retain(activeLeft, interval.getStart())) {
+                        if (active.overlaps(interval)) {
+                            matches.add(new Match<>(active, interval));
+                        }
+                    }
+                    if (nextLeft != null && activates(interval, nextLeft.getStart())) {
+                        activeRight.add(interval);
+                        if (activeRight.size() > rightLimit) {
+                            rightLimit = Math.max(MIN_LIMIT, 2 * retain(activeRight, nextLeft.getStart()).size());
+                        }
+                    }
+                }
+            }
+            return !matches.isEmpty();
+        }
+
+        /**
+         * Checks if the interval may overlap an interval starting at or after the specified start. Of the intervals ending at the start, only empty
+         * intervals may, as they overlap equal empty intervals.
+         */
+        private static <T extends Comparable<? super T>> boolean activates(final Interval<T> interval, final T start) {
+            final int compare = interval.getEnd().compareTo(start);
+            return compare > 0 || (compare == 0 && interval.isEmpty());
+        }
+
+        /**
+         * Drops the active intervals which cannot overlap any interval starting at or after the specified start. Called before each test against the
+         * active intervals, and when they grow past a limit doubling the size retained, so they hold few intervals beyond those active.
+         */
+        private static <T extends Comparable<? super T>, U extends Interval<T>> List<U> retain(final List<U> active, final T start) {
+            int size = 0;
+            for (int i = 0; i < active.size(); i++) {
+                final U interval = active.get(i);
+                if (activates(interval, start)) {
+                    active.set(size++, interval);
+                }
+            }
+            active.subList(size, active.size()).clear();
+            return active;
+        }
+
+        @Override
+        public Match<T, L, R> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return matches.poll();
+        }
+
+    }
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * A mutable mapping from disjoint intervals to values.
+ * <p>
+ * Putting a value for an interval replaces the values of any overlapping entries within that interval, splitting them at its bounds. Entries which abut and
+ * have equal values are coalesced into a single entry, so the map holds the fewest entries describing the mapping. Intervals are split with
+ * {@link Interval#withStart(Comparable)} and {@link Interval#withEnd(Comparable)} and coalesced with {@link Interval#join(Interval)}, so the entries keep
+ * the type of the intervals put.
+ * </p>
+ * <p>
+ * Entries are kept in a {@link TreeMap} by start, giving logarithmic lookup of a temporal. This implementation is not synchronized.
+ * </p>
+ *
+ * @param <T> the temporal-on-continuum type, must be comparable
+ * @param <V> the value type
+ */
+public final class IntervalMap<T extends Comparable<? super T>, V> implements Iterable<Map.Entry<Interval<T>, V>> {
+
+    private final NavigableMap<T, Map.Entry<Interval<T>, V>> entries = new TreeMap<>();
+
+    /**
+     * Gets the number of entries, i.e. disjoint intervals with a value.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the value mapped to the interval containing the specified temporal.
+     *
+     * @param temporal the temporal, not null
+     * @return the value, null if no interval contains the temporal
+     */
+    public V get(final T temporal) {
+        final Map.Entry<Interval<T>, V> entry = getEntry(temporal);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Gets the entry with the interval containing the specified temporal.
+     *
+     * @param temporal the temporal, not null
+     * @return the entry, null if no interval contains the temporal
+     */
+    public Map.Entry<Interval<T>, V> getEntry(final T temporal) {
+        Objects.requireNonNull(temporal, "temporal");
+        final Map.Entry<T, Map.Entry<Interval<T>, V>> floor = entries.floorEntry(temporal);
+        if (floor == null || !floor.getValue().getKey().contains(temporal)) {
+            return null;
+        }
+        return floor.getValue();
+    }
+
+    /**
+     * Maps the specified interval to the value.
+     * <p>
+     * Any mapping within the interval is replaced. An empty interval is ignored.
+     * </p>
+     *
+     * @param interval the interval, not null
+     * @param value the value, not null
+     */
+    public void put(final Interval<T> interval, final V value) {
+        Objects.requireNonNull(interval, "interval");
+        Objects.requireNonNull(value, "value");
+        if (interval.isEmpty()) {
+            return;
+        }
+        remove(interval);
+        Interval<T> key = interval;
+        final Map.Entry<T, Map.Entry<Interval<T>, V>> lower = entries.lowerEntry(key.getStart());
+        if (lower != null && coalesces(lower.getValue(), key, value)) {
+            key = lower.getValue().getKey().join(key);
+            entries.remove(lower.getKey());
+        }
+        final Map.Entry<Interval<T>, V> higher = entries.get(key.getEnd());
+        if (higher != null && coalesces(higher, key, value)) {
+            key = key.join(higher.getKey());
+            entries.remove(higher.getKey().getStart());
+        }
+        entries.put(key.getStart(), new SimpleImmutableEntry<>(key, value));
+    }
+
+    private boolean coalesces(final Map.Entry<Interval<T>, V> entry, final Interval<T> interval, final V value) {
+        return entry.getValue().equals(value) && entry.getKey().abuts(interval);
+    }
+
+    /**
+     * Removes any mapping within the specified interval.
+     * <p>
+     * Entries partially overlapping the interval are truncated to the parts outside of it.
+     * </p>
+     *
+     * @param interval the interval, not null
+     */
+    public void remove(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        final T start = interval.getStart();
+        final T end = interval.getEnd();
+        if (start.compareTo(end) >= 0) {
+            return;
+        }
+        final Map.Entry<T, Map.Entry<Interval<T>, V>> lower = entries.lowerEntry(start);
+        if (lower != null) {
+            final Interval<T> key = lower.getValue().getKey();
+            final V value = lower.getValue().getValue();
+            if (key.getEnd().compareTo(start) > 0) {
+                entries.put(lower.getKey(), new SimpleImmutableEntry<>(key.withEnd(start), value));
+                if (key.getEnd().compareTo(end) > 0) {
+                    entries.put(end, new SimpleImmutableEntry<>(key.withStart(end), value));
+                    return;
+                }
+            }
+        }
+        final NavigableMap<T, Map.Entry<Interval<T>, V>> within = entries.subMap(start, true, end, false);
+        final Map.Entry<T, Map.Entry<Interval<T>, V>> last = within.lastEntry();
+        within.clear();
+        if (last != null && last.getValue().getKey().getEnd().compareTo(end) > 0) {
+            final Interval<T> key = last.getValue().getKey();
+            entries.put(end, new SimpleImmutableEntry<>(key.withStart(end), last.getValue().getValue()));
+        }
+    }
+
+    /**
+     * Gets an iterator over all entries in order of start.
+     *
+     * @return the iterator of entries
+     */
+    @Override
+    public Iterator<Map.Entry<Interval<T>, V>> iterator() {
+        return entries.values().iterator();
+    }
+
+    /**
+     * Gets an iterator over the entries within the specified interval, in order of start.
+     * <p>
+     * The iterator is a view of this map; entries partially overlapping the interval are returned truncated to their overlap with it.
+     * </p>
+     *
+     * @param interval the interval, not null
+     * @return the iterator of entries
+     */
+    public Iterator<Map.Entry<Interval<T>, V>> iterator(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        final T start = interval.getStart();
+        final T end = interval.getEnd();
+        if (start.compareTo(end) >= 0) {
+            return Collections.emptyIterator();
+        }
+        final T from = entries.floorKey(start);
+        final Iterator<Map.Entry<Interval<T>, V>> iterator = entries.subMap(from == null ? start : from, true, end, false).values().iterator();
+        return new Iterator<Map.Entry<Interval<T>, V>>() {
+
+            private Map.Entry<Interval<T>, V> next = advance();
+
+            private Map.Entry<Interval<T>, V> advance() {
+                while (iterator.hasNext()) {
+                    final Map.Entry<Interval<T>, V> entry = iterator.next();
+                    final Interval<T> overlap = entry.getKey().overlap(interval);
+                    if (overlap != null && !overlap.isEmpty()) {
+                        return overlap.equals(entry.getKey()) ? entry : new SimpleImmutableEntry<>(overlap, entry.getValue());
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map.Entry<Interval<T>, V> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                final Map.Entry<Interval<T>, V> result = next;
+                next = advance();
+                return result;
+            }
+
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        return entries.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null) {
+            return false;
+        }
+        if (getClass() != o.getClass()) {
+            return false;
+        }
+        final IntervalMap<?, ?> that = (IntervalMap<?, ?>) o;
+        return entries.equals(that.entries);
+    }
+
+    @Override
+    public String toString() {
+        return entries.values().toString();
+    }
+
+}
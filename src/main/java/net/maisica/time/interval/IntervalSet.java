@@ -0,0 +1,466 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalUnit;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import net.maisica.time.format.IsoFormatter;
+
+/**
+ * An immutable set of temporals represented by disjoint intervals.
+ * <p>
+ * The set is normalized on creation: empty intervals are dropped, overlapping and abutting intervals are coalesced, and the remaining intervals are kept
+ * sorted in a flat array of bounds. Union, intersection, difference and complement are computed by a single merge pass over the operands, in time linear to
+ * their sizes. Membership is tested by binary search. Intervals are created with the factory of the set only when they are requested.
+ * </p>
+ *
+ * @param <T> the temporal-on-continuum type, must be comparable
+ * @param <U> the interval type
+ */
+public final class IntervalSet<T extends Comparable<? super T>, U extends Interval<T>> implements Iterable<U> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    public static <T extends Comparable<? super T>, U extends Interval<T>> IntervalSet<T, U> empty(final IntervalFactory<T, U> factory) {
+        Objects.requireNonNull(factory, "factory");
+        return new IntervalSet<>(factory, EMPTY);
+    }
+
+    @SafeVarargs
+    public static <T extends Comparable<? super T>, U extends Interval<T>> IntervalSet<T, U> of(final IntervalFactory<T, U> factory, final Interval<T>... intervals) {
+        Objects.requireNonNull(intervals, "intervals");
+        final List<Interval<T>> list = new ArrayList<>(intervals.length);
+        for (final Interval<T> interval : intervals) {
+            list.add(interval);
+        }
+        return of(factory, list);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<? super T>, U extends Interval<T>> IntervalSet<T, U> of(final IntervalFactory<T, U> factory,
+            final Iterable<? extends Interval<T>> intervals) {
+        Objects.requireNonNull(factory, "factory");
+        Objects.requireNonNull(intervals, "intervals");
+        Object[] starts = new Object[16];
+        Object[] ends = new Object[16];
+        int count = 0;
+        boolean sorted = true;
+        for (final Interval<T> interval : intervals) {
+            Objects.requireNonNull(interval, "interval");
+            final T start = interval.getStart();
+            final T end = interval.getEnd();
+            if (start.compareTo(end) >= 0) {
+                continue;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            if (count > 0 && ((T) starts[count - 1]).compareTo(start) > 0) {
+                sorted = false;
+            }
+            starts[count] = start;
+            ends[count++] = end;
+        }
+        final Builder<T> builder = new Builder<>(count);
+        if (sorted) {
+            for (int i = 0; i < count; i++) {
+                builder.append((T) starts[i], (T) ends[i]);
+            }
+        } else {
+            // the union only needs the starts and the ends in order, not their pairing, so both are sorted in place
+            Arrays.sort(starts, 0, count);
+            Arrays.sort(ends, 0, count);
+            T start = null;
+            int open = 0;
+            int i = 0;
+            int j = 0;
+            while (j < count) {
+                if (i < count && ((T) starts[i]).compareTo((T) ends[j]) <= 0) {
+                    if (open++ == 0) {
+                        start = (T) starts[i];
+                    }
+                    i++;
+                } else {
+                    if (--open == 0) {
+                        builder.append(start, (T) ends[j]);
+                    }
+                    j++;
+                }
+            }
+        }
+        return new IntervalSet<>(factory, builder.toArray());
+    }
+
+    private final IntervalFactory<T, U> factory;
+    private final Object[] bounds;
+
+    private IntervalSet(final IntervalFactory<T, U> factory, final Object[] bounds) {
+        this.factory = factory;
+        this.bounds = bounds;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T start(final int index) {
+        return (T) bounds[index << 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private T end(final int index) {
+        return (T) bounds[(index << 1) + 1];
+    }
+
+    /**
+     * Gets the number of disjoint intervals of this set.
+     *
+     * @return the number of intervals
+     */
+    public int size() {
+        return bounds.length >> 1;
+    }
+
+    public boolean isEmpty() {
+        return bounds.length == 0;
+    }
+
+    /**
+     * Gets the disjoint interval at the specified position, in order of start.
+     *
+     * @param index the position
+     * @return the interval created by the factory of this set
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public U get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return factory.createInterval(start(index), end(index));
+    }
+
+    /**
+     * Gets the disjoint intervals of this set as a list view, in order of start.
+     *
+     * @return the unmodifiable list of intervals
+     */
+    public List<U> intervals() {
+        return new AbstractList<U>() {
+
+            @Override
+            public U get(final int index) {
+                return IntervalSet.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return IntervalSet.this.size();
+            }
+
+        };
+    }
+
+    @Override
+    public Iterator<U> iterator() {
+        return intervals().iterator();
+    }
+
+    /**
+     * Gets the smallest interval enclosing this set.
+     *
+     * @return the bounding interval, null if this set is empty
+     */
+    public U span() {
+        return isEmpty() ? null : factory.createInterval(start(0), end(size() - 1));
+    }
+
+    /**
+     * Checks if this set contains the specified temporal.
+     *
+     * @param temporal the temporal, may be null
+     * @return true if any interval of this set contains the temporal
+     */
+    public boolean contains(final T temporal) {
+        if (temporal == null) {
+            return false;
+        }
+        final int index = floor(temporal);
+        return index >= 0 && temporal.compareTo(end(index)) < 0;
+    }
+
+    /**
+     * Checks if this set encloses the specified interval, i.e. a single interval of this set encloses it.
+     *
+     * @param interval the interval, not null
+     * @return true if the interval is enclosed
+     */
+    public boolean encloses(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        final int index = floor(interval.getStart());
+        return index >= 0 && interval.getEnd().compareTo(end(index)) <= 0;
+    }
+
+    /**
+     * Checks if this set overlaps the specified interval, i.e. they share some common part of the continuum.
+     * <p>
+     * As this set contains no empty intervals, the result is false for an empty interval.
+     * </p>
+     *
+     * @param interval the interval, not null
+     * @return true if the interval overlaps any interval of this set
+     */
+    public boolean overlaps(final Interval<T> interval) {
+        Objects.requireNonNull(interval, "interval");
+        final T start = interval.getStart();
+        final T end = interval.getEnd();
+        if (start.compareTo(end) >= 0) {
+            return false;
+        }
+        final int index = floor(start);
+        if (index >= 0 && start.compareTo(end(index)) < 0) {
+            return true;
+        }
+        return index + 1 < size() && start(index + 1).compareTo(end) < 0;
+    }
+
+    /**
+     * Finds the last interval with start before or equal to the temporal.
+     */
+    private int floor(final T temporal) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (start(middle).compareTo(temporal) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Gets the union of this and the specified set.
+     *
+     * @param other the other set, not null
+     * @return the set of temporals contained in any of the sets
+     */
+    public IntervalSet<T, U> union(final IntervalSet<T, ?> other) {
+        Objects.requireNonNull(other, "other");
+        if (other.isEmpty()) {
+            return this;
+        }
+        final Builder<T> builder = new Builder<>(size() + other.size());
+        int i = 0;
+        int j = 0;
+        while (i < size() || j < other.size()) {
+            if (j == other.size() || (i < size() && start(i).compareTo(other.start(j)) <= 0)) {
+                builder.append(start(i), end(i++));
+            } else {
+                builder.append(other.start(j), other.end(j++));
+            }
+        }
+        return new IntervalSet<>(factory, builder.toArray());
+    }
+
+    /**
+     * Gets the intersection of this and the specified set.
+     *
+     * @param other the other set, not null
+     * @return the set of temporals contained in both sets
+     */
+    public IntervalSet<T, U> intersection(final IntervalSet<T, ?> other) {
+        Objects.requireNonNull(other, "other");
+        final Builder<T> builder = new Builder<>(size() + other.size());
+        int i = 0;
+        int j = 0;
+        while (i < size() && j < other.size()) {
+            final T start = max(start(i), other.start(j));
+            final T end;
+            if (end(i).compareTo(other.end(j)) <= 0) {
+                end = end(i++);
+            } else {
+                end = other.end(j++);
+            }
+            builder.append(start, end);
+        }
+        return new IntervalSet<>(factory, builder.toArray());
+    }
+
+    /**
+     * Gets the difference of this and the specified set.
+     *
+     * @param other the other set, not null
+     * @return the set of temporals contained in this set but not in the other
+     */
+    public IntervalSet<T, U> difference(final IntervalSet<T, ?> other) {
+        Objects.requireNonNull(other, "other");
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        final Builder<T> builder = new Builder<>(size() + other.size());
+        int j = 0;
+        for (int i = 0; i < size(); i++) {
+            T start = start(i);
+            final T end = end(i);
+            while (j < other.size() && other.end(j).compareTo(start) <= 0) {
+                j++;
+            }
+            while (j < other.size() && other.start(j).compareTo(end) < 0) {
+                builder.append(start, other.start(j));
+                if (other.end(j).compareTo(end) >= 0) {
+                    start = end;
+                    break;
+                }
+                start = max(start, other.end(j++));
+            }
+            builder.append(start, end);
+        }
+        return new IntervalSet<>(factory, builder.toArray());
+    }
+
+    /**
+     * Gets the complement of this set within the specified bounds.
+     *
+     * @param bounds the bounding interval, not null
+     * @return the set of temporals contained in the bounds but not in this set
+     */
+    public IntervalSet<T, U> complement(final Interval<T> bounds) {
+        Objects.requireNonNull(bounds, "bounds");
+        return of(factory, bounds).difference(this);
+    }
+
+    /**
+     * Gets the total length of all intervals of this set in the specified unit.
+     * <p>
+     * Only applicable to sets of {@link Temporal} intervals. The length of each interval is truncated to whole units before summing.
+     * </p>
+     *
+     * @param unit the unit to measure in, not null
+     * @return the total length
+     * @throws ClassCastException if the temporals are not {@link Temporal}
+     * @throws ArithmeticException if numeric overflow occurs
+     */
+    public long length(final TemporalUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        long result = 0L;
+        for (int i = 0; i < size(); i++) {
+            result = Math.addExact(result, unit.between((Temporal) start(i), (Temporal) end(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the total duration of all intervals of this set.
+     * <p>
+     * Only applicable to sets of {@link Temporal} intervals supporting seconds.
+     * </p>
+     *
+     * @return the non-negative total duration
+     * @throws ClassCastException if the temporals are not {@link Temporal}
+     * @throws ArithmeticException if numeric overflow occurs
+     */
+    public Duration toDuration() {
+        long seconds = 0L;
+        long nanos = 0L;
+        for (int i = 0; i < size(); i++) {
+            final Duration duration = Duration.between((Temporal) start(i), (Temporal) end(i));
+            seconds = Math.addExact(seconds, duration.getSeconds());
+            nanos += duration.getNano();
+        }
+        return Duration.ofSeconds(seconds, nanos);
+    }
+
+    private static <T extends Comparable<? super T>> T max(final T a, final T b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bounds);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null) {
+            return false;
+        }
+        if (getClass() != o.getClass()) {
+            return false;
+        }
+        final IntervalSet<?, ?> that = (IntervalSet<?, ?>) o;
+        return Arrays.equals(this.bounds, that.bounds);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder().append('[');
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            IsoFormatter.append(builder, start(i)).append('/');
+            IsoFormatter.append(builder, end(i));
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Accumulates bounds of intervals sorted by start, coalescing the overlapping and abutting ones and dropping the empty ones.
+     */
+    private static final class Builder<T extends Comparable<? super T>> {
+
+        private Object[] bounds;
+        private int length;
+
+        private Builder(final int capacity) {
+            bounds = new Object[Math.max(capacity, 1) << 1];
+        }
+
+        @SuppressWarnings("unchecked")
+        private void append(final T start, final T end) {
+            if (start.compareTo(end) >= 0) {
+                return;
+            }
+            if (length > 0 && start.compareTo((T) bounds[length - 1]) <= 0) {
+                if (end.compareTo((T) bounds[length - 1]) > 0) {
+                    bounds[length - 1] = end;
+                }
+                return;
+            }
+            if (length == bounds.length) {
+                bounds = Arrays.copyOf(bounds, length << 1);
+            }
+            bounds[length++] = start;
+            bounds[length++] = end;
+        }
+
+        private Object[] toArray() {
+            return length == 0 ? EMPTY : Arrays.copyOf(bounds, length);
+        }
+
+    }
+
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Sweep-line analytics of a collection of intervals: the peak concurrency, the concurrency over time and the covered duration.
+ * <p>
+ * The starts and ends of the intervals are converted to nanoseconds from the start of the first interval and sorted as two primitive arrays, a single
+ * sweep over both gives all results, so obtaining a sweep of {@code n} intervals takes O(n log n) time and O(n) memory. Ends are swept before starts at the
+ * same temporal, so abutting intervals are not concurrent and empty intervals are not counted. Intervals obtained from a parallel stream are converted and
+ * sorted in parallel, see {@link Arrays#parallelSort(long[])}.
+ * </p>
+ * <p>
+ * Date-times are positioned on the time-line, so zoned date-times of different zones are swept by their instants, and the temporals of the results are
+ * then in the zone or offset of the start of the first interval. Other temporals are positioned with {@link Temporal#until(Temporal,
+ * java.time.temporal.TemporalUnit)} in nanoseconds.
+ * </p>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ *
+ * @param <T> the {@link Temporal} comparable type
+ */
+public final class IntervalSweep<T extends Temporal & Comparable<? super T>> {
+
+    private static final long NANOS_PER_DAY = Timeline.SECONDS_PER_DAY * Timeline.NANOS_PER_SECOND;
+
+    /**
+     * Obtains a sweep of the specified intervals.
+     *
+     * @param <T> the temporal type
+     * @param intervals the intervals, not null, without null elements
+     * @return the sweep
+     * @throws ArithmeticException if the intervals span more nanoseconds than fit in a {@code long}, about 292 years
+     * @throws java.time.temporal.UnsupportedTemporalTypeException if the temporals cannot be measured in nanoseconds
+     */
+    public static <T extends Temporal & Comparable<? super T>> IntervalSweep<T> of(final Iterable<? extends TemporalInterval<T>> intervals) {
+        Objects.requireNonNull(intervals, "intervals");
+        final List<TemporalInterval<T>> list = new ArrayList<>();
+        for (final TemporalInterval<T> interval : intervals) {
+            list.add(Objects.requireNonNull(interval, "interval"));
+        }
+        return new IntervalSweep<>(list, false);
+    }
+
+    /**
+     * Obtains a sweep of the intervals of the specified stream, converting and sorting them in parallel if the stream is parallel.
+     *
+     * @param <T> the temporal type
+     * @param intervals the intervals, not null, without null elements
+     * @return the sweep
+     * @throws ArithmeticException if the intervals span more nanoseconds than fit in a {@code long}, about 292 years
+     * @throws java.time.temporal.UnsupportedTemporalTypeException if the temporals cannot be measured in nanoseconds
+     */
+    public static <T extends Temporal & Comparable<? super T>> IntervalSweep<T> of(final Stream<? extends TemporalInterval<T>> intervals) {
+        Objects.requireNonNull(intervals, "intervals");
+        final boolean parallel = intervals.isParallel();
+        return new IntervalSweep<>(intervals.collect(Collectors.<TemporalInterval<T>>toList()), parallel);
+    }
+
+    private final T origin;
+    private final long originSecond;
+    private final int originNano;
+    private final IntervalFactory<T, TemporalInterval<T>> factory;
+    private final long[] points;
+    private final int[] counts;
+    private final int size;
+    private final int peak;
+    private final long covered;
+
+    private IntervalSweep(final List<TemporalInterval<T>> intervals, final boolean parallel) {
+        final int n = intervals.size();
+        this.origin = n == 0 ? null : intervals.get(0).getStart();
+        this.originSecond = n == 0 ? Long.MIN_VALUE : Timeline.epochSecond(origin);
+        this.originNano = n == 0 ? 0 : Timeline.nano(origin);
+        this.factory = n == 0 ? null : Timeline.factoryOf(intervals.get(0));
+        final long[] starts = new long[n];
+        final long[] ends = new long[n];
+        if (parallel) {
+            IntStream.range(0, n).parallel().forEach(i -> {
+                final TemporalInterval<T> interval = intervals.get(i);
+                starts[i] = key(interval.getStart());
+                ends[i] = key(interval.getEnd());
+            });
+            Arrays.parallelSort(starts);
+            Arrays.parallelSort(ends);
+        } else {
+            for (int i = 0; i < n; i++) {
+                final TemporalInterval<T> interval = intervals.get(i);
+                starts[i] = key(interval.getStart());
+                ends[i] = key(interval.getEnd());
+            }
+            Arrays.sort(starts);
+            Arrays.sort(ends);
+        }
+        if (n > 0 && starts[0] < 0L && ends[n - 1] > Long.MAX_VALUE + starts[0]) {
+            throw new ArithmeticException("intervals span more nanoseconds than fit in a long");
+        }
+        final long[] points = new long[2 * n];
+        final int[] counts = new int[2 * n];
+        int size = 0;
+        int peak = -1;
+        int max = 0;
+        long covered = 0L;
+        int count = 0;
+        long previous = 0L;
+        int i = 0;
+        int j = 0;
+        while (j < n) {
+            final long point = i < n && starts[i] < ends[j] ? starts[i] : ends[j];
+            if (count > 0) {
+                covered += point - previous;
+            }
+            while (j < n && ends[j] == point) {
+                count--;
+                j++;
+            }
+            while (i < n && starts[i] == point) {
+                count++;
+                i++;
+            }
+            if (size == 0 || counts[size - 1] != count) {
+                points[size] = point;
+                counts[size] = count;
+                if (count > max) {
+                    max = count;
+                    peak = size;
+                }
+                size++;
+            }
+            previous = point;
+        }
+        this.points = points;
+        this.counts = counts;
+        this.size = size;
+        this.peak = peak;
+        this.covered = covered;
+    }
+
+    private long key(final T temporal) {
+        if (originSecond == Long.MIN_VALUE) {
+            return origin.until(temporal, ChronoUnit.NANOS);
+        }
+        final long seconds = Math.subtractExact(Timeline.epochSecond(temporal), originSecond);
+        return Math.addExact(Math.multiplyExact(seconds, Timeline.NANOS_PER_SECOND), Timeline.nano(temporal) - originNano);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T temporal(final long key) {
+        if (origin instanceof LocalDate) {
+            return (T) ((LocalDate) origin).plusDays(key / NANOS_PER_DAY);
+        }
+        return (T) origin.plus(key, ChronoUnit.NANOS);
+    }
+
+    /**
+     * Gets the maximum number of intervals containing the same temporal.
+     *
+     * @return the peak concurrency, zero if there is no non-empty interval
+     */
+    public int maxConcurrency() {
+        return peak < 0 ? 0 : counts[peak];
+    }
+
+    /**
+     * Gets the first interval over which the concurrency is at its maximum.
+     *
+     * @return the interval, null if there is no non-empty interval
+     */
+    public TemporalInterval<T> peak() {
+        return peak < 0 ? null : factory.createInterval(temporal(points[peak]), temporal(points[peak + 1]));
+    }
+
+    /**
+     * Gets the number of intervals containing the specified temporal.
+     * <p>
+     * The concurrency is located by binary search, in O(log n) time.
+     * </p>
+     *
+     * @param temporal the temporal, not null
+     * @return the concurrency at the temporal
+     */
+    public int concurrencyAt(final T temporal) {
+        Objects.requireNonNull(temporal, "temporal");
+        if (size == 0 || temporal.compareTo(temporal(points[0])) < 0 || temporal.compareTo(temporal(points[size - 1])) >= 0) {
+            return 0;
+        }
+        final int i = Arrays.binarySearch(points, 0, size, key(temporal));
+        return counts[i < 0 ? -i - 2 : i];
+    }
+
+    /**
+     * Gets the concurrency over time, mapping the maximal intervals of the same non-zero concurrency to the number of intervals containing them.
+     *
+     * @return a new map of the concurrency profile
+     */
+    public IntervalMap<T, Integer> profile() {
+        final IntervalMap<T, Integer> profile = new IntervalMap<>();
+        T start = size == 0 ? null : temporal(points[0]);
+        for (int i = 0; i + 1 < size; i++) {
+            final T end = temporal(points[i + 1]);
+            if (counts[i] > 0) {
+                profile.put(factory.createInterval(start, end), counts[i]);
+            }
+            start = end;
+        }
+        return profile;
+    }
+
+    /**
+     * Gets the length of the union of the intervals, the total duration contained in at least one of them.
+     *
+     * @return the covered duration
+     */
+    public Duration coveredDuration() {
+        return Duration.ofNanos(covered);
+    }
+
+}
@@ -15,23 +15,27 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.MonthDay;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 
 public final class MonthDayInterval extends AbstractInterval<MonthDay, MonthDayInterval> implements Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static MonthDayInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final MonthDay start = MonthDay.parse(text.subSequence(0, i++).toString());
-                final MonthDay end = MonthDay.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final MonthDay start = IsoParser.parseMonthDay(text, 0, i);
+        final MonthDay end = IsoParser.parseMonthDay(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static MonthDayInterval of(final Interval<MonthDay> interval) {
@@ -60,4 +64,12 @@ public final class MonthDayInterval extends AbstractInterval<MonthDay, MonthDayI
         return MonthDayInterval::new;
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.MONTH_DAY_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
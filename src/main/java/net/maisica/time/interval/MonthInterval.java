@@ -15,6 +15,8 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Month;
 import java.time.format.DateTimeParseException;
@@ -22,6 +24,8 @@ import java.util.Objects;
 
 public final class MonthInterval extends AbstractInterval<Month, MonthInterval> implements Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static MonthInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
         for (int i = 0; i < text.length(); i++) {
@@ -70,9 +74,12 @@ public final class MonthInterval extends AbstractInterval<Month, MonthInterval>
         return MonthInterval::new;
     }
 
-    @Override
-    public String toString() {
-        return getStart().name() + '/' + getEnd().name();
+    private Object writeReplace() {
+        return new Ser(Ser.MONTH_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
     }
 
 }
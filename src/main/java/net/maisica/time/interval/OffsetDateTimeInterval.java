@@ -15,25 +15,29 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.span.OffsetDateTimeSpan;
 
 public final class OffsetDateTimeInterval extends AbstractInterval<OffsetDateTime, OffsetDateTimeInterval> implements TemporalInterval<OffsetDateTime>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static OffsetDateTimeInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final OffsetDateTime start = OffsetDateTime.parse(text.subSequence(0, i++).toString());
-                final OffsetDateTime end = OffsetDateTime.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final OffsetDateTime start = IsoParser.parseOffsetDateTime(text, 0, i);
+        final OffsetDateTime end = IsoParser.parseOffsetDateTime(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static OffsetDateTimeInterval of(final Interval<OffsetDateTime> interval) {
@@ -73,4 +77,12 @@ public final class OffsetDateTimeInterval extends AbstractInterval<OffsetDateTim
         return OffsetDateTimeSpan.of(getStart(), toDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.OFFSET_DATE_TIME_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
@@ -15,25 +15,29 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.OffsetTime;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.span.OffsetTimeSpan;
 
 public final class OffsetTimeInterval extends AbstractInterval<OffsetTime, OffsetTimeInterval> implements TemporalInterval<OffsetTime>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static OffsetTimeInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final OffsetTime start = OffsetTime.parse(text.subSequence(0, i++).toString());
-                final OffsetTime end = OffsetTime.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final OffsetTime start = IsoParser.parseOffsetTime(text, 0, i);
+        final OffsetTime end = IsoParser.parseOffsetTime(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static OffsetTimeInterval of(final Interval<OffsetTime> interval) {
@@ -73,4 +77,12 @@ public final class OffsetTimeInterval extends AbstractInterval<OffsetTime, Offse
         return OffsetTimeSpan.of(getStart(), toDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.OFFSET_TIME_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
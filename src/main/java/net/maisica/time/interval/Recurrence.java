@@ -0,0 +1,393 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A weekly recurring schedule of local times, such as opening hours, compiled into bitmaps.
+ * <p>
+ * A recurrence is the union of times of days of week, {@link TimeInterval} within {@link DayOfWeekInterval} or a single {@link DayOfWeek}, kept as a mask of
+ * the 10080 minutes of a week, restricted to the dates of a mask of the 366 days of a leap year, see {@link #except(MonthDayInterval)} and
+ * {@link #only(MonthDayInterval)}. Times are kept with a resolution of a minute, a partial minute at either bound of a time interval counts as a whole
+ * minute. Checking a date-time reads one bit of each mask, the occurrences are found by scanning the bits of the days from a date-time.
+ * </p>
+ * <p>
+ * An occurrence is a maximal run of active minutes within a day, so occurrences are split at midnight. This class is immutable and thread-safe.
+ * </p>
+ */
+public final class Recurrence {
+
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final int DAYS_PER_MONTH_SLOT = 32;
+    private static final int DATE_SLOTS = 12 * DAYS_PER_MONTH_SLOT;
+    private static final long SEARCH_DAYS = 146097L;
+    private static final Recurrence NEVER;
+
+    static {
+        final BitSet dates = new BitSet(DATE_SLOTS);
+        for (final Month month : Month.values()) {
+            dates.set(slot(month.getValue(), 1), slot(month.getValue(), month.maxLength()) + 1);
+        }
+        NEVER = new Recurrence(new BitSet(MINUTES_PER_WEEK), dates);
+    }
+
+    /**
+     * Obtains a recurrence without any occurrence.
+     *
+     * @return the empty recurrence
+     */
+    public static Recurrence never() {
+        return NEVER;
+    }
+
+    /**
+     * Obtains a recurrence of the specified times on the days of week.
+     *
+     * @param days the days of week, not null
+     * @param times the times of each day, not null
+     * @return the recurrence
+     */
+    public static Recurrence weekly(final DayOfWeekInterval days, final TimeInterval times) {
+        return NEVER.plus(days, times);
+    }
+
+    /**
+     * Obtains a recurrence of the specified times on every day.
+     *
+     * @param times the times of each day, not null
+     * @return the recurrence
+     */
+    public static Recurrence daily(final TimeInterval times) {
+        Objects.requireNonNull(times, "times");
+        Recurrence recurrence = NEVER;
+        for (final DayOfWeek day : DayOfWeek.values()) {
+            recurrence = recurrence.plus(day, times);
+        }
+        return recurrence;
+    }
+
+    private static int slot(final int month, final int dayOfMonth) {
+        return (month - 1) * DAYS_PER_MONTH_SLOT + dayOfMonth - 1;
+    }
+
+    private static int minuteOfWeek(final DayOfWeek day, final int minuteOfDay) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    private final BitSet week;
+    private final BitSet dates;
+
+    private Recurrence(final BitSet week, final BitSet dates) {
+        this.week = week;
+        this.dates = dates;
+    }
+
+    /**
+     * Adds the specified times on the days of week to this recurrence.
+     *
+     * @param days the days of week, not null
+     * @param times the times of each day, not null
+     * @return a recurrence active also at the specified times
+     */
+    public Recurrence plus(final DayOfWeekInterval days, final TimeInterval times) {
+        Objects.requireNonNull(days, "days");
+        Objects.requireNonNull(times, "times");
+        final BitSet week = (BitSet) this.week.clone();
+        for (final DayOfWeek day : DayOfWeek.values()) {
+            if (days.contains(day)) {
+                set(week, day, times);
+            }
+        }
+        return new Recurrence(week, dates);
+    }
+
+    /**
+     * Adds the specified times on the day of week to this recurrence.
+     *
+     * @param day the day of week, not null
+     * @param times the times of the day, not null
+     * @return a recurrence active also at the specified times
+     */
+    public Recurrence plus(final DayOfWeek day, final TimeInterval times) {
+        Objects.requireNonNull(day, "day");
+        Objects.requireNonNull(times, "times");
+        final BitSet week = (BitSet) this.week.clone();
+        set(week, day, times);
+        return new Recurrence(week, dates);
+    }
+
+    private static void set(final BitSet week, final DayOfWeek day, final TimeInterval times) {
+        final LocalTime start = times.getStart();
+        final LocalTime end = times.getEnd();
+        final int startMinute = start.getHour() * 60 + start.getMinute();
+        final int endMinute = end.getHour() * 60 + end.getMinute() + (end.getSecond() > 0 || end.getNano() > 0 ? 1 : 0);
+        if (!times.isEmpty()) {
+            week.set(minuteOfWeek(day, startMinute), minuteOfWeek(day, endMinute));
+        }
+    }
+
+    /**
+     * Excludes the specified dates of every year from this recurrence.
+     *
+     * @param dates the dates, not null
+     * @return a recurrence inactive on the dates
+     */
+    public Recurrence except(final MonthDayInterval dates) {
+        Objects.requireNonNull(dates, "dates");
+        final BitSet mask = (BitSet) this.dates.clone();
+        mask.andNot(mask(dates));
+        return new Recurrence(week, mask);
+    }
+
+    /**
+     * Excludes the specified date of every year from this recurrence.
+     *
+     * @param date the date, not null
+     * @return a recurrence inactive on the date
+     */
+    public Recurrence except(final MonthDay date) {
+        Objects.requireNonNull(date, "date");
+        final BitSet mask = (BitSet) this.dates.clone();
+        mask.clear(slot(date.getMonthValue(), date.getDayOfMonth()));
+        return new Recurrence(week, mask);
+    }
+
+    /**
+     * Restricts this recurrence to the specified dates of every year.
+     *
+     * @param dates the dates, not null
+     * @return a recurrence inactive out of the dates
+     */
+    public Recurrence only(final MonthDayInterval dates) {
+        Objects.requireNonNull(dates, "dates");
+        final BitSet mask = (BitSet) this.dates.clone();
+        mask.and(mask(dates));
+        return new Recurrence(week, mask);
+    }
+
+    private static BitSet mask(final MonthDayInterval dates) {
+        final BitSet mask = new BitSet(DATE_SLOTS);
+        for (final Month month : Month.values()) {
+            for (int day = 1; day <= month.maxLength(); day++) {
+                if (dates.contains(MonthDay.of(month, day))) {
+                    mask.set(slot(month.getValue(), day));
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Checks if this recurrence is active at the specified date-time.
+     *
+     * @param dateTime the local date-time, not null
+     * @return true if the date-time is within an occurrence
+     */
+    public boolean isActive(final LocalDateTime dateTime) {
+        Objects.requireNonNull(dateTime, "dateTime");
+        return dates.get(slot(dateTime.getMonthValue(), dateTime.getDayOfMonth()))
+                && week.get(minuteOfWeek(dateTime.getDayOfWeek(), dateTime.getHour() * 60 + dateTime.getMinute()));
+    }
+
+    /**
+     * Checks if this recurrence is active at the specified instant in the time-zone.
+     *
+     * @param instant the instant, not null
+     * @param zone the time-zone of the local times of this recurrence, not null
+     * @return true if the local date-time of the instant is within an occurrence
+     */
+    public boolean isActive(final Instant instant, final ZoneId zone) {
+        Objects.requireNonNull(instant, "instant");
+        Objects.requireNonNull(zone, "zone");
+        return isActive(LocalDateTime.ofInstant(instant, zone));
+    }
+
+    /**
+     * Gets the occurrence containing the specified date-time.
+     *
+     * @param dateTime the local date-time, not null
+     * @return the occurrence, null if this recurrence is not active at the date-time
+     */
+    public DateTimeInterval occurrenceAt(final LocalDateTime dateTime) {
+        if (!isActive(dateTime)) {
+            return null;
+        }
+        final LocalDate date = dateTime.toLocalDate();
+        final int base = minuteOfWeek(date.getDayOfWeek(), 0);
+        final int minute = base + dateTime.getHour() * 60 + dateTime.getMinute();
+        final int start = Math.max(base, week.previousClearBit(minute) + 1);
+        return occurrence(date, start - base, Math.min(base + MINUTES_PER_DAY, week.nextClearBit(minute)) - base);
+    }
+
+    /**
+     * Gets the first occurrence starting at or after the specified date-time.
+     *
+     * @param dateTime the local date-time, not null
+     * @return the occurrence, null if there is none
+     */
+    public DateTimeInterval nextOccurrence(final LocalDateTime dateTime) {
+        Objects.requireNonNull(dateTime, "dateTime");
+        if (week.isEmpty() || dates.isEmpty()) {
+            return null;
+        }
+        final LocalTime time = dateTime.toLocalTime();
+        LocalDate date = dateTime.toLocalDate();
+        int from = time.getHour() * 60 + time.getMinute() + (time.getSecond() > 0 || time.getNano() > 0 ? 1 : 0);
+        for (long i = 0L; i <= SEARCH_DAYS; i++) {
+            if (dates.get(slot(date.getMonthValue(), date.getDayOfMonth()))) {
+                final int base = minuteOfWeek(date.getDayOfWeek(), 0);
+                int start = week.nextSetBit(base + from);
+                if (start > base && start == base + from && week.get(start - 1)) {
+                    start = week.nextSetBit(week.nextClearBit(start));
+                }
+                if (start >= 0 && start < base + MINUTES_PER_DAY) {
+                    return occurrence(date, start - base, Math.min(base + MINUTES_PER_DAY, week.nextClearBit(start)) - base);
+                }
+            }
+            if (date.equals(LocalDate.MAX)) {
+                return null;
+            }
+            date = date.plusDays(1L);
+            from = 0;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the last occurrence starting before the specified date-time.
+     *
+     * @param dateTime the local date-time, not null
+     * @return the occurrence, null if there is none
+     */
+    public DateTimeInterval previousOccurrence(final LocalDateTime dateTime) {
+        Objects.requireNonNull(dateTime, "dateTime");
+        if (week.isEmpty() || dates.isEmpty()) {
+            return null;
+        }
+        final LocalTime time = dateTime.toLocalTime();
+        LocalDate date = dateTime.toLocalDate();
+        int to = time.getHour() * 60 + time.getMinute() - (time.getSecond() > 0 || time.getNano() > 0 ? 0 : 1);
+        for (long i = 0L; i <= SEARCH_DAYS; i++) {
+            if (to >= 0 && dates.get(slot(date.getMonthValue(), date.getDayOfMonth()))) {
+                final int base = minuteOfWeek(date.getDayOfWeek(), 0);
+                final int last = week.previousSetBit(base + to);
+                if (last >= base) {
+                    final int start = Math.max(base, week.previousClearBit(last) + 1);
+                    return occurrence(date, start - base, Math.min(base + MINUTES_PER_DAY, week.nextClearBit(last)) - base);
+                }
+            }
+            if (date.equals(LocalDate.MIN)) {
+                return null;
+            }
+            date = date.minusDays(1L);
+            to = MINUTES_PER_DAY - 1;
+        }
+        return null;
+    }
+
+    private static DateTimeInterval occurrence(final LocalDate date, final int startMinute, final int endMinute) {
+        final LocalDateTime start = date.atStartOfDay().plusMinutes(startMinute);
+        return DateTimeInterval.of(start, endMinute == MINUTES_PER_DAY ? date.plusDays(1L).atStartOfDay() : date.atStartOfDay().plusMinutes(endMinute));
+    }
+
+    /**
+     * Gets the occurrences overlapping the specified interval, clipped to it, in order.
+     * <p>
+     * The occurrences are found lazily, one by one, as the stream is consumed.
+     * </p>
+     *
+     * @param interval the interval, not null
+     * @return the sequential stream of occurrences
+     */
+    public Stream<DateTimeInterval> occurrences(final DateTimeInterval interval) {
+        Objects.requireNonNull(interval, "interval");
+        final LocalDateTime end = interval.getEnd();
+        final Spliterator<DateTimeInterval> spliterator = new Spliterators.AbstractSpliterator<DateTimeInterval>(Long.MAX_VALUE,
+                Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.ORDERED) {
+
+            private DateTimeInterval next = interval.isEmpty() ? null : occurrenceAt(interval.getStart());
+            private boolean started;
+
+            @Override
+            public boolean tryAdvance(final Consumer<? super DateTimeInterval> action) {
+                if (started) {
+                    next = next == null ? null : nextOccurrence(next.getEnd());
+                } else {
+                    started = true;
+                    if (next == null && !interval.isEmpty()) {
+                        next = nextOccurrence(interval.getStart());
+                    }
+                }
+                if (next == null || next.getStart().compareTo(end) >= 0) {
+                    next = null;
+                    return false;
+                }
+                action.accept(next.overlap(interval));
+                return true;
+            }
+
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Checks if this recurrence is restricted to some dates of the year.
+     */
+    boolean isRestricted() {
+        return !dates.equals(NEVER.dates);
+    }
+
+    /**
+     * Gets the mask of the active minutes of a week, starting on Monday, which must not be modified.
+     */
+    BitSet minutesOfWeek() {
+        return week;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * week.hashCode() + dates.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final Recurrence that = (Recurrence) o;
+        return week.equals(that.week) && dates.equals(that.dates);
+    }
+
+}
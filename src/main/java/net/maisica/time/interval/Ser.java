@@ -0,0 +1,247 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import net.maisica.time.format.CompactEncoding;
+
+/**
+ * The shared serialization delegate of the intervals.
+ * <p>
+ * The stream holds a type tag followed by the primitive fields of the interval in the {@link CompactEncoding}. The end is written relative to the start
+ * where that is shorter.
+ * </p>
+ */
+final class Ser implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final byte DATE_INTERVAL = 1;
+    static final byte DATE_TIME_INTERVAL = 2;
+    static final byte DAY_OF_WEEK_INTERVAL = 3;
+    static final byte INSTANT_INTERVAL = 4;
+    static final byte MONTH_DAY_INTERVAL = 5;
+    static final byte MONTH_INTERVAL = 6;
+    static final byte OFFSET_DATE_TIME_INTERVAL = 7;
+    static final byte OFFSET_TIME_INTERVAL = 8;
+    static final byte TIME_INTERVAL = 9;
+    static final byte YEAR_INTERVAL = 10;
+    static final byte YEAR_MONTH_INTERVAL = 11;
+    static final byte ZONE_OFFSET_INTERVAL = 12;
+    static final byte ZONED_DATE_TIME_INTERVAL = 13;
+
+    private byte type;
+    private Object object;
+
+    /**
+     * Constructor for deserialization.
+     */
+    public Ser() {
+    }
+
+    Ser(final byte type, final Object object) {
+        this.type = type;
+        this.object = object;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeByte(type);
+        switch (type) {
+            case DATE_INTERVAL: {
+                final DateInterval interval = (DateInterval) object;
+                final long start = interval.getStart().toEpochDay();
+                CompactEncoding.writeZigZag(out, start);
+                CompactEncoding.writeVarLong(out, interval.getEnd().toEpochDay() - start);
+                break;
+            }
+            case DATE_TIME_INTERVAL: {
+                final DateTimeInterval interval = (DateTimeInterval) object;
+                final long start = interval.getStart().toLocalDate().toEpochDay();
+                CompactEncoding.writeZigZag(out, start);
+                CompactEncoding.writeLocalTime(out, interval.getStart().toLocalTime());
+                CompactEncoding.writeVarLong(out, interval.getEnd().toLocalDate().toEpochDay() - start);
+                CompactEncoding.writeLocalTime(out, interval.getEnd().toLocalTime());
+                break;
+            }
+            case DAY_OF_WEEK_INTERVAL: {
+                final DayOfWeekInterval interval = (DayOfWeekInterval) object;
+                out.writeByte(interval.getStart().ordinal() << 4 | interval.getEnd().ordinal());
+                break;
+            }
+            case INSTANT_INTERVAL: {
+                final InstantInterval interval = (InstantInterval) object;
+                CompactEncoding.writeZigZag(out, interval.getStartEpochSecond());
+                CompactEncoding.writeNano(out, interval.getStartNano());
+                CompactEncoding.writeVarLong(out, interval.getEndEpochSecond() - interval.getStartEpochSecond());
+                CompactEncoding.writeNano(out, interval.getEndNano());
+                break;
+            }
+            case MONTH_DAY_INTERVAL: {
+                final MonthDayInterval interval = (MonthDayInterval) object;
+                out.writeByte(interval.getStart().getMonthValue());
+                out.writeByte(interval.getStart().getDayOfMonth());
+                out.writeByte(interval.getEnd().getMonthValue());
+                out.writeByte(interval.getEnd().getDayOfMonth());
+                break;
+            }
+            case MONTH_INTERVAL: {
+                final MonthInterval interval = (MonthInterval) object;
+                out.writeByte(interval.getStart().ordinal() << 4 | interval.getEnd().ordinal());
+                break;
+            }
+            case OFFSET_DATE_TIME_INTERVAL: {
+                final OffsetDateTimeInterval interval = (OffsetDateTimeInterval) object;
+                CompactEncoding.writeLocalDateTime(out, interval.getStart().toLocalDateTime());
+                CompactEncoding.writeZoneOffset(out, interval.getStart().getOffset());
+                CompactEncoding.writeLocalDateTime(out, interval.getEnd().toLocalDateTime());
+                CompactEncoding.writeZoneOffset(out, interval.getEnd().getOffset());
+                break;
+            }
+            case OFFSET_TIME_INTERVAL: {
+                final OffsetTimeInterval interval = (OffsetTimeInterval) object;
+                CompactEncoding.writeLocalTime(out, interval.getStart().toLocalTime());
+                CompactEncoding.writeZoneOffset(out, interval.getStart().getOffset());
+                CompactEncoding.writeLocalTime(out, interval.getEnd().toLocalTime());
+                CompactEncoding.writeZoneOffset(out, interval.getEnd().getOffset());
+                break;
+            }
+            case TIME_INTERVAL: {
+                final TimeInterval interval = (TimeInterval) object;
+                CompactEncoding.writeLocalTime(out, interval.getStart());
+                CompactEncoding.writeLocalTime(out, interval.getEnd());
+                break;
+            }
+            case YEAR_INTERVAL: {
+                final YearInterval interval = (YearInterval) object;
+                CompactEncoding.writeZigZag(out, interval.getStart().getValue());
+                CompactEncoding.writeVarLong(out, (long) interval.getEnd().getValue() - interval.getStart().getValue());
+                break;
+            }
+            case YEAR_MONTH_INTERVAL: {
+                final YearMonthInterval interval = (YearMonthInterval) object;
+                final long start = interval.getStart().getYear() * 12L + interval.getStart().getMonthValue() - 1L;
+                CompactEncoding.writeZigZag(out, start);
+                CompactEncoding.writeVarLong(out, interval.getEnd().getYear() * 12L + interval.getEnd().getMonthValue() - 1L - start);
+                break;
+            }
+            case ZONE_OFFSET_INTERVAL: {
+                final ZoneOffsetInterval interval = (ZoneOffsetInterval) object;
+                CompactEncoding.writeZoneOffset(out, interval.getStart());
+                CompactEncoding.writeZoneOffset(out, interval.getEnd());
+                break;
+            }
+            case ZONED_DATE_TIME_INTERVAL: {
+                final ZonedDateTimeInterval interval = (ZonedDateTimeInterval) object;
+                CompactEncoding.writeZonedDateTime(out, interval.getStart(), null);
+                CompactEncoding.writeZonedDateTime(out, interval.getEnd(), interval.getStart().getZone());
+                break;
+            }
+            default:
+                throw new InvalidClassException("Unknown serialized type " + type);
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        type = in.readByte();
+        object = read(in);
+    }
+
+    private Object read(final ObjectInput in) throws IOException {
+        switch (type) {
+            case DATE_INTERVAL: {
+                final long start = CompactEncoding.readZigZag(in);
+                return DateInterval.of(LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(start + CompactEncoding.readVarLong(in)));
+            }
+            case DATE_TIME_INTERVAL: {
+                final long start = CompactEncoding.readZigZag(in);
+                final LocalTime startTime = CompactEncoding.readLocalTime(in);
+                final long end = start + CompactEncoding.readVarLong(in);
+                return DateTimeInterval.of(LocalDate.ofEpochDay(start).atTime(startTime), LocalDate.ofEpochDay(end).atTime(CompactEncoding.readLocalTime(in)));
+            }
+            case DAY_OF_WEEK_INTERVAL: {
+                final int value = in.readUnsignedByte();
+                return DayOfWeekInterval.of(DayOfWeek.of((value >>> 4) + 1), DayOfWeek.of((value & 0xF) + 1));
+            }
+            case INSTANT_INTERVAL: {
+                final long startSecond = CompactEncoding.readZigZag(in);
+                final long startNano = CompactEncoding.readNano(in);
+                final long endSecond = startSecond + CompactEncoding.readVarLong(in);
+                return InstantInterval.ofEpochSeconds(startSecond, startNano, endSecond, CompactEncoding.readNano(in));
+            }
+            case MONTH_DAY_INTERVAL: {
+                final MonthDay start = MonthDay.of(in.readUnsignedByte(), in.readUnsignedByte());
+                return MonthDayInterval.of(start, MonthDay.of(in.readUnsignedByte(), in.readUnsignedByte()));
+            }
+            case MONTH_INTERVAL: {
+                final int value = in.readUnsignedByte();
+                return MonthInterval.of(Month.of((value >>> 4) + 1), Month.of((value & 0xF) + 1));
+            }
+            case OFFSET_DATE_TIME_INTERVAL: {
+                final OffsetDateTime start = OffsetDateTime.of(CompactEncoding.readLocalDateTime(in), CompactEncoding.readZoneOffset(in));
+                return OffsetDateTimeInterval.of(start, OffsetDateTime.of(CompactEncoding.readLocalDateTime(in), CompactEncoding.readZoneOffset(in)));
+            }
+            case OFFSET_TIME_INTERVAL: {
+                final OffsetTime start = OffsetTime.of(CompactEncoding.readLocalTime(in), CompactEncoding.readZoneOffset(in));
+                return OffsetTimeInterval.of(start, OffsetTime.of(CompactEncoding.readLocalTime(in), CompactEncoding.readZoneOffset(in)));
+            }
+            case TIME_INTERVAL: {
+                final LocalTime start = CompactEncoding.readLocalTime(in);
+                return TimeInterval.of(start, CompactEncoding.readLocalTime(in));
+            }
+            case YEAR_INTERVAL: {
+                final long start = CompactEncoding.readZigZag(in);
+                return YearInterval.of(Year.of((int) start), Year.of((int) (start + CompactEncoding.readVarLong(in))));
+            }
+            case YEAR_MONTH_INTERVAL: {
+                final long start = CompactEncoding.readZigZag(in);
+                final long end = start + CompactEncoding.readVarLong(in);
+                return YearMonthInterval.of(YearMonth.of((int) Math.floorDiv(start, 12L), (int) Math.floorMod(start, 12L) + 1),
+                        YearMonth.of((int) Math.floorDiv(end, 12L), (int) Math.floorMod(end, 12L) + 1));
+            }
+            case ZONE_OFFSET_INTERVAL: {
+                return ZoneOffsetInterval.of(CompactEncoding.readZoneOffset(in), CompactEncoding.readZoneOffset(in));
+            }
+            case ZONED_DATE_TIME_INTERVAL: {
+                final ZonedDateTime start = CompactEncoding.readZonedDateTime(in, null);
+                return ZonedDateTimeInterval.of(start, CompactEncoding.readZonedDateTime(in, start.getZone()));
+            }
+            default:
+                throw new StreamCorruptedException("Unknown serialized type " + type);
+        }
+    }
+
+    private Object readResolve() {
+        return object;
+    }
+
+}
@@ -18,16 +18,9 @@ package net.maisica.time.interval;
 import java.time.Duration;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAmount;
-import java.time.temporal.TemporalUnit;
-import java.time.temporal.UnsupportedTemporalTypeException;
-import java.util.Comparator;
-import java.util.Objects;
-import java.util.Spliterator;
-import static java.util.Spliterator.*;
-import java.util.Spliterators;
-import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import net.maisica.time.internal.StepSpliterator;
 import net.maisica.time.span.TemporalSpan;
 
 /**
@@ -59,44 +52,52 @@ public interface TemporalInterval<T extends Temporal & Comparable<? super T>> ex
      * The result stream consist all temporals contained in this interval split by the specified step starting from the start temporal. Returns empty stream if
      * this interval is empty, otherwise contains the start temporal at least.
      * </p>
+     * <p>
+     * For a step of fixed length, a {@link Duration} or a {@link java.time.Period} of days only on any temporal except a zoned date-time, the stream is
+     * sized and splits evenly when run in parallel. Other steps are added one by one.
+     * </p>
      *
      * @param step the positive step, not null
      * @return stream of temporals
      */
-    @SuppressWarnings("unchecked")
     public default Stream<T> stream(final TemporalAmount step) {
-        Objects.requireNonNull(step, "step");
-        final TemporalUnit unsupportedUnit = step.getUnits().stream().filter(u -> !getStart().isSupported(u)).findFirst().orElse(null);
-        if (unsupportedUnit != null) {
-            throw new UnsupportedTemporalTypeException(String.format("Unsupported unit: %s", unsupportedUnit));
-        }
-
-        final Spliterator<T> spliterator = Stream.iterate(getStart(), step::addTo).map(t -> (T) t).spliterator();
-        return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, DISTINCT | IMMUTABLE | NONNULL | ORDERED | SORTED) {
-
-            private boolean valid = true;
-
-            @Override
-            public boolean tryAdvance(final Consumer<? super T> consumer) {
-                if (valid) {
-                    final boolean hadNext = spliterator.tryAdvance(t -> {
-                        if (t.compareTo(getEnd()) < 0) {
-                            consumer.accept(t);
-                        } else {
-                            valid = false;
-                        }
-                    });
-                    return hadNext && valid;
-                }
-                return false;
-            }
+        return StreamSupport.stream(StepSpliterator.stepping(getStart(), getEnd(), step), false);
+    }
 
-            @Override
-            public Comparator<? super T> getComparator() {
-                return null;
-            }
+    /**
+     * Counts the temporals of {@link #stream(TemporalAmount)} with specified step.
+     * <p>
+     * The count is computed directly for a step of fixed length, other steps are added one by one.
+     * </p>
+     *
+     * @param step the positive step, not null
+     * @return the number of temporals
+     */
+    public default long count(final TemporalAmount step) {
+        final StepSpliterator<T> fixed = StepSpliterator.of(getStart(), getEnd(), step);
+        return fixed != null ? fixed.estimateSize() : stream(step).count();
+    }
 
-        }, false);
+    /**
+     * Gets the temporal at specified index of {@link #stream(TemporalAmount)} with specified step.
+     * <p>
+     * The temporal is computed directly for a step of fixed length, other steps are added one by one.
+     * </p>
+     *
+     * @param step the positive step, not null
+     * @param index the index, from zero to the count exclusive
+     * @return the temporal
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public default T get(final TemporalAmount step, final long index) {
+        final StepSpliterator<T> fixed = StepSpliterator.of(getStart(), getEnd(), step);
+        if (fixed != null) {
+            return fixed.get(index);
+        }
+        if (index < 0L) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return stream(step).skip(index).findFirst().orElseThrow(() -> new IndexOutOfBoundsException("Index: " + index));
     }
 
 }
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.Objects;
+import net.maisica.time.internal.StepSpliterator;
+import net.maisica.time.span.TemporalSpan;
+
+/**
+ * Maps temporals to consecutive buckets of an interval split by a step.
+ * <p>
+ * The bucket at index {@code i} starts at the start of the interval plus {@code i} times the step and ends at the start of the next bucket, the last bucket
+ * ends at the end of the interval. Buckets of a fixed-length step, a {@link Duration} or a {@link Period} of days only on any temporal except a zoned
+ * date-time, are located by dividing the distance from the start in nanoseconds. Buckets of a calendar step, a {@link Period} of months only, or of days only on a zoned date-time, are located by counting the calendar
+ * units from the start, so month buckets starting on the 31st start on the last day of shorter months.
+ * </p>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ *
+ * @param <T> the {@link Temporal} comparable type
+ */
+public final class TimeBucketer<T extends Temporal & Comparable<? super T>> {
+
+    private static final long NANOS_PER_SECOND = 1000_000_000L;
+    private static final long NANOS_PER_MILLI = 1000_000L;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MAX_SECONDS = Long.MAX_VALUE / NANOS_PER_SECOND - 1L;
+
+    /**
+     * Obtains a bucketer splitting the specified interval by the step.
+     *
+     * @param <T> the temporal type
+     * @param interval the interval, not null
+     * @param step the positive step, of fixed length or a calendar step, not null
+     * @return the bucketer
+     * @throws UnsupportedTemporalTypeException if a unit of the step is not supported by the temporals
+     * @throws IllegalArgumentException if the step is not positive, or neither of fixed length nor a calendar step
+     */
+    public static <T extends Temporal & Comparable<? super T>> TimeBucketer<T> of(final TemporalInterval<T> interval, final TemporalAmount step) {
+        Objects.requireNonNull(interval, "interval");
+        Objects.requireNonNull(step, "step");
+        final IntervalFactory<T, TemporalInterval<T>> factory = Timeline.factoryOf(interval);
+        final StepSpliterator<T> fixed = StepSpliterator.of(interval.getStart(), interval.getEnd(), step);
+        if (fixed != null) {
+            return new TimeBucketer<>(interval, factory, fixed, fixed.estimateSize(), null, 0L);
+        }
+        if (!(step instanceof Period)) {
+            throw new IllegalArgumentException("Unsupported step: " + step);
+        }
+        final Period period = (Period) step;
+        final long months = period.toTotalMonths();
+        final int days = period.getDays();
+        if (months < 0L || days < 0 || (months == 0L && days == 0)) {
+            throw new IllegalArgumentException("step is not positive");
+        }
+        if (days == 0) {
+            return new TimeBucketer<>(interval, factory, null, 0L, ChronoUnit.MONTHS, months);
+        }
+        if (months == 0L) {
+            return new TimeBucketer<>(interval, factory, null, 0L, ChronoUnit.DAYS, days);
+        }
+        throw new IllegalArgumentException("Unsupported step: " + step);
+    }
+
+    /**
+     * Obtains a bucketer splitting the interval of the specified span by the step.
+     *
+     * @param <T> the temporal type
+     * @param span the span, not null
+     * @param step the positive step, of fixed length or a calendar step, not null
+     * @return the bucketer
+     * @throws UnsupportedTemporalTypeException if a unit of the step is not supported by the temporals
+     * @throws IllegalArgumentException if the step is not positive, or neither of fixed length nor a calendar step
+     * @see TemporalSpan#toInterval()
+     */
+    public static <T extends Temporal & Comparable<? super T>> TimeBucketer<T> of(final TemporalSpan<T> span, final TemporalAmount step) {
+        Objects.requireNonNull(span, "span");
+        return of(span.toInterval(), step);
+    }
+
+    private final T start;
+    private final T end;
+    private final IntervalFactory<T, TemporalInterval<T>> factory;
+    private final StepSpliterator<T> fixed;
+    private final long count;
+    private final ChronoUnit unit;
+    private final long amount;
+    private final boolean timeline;
+    private final long startSecond;
+    private final int startNano;
+    private final long stepSeconds;
+    private final int stepNano;
+    private final long stepNanos;
+    private final long startMilli;
+    private final long stepMillis;
+
+    private TimeBucketer(final TemporalInterval<T> interval, final IntervalFactory<T, TemporalInterval<T>> factory, final StepSpliterator<T> fixed,
+            final long count, final ChronoUnit unit, final long amount) {
+        this.start = interval.getStart();
+        this.end = interval.getEnd();
+        this.factory = factory;
+        this.fixed = fixed;
+        this.unit = unit;
+        this.amount = amount;
+        this.count = fixed != null ? count : countCalendar();
+        this.timeline = Timeline.epochSecond(start) != Long.MIN_VALUE;
+        this.startSecond = timeline ? Timeline.epochSecond(start) : 0L;
+        this.startNano = timeline ? Timeline.nano(start) : 0;
+        if (fixed != null) {
+            final Duration step = fixed.getStep();
+            this.stepSeconds = step.getSeconds();
+            this.stepNano = step.getNano();
+            this.stepNanos = stepSeconds <= MAX_SECONDS ? stepSeconds * NANOS_PER_SECOND + stepNano : -1L;
+        } else {
+            this.stepSeconds = 0L;
+            this.stepNano = 0;
+            this.stepNanos = -1L;
+        }
+        final boolean millis = Timeline.isEpochBased(start) && startNano % NANOS_PER_MILLI == 0L && stepNano % NANOS_PER_MILLI == 0L
+                && Math.abs(startSecond) < Long.MAX_VALUE / MILLIS_PER_SECOND && stepSeconds < Long.MAX_VALUE / MILLIS_PER_SECOND;
+        this.startMilli = millis ? startSecond * MILLIS_PER_SECOND + startNano / NANOS_PER_MILLI : 0L;
+        this.stepMillis = millis && fixed != null ? stepSeconds * MILLIS_PER_SECOND + stepNano / NANOS_PER_MILLI : -1L;
+    }
+
+    private long countCalendar() {
+        long n = Math.max(0L, unit.between(start, end) / amount);
+        while (startOf(n).compareTo(end) < 0) {
+            n++;
+        }
+        while (n > 0L && startOf(n - 1L).compareTo(end) >= 0) {
+            n--;
+        }
+        return n;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T startOf(final long index) {
+        return (T) start.plus(Math.multiplyExact(index, amount), unit);
+    }
+
+    /**
+     * Gets the number of buckets.
+     *
+     * @return the number of buckets, zero if the interval is empty
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Gets the index of the bucket containing the specified temporal.
+     *
+     * @param temporal the temporal, not null
+     * @return the index of the bucket, -1 if the temporal is not contained in the interval
+     */
+    public long bucketIndex(final T temporal) {
+        Objects.requireNonNull(temporal, "temporal");
+        if (temporal.compareTo(start) < 0 || temporal.compareTo(end) >= 0) {
+            return -1L;
+        }
+        if (fixed == null) {
+            return indexCalendar(temporal);
+        }
+        if (timeline) {
+            return index(Timeline.epochSecond(temporal), Timeline.nano(temporal));
+        }
+        return stepNanos > 0L ? start.until(temporal, ChronoUnit.NANOS) / stepNanos : 0L;
+    }
+
+    /**
+     * Gets the index of the bucket containing the instant of the specified milliseconds since epoch.
+     * <p>
+     * The milliseconds are placed on the timeline of the temporals, the same as of {@link Instant#toEpochMilli()}, or the epoch second in UTC for local
+     * date-times. Buckets of a fixed-length step starting at whole milliseconds are located with a single division, without creating any temporal.
+     * </p>
+     *
+     * @param epochMilli the milliseconds from 1970-01-01T00:00:00Z
+     * @return the index of the bucket, -1 if the instant is not contained in the interval
+     * @throws UnsupportedTemporalTypeException if the temporals are not on the timeline, i.e. dates or times of day
+     */
+    public long bucketIndex(final long epochMilli) {
+        if (stepMillis > 0L && (startMilli >= 0L || epochMilli <= Long.MAX_VALUE + startMilli)) {
+            if (epochMilli < startMilli) {
+                return -1L;
+            }
+            final long index = (epochMilli - startMilli) / stepMillis;
+            return index < count - 1L || (index == count - 1L && isBeforeEnd(epochMilli)) ? index : -1L;
+        }
+        final T temporal = ofEpochMilli(epochMilli);
+        return bucketIndex(temporal);
+    }
+
+    /**
+     * Checks whether buckets are located in epoch milliseconds by a single division, see {@link #bucketIndex(long)}.
+     */
+    boolean isMilliStep() {
+        return stepMillis > 0L;
+    }
+
+    private boolean isBeforeEnd(final long epochMilli) {
+        final long seconds = Math.floorDiv(epochMilli, MILLIS_PER_SECOND);
+        final int nanos = (int) (Math.floorMod(epochMilli, MILLIS_PER_SECOND) * NANOS_PER_MILLI);
+        final long endSecond = Timeline.epochSecond(end);
+        return seconds < endSecond || (seconds == endSecond && nanos < Timeline.nano(end));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T ofEpochMilli(final long epochMilli) {
+        final Instant instant = Instant.ofEpochMilli(epochMilli);
+        if (start instanceof Instant) {
+            return (T) instant;
+        }
+        if (start instanceof OffsetDateTime) {
+            return (T) OffsetDateTime.ofInstant(instant, ((OffsetDateTime) start).getOffset());
+        }
+        if (start instanceof ZonedDateTime) {
+            return (T) ZonedDateTime.ofInstant(instant, ((ZonedDateTime) start).getZone());
+        }
+        if (start instanceof LocalDateTime) {
+            return (T) LocalDateTime.ofEpochSecond(instant.getEpochSecond(), instant.getNano(), ZoneOffset.UTC);
+        }
+        throw new UnsupportedTemporalTypeException("Epoch milliseconds are not supported by " + start.getClass().getSimpleName());
+    }
+
+    private long index(final long second, final int nano) {
+        final long seconds = second - startSecond;
+        if (stepNanos > 0L && seconds < MAX_SECONDS) {
+            return (seconds * NANOS_PER_SECOND + nano - startNano) / stepNanos;
+        }
+        final BigInteger nanos = BigInteger.valueOf(seconds).multiply(BigInteger.valueOf(NANOS_PER_SECOND)).add(BigInteger.valueOf(nano - startNano));
+        final BigInteger step = BigInteger.valueOf(stepSeconds).multiply(BigInteger.valueOf(NANOS_PER_SECOND)).add(BigInteger.valueOf(stepNano));
+        return nanos.divide(step).longValue();
+    }
+
+    private long indexCalendar(final T temporal) {
+        long index = Math.min(count - 1L, unit.between(start, temporal) / amount);
+        while (index + 1L < count && startOf(index + 1L).compareTo(temporal) <= 0) {
+            index++;
+        }
+        while (index > 0L && startOf(index).compareTo(temporal) > 0) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Gets the start of the bucket at specified index.
+     *
+     * @param index the index, from zero to the count exclusive
+     * @return the start of the bucket
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public T bucketStart(final long index) {
+        if (fixed != null) {
+            return fixed.get(index);
+        }
+        if (index < 0L || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", count: " + count);
+        }
+        return startOf(index);
+    }
+
+    /**
+     * Gets the start of the bucket at specified index, in milliseconds since epoch.
+     * <p>
+     * Buckets of a fixed-length step starting at whole milliseconds are computed without creating any temporal.
+     * </p>
+     *
+     * @param index the index, from zero to the count exclusive
+     * @return the milliseconds from 1970-01-01T00:00:00Z, rounded down
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws UnsupportedTemporalTypeException if the temporals are not on the timeline, i.e. dates or times of day
+     * @throws ArithmeticException if the start of the bucket cannot be represented in milliseconds
+     */
+    public long bucketStartEpochMilli(final long index) {
+        if (stepMillis > 0L) {
+            if (index < 0L || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", count: " + count);
+            }
+            return Math.addExact(startMilli, Math.multiplyExact(index, stepMillis));
+        }
+        final T temporal = bucketStart(index);
+        if (temporal instanceof LocalDateTime) {
+            return ((LocalDateTime) temporal).toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        if (temporal instanceof Instant || temporal instanceof OffsetDateTime || temporal instanceof ZonedDateTime) {
+            return Instant.from(temporal).toEpochMilli();
+        }
+        throw new UnsupportedTemporalTypeException("Epoch milliseconds are not supported by " + start.getClass().getSimpleName());
+    }
+
+    /**
+     * Gets the bucket at specified index.
+     *
+     * @param index the index, from zero to the count exclusive
+     * @return the bucket, an interval of the same type as the split interval
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public TemporalInterval<T> bucketInterval(final long index) {
+        return factory.createInterval(bucketStart(index), index + 1L < count ? bucketStart(index + 1L) : end);
+    }
+
+    /**
+     * Gets the bucket containing the specified temporal.
+     *
+     * @param temporal the temporal, not null
+     * @return the bucket, null if the temporal is not contained in the interval
+     */
+    public TemporalInterval<T> bucketOf(final T temporal) {
+        final long index = bucketIndex(temporal);
+        return index < 0L ? null : bucketInterval(index);
+    }
+
+}
@@ -15,25 +15,31 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import java.util.stream.LongStream;
+import net.maisica.time.format.IsoParser;
+import net.maisica.time.internal.StepSpliterator;
 import net.maisica.time.span.TimeSpan;
 
 public final class TimeInterval extends AbstractInterval<LocalTime, TimeInterval> implements TemporalInterval<LocalTime>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static TimeInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final LocalTime start = LocalTime.parse(text.subSequence(0, i++).toString());
-                final LocalTime end = LocalTime.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final LocalTime start = IsoParser.parseLocalTime(text, 0, i);
+        final LocalTime end = IsoParser.parseLocalTime(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static TimeInterval of(final Interval<LocalTime> interval) {
@@ -73,4 +79,24 @@ public final class TimeInterval extends AbstractInterval<LocalTime, TimeInterval
         return TimeSpan.of(getStart(), toDuration());
     }
 
+    /**
+     * Gets the nanos of day of the times of {@link #stream(java.time.temporal.TemporalAmount)} stepping by the specified number of nanoseconds, without
+     * creating any time.
+     *
+     * @param step the positive step in nanoseconds
+     * @return the sized stream of nanoseconds from midnight
+     * @throws IllegalArgumentException if the step is not positive
+     */
+    public LongStream nanosOfDay(final long step) {
+        return StepSpliterator.range(getStart().toNanoOfDay(), getEnd().toNanoOfDay(), step);
+    }
+
+    private Object writeReplace() {
+        return new Ser(Ser.TIME_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.chrono.ChronoZonedDateTime;
+import java.time.temporal.Temporal;
+
+/**
+ * Positions of temporals on a timeline of seconds and nanoseconds, shared by the classes locating temporals by arithmetic rather than comparison.
+ * <p>
+ * Date-times are positioned by their epoch second, local date-times as if in UTC, dates by the epoch second of their start of day and times by their second
+ * of day, offset times shifted to UTC.
+ * </p>
+ */
+final class Timeline {
+
+    static final long NANOS_PER_SECOND = 1000_000_000L;
+    static final long SECONDS_PER_DAY = 86400L;
+
+    static boolean isEpochBased(final Temporal temporal) {
+        return temporal instanceof Instant || temporal instanceof LocalDateTime || temporal instanceof OffsetDateTime || temporal instanceof ChronoZonedDateTime;
+    }
+
+    /**
+     * Gets the second of the specified temporal on the timeline.
+     *
+     * @param temporal the temporal, not null
+     * @return the second, {@code Long.MIN_VALUE} if the temporal type is not supported
+     */
+    static long epochSecond(final Temporal temporal) {
+        if (temporal instanceof Instant) {
+            return ((Instant) temporal).getEpochSecond();
+        }
+        if (temporal instanceof LocalDateTime) {
+            return ((LocalDateTime) temporal).toEpochSecond(ZoneOffset.UTC);
+        }
+        if (temporal instanceof OffsetDateTime) {
+            return ((OffsetDateTime) temporal).toEpochSecond();
+        }
+        if (temporal instanceof ChronoZonedDateTime) {
+            return ((ChronoZonedDateTime<?>) temporal).toEpochSecond();
+        }
+        if (temporal instanceof LocalDate) {
+            return ((LocalDate) temporal).toEpochDay() * SECONDS_PER_DAY;
+        }
+        if (temporal instanceof LocalTime) {
+            return ((LocalTime) temporal).toSecondOfDay();
+        }
+        if (temporal instanceof OffsetTime) {
+            final OffsetTime time = (OffsetTime) temporal;
+            return time.toLocalTime().toSecondOfDay() - time.getOffset().getTotalSeconds();
+        }
+        return Long.MIN_VALUE;
+    }
+
+    static int nano(final Temporal temporal) {
+        if (temporal instanceof Instant) {
+            return ((Instant) temporal).getNano();
+        }
+        if (temporal instanceof LocalDateTime) {
+            return ((LocalDateTime) temporal).getNano();
+        }
+        if (temporal instanceof OffsetDateTime) {
+            return ((OffsetDateTime) temporal).getNano();
+        }
+        if (temporal instanceof ChronoZonedDateTime) {
+            return ((ChronoZonedDateTime<?>) temporal).toLocalTime().getNano();
+        }
+        if (temporal instanceof LocalTime) {
+            return ((LocalTime) temporal).getNano();
+        }
+        if (temporal instanceof OffsetTime) {
+            return ((OffsetTime) temporal).getNano();
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the factory of intervals of the same type as the specified interval.
+     *
+     * @param <T> the temporal type
+     * @param interval the interval, not null
+     * @return the factory
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Temporal & Comparable<? super T>> IntervalFactory<T, TemporalInterval<T>> factoryOf(final TemporalInterval<T> interval) {
+        if (interval instanceof AbstractInterval) {
+            return (IntervalFactory<T, TemporalInterval<T>>) ((AbstractInterval<T, ?>) interval).getFactory();
+        }
+        // an anonymous class, as javac erases the parameters of a lambda of an intersection type inconsistently with the interface
+        return new IntervalFactory<T, TemporalInterval<T>>() {
+            @Override
+            public TemporalInterval<T> createInterval(final T start, final T end) {
+                final Interval<T> bounded = start.compareTo(interval.getEnd()) > 0 ? interval.withEnd(end).withStart(start) : interval.withStart(start).withEnd(end);
+                return (TemporalInterval<T>) bounded;
+            }
+        };
+    }
+
+    private Timeline() {
+    }
+
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import net.maisica.time.span.TemporalSpan;
+
+/**
+ * A hierarchical hashed timing wheel expiring elements at instant deadlines, such as the ends of {@link TemporalSpan}s and {@link TemporalInterval}s.
+ * <p>
+ * Time is counted in ticks of a fixed duration from the instant of the clock when the wheel is created. Each level of the wheel has a power-of-two number of
+ * slots, each holding a doubly linked list of timeouts; a slot of level {@code l} covers {@code slots^l} ticks. A timeout is linked into the lowest level whose
+ * span reaches its deadline, so scheduling and cancelling take constant time. When the lowest level completes a revolution, the current slot of the next
+ * level is cascaded down, as in the scheme of Varghese and Lauck. Ticks without timeouts in the lowest level are skipped by a bitmap of its occupied slots.
+ * </p>
+ * <p>
+ * The wheel does not run by itself. Each call to {@link #advance(Consumer)} reads the clock, which may be any {@link Clock}, including a manually advanced
+ * one in tests, and hands all elements whose deadlines have passed to the action as a single batch. A timeout never expires before its deadline, and at most
+ * one tick after it, at the first advance past it. Deadlines already passed when scheduled expire at the next advance.
+ * </p>
+ * <p>
+ * This class is thread-safe. Scheduling, cancelling and advancing synchronize on the wheel, while the action runs after the lock is released.
+ * </p>
+ *
+ * @param <E> the element type
+ */
+public final class TimingWheel<E> {
+
+    private static final int DEFAULT_SLOTS = 256;
+
+    private static final int SCHEDULED = 0;
+    private static final int EXPIRED = 1;
+    private static final int CANCELLED = 2;
+
+    private final Clock clock;
+    private final long originSecond;
+    private final int originNano;
+    private final long tickNanos;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final Timeout<E>[] buckets;
+    private final Timeout<E> pending;
+    private final long[] occupied;
+    private long tick;
+    private int size;
+
+    /**
+     * Creates a wheel of 256 slots per level.
+     *
+     * @param clock the clock, not null
+     * @param tick the positive duration of a tick, not null
+     * @throws IllegalArgumentException if the tick is not positive
+     * @throws ArithmeticException if the tick overflows a {@code long} of nanoseconds
+     */
+    public TimingWheel(final Clock clock, final Duration tick) {
+        this(clock, tick, DEFAULT_SLOTS);
+    }
+
+    /**
+     * Creates a wheel of the specified number of slots per level.
+     *
+     * @param clock the clock, not null
+     * @param tick the positive duration of a tick, not null
+     * @param slots the number of slots per level, a power of two greater than one
+     * @throws IllegalArgumentException if the tick is not positive or the slots are not a power of two greater than one
+     * @throws ArithmeticException if the tick overflows a {@code long} of nanoseconds
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(final Clock clock, final Duration tick, final int slots) {
+        Objects.requireNonNull(clock, "clock");
+        Objects.requireNonNull(tick, "tick");
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("tick is not positive");
+        }
+        if (slots < 2 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("slots is not a power of two greater than one");
+        }
+        this.clock = clock;
+        final Instant origin = clock.instant();
+        this.originSecond = origin.getEpochSecond();
+        this.originNano = origin.getNano();
+        this.tickNanos = tick.toNanos();
+        this.bits = Integer.numberOfTrailingZeros(slots);
+        this.mask = slots - 1;
+        this.levels = (Long.SIZE - 1 + bits - 1) / bits;
+        this.buckets = new Timeout[levels * slots];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Timeout<>(this);
+        }
+        this.pending = new Timeout<>(this);
+        this.occupied = new long[(slots + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Gets the number of timeouts neither expired nor cancelled.
+     *
+     * @return the number of scheduled timeouts
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Schedules the element to expire at the end of the span.
+     *
+     * @param span the span, not null
+     * @param element the element, may be null
+     * @return the timeout, which may be cancelled
+     * @throws ArithmeticException if the deadline is too far from the creation of the wheel
+     */
+    public Timeout<E> schedule(final TemporalSpan<Instant> span, final E element) {
+        Objects.requireNonNull(span, "span");
+        return schedule(span.computeEnd(), element);
+    }
+
+    /**
+     * Schedules the element to expire at the end of the interval.
+     *
+     * @param interval the interval, not null
+     * @param element the element, may be null
+     * @return the timeout, which may be cancelled
+     * @throws ArithmeticException if the deadline is too far from the creation of the wheel
+     */
+    public Timeout<E> schedule(final TemporalInterval<Instant> interval, final E element) {
+        Objects.requireNonNull(interval, "interval");
+        return schedule(interval.getEnd(), element);
+    }
+
+    /**
+     * Schedules the element to expire at the deadline.
+     *
+     * @param deadline the deadline, not null
+     * @param element the element, may be null
+     * @return the timeout, which may be cancelled
+     * @throws ArithmeticException if the deadline is more than about 292 years from the creation of the wheel
+     */
+    public Timeout<E> schedule(final Instant deadline, final E element) {
+        Objects.requireNonNull(deadline, "deadline");
+        final long nanos = nanos(deadline);
+        final long ticks = nanos / tickNanos + (nanos % tickNanos > 0L ? 1L : 0L);
+        final Timeout<E> timeout = new Timeout<>(this, element, ticks);
+        synchronized (this) {
+            size++;
+            if (ticks <= tick) {
+                link(pending, timeout);
+            } else {
+                place(timeout);
+            }
+        }
+        return timeout;
+    }
+
+    /**
+     * Expires the timeouts whose deadlines have passed by the instant of the clock.
+     *
+     * @param action the action receiving the expired elements as a single unmodifiable batch, ordered by tick, only called if any expired, not null
+     * @return the number of expired elements
+     */
+    public int advance(final Consumer<? super List<E>> action) {
+        Objects.requireNonNull(action, "action");
+        final List<E> batch = new ArrayList<>();
+        final Instant now = clock.instant();
+        synchronized (this) {
+            drain(pending, batch);
+            advanceTo(Math.floorDiv(nanos(now), tickNanos), batch);
+        }
+        if (!batch.isEmpty()) {
+            action.accept(Collections.unmodifiableList(batch));
+        }
+        return batch.size();
+    }
+
+    private long nanos(final Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond() - originSecond, Timeline.NANOS_PER_SECOND), instant.getNano() - originNano);
+    }
+
+    private void advanceTo(final long target, final List<E> batch) {
+        while (tick < target) {
+            if (size == 0) {
+                tick = target;
+                return;
+            }
+            long next = tick + 1L;
+            if ((next & mask) != 0L) {
+                final int slot = nextOccupied((int) (next & mask));
+                next = slot < 0 ? (next | mask) + 1L : (next & ~(long) mask) + slot;
+                if (next > target) {
+                    tick = target;
+                    return;
+                }
+            }
+            tick = next;
+            if ((next & mask) == 0L) {
+                cascade(next, batch);
+            }
+            final int slot = (int) (next & mask);
+            drain(buckets[slot], batch);
+            occupied[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    /**
+     * Moves the timeouts of the current slots of the levels above the lowest one whose revolutions complete at the tick down the wheel, highest first.
+     */
+    private void cascade(final long current, final List<E> batch) {
+        int level = 1;
+        while (level + 1 < levels && (current & ((1L << (bits * (level + 1))) - 1L)) == 0L) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            final Timeout<E> head = buckets[level * (mask + 1) + (int) ((current >>> (bits * level)) & mask)];
+            Timeout<E> timeout = head.next;
+            head.next = head;
+            head.previous = head;
+            while (timeout != head) {
+                final Timeout<E> next = timeout.next;
+                if (timeout.tick <= current) {
+                    expire(timeout, batch);
+                } else {
+                    place(timeout);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Links the timeout into the lowest level reaching its deadline from the current tick.
+     */
+    private void place(final Timeout<E> timeout) {
+        final long delta = timeout.tick - tick;
+        int level = 0;
+        while (level + 1 < levels && (delta >>> (bits * (level + 1))) != 0L) {
+            level++;
+        }
+        final int slot = (int) ((timeout.tick >>> (bits * level)) & mask);
+        link(buckets[level * (mask + 1) + slot], timeout);
+        if (level == 0) {
+            occupied[slot >>> 6] |= 1L << slot;
+        }
+    }
+
+    private int nextOccupied(final int from) {
+        int i = from >>> 6;
+        long word = occupied[i] & (-1L << from);
+        while (word == 0L) {
+            if (++i == occupied.length) {
+                return -1;
+            }
+            word = occupied[i];
+        }
+        final int slot = (i << 6) + Long.numberOfTrailingZeros(word);
+        return slot > mask ? -1 : slot;
+    }
+
+    private static <E> void link(final Timeout<E> head, final Timeout<E> timeout) {
+        timeout.previous = head.previous;
+        timeout.next = head;
+        head.previous.next = timeout;
+        head.previous = timeout;
+    }
+
+    private void expire(final Timeout<E> timeout, final List<E> batch) {
+        timeout.state = EXPIRED;
+        timeout.previous = null;
+        timeout.next = null;
+        size--;
+        batch.add(timeout.element);
+    }
+
+    private void drain(final Timeout<E> head, final List<E> batch) {
+        Timeout<E> timeout = head.next;
+        while (timeout != head) {
+            final Timeout<E> next = timeout.next;
+            expire(timeout, batch);
+            timeout = next;
+        }
+        head.next = head;
+        head.previous = head;
+    }
+
+    /**
+     * An element scheduled on a wheel.
+     *
+     * @param <E> the element type
+     */
+    public static final class Timeout<E> {
+
+        private final TimingWheel<E> wheel;
+        private final E element;
+        private final long tick;
+        private Timeout<E> previous;
+        private Timeout<E> next;
+        private int state;
+
+        private Timeout(final TimingWheel<E> wheel) {
+            this(wheel, null, 0L);
+            this.previous = this;
+            this.next = this;
+        }
+
+        private Timeout(final TimingWheel<E> wheel, final E element, final long tick) {
+            this.wheel = wheel;
+            this.element = element;
+            this.tick = tick;
+        }
+
+        public E getElement() {
+            return element;
+        }
+
+        public boolean isExpired() {
+            synchronized (wheel) {
+                return state == EXPIRED;
+            }
+        }
+
+        public boolean isCancelled() {
+            synchronized (wheel) {
+                return state == CANCELLED;
+            }
+        }
+
+        /**
+         * Cancels this timeout unless it has already expired or been cancelled.
+         *
+         * @return true if cancelled by this call
+         */
+        public boolean cancel() {
+            synchronized (wheel) {
+                if (state != SCHEDULED) {
+                    return false;
+                }
+                state = CANCELLED;
+                wheel.size--;
+                previous.next = next;
+                next.previous = previous;
+                previous = null;
+                next = null;
+                return true;
+            }
+        }
+
+    }
+
+}
@@ -15,25 +15,29 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.Year;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.span.YearSpan;
 
 public final class YearInterval extends AbstractInterval<Year, YearInterval> implements TemporalInterval<Year>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static YearInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final Year start = Year.parse(text.subSequence(0, i++).toString());
-                final Year end = Year.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final Year start = IsoParser.parseYear(text, 0, i);
+        final Year end = IsoParser.parseYear(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static YearInterval of(final Interval<Year> interval) {
@@ -73,4 +77,12 @@ public final class YearInterval extends AbstractInterval<Year, YearInterval> imp
         return YearSpan.of(getStart(), toDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.YEAR_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
@@ -15,25 +15,32 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
 import java.util.Objects;
+import java.util.stream.LongStream;
+import net.maisica.time.format.IsoParser;
+import net.maisica.time.internal.StepSpliterator;
 import net.maisica.time.span.YearMonthSpan;
 
 public final class YearMonthInterval extends AbstractInterval<YearMonth, YearMonthInterval> implements TemporalInterval<YearMonth>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static YearMonthInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final YearMonth start = YearMonth.parse(text.subSequence(0, i++).toString());
-                final YearMonth end = YearMonth.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final YearMonth start = IsoParser.parseYearMonth(text, 0, i);
+        final YearMonth end = IsoParser.parseYearMonth(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static YearMonthInterval of(final Interval<YearMonth> interval) {
@@ -73,4 +80,26 @@ public final class YearMonthInterval extends AbstractInterval<YearMonth, YearMon
         return YearMonthSpan.of(getStart(), toDuration());
     }
 
+    /**
+     * Gets the proleptic months of the year-months from start to end by the specified number of months, without creating any year-month.
+     * <p>
+     * The proleptic month counts months sequentially from year 0, see {@link ChronoField#PROLEPTIC_MONTH}.
+     * </p>
+     *
+     * @param step the positive step in months
+     * @return the sized stream of proleptic months
+     * @throws IllegalArgumentException if the step is not positive
+     */
+    public LongStream prolepticMonths(final long step) {
+        return StepSpliterator.range(getStart().getLong(ChronoField.PROLEPTIC_MONTH), getEnd().getLong(ChronoField.PROLEPTIC_MONTH), step);
+    }
+
+    private Object writeReplace() {
+        return new Ser(Ser.YEAR_MONTH_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
@@ -15,23 +15,27 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 
 public final class ZoneOffsetInterval extends AbstractInterval<ZoneOffset, ZoneOffsetInterval> implements Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static ZoneOffsetInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final ZoneOffset start = ZoneOffset.of(text.subSequence(0, i++).toString());
-                final ZoneOffset end = ZoneOffset.of(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final ZoneOffset start = IsoParser.parseZoneOffset(text, 0, i);
+        final ZoneOffset end = IsoParser.parseZoneOffset(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static ZoneOffsetInterval of(final Interval<ZoneOffset> interval) {
@@ -60,4 +64,12 @@ public final class ZoneOffsetInterval extends AbstractInterval<ZoneOffset, ZoneO
         return ZoneOffsetInterval::new;
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.ZONE_OFFSET_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
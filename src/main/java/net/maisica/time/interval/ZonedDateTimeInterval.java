@@ -15,25 +15,29 @@
  */
 package net.maisica.time.interval;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.span.ZonedDateTimeSpan;
 
 public final class ZonedDateTimeInterval extends AbstractInterval<ZonedDateTime, ZonedDateTimeInterval> implements TemporalInterval<ZonedDateTime>, Serializable {
 
+    private static final long serialVersionUID = 1L;
+
     public static ZonedDateTimeInterval parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final ZonedDateTime start = ZonedDateTime.parse(text.subSequence(0, i++).toString());
-                final ZonedDateTime end = ZonedDateTime.parse(text.subSequence(i, text.length()).toString());
-                return of(start, end);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Interval cannot be parsed, no forward slash found", text, 0);
+        final ZonedDateTime start = IsoParser.parseZonedDateTime(text, 0, i);
+        final ZonedDateTime end = IsoParser.parseZonedDateTime(text, i + 1, text.length());
+        return of(start, end);
     }
 
     public static ZonedDateTimeInterval of(final Interval<ZonedDateTime> interval) {
@@ -73,4 +77,12 @@ public final class ZonedDateTimeInterval extends AbstractInterval<ZonedDateTime,
         return ZonedDateTimeSpan.of(getStart(), toDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.ZONED_DATE_TIME_INTERVAL, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
@@ -15,13 +15,23 @@
  */
 package net.maisica.time.span;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalUnit;
 import java.util.Objects;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import net.maisica.time.format.IsoFormatter;
+import net.maisica.time.internal.StepSpliterator;
 
+/**
+ * Base implementation for specialized spans.
+ *
+ * @param <T> the {@link Temporal} comparable type
+ * @param <U> the final implementation type
+ */
 public abstract class AbstractSpan<T extends Temporal & Comparable<? super T>, U extends AbstractSpan<T, U>> implements Span<T, Duration>, Serializable {
 
     private final T start;
@@ -32,6 +42,15 @@ public abstract class AbstractSpan<T extends Temporal & Comparable<? super T>, U
         this.duration = duration;
     }
 
+    /**
+     * Constructor for packed implementations, which must override {@link #getStart()}, {@link #getDuration()}, {@link #hashCode()} and
+     * {@link #equals(Object)}.
+     */
+    protected AbstractSpan() {
+        this.start = null;
+        this.duration = null;
+    }
+
     protected abstract SpanFactory<T, Duration, U> getFactory();
 
     @Override
@@ -44,16 +63,24 @@ public abstract class AbstractSpan<T extends Temporal & Comparable<? super T>, U
         return duration;
     }
 
+    /**
+     * Checks whether this span has the specified start and duration, overridden by packed implementations to compare their fields without creating
+     * temporals.
+     */
+    boolean hasBounds(final T start, final Duration duration) {
+        return start.equals(getStart()) && duration.equals(getDuration());
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public T computeEnd() {
-        return (T) start.plus(duration);
+        return (T) getStart().plus(getDuration());
     }
 
     @Override
     public U withStart(final T start) {
         Objects.requireNonNull(start, "start");
-        return getFactory().createSpan(start, duration);
+        return getFactory().createSpan(start, getDuration());
     }
 
     @Override
@@ -62,27 +89,40 @@ public abstract class AbstractSpan<T extends Temporal & Comparable<? super T>, U
         if (duration.isNegative()) {
             throw new IllegalArgumentException("duration is negative");
         }
-        return getFactory().createSpan(start, duration);
+        return getFactory().createSpan(getStart(), duration);
     }
 
     public long length(final TemporalUnit unit) {
-        return unit.between(start, start.plus(duration));
+        return unit.between(getStart(), computeEnd());
     }
 
     @SuppressWarnings("unchecked")
     public T interpolate(final double position, final double total, final TemporalUnit unit) {
-        return (T) start.plus(Math.round(position / total * (double) length(unit)), unit);
+        return (T) getStart().plus(Math.round(position / total * (double) length(unit)), unit);
     }
 
     public double interpolate(final T position, final double total, final TemporalUnit unit) {
-        return start.until(position, unit) / (double) length(unit) * total;
+        return getStart().until(position, unit) / (double) length(unit) * total;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Generates stream of the starts of whole quanta in this span.
+     * <p>
+     * The result stream consist the start temporal and the following temporals split by the quant, as long as the quant starting there ends within this
+     * span. Returns empty stream if this span is shorter than the quant.
+     * </p>
+     *
+     * @param quant the positive quant, not null
+     * @return stream of temporals
+     */
     public Stream<T> quantize(final Duration quant) {
-        return Stream.iterate(start, quant::addTo)
-                .limit(duration.toNanos() / quant.toNanos())
-                .map(t -> (T) t);
+        Objects.requireNonNull(quant, "quant");
+        final Duration duration = getDuration();
+        if (duration.compareTo(quant) < 0) {
+            return Stream.empty();
+        }
+        // the last whole quant starts less than the duration minus quant plus a nanosecond after the start
+        return StreamSupport.stream(StepSpliterator.stepping(getStart(), duration.minus(quant).plusNanos(1L), quant), false);
     }
 
     @Override
@@ -114,9 +154,38 @@ public abstract class AbstractSpan<T extends Temporal & Comparable<? super T>, U
         return true;
     }
 
+    /**
+     * Appends the text of this span, the same as of {@link #toString()}, without creating intermediate strings.
+     *
+     * @param builder the builder to append to, not null
+     * @return the builder
+     */
+    public StringBuilder appendTo(final StringBuilder builder) {
+        Objects.requireNonNull(builder, "builder");
+        IsoFormatter.append(builder, getStart()).append('/');
+        return IsoFormatter.appendDuration(builder, getDuration());
+    }
+
+    /**
+     * Appends the text of this span, the same as of {@link #toString()}, without creating intermediate strings.
+     *
+     * @param <A> the appendable type
+     * @param appendable the appendable to append to, not null
+     * @return the appendable
+     * @throws IOException if an I/O error occurs
+     */
+    public <A extends Appendable> A appendTo(final A appendable) throws IOException {
+        Objects.requireNonNull(appendable, "appendable");
+        if (appendable instanceof StringBuilder) {
+            appendTo((StringBuilder) appendable);
+            return appendable;
+        }
+        return IsoFormatter.flush(appendTo(IsoFormatter.buffer()), appendable);
+    }
+
     @Override
     public String toString() {
-        return start.toString() + '/' + duration.toString();
+        return appendTo(new StringBuilder(64)).toString();
     }
 
 }
@@ -15,25 +15,30 @@
  */
 package net.maisica.time.span;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.interval.DateInterval;
 
-public final class DateSpan extends AbstractSpan<LocalDate, DateSpan> implements TemporalSpan<LocalDate> {
+public final class DateSpan extends AbstractSpan<LocalDate, DateSpan> implements TemporalSpan<LocalDate>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static DateSpan parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final LocalDate start = LocalDate.parse(text.subSequence(0, i++).toString());
-                final Duration duration = Duration.parse(text.subSequence(i, text.length()).toString());
-                return of(start, duration);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
+        final LocalDate start = IsoParser.parseLocalDate(text, 0, i);
+        final Duration duration = IsoParser.parseDuration(text, i + 1, text.length());
+        return of(start, duration);
     }
 
     public static DateSpan of(final Span<LocalDate, Duration> span) {
@@ -67,4 +72,12 @@ public final class DateSpan extends AbstractSpan<LocalDate, DateSpan> implements
         return DateInterval.of(getStart(), Period.from(getDuration()));
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.DATE_SPAN, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
@@ -15,25 +15,30 @@
  */
 package net.maisica.time.span;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.interval.DateTimeInterval;
 
-public final class DateTimeSpan extends AbstractSpan<LocalDateTime, DateTimeSpan> implements TemporalSpan<LocalDateTime> {
+public final class DateTimeSpan extends AbstractSpan<LocalDateTime, DateTimeSpan> implements TemporalSpan<LocalDateTime>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static DateTimeSpan parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final LocalDateTime start = LocalDateTime.parse(text.subSequence(0, i++).toString());
-                final Duration duration = Duration.parse(text.subSequence(i, text.length()).toString());
-                return of(start, duration);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
+        final LocalDateTime start = IsoParser.parseLocalDateTime(text, 0, i);
+        final Duration duration = IsoParser.parseDuration(text, i + 1, text.length());
+        return of(start, duration);
     }
     
     public static DateTimeSpan wholeDay(final LocalDate date) {
@@ -72,4 +77,12 @@ public final class DateTimeSpan extends AbstractSpan<LocalDateTime, DateTimeSpan
         return DateTimeInterval.of(getStart(), getDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.DATE_TIME_SPAN, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
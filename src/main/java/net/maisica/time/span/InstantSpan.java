@@ -15,24 +15,44 @@
  */
 package net.maisica.time.span;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoFormatter;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.interval.InstantInterval;
 
-public final class InstantSpan extends AbstractSpan<Instant, InstantSpan> implements TemporalSpan<Instant> {
+/**
+ * A span from an instant through a duration.
+ * <p>
+ * Both the start and the duration are kept packed as seconds and nano-of-second primitives and are materialized by {@link #getStart()} and
+ * {@link #getDuration()} on each call.
+ * </p>
+ */
+public final class InstantSpan extends AbstractSpan<Instant, InstantSpan> implements TemporalSpan<Instant>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long MIN_SECOND = Instant.MIN.getEpochSecond();
+    private static final long MAX_SECOND = Instant.MAX.getEpochSecond();
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final long MILLIS_PER_SECOND = 1000L;
 
     public static InstantSpan parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final Instant start = Instant.parse(text.subSequence(0, i++).toString());
-                final Duration duration = Duration.parse(text.subSequence(i, text.length()).toString());
-                return of(start, duration);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
+        final Instant start = IsoParser.parseInstant(text, 0, i);
+        final Duration duration = IsoParser.parseDuration(text, i + 1, text.length());
+        return of(start, duration);
     }
 
     public static InstantSpan of(final Span<Instant, Duration> span) {
@@ -52,8 +72,77 @@ public final class InstantSpan extends AbstractSpan<Instant, InstantSpan> implem
         return new InstantSpan(start, duration);
     }
 
+    /**
+     * Obtains a span from epoch seconds and duration seconds with their nanosecond adjustments, without creating any instant or duration.
+     *
+     * @param startSecond the epoch seconds of the start
+     * @param startNanoAdjustment the nanosecond adjustment to the start seconds, positive or negative
+     * @param durationSeconds the seconds of the duration
+     * @param durationNanoAdjustment the nanosecond adjustment to the duration seconds, positive or negative
+     * @return the span
+     * @throws DateTimeException if the start exceeds the minimum or maximum instant
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public static InstantSpan ofEpochSeconds(final long startSecond, final long startNanoAdjustment, final long durationSeconds, final long durationNanoAdjustment) {
+        final long normalizedStartSecond = Math.addExact(startSecond, Math.floorDiv(startNanoAdjustment, NANOS_PER_SECOND));
+        if (normalizedStartSecond < MIN_SECOND || normalizedStartSecond > MAX_SECOND) {
+            throw new DateTimeException("Instant exceeds minimum or maximum instant");
+        }
+        return ofNormalized(normalizedStartSecond, (int) Math.floorMod(startNanoAdjustment, NANOS_PER_SECOND),
+                Math.addExact(durationSeconds, Math.floorDiv(durationNanoAdjustment, NANOS_PER_SECOND)), (int) Math.floorMod(durationNanoAdjustment, NANOS_PER_SECOND));
+    }
+
+    /**
+     * Obtains a span from milliseconds since epoch and duration in milliseconds, without creating any instant or duration.
+     *
+     * @param startMilli the start in milliseconds from 1970-01-01T00:00:00Z
+     * @param durationMillis the non-negative duration in milliseconds
+     * @return the span
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public static InstantSpan ofEpochMillis(final long startMilli, final long durationMillis) {
+        return ofNormalized(Math.floorDiv(startMilli, MILLIS_PER_SECOND), (int) (Math.floorMod(startMilli, MILLIS_PER_SECOND) * NANOS_PER_MILLI),
+                Math.floorDiv(durationMillis, MILLIS_PER_SECOND), (int) (Math.floorMod(durationMillis, MILLIS_PER_SECOND) * NANOS_PER_MILLI));
+    }
+
+    /**
+     * Obtains a span from nanoseconds since epoch and duration in nanoseconds, without creating any instant or duration.
+     *
+     * @param startNano the start in nanoseconds from 1970-01-01T00:00:00Z
+     * @param durationNanos the non-negative duration in nanoseconds
+     * @return the span
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public static InstantSpan ofEpochNanos(final long startNano, final long durationNanos) {
+        return ofNormalized(Math.floorDiv(startNano, NANOS_PER_SECOND), (int) Math.floorMod(startNano, NANOS_PER_SECOND),
+                Math.floorDiv(durationNanos, NANOS_PER_SECOND), (int) Math.floorMod(durationNanos, NANOS_PER_SECOND));
+    }
+
+    private static InstantSpan ofNormalized(final long startSecond, final int startNano, final long durationSeconds, final int durationNano) {
+        if (durationSeconds < 0L) {
+            throw new IllegalArgumentException("duration is negative");
+        }
+        return new InstantSpan(startSecond, startNano, durationSeconds, durationNano);
+    }
+
+    private static int hash(final long seconds, final int nanos) {
+        return ((int) (seconds ^ (seconds >>> 32))) + 51 * nanos;
+    }
+
+    private final long startSecond;
+    private final int startNano;
+    private final long durationSeconds;
+    private final int durationNano;
+
     private InstantSpan(final Instant start, final Duration duration) {
-        super(start, duration);
+        this(start.getEpochSecond(), start.getNano(), duration.getSeconds(), duration.getNano());
+    }
+
+    private InstantSpan(final long startSecond, final int startNano, final long durationSeconds, final int durationNano) {
+        this.startSecond = startSecond;
+        this.startNano = startNano;
+        this.durationSeconds = durationSeconds;
+        this.durationNano = durationNano;
     }
 
     @Override
@@ -61,9 +150,82 @@ public final class InstantSpan extends AbstractSpan<Instant, InstantSpan> implem
         return InstantSpan::new;
     }
 
+    @Override
+    public Instant getStart() {
+        return Instant.ofEpochSecond(startSecond, startNano);
+    }
+
+    @Override
+    public Duration getDuration() {
+        return Duration.ofSeconds(durationSeconds, durationNano);
+    }
+
+    @Override
+    boolean hasBounds(final Instant start, final Duration duration) {
+        return startSecond == start.getEpochSecond() && startNano == start.getNano() && durationSeconds == duration.getSeconds()
+                && durationNano == duration.getNano();
+    }
+
+    public long getStartEpochSecond() {
+        return startSecond;
+    }
+
+    public int getStartNano() {
+        return startNano;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getDurationNano() {
+        return durationNano;
+    }
+
+    @Override
+    public Instant computeEnd() {
+        return Instant.ofEpochSecond(Math.addExact(startSecond, durationSeconds), (long) startNano + durationNano);
+    }
+
     @Override
     public InstantInterval toInterval() {
-        return InstantInterval.of(getStart(), getDuration());
+        return InstantInterval.ofEpochSeconds(startSecond, startNano, Math.addExact(startSecond, durationSeconds), (long) startNano + durationNano);
+    }
+
+    @Override
+    public StringBuilder appendTo(final StringBuilder builder) {
+        Objects.requireNonNull(builder, "builder");
+        IsoFormatter.appendInstant(builder, startSecond, startNano).append('/');
+        return IsoFormatter.appendDuration(builder, durationSeconds, durationNano);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 53 * hash + hash(startSecond, startNano);
+        hash = 53 * hash + hash(durationSeconds, durationNano);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InstantSpan)) {
+            return false;
+        }
+        final InstantSpan that = (InstantSpan) o;
+        return this.startSecond == that.startSecond && this.startNano == that.startNano
+                && this.durationSeconds == that.durationSeconds && this.durationNano == that.durationNano;
+    }
+
+    private Object writeReplace() {
+        return new Ser(Ser.INSTANT_SPAN, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
     }
 
 }
@@ -15,24 +15,29 @@
  */
 package net.maisica.time.span;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.interval.OffsetDateTimeInterval;
 
-public final class OffsetDateTimeSpan extends AbstractSpan<OffsetDateTime, OffsetDateTimeSpan> implements TemporalSpan<OffsetDateTime> {
+public final class OffsetDateTimeSpan extends AbstractSpan<OffsetDateTime, OffsetDateTimeSpan> implements TemporalSpan<OffsetDateTime>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static OffsetDateTimeSpan parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final OffsetDateTime start = OffsetDateTime.parse(text.subSequence(0, i++).toString());
-                final Duration duration = Duration.parse(text.subSequence(i, text.length()).toString());
-                return of(start, duration);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
+        final OffsetDateTime start = IsoParser.parseOffsetDateTime(text, 0, i);
+        final Duration duration = IsoParser.parseDuration(text, i + 1, text.length());
+        return of(start, duration);
     }
 
     public static OffsetDateTimeSpan of(final Span<OffsetDateTime, Duration> span) {
@@ -66,4 +71,12 @@ public final class OffsetDateTimeSpan extends AbstractSpan<OffsetDateTime, Offse
         return OffsetDateTimeInterval.of(getStart(), getDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.OFFSET_DATE_TIME_SPAN, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
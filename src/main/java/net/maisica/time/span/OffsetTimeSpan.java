@@ -15,24 +15,29 @@
  */
 package net.maisica.time.span;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.time.Duration;
 import java.time.OffsetTime;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.interval.OffsetTimeInterval;
 
-public final class OffsetTimeSpan extends AbstractSpan<OffsetTime, OffsetTimeSpan> implements TemporalSpan<OffsetTime> {
+public final class OffsetTimeSpan extends AbstractSpan<OffsetTime, OffsetTimeSpan> implements TemporalSpan<OffsetTime>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static OffsetTimeSpan parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final OffsetTime start = OffsetTime.parse(text.subSequence(0, i++).toString());
-                final Duration duration = Duration.parse(text.subSequence(i, text.length()).toString());
-                return of(start, duration);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
+        final OffsetTime start = IsoParser.parseOffsetTime(text, 0, i);
+        final Duration duration = IsoParser.parseDuration(text, i + 1, text.length());
+        return of(start, duration);
     }
 
     public static OffsetTimeSpan of(final Span<OffsetTime, Duration> span) {
@@ -66,4 +71,12 @@ public final class OffsetTimeSpan extends AbstractSpan<OffsetTime, OffsetTimeSpa
         return OffsetTimeInterval.of(getStart(), getDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.OFFSET_TIME_SPAN, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
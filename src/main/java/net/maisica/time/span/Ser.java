@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.span;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import net.maisica.time.format.CompactEncoding;
+
+/**
+ * The shared serialization delegate of the spans.
+ * <p>
+ * The stream holds a type tag followed by the primitive fields of the start in the {@link CompactEncoding} and the duration as unsigned seconds and
+ * nanoseconds.
+ * </p>
+ */
+final class Ser implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final byte DATE_SPAN = 1;
+    static final byte DATE_TIME_SPAN = 2;
+    static final byte INSTANT_SPAN = 3;
+    static final byte OFFSET_DATE_TIME_SPAN = 4;
+    static final byte OFFSET_TIME_SPAN = 5;
+    static final byte TIME_SPAN = 6;
+    static final byte YEAR_MONTH_SPAN = 7;
+    static final byte YEAR_SPAN = 8;
+    static final byte ZONED_DATE_TIME_SPAN = 9;
+
+    private byte type;
+    private Object object;
+
+    /**
+     * Constructor for deserialization.
+     */
+    public Ser() {
+    }
+
+    Ser(final byte type, final Object object) {
+        this.type = type;
+        this.object = object;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeByte(type);
+        switch (type) {
+            case DATE_SPAN:
+                CompactEncoding.writeLocalDate(out, ((DateSpan) object).getStart());
+                break;
+            case DATE_TIME_SPAN:
+                CompactEncoding.writeLocalDateTime(out, ((DateTimeSpan) object).getStart());
+                break;
+            case INSTANT_SPAN: {
+                final InstantSpan span = (InstantSpan) object;
+                CompactEncoding.writeZigZag(out, span.getStartEpochSecond());
+                CompactEncoding.writeNano(out, span.getStartNano());
+                CompactEncoding.writeVarLong(out, span.getDurationSeconds());
+                CompactEncoding.writeNano(out, span.getDurationNano());
+                return;
+            }
+            case OFFSET_DATE_TIME_SPAN: {
+                final OffsetDateTime start = ((OffsetDateTimeSpan) object).getStart();
+                CompactEncoding.writeLocalDateTime(out, start.toLocalDateTime());
+                CompactEncoding.writeZoneOffset(out, start.getOffset());
+                break;
+            }
+            case OFFSET_TIME_SPAN: {
+                final OffsetTime start = ((OffsetTimeSpan) object).getStart();
+                CompactEncoding.writeLocalTime(out, start.toLocalTime());
+                CompactEncoding.writeZoneOffset(out, start.getOffset());
+                break;
+            }
+            case TIME_SPAN:
+                CompactEncoding.writeLocalTime(out, ((TimeSpan) object).getStart());
+                break;
+            case YEAR_MONTH_SPAN: {
+                final YearMonth start = ((YearMonthSpan) object).getStart();
+                CompactEncoding.writeZigZag(out, start.getYear() * 12L + start.getMonthValue() - 1L);
+                break;
+            }
+            case YEAR_SPAN:
+                CompactEncoding.writeZigZag(out, ((YearSpan) object).getStart().getValue());
+                break;
+            case ZONED_DATE_TIME_SPAN:
+                CompactEncoding.writeZonedDateTime(out, ((ZonedDateTimeSpan) object).getStart(), null);
+                break;
+            default:
+                throw new InvalidClassException("Unknown serialized type " + type);
+        }
+        final Duration duration = ((AbstractSpan<?, ?>) object).getDuration();
+        CompactEncoding.writeVarLong(out, duration.getSeconds());
+        CompactEncoding.writeNano(out, duration.getNano());
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        type = in.readByte();
+        object = read(in);
+    }
+
+    private Object read(final ObjectInput in) throws IOException {
+        switch (type) {
+            case DATE_SPAN:
+                return DateSpan.of(CompactEncoding.readLocalDate(in), readDuration(in));
+            case DATE_TIME_SPAN:
+                return DateTimeSpan.of(CompactEncoding.readLocalDateTime(in), readDuration(in));
+            case INSTANT_SPAN: {
+                final long startSecond = CompactEncoding.readZigZag(in);
+                final long startNano = CompactEncoding.readNano(in);
+                final long durationSeconds = CompactEncoding.readVarLong(in);
+                return InstantSpan.ofEpochSeconds(startSecond, startNano, durationSeconds, CompactEncoding.readNano(in));
+            }
+            case OFFSET_DATE_TIME_SPAN: {
+                final OffsetDateTime start = OffsetDateTime.of(CompactEncoding.readLocalDateTime(in), CompactEncoding.readZoneOffset(in));
+                return OffsetDateTimeSpan.of(start, readDuration(in));
+            }
+            case OFFSET_TIME_SPAN: {
+                final OffsetTime start = OffsetTime.of(CompactEncoding.readLocalTime(in), CompactEncoding.readZoneOffset(in));
+                return OffsetTimeSpan.of(start, readDuration(in));
+            }
+            case TIME_SPAN:
+                return TimeSpan.of(CompactEncoding.readLocalTime(in), readDuration(in));
+            case YEAR_MONTH_SPAN: {
+                final long start = CompactEncoding.readZigZag(in);
+                return YearMonthSpan.of(YearMonth.of((int) Math.floorDiv(start, 12L), (int) Math.floorMod(start, 12L) + 1), readDuration(in));
+            }
+            case YEAR_SPAN:
+                return YearSpan.of(Year.of((int) CompactEncoding.readZigZag(in)), readDuration(in));
+            case ZONED_DATE_TIME_SPAN:
+                return ZonedDateTimeSpan.of(CompactEncoding.readZonedDateTime(in, null), readDuration(in));
+            default:
+                throw new StreamCorruptedException("Unknown serialized type " + type);
+        }
+    }
+
+    private static Duration readDuration(final ObjectInput in) throws IOException {
+        final long seconds = CompactEncoding.readVarLong(in);
+        return Duration.ofSeconds(seconds, CompactEncoding.readNano(in));
+    }
+
+    private Object readResolve() {
+        return object;
+    }
+
+}
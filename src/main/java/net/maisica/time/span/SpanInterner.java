@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.span;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+import net.maisica.time.internal.CanonicalTable;
+
+/**
+ * A factory returning canonical instances of equal spans.
+ * <p>
+ * Spans are created by the wrapped factory the first time a start and duration are requested, and the same instance is returned for them as long as it is
+ * strongly reachable elsewhere. Holding spans through an interner saves heap where many equal spans are created, and makes equality checks of
+ * canonical instances succeed on identity.
+ * </p>
+ * <p>
+ * The instances are referenced weakly, in a table split into independently locked segments. This class is thread-safe; the wrapped factory may be called
+ * concurrently for different spans and must not call back into the interner.
+ * </p>
+ *
+ * @param <T> the temporal-on-continuum type, must be comparable
+ * @param <D> the duration type, must be comparable
+ * @param <U> the span type
+ */
+public final class SpanInterner<T extends Comparable<? super T>, D extends Comparable<? super D>, U extends Span<T, D>> implements SpanFactory<T, D, U> {
+
+    /**
+     * Obtains an interner creating spans with the specified factory, usually the {@code of(start, duration)} method of the span type.
+     *
+     * @param <T> the temporal-on-continuum type
+     * @param <D> the duration type
+     * @param <U> the span type
+     * @param factory the factory of new spans, not null
+     * @return the interner, not null
+     */
+    public static <T extends Comparable<? super T>, D extends Comparable<? super D>, U extends Span<T, D>> SpanInterner<T, D, U> of(final BiFunction<? super T, ? super D, ? extends U> factory) {
+        Objects.requireNonNull(factory, "factory");
+        return new SpanInterner<>(factory);
+    }
+
+    private final BiFunction<? super T, ? super D, ? extends U> factory;
+    private final CanonicalTable<T, D, U> table = new CanonicalTable<>(Span::getStart, Span::getDuration, SpanInterner::hasBounds);
+
+    private SpanInterner(final BiFunction<? super T, ? super D, ? extends U> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the canonical span with the specified start and duration, creating it with the wrapped factory if there is none.
+     *
+     * @param start the start, not null
+     * @param duration the duration, not null
+     * @return the canonical span, not null
+     * @throws IllegalArgumentException if the factory rejects the start and duration
+     */
+    @Override
+    public U createSpan(final T start, final D duration) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(duration, "duration");
+        return table.get(start, duration, factory);
+    }
+
+    /**
+     * Gets the canonical span equal to the specified span, making the specified span canonical if there is none.
+     *
+     * @param span the span, not null
+     * @return the canonical span, not null
+     */
+    public U intern(final U span) {
+        Objects.requireNonNull(span, "span");
+        return table.intern(span);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T extends Comparable<? super T>, D extends Comparable<? super D>> boolean hasBounds(final Span<T, D> span, final T start, final D duration) {
+        if (span instanceof AbstractSpan) {
+            // an abstract span has temporal starts and durations
+            return ((AbstractSpan) span).hasBounds((Temporal) start, (Duration) duration);
+        }
+        return start.equals(span.getStart()) && duration.equals(span.getDuration());
+    }
+
+    /**
+     * Gets the number of canonical spans not yet reclaimed by the garbage collector.
+     *
+     * @return the number of canonical spans
+     */
+    public int size() {
+        return table.size();
+    }
+
+}
@@ -19,15 +19,9 @@ import java.time.Duration;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAmount;
 import java.time.temporal.TemporalUnit;
-import java.time.temporal.UnsupportedTemporalTypeException;
-import java.util.Comparator;
-import java.util.Objects;
-import java.util.Spliterator;
-import static java.util.Spliterator.*;
-import java.util.Spliterators;
-import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import net.maisica.time.internal.StepSpliterator;
 import net.maisica.time.interval.TemporalInterval;
 
 public interface TemporalSpan<T extends Temporal & Comparable<? super T>> extends Span<T, Duration> {
@@ -53,40 +47,24 @@ public interface TemporalSpan<T extends Temporal & Comparable<? super T>> extend
         return getStart().until(position, unit) / (double) length(unit) * total;
     }
 
-    @SuppressWarnings("unchecked")
     public default Stream<T> stream(final TemporalAmount step) {
-        Objects.requireNonNull(step, "step");
-        final TemporalUnit unsupportedUnit = step.getUnits().stream().filter(u -> !getStart().isSupported(u)).findFirst().orElse(null);
-        if (unsupportedUnit != null) {
-            throw new UnsupportedTemporalTypeException(String.format("Unsupported unit: %s", unsupportedUnit));
-        }
-        
-        final Spliterator<T> spliterator = Stream.iterate(getStart(), step::addTo).map(t -> (T) t).spliterator();
-        return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, DISTINCT | IMMUTABLE | NONNULL | ORDERED | SORTED) {
-
-            private boolean valid = true;
-
-            @Override
-            public boolean tryAdvance(final Consumer<? super T> consumer) {
-                if (valid) {
-                    final boolean hadNext = spliterator.tryAdvance(t -> {
-                        if (Duration.between(getStart(), t).compareTo(getDuration()) < 0) {
-                            consumer.accept(t);
-                        } else {
-                            valid = false;
-                        }
-                    });
-                    return hadNext && valid;
-                }
-                return false;
-            }
+        return StreamSupport.stream(StepSpliterator.stepping(getStart(), getDuration(), step), false);
+    }
 
-            @Override
-            public Comparator<? super T> getComparator() {
-                return null;
-            }
+    public default long count(final TemporalAmount step) {
+        final StepSpliterator<T> fixed = StepSpliterator.of(getStart(), getDuration(), step);
+        return fixed != null ? fixed.estimateSize() : stream(step).count();
+    }
 
-        }, false);
+    public default T get(final TemporalAmount step, final long index) {
+        final StepSpliterator<T> fixed = StepSpliterator.of(getStart(), getDuration(), step);
+        if (fixed != null) {
+            return fixed.get(index);
+        }
+        if (index < 0L) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return stream(step).skip(index).findFirst().orElseThrow(() -> new IndexOutOfBoundsException("Index: " + index));
     }
 
 }
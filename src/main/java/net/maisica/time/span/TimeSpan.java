@@ -15,27 +15,31 @@
  */
 package net.maisica.time.span;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.interval.TimeInterval;
 
 public final class TimeSpan extends AbstractSpan<LocalTime, TimeSpan> implements TemporalSpan<LocalTime>, Serializable {
+
+    private static final long serialVersionUID = 1L;
     
     public static final TimeSpan WHOLE_DAY = new TimeSpan(LocalTime.MIDNIGHT, Duration.ofDays(1L));
 
     public static TimeSpan parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final LocalTime start = LocalTime.parse(text.subSequence(0, i++).toString());
-                final Duration duration = Duration.parse(text.subSequence(i, text.length()).toString());
-                return of(start, duration);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
+        final LocalTime start = IsoParser.parseLocalTime(text, 0, i);
+        final Duration duration = IsoParser.parseDuration(text, i + 1, text.length());
+        return of(start, duration);
     }
     
     public static TimeSpan wholeDay() {
@@ -73,4 +77,12 @@ public final class TimeSpan extends AbstractSpan<LocalTime, TimeSpan> implements
         return TimeInterval.of(getStart(), getDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.TIME_SPAN, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
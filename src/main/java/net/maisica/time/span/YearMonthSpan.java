@@ -15,24 +15,29 @@
  */
 package net.maisica.time.span;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.time.Duration;
 import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.interval.YearMonthInterval;
 
-public final class YearMonthSpan extends AbstractSpan<YearMonth, YearMonthSpan> implements TemporalSpan<YearMonth> {
+public final class YearMonthSpan extends AbstractSpan<YearMonth, YearMonthSpan> implements TemporalSpan<YearMonth>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static YearMonthSpan parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final YearMonth start = YearMonth.parse(text.subSequence(0, i++).toString());
-                final Duration duration = Duration.parse(text.subSequence(i, text.length()).toString());
-                return of(start, duration);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
+        final YearMonth start = IsoParser.parseYearMonth(text, 0, i);
+        final Duration duration = IsoParser.parseDuration(text, i + 1, text.length());
+        return of(start, duration);
     }
 
     public static YearMonthSpan of(final Span<YearMonth, Duration> span) {
@@ -66,4 +71,12 @@ public final class YearMonthSpan extends AbstractSpan<YearMonth, YearMonthSpan>
         return YearMonthInterval.of(getStart(), getDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.YEAR_MONTH_SPAN, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
@@ -15,24 +15,29 @@
  */
 package net.maisica.time.span;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
+import net.maisica.time.format.IsoParser;
 import net.maisica.time.interval.ZonedDateTimeInterval;
 
-public final class ZonedDateTimeSpan extends AbstractSpan<ZonedDateTime, ZonedDateTimeSpan> implements TemporalSpan<ZonedDateTime> {
+public final class ZonedDateTimeSpan extends AbstractSpan<ZonedDateTime, ZonedDateTimeSpan> implements TemporalSpan<ZonedDateTime>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static ZonedDateTimeSpan parse(final CharSequence text) {
         Objects.requireNonNull(text, "text");
-        for (int i = 0; i < text.length(); i++) {
-            if (text.charAt(i) == '/') {
-                final ZonedDateTime start = ZonedDateTime.parse(text.subSequence(0, i++).toString());
-                final Duration duration = Duration.parse(text.subSequence(i, text.length()).toString());
-                return of(start, duration);
-            }
+        final int i = IsoParser.indexOfSeparator(text);
+        if (i < 0) {
+            throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
         }
-        throw new DateTimeParseException("Span cannot be parsed, no forward slash found", text, 0);
+        final ZonedDateTime start = IsoParser.parseZonedDateTime(text, 0, i);
+        final Duration duration = IsoParser.parseDuration(text, i + 1, text.length());
+        return of(start, duration);
     }
 
     public static ZonedDateTimeSpan of(final Span<ZonedDateTime, Duration> span) {
@@ -66,4 +71,12 @@ public final class ZonedDateTimeSpan extends AbstractSpan<ZonedDateTime, ZonedDa
         return ZonedDateTimeInterval.of(getStart(), getDuration());
     }
 
+    private Object writeReplace() {
+        return new Ser(Ser.ZONED_DATE_TIME_SPAN, this);
+    }
+
+    private void readObject(final ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
+    }
+
 }
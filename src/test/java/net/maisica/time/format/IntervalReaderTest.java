@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.format;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.maisica.time.interval.DateInterval;
+import net.maisica.time.interval.DateTimeInterval;
+import net.maisica.time.interval.DayOfWeekInterval;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.MonthDayInterval;
+import net.maisica.time.interval.MonthInterval;
+import net.maisica.time.interval.OffsetDateTimeInterval;
+import net.maisica.time.interval.OffsetTimeInterval;
+import net.maisica.time.interval.TimeInterval;
+import net.maisica.time.interval.YearInterval;
+import net.maisica.time.interval.YearMonthInterval;
+import net.maisica.time.interval.ZoneOffsetInterval;
+import net.maisica.time.interval.ZonedDateTimeInterval;
+import net.maisica.time.span.DateTimeSpan;
+import net.maisica.time.span.InstantSpan;
+import net.maisica.time.span.OffsetDateTimeSpan;
+import net.maisica.time.span.OffsetTimeSpan;
+import net.maisica.time.span.TimeSpan;
+import net.maisica.time.span.ZonedDateTimeSpan;
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IntervalReaderTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSequential() throws IOException {
+        System.out.println("sequential");
+        final List<DateTimeInterval> expected = sample(2000);
+        final Path path = write(expected, "\n");
+        try (Stream<DateTimeInterval> stream = IntervalReader.lines(path, DateTimeInterval::parse)) {
+            assertEquals("intervals mismatch", expected, stream.collect(Collectors.toList()));
+        }
+        try (IntervalReader<DateTimeInterval> reader = IntervalReader.open(path, DateTimeInterval::parse, 100, 16L)) {
+            assertEquals("small window mismatch", expected, reader.stream().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testParallel() throws IOException {
+        System.out.println("parallel");
+        final List<DateTimeInterval> expected = sample(5000);
+        final Path path = write(expected, "\r\n");
+        try (IntervalReader<DateTimeInterval> reader = IntervalReader.open(path, DateTimeInterval::parse, 1000, 64L)) {
+            assertEquals("parallel mismatch", expected, reader.stream().parallel().collect(Collectors.toList()));
+            final List<DateTimeInterval> actual = new ArrayList<>();
+            split(reader.spliterator(), actual);
+            assertEquals("split mismatch", expected, actual);
+        }
+    }
+
+    @Test
+    public void testEveryType() throws IOException {
+        System.out.println("everyType");
+        check(DateInterval::parse, "2016-01-01/2016-02-01");
+        check(DateTimeInterval::parse, "2016-01-01T10:00/2016-01-01T12:30:15.5");
+        check(DayOfWeekInterval::parse, "MONDAY/FRIDAY");
+        check(InstantInterval::parse, "2016-01-01T00:00:00Z/2016-01-01T00:00:01Z");
+        check(MonthDayInterval::parse, "--01-01/--02-29");
+        check(MonthInterval::parse, "JANUARY/MARCH");
+        check(OffsetDateTimeInterval::parse, "2016-01-01T10:00+01:00/2016-01-01T12:00+01:00");
+        check(OffsetTimeInterval::parse, "10:00+01:00/12:00+01:00");
+        check(TimeInterval::parse, "10:00/12:00");
+        check(YearInterval::parse, "2016/2017");
+        check(YearMonthInterval::parse, "2016-01/2016-03");
+        check(ZoneOffsetInterval::parse, "+02:00/Z");
+        check(ZonedDateTimeInterval::parse, "2016-01-01T10:00+01:00[Europe/Warsaw]/2016-01-01T12:00+01:00[Europe/Warsaw]");
+        check(DateTimeSpan::parse, "2016-01-01T10:00/PT2H");
+        check(InstantSpan::parse, "2016-01-01T00:00:00Z/PT1.5S");
+        check(OffsetDateTimeSpan::parse, "2016-01-01T10:00+01:00/PT2H");
+        check(OffsetTimeSpan::parse, "10:00+01:00/PT2H");
+        check(TimeSpan::parse, "10:00/PT2H");
+        check(ZonedDateTimeSpan::parse, "2016-01-01T10:00+01:00[CET]/PT2H");
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        System.out.println("errors");
+        final Path path = folder.newFile().toPath();
+        Files.write(path, Arrays.asList("2016-01-01/2016-01-02", "", "2016-01-01/2016-13-02"), StandardCharsets.US_ASCII);
+        try (Stream<DateInterval> stream = IntervalReader.lines(path, DateInterval::parse)) {
+            stream.count();
+            fail("invalid line accepted");
+        } catch (DateTimeParseException ex) {
+            assertTrue("offset missing", ex.getMessage().startsWith("Line at byte 23 "));
+            assertEquals("text mismatch", "2016-01-01/2016-13-02", ex.getParsedString());
+        }
+        Files.write(path, Arrays.asList("2016-01-01/2016-01-02", "2016-01-03/2016-01-01"), StandardCharsets.US_ASCII);
+        try (Stream<DateInterval> stream = IntervalReader.lines(path, DateInterval::parse)) {
+            stream.count();
+            fail("end before start accepted");
+        } catch (IllegalArgumentException ex) {
+            assertTrue("offset missing", ex.getMessage().startsWith("Line at byte 22 "));
+            assertEquals("cause mismatch", "end is before start", ex.getCause().getMessage());
+        }
+        Files.write(path, Arrays.asList("2016-01-01T00:00/2016-01-01T01:00", "2016-01-01T00:00:00.123456789/2016-01-01T01:00"), StandardCharsets.US_ASCII);
+        try (IntervalReader<DateTimeInterval> reader = IntervalReader.open(path, DateTimeInterval::parse, 40, 16L)) {
+            reader.stream().count();
+            fail("line longer than window accepted");
+        } catch (IllegalStateException ex) {
+            // pass
+        }
+    }
+
+    private <U> void check(final Function<CharSequence, U> parser, final String text) throws IOException {
+        final Path path = folder.newFile().toPath();
+        Files.write(path, Arrays.asList(text, text), StandardCharsets.US_ASCII);
+        try (Stream<U> stream = IntervalReader.lines(path, parser)) {
+            assertEquals("mismatch for " + text, Arrays.asList(parser.apply(text), parser.apply(text)), stream.collect(Collectors.toList()));
+        }
+    }
+
+    private <U> void split(final Spliterator<U> spliterator, final List<U> result) {
+        final Spliterator<U> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            split(prefix, result);
+            split(spliterator, result);
+        } else {
+            spliterator.forEachRemaining(result::add);
+        }
+    }
+
+    private List<DateTimeInterval> sample(final int count) {
+        final Random random = new Random(42L);
+        final List<DateTimeInterval> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final LocalDateTime start = LocalDateTime.of(2016, 1, 1, 0, 0).plusSeconds(random.nextInt(100000000)).withNano(random.nextInt(4) * 250000000);
+            result.add(DateTimeInterval.of(start, start.plusMinutes(random.nextInt(1000))));
+        }
+        return result;
+    }
+
+    private Path write(final List<DateTimeInterval> intervals, final String separator) throws IOException {
+        final Path path = folder.newFile().toPath();
+        Files.write(path, intervals.stream().map(Object::toString).collect(Collectors.joining(separator, "", separator)).getBytes(StandardCharsets.US_ASCII));
+        return path;
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.format;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.function.Supplier;
+import net.maisica.time.interval.DayOfWeekInterval;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.ZonedDateTimeInterval;
+import net.maisica.time.span.InstantSpan;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IsoFormatterTest {
+
+    private static final int SAMPLES = 20000;
+    private static final ZoneId[] ZONES = {ZoneId.of("CET"), ZoneId.of("Europe/Warsaw"), ZoneId.of("America/New_York"), ZoneId.of("UTC"), ZoneOffset.ofHours(2)};
+
+    private final Random random = new Random(42L);
+
+    @Test
+    public void testDates() {
+        System.out.println("dates");
+        check(this::randomDate);
+        check(() -> YearMonth.from(randomDate()));
+        check(() -> MonthDay.from(randomDate()));
+        check(() -> Year.from(randomDate()));
+        check(() -> LocalDate.of(random.nextInt(2001) - 1000, 1, 1));
+        check(() -> LocalDate.of(random.nextBoolean() ? Year.MIN_VALUE : Year.MAX_VALUE, 12, 31));
+    }
+
+    @Test
+    public void testTimes() {
+        System.out.println("times");
+        check(this::randomTime);
+        check(() -> randomTime().atOffset(randomOffset()));
+        check(() -> randomDate().atTime(randomTime()));
+        check(() -> randomDate().atTime(randomTime()).atOffset(randomOffset()));
+        check(() -> randomDate().atTime(randomTime()).atZone(ZONES[random.nextInt(ZONES.length)]));
+    }
+
+    @Test
+    public void testInstant() {
+        System.out.println("instant");
+        check(() -> randomDate().atTime(randomTime()).toInstant(ZoneOffset.UTC));
+        check(() -> Instant.ofEpochSecond(random.nextLong() % Instant.MAX.getEpochSecond(), random.nextInt(1000000000)));
+        check(() -> Instant.ofEpochSecond(-62135596800L + random.nextInt(3) - 1, random.nextBoolean() ? 0 : 1));
+        check(() -> Instant.ofEpochSecond(253402300800L + random.nextInt(3) - 1, random.nextBoolean() ? 0 : 1));
+    }
+
+    @Test
+    public void testDuration() {
+        System.out.println("duration");
+        check(() -> Duration.ofSeconds(random.nextInt(200000) - 100000, random.nextBoolean() ? 0L : random.nextInt(1000000000)));
+        check(() -> Duration.ofSeconds(random.nextLong(), random.nextInt(1000000000)));
+        check(() -> Duration.ofMillis(random.nextInt(4001) - 2000));
+    }
+
+    @Test
+    public void testOthers() {
+        System.out.println("others");
+        check(this::randomOffset);
+        check(() -> ZONES[random.nextInt(ZONES.length)]);
+        check(() -> DayOfWeek.of(random.nextInt(7) + 1));
+    }
+
+    @Test
+    public void testAppendTo() throws IOException {
+        System.out.println("appendTo");
+        final InstantInterval interval = InstantInterval.parse("2016-01-01T00:00:00Z/2016-01-01T00:00:00.250Z");
+        final InstantSpan span = InstantSpan.parse("2016-01-01T00:00:00Z/PT0.5S");
+        final ZonedDateTimeInterval zoned = ZonedDateTimeInterval.of(ZonedDateTime.parse("2016-03-27T01:00+01:00[Europe/Warsaw]"), Duration.ofHours(2L));
+        final DayOfWeekInterval days = DayOfWeekInterval.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+        assertEquals("interval text mismatch", "2016-01-01T00:00:00Z/2016-01-01T00:00:00.250Z", interval.toString());
+        assertEquals("span text mismatch", "2016-01-01T00:00:00Z/PT0.5S", span.toString());
+        assertEquals("zoned text mismatch", zoned.getStart() + "/" + zoned.getEnd(), zoned.toString());
+        assertEquals("enum text mismatch", "MONDAY/FRIDAY", days.toString());
+        final StringBuilder builder = new StringBuilder("<");
+        assertSame("builder not returned", builder, interval.appendTo(builder));
+        assertEquals("builder text mismatch", "<" + interval, builder.toString());
+        final StringWriter writer = new StringWriter();
+        assertSame("writer not returned", writer, span.appendTo(writer));
+        zoned.appendTo((Appendable) writer.append(' '));
+        assertEquals("writer text mismatch", span + " " + zoned, writer.toString());
+        final StringBuilder buffer = IsoFormatter.buffer();
+        for (int i = 0; i < 300; i++) {
+            buffer.append((char) ('a' + i % 26));
+        }
+        final String text = buffer.toString();
+        assertEquals("long flush mismatch", text, IsoFormatter.flush(buffer, new StringWriter()).toString());
+    }
+
+    private void check(final Supplier<?> samples) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < SAMPLES; i++) {
+            final Object value = samples.get();
+            builder.setLength(0);
+            assertEquals("text mismatch", value.toString(), IsoFormatter.append(builder, value).toString());
+        }
+    }
+
+    private LocalDate randomDate() {
+        switch (random.nextInt(4)) {
+            case 0:
+                return LocalDate.ofEpochDay(random.nextLong() % LocalDate.MAX.toEpochDay());
+            case 1:
+                return LocalDate.ofEpochDay(random.nextInt(2000 * 365) - 1719 * 365);
+            default:
+                return LocalDate.ofEpochDay(random.nextInt(400 * 365) - 200 * 365);
+        }
+    }
+
+    private LocalTime randomTime() {
+        final long nanos = (long) (random.nextDouble() * LocalTime.MAX.toNanoOfDay());
+        switch (random.nextInt(5)) {
+            case 0:
+                return LocalTime.ofSecondOfDay(nanos / 60000000000L * 60L);
+            case 1:
+                return LocalTime.ofSecondOfDay(nanos / 1000000000L);
+            case 2:
+                return LocalTime.ofNanoOfDay(nanos / 1000000L * 1000000L);
+            case 3:
+                return LocalTime.ofNanoOfDay(nanos / 1000L * 1000L);
+            default:
+                return LocalTime.ofNanoOfDay(nanos);
+        }
+    }
+
+    private ZoneOffset randomOffset() {
+        return ZoneOffset.ofTotalSeconds((random.nextInt(73) - 36) * 900 + (random.nextInt(20) == 0 ? 30 : 0));
+    }
+
+}
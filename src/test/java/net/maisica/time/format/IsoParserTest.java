@@ -0,0 +1,230 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.format;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.function.Function;
+import net.maisica.time.interval.ZonedDateTimeInterval;
+import net.maisica.time.span.InstantSpan;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IsoParserTest {
+
+    private static final int SAMPLES = 2000;
+    private static final int MUTATIONS = 20;
+    private static final String ALPHABET = "0123456789:-+.,/[]TtZzPHMSDUCG";
+    private static final ZoneId[] ZONES = {ZoneId.of("CET"), ZoneId.of("Europe/Warsaw"), ZoneId.of("America/New_York"), ZoneId.of("UTC"), ZoneOffset.ofHours(2)};
+
+    private final Random random = new Random(42L);
+
+    private interface Parser<T> {
+
+        T parse(CharSequence text, int start, int end);
+
+    }
+
+    @Test
+    public void testIndexOfSeparator() {
+        System.out.println("indexOfSeparator");
+        assertEquals("plain separator", 4, IsoParser.indexOfSeparator("2016/2017"));
+        assertEquals("no separator", -1, IsoParser.indexOfSeparator("2016"));
+        final String zoned = "2016-01-01T00:00+01:00[Europe/Warsaw]/2016-01-02T00:00+01:00[Europe/Warsaw]";
+        assertEquals("bracketed separator", zoned.indexOf("]/") + 1, IsoParser.indexOfSeparator(zoned));
+        assertEquals("zoned interval", ZonedDateTime.parse("2016-01-01T00:00+01:00[Europe/Warsaw]"), ZonedDateTimeInterval.parse(zoned).getStart());
+    }
+
+    @Test
+    public void testRegion() {
+        System.out.println("region");
+        final String text = "2016-01-01T00:00:00Z/PT1.5S";
+        assertEquals("start mismatch", Instant.parse("2016-01-01T00:00:00Z"), IsoParser.parseInstant(text, 0, 20));
+        assertEquals("duration mismatch", Duration.parse("PT1.5S"), IsoParser.parseDuration(text, 21, text.length()));
+        assertEquals("span mismatch", InstantSpan.of(Instant.parse("2016-01-01T00:00:00Z"), Duration.ofMillis(1500L)), InstantSpan.parse(text));
+        try {
+            IsoParser.parseDuration(text, 21, text.length() + 1);
+            fail("region beyond text permitted");
+        } catch (IndexOutOfBoundsException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testLocalDate() {
+        System.out.println("localDate");
+        check(IsoParser::parseLocalDate, LocalDate::parse, i -> randomDate().toString());
+        check(IsoParser::parseLocalDate, LocalDate::parse, i -> "2016-02-" + (28 + i % 4));
+    }
+
+    @Test
+    public void testLocalTime() {
+        System.out.println("localTime");
+        check(IsoParser::parseLocalTime, LocalTime::parse, i -> randomTime().toString());
+    }
+
+    @Test
+    public void testLocalDateTime() {
+        System.out.println("localDateTime");
+        check(IsoParser::parseLocalDateTime, LocalDateTime::parse, i -> randomDate().atTime(randomTime()).toString());
+    }
+
+    @Test
+    public void testOffsetDateTime() {
+        System.out.println("offsetDateTime");
+        check(IsoParser::parseOffsetDateTime, OffsetDateTime::parse, i -> randomDate().atTime(randomTime()).atOffset(randomOffset()).toString());
+    }
+
+    @Test
+    public void testOffsetTime() {
+        System.out.println("offsetTime");
+        check(IsoParser::parseOffsetTime, OffsetTime::parse, i -> randomTime().atOffset(randomOffset()).toString());
+    }
+
+    @Test
+    public void testZonedDateTime() {
+        System.out.println("zonedDateTime");
+        check(IsoParser::parseZonedDateTime, ZonedDateTime::parse, i -> randomDate().atTime(randomTime()).atZone(ZONES[random.nextInt(ZONES.length)]).toString());
+        check(IsoParser::parseZonedDateTime, ZonedDateTime::parse, i -> "2016-03-27T02:30+0" + (i % 3) + ":00[Europe/Warsaw]");
+    }
+
+    @Test
+    public void testInstant() {
+        System.out.println("instant");
+        check(IsoParser::parseInstant, Instant::parse, i -> randomDate().atTime(randomTime()).toInstant(ZoneOffset.UTC).toString());
+        check(IsoParser::parseInstant, Instant::parse, i -> "2016-12-31T23:59:" + (58 + i % 3) + "Z");
+    }
+
+    @Test
+    public void testYear() {
+        System.out.println("year");
+        check(IsoParser::parseYear, Year::parse, i -> Year.of(random.nextInt(20000) - 5000).toString());
+    }
+
+    @Test
+    public void testYearMonth() {
+        System.out.println("yearMonth");
+        check(IsoParser::parseYearMonth, YearMonth::parse, i -> YearMonth.from(randomDate()).toString());
+    }
+
+    @Test
+    public void testMonthDay() {
+        System.out.println("monthDay");
+        check(IsoParser::parseMonthDay, MonthDay::parse, i -> MonthDay.from(randomDate()).toString());
+    }
+
+    @Test
+    public void testZoneOffset() {
+        System.out.println("zoneOffset");
+        check(IsoParser::parseZoneOffset, ZoneOffset::of, i -> randomOffset().toString());
+    }
+
+    @Test
+    public void testDuration() {
+        System.out.println("duration");
+        check(IsoParser::parseDuration, Duration::parse, i -> Duration.ofSeconds(random.nextInt(1000000) - 1000, random.nextBoolean() ? 0L : random.nextInt(1000000000)).toString());
+        check(IsoParser::parseDuration, Duration::parse, i -> "PT" + Long.MAX_VALUE / (1L + i % 4000L) + (i % 2 == 0 ? "H" : "M"));
+    }
+
+    /**
+     * Parses every sample and its random mutations embedded in a longer text with both parsers, expecting equal results or the same type of exception.
+     */
+    private <T> void check(final Parser<T> parser, final Function<String, T> reference, final Function<Integer, String> samples) {
+        for (int i = 0; i < SAMPLES; i++) {
+            final String sample = samples.apply(i);
+            compare(parser, reference, sample);
+            for (int j = 0; j < MUTATIONS; j++) {
+                compare(parser, reference, mutate(sample));
+            }
+        }
+    }
+
+    private <T> void compare(final Parser<T> parser, final Function<String, T> reference, final String text) {
+        Object expected;
+        try {
+            expected = reference.apply(text);
+        } catch (RuntimeException ex) {
+            expected = ex.getClass();
+        }
+        Object actual;
+        try {
+            actual = parser.parse("x/" + text + "/x", 2, text.length() + 2);
+        } catch (RuntimeException ex) {
+            actual = ex.getClass();
+        }
+        assertEquals("mismatch for " + text, expected, actual);
+        if (!(expected instanceof Class)) {
+            assertEquals("text mismatch for " + text, expected.toString(), actual.toString());
+        }
+    }
+
+    private String mutate(final String text) {
+        final StringBuilder result = new StringBuilder(text);
+        final int position = random.nextInt(text.length() + 1);
+        final char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        switch (random.nextInt(3)) {
+            case 0:
+                result.insert(position, c);
+                break;
+            case 1:
+                if (position < text.length()) {
+                    result.deleteCharAt(position);
+                }
+                break;
+            default:
+                if (position < text.length()) {
+                    result.setCharAt(position, c);
+                }
+                break;
+        }
+        return result.toString();
+    }
+
+    private LocalDate randomDate() {
+        return LocalDate.ofEpochDay(random.nextInt(400 * 365) - 200 * 365);
+    }
+
+    private LocalTime randomTime() {
+        final long nanos = (long) (random.nextDouble() * LocalTime.MAX.toNanoOfDay());
+        switch (random.nextInt(4)) {
+            case 0:
+                return LocalTime.ofSecondOfDay(nanos / 60000000000L * 60L);
+            case 1:
+                return LocalTime.ofSecondOfDay(nanos / 1000000000L);
+            case 2:
+                return LocalTime.ofNanoOfDay(nanos / 1000000L * 1000000L);
+            default:
+                return LocalTime.ofNanoOfDay(nanos);
+        }
+    }
+
+    private ZoneOffset randomOffset() {
+        return ZoneOffset.ofTotalSeconds((random.nextInt(73) - 36) * 900 + (random.nextInt(20) == 0 ? 30 : 0));
+    }
+
+}
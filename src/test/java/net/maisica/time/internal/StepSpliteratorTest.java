@@ -0,0 +1,192 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import net.maisica.time.interval.DateInterval;
+import net.maisica.time.interval.DateTimeInterval;
+import net.maisica.time.interval.InstantInterval;
+import net.maisica.time.interval.OffsetDateTimeInterval;
+import net.maisica.time.interval.OffsetTimeInterval;
+import net.maisica.time.interval.TemporalInterval;
+import net.maisica.time.interval.TimeInterval;
+import net.maisica.time.interval.YearInterval;
+import net.maisica.time.interval.YearMonthInterval;
+import net.maisica.time.interval.ZonedDateTimeInterval;
+import net.maisica.time.span.DateTimeSpan;
+import net.maisica.time.span.InstantSpan;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class StepSpliteratorTest {
+
+    @Test
+    public void testStream() {
+        System.out.println("stream");
+        assertStream(DateInterval.parse("2016-01-01/2016-03-01"), Period.ofDays(7));
+        assertStream(DateInterval.parse("2016-01-01/2016-03-01"), Period.ofWeeks(1));
+        assertStream(DateTimeInterval.parse("2016-01-01T00:00/2016-01-03T00:00"), Duration.ofMinutes(7L));
+        assertStream(DateTimeInterval.parse("2016-01-01T00:00/2016-03-01T00:00"), Period.ofDays(2));
+        assertStream(InstantInterval.parse("2016-01-01T00:00:00Z/2016-01-01T00:00:01Z"), Duration.ofNanos(333_333_333L));
+        assertStream(InstantInterval.parse("2016-01-01T00:00:00Z/2016-01-01T00:00:00Z"), Duration.ofSeconds(1L));
+        assertStream(OffsetDateTimeInterval.parse("2016-01-01T00:00+01:00/2016-01-02T00:00+01:00"), Duration.ofSeconds(61L, 5L));
+        assertStream(TimeInterval.parse("00:00/16:40"), Duration.ofMinutes(1L));
+        assertStream(OffsetTimeInterval.parse("00:00+01:00/16:40+01:00"), Duration.ofSeconds(59L));
+        assertStream(ZonedDateTimeInterval.parse("2016-03-26T00:00+01:00[Europe/Warsaw]/2016-03-28T00:00+02:00[Europe/Warsaw]"), Duration.ofHours(1L));
+    }
+
+    @Test
+    public void testNotFixed() {
+        System.out.println("not fixed");
+        final DateInterval dates = DateInterval.parse("2016-01-31/2016-12-31");
+        assertNull("month step is fixed", StepSpliterator.of(dates.getStart(), dates.getEnd(), Period.ofMonths(1)));
+        assertEquals("month count mismatch", 12L, dates.count(Period.ofMonths(1)));
+        assertEquals("month get mismatch", LocalDate.of(2016, 3, 29), dates.get(Period.ofMonths(1), 2L));
+        final ZonedDateTimeInterval zoned = ZonedDateTimeInterval.parse("2016-03-26T12:00+01:00[Europe/Warsaw]/2016-03-29T00:00+02:00[Europe/Warsaw]");
+        assertNull("zoned day step is fixed", StepSpliterator.of(zoned.getStart(), zoned.getEnd(), Period.ofDays(1)));
+        assertEquals("zoned day count mismatch", 3L, zoned.count(Period.ofDays(1)));
+        assertEquals("zoned day mismatch", iterate(zoned, Period.ofDays(1)), zoned.stream(Period.ofDays(1)).collect(Collectors.toList()));
+        final YearMonthInterval months = YearMonthInterval.parse("2015-11/2017-02");
+        assertNull("year-month step is fixed", StepSpliterator.of(months.getStart(), months.getEnd(), Period.ofMonths(2)));
+        assertEquals("year-month count mismatch", 8L, months.count(Period.ofMonths(2)));
+        assertEquals("year-month get mismatch", YearMonth.of(2016, 3), months.get(Period.ofMonths(2), 2L));
+        final YearInterval years = YearInterval.of(Year.of(2000), Year.of(2010));
+        assertNull("year step is fixed", StepSpliterator.of(years.getStart(), years.getEnd(), Period.ofYears(3)));
+        assertEquals("year count mismatch", 4L, years.count(Period.ofYears(3)));
+    }
+
+    @Test
+    public void testCount() {
+        System.out.println("count");
+        final InstantInterval year = InstantInterval.parse("2016-01-01T00:00:00Z/2017-01-01T00:00:00Z");
+        assertEquals("second count mismatch", 366L * 86400L, year.count(Duration.ofSeconds(1L)));
+        assertEquals("nano count mismatch", 366L * 86400L * 1000_000_000L, year.count(Duration.ofNanos(1L)));
+        assertEquals("last nano mismatch", Instant.parse("2016-12-31T23:59:59.999999999Z"), year.get(Duration.ofNanos(1L), year.count(Duration.ofNanos(1L)) - 1L));
+        final InstantInterval ages = InstantInterval.of(Instant.MIN, Instant.parse("+1000000000-01-01T00:00:00Z"));
+        assertEquals("day count mismatch", Duration.between(ages.getStart(), ages.getEnd()).toDays(), ages.count(Duration.ofDays(1L)));
+        assertNull("unsized stream", StepSpliterator.of(ages.getStart(), ages.getEnd(), Duration.ofNanos(1L)));
+        assertEquals("span count mismatch", 25L, InstantSpan.parse("2016-01-01T00:00:00Z/PT24H").count(Duration.ofMinutes(59L)));
+    }
+
+    @Test
+    public void testGet() {
+        System.out.println("get");
+        final DateTimeSpan span = DateTimeSpan.parse("2016-01-01T00:00/PT10H");
+        assertEquals("span get mismatch", LocalDateTime.of(2016, 1, 1, 9, 0), span.get(Duration.ofHours(1L), 9L));
+        try {
+            span.get(Duration.ofHours(1L), 10L);
+            fail("index after end accepted");
+        } catch (final IndexOutOfBoundsException ex) {
+        }
+        try {
+            span.get(Duration.ofHours(1L), -1L);
+            fail("negative index accepted");
+        } catch (final IndexOutOfBoundsException ex) {
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroStep() {
+        System.out.println("zero step");
+        TimeInterval.parse("00:00/16:40").stream(Duration.ZERO);
+    }
+
+    @Test
+    public void testSplit() {
+        System.out.println("split");
+        final InstantInterval interval = InstantInterval.parse("2016-01-01T00:00:00Z/2016-01-02T00:00:00Z");
+        final Spliterator<Instant> spliterator = interval.stream(Duration.ofSeconds(1L)).spliterator();
+        assertTrue("not sized", spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals("size mismatch", 86400L, spliterator.getExactSizeIfKnown());
+        final Spliterator<Instant> prefix = spliterator.trySplit();
+        assertEquals("prefix size mismatch", 43200L, prefix.estimateSize());
+        assertEquals("suffix size mismatch", 43200L, spliterator.estimateSize());
+        final List<Instant> prefixElements = new ArrayList<>();
+        prefix.forEachRemaining(prefixElements::add);
+        assertEquals("prefix end mismatch", Instant.parse("2016-01-01T11:59:59Z"), prefixElements.get(prefixElements.size() - 1));
+        assertTrue("suffix start mismatch", spliterator.tryAdvance(t -> assertEquals("suffix start mismatch", Instant.parse("2016-01-01T12:00:00Z"), t)));
+        assertEquals("parallel mismatch", interval.stream(Duration.ofSeconds(1L)).collect(Collectors.toList()),
+                interval.stream(Duration.ofSeconds(1L)).parallel().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRange() {
+        System.out.println("range");
+        final DateInterval dates = DateInterval.parse("2016-01-01/2016-03-01");
+        assertArrayEquals("epoch days mismatch", dates.stream(Period.ofDays(3)).mapToLong(LocalDate::toEpochDay).toArray(), dates.epochDays(3L).toArray());
+        final TimeInterval times = TimeInterval.parse("08:00/16:40");
+        assertArrayEquals("nanos of day mismatch", times.stream(Duration.ofSeconds(7L)).mapToLong(LocalTime::toNanoOfDay).toArray(),
+                times.nanosOfDay(7_000_000_000L).toArray());
+        final YearMonthInterval months = YearMonthInterval.parse("2015-11/2017-02");
+        assertArrayEquals("proleptic months mismatch", new long[]{2015L * 12L + 10L, 2016L * 12L + 3L, 2016L * 12L + 8L}, months.prolepticMonths(5L).toArray());
+        assertEquals("month count mismatch", 15L, months.prolepticMonths(1L).count());
+        assertEquals("empty count mismatch", 0L, DateInterval.parse("2016-01-01/2016-01-01").epochDays(2L).count());
+        final Spliterator.OfLong spliterator = dates.epochDays(2L).spliterator();
+        assertTrue("not sized", spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals("size mismatch", 30L, spliterator.estimateSize());
+        assertEquals("parallel mismatch", dates.epochDays(2L).sum(), dates.epochDays(2L).parallel().sum());
+    }
+
+    @Test
+    public void testZoned() {
+        System.out.println("zoned");
+        for (final String zone : new String[]{"Europe/Warsaw", "America/New_York", "America/Sao_Paulo", "Australia/Lord_Howe", "Pacific/Apia", "UTC"}) {
+            for (final LocalDateTime local : new LocalDateTime[]{LocalDateTime.of(2011, 1, 1, 2, 30), LocalDateTime.of(2016, 10, 30, 1, 30)}) {
+                final ZonedDateTime start = ZonedDateTime.of(local, ZoneId.of(zone)).withLaterOffsetAtOverlap();
+                final ZonedDateTimeInterval year = ZonedDateTimeInterval.of(start, start.plusYears(1L));
+                assertStream(year, Duration.ofHours(1L));
+                assertStream(year, Duration.ofMinutes(7L).plusNanos(1L));
+                assertStream(ZonedDateTimeInterval.of(start, start.plusYears(300L)), Duration.ofDays(1L).plusMinutes(1L));
+            }
+        }
+    }
+
+    private static <T extends Temporal & Comparable<? super T>> void assertStream(final TemporalInterval<T> interval, final TemporalAmount step) {
+        final List<T> expected = iterate(interval, step);
+        assertNotNull("step not fixed " + step, StepSpliterator.of(interval.getStart(), interval.getEnd(), step));
+        assertEquals("stream mismatch " + interval + " by " + step, expected, interval.stream(step).collect(Collectors.toList()));
+        assertEquals("count mismatch " + interval + " by " + step, expected.size(), interval.count(step));
+        for (int i = 0; i < expected.size(); i += 1 + expected.size() / 10) {
+            assertEquals("get mismatch " + interval + " by " + step + " at " + i, expected.get(i), interval.get(step, i));
+        }
+        assertEquals("parallel mismatch " + interval + " by " + step, expected, interval.stream(step).parallel().collect(Collectors.toList()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Temporal & Comparable<? super T>> List<T> iterate(final TemporalInterval<T> interval, final TemporalAmount step) {
+        final List<T> result = new ArrayList<>();
+        for (T t = interval.getStart(); t.compareTo(interval.getEnd()) < 0; t = (T) step.addTo(t)) {
+            result.add(t);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+import net.maisica.time.interval.AbstractIntervalTest.AbstractIntervalImpl;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AbstractIntervalAllocationTest {
+
+    private static final int ITERATIONS = 10000;
+    private static final long TOLERANCE = 8L;
+
+    private final AbstractIntervalImpl interval = new AbstractIntervalImpl(0, 10);
+    private final AbstractIntervalImpl overlapping = new AbstractIntervalImpl(5, 15);
+    private final AbstractIntervalImpl enclosed = new AbstractIntervalImpl(2, 8);
+    private final AbstractIntervalImpl enclosing = new AbstractIntervalImpl(-1, 11);
+    private final AbstractIntervalImpl following = new AbstractIntervalImpl(12, 20);
+    private final AbstractIntervalImpl abutting = new AbstractIntervalImpl(10, 20);
+
+    private com.sun.management.ThreadMXBean threads;
+    private long intervalSize;
+
+    @Before
+    public void setUp() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue("allocation counters unavailable", bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue("allocation counters unsupported", threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        intervalSize = allocated(() -> new AbstractIntervalImpl(0, 1));
+    }
+
+    @Test
+    public void testPredicates() {
+        System.out.println("predicates");
+        assertEquals("contains allocates", 0L, allocated(() -> interval.contains(5)), TOLERANCE);
+        assertEquals("encloses allocates", 0L, allocated(() -> interval.encloses(enclosed)), TOLERANCE);
+        assertEquals("abuts allocates", 0L, allocated(() -> interval.abuts(abutting)), TOLERANCE);
+        assertEquals("overlaps allocates", 0L, allocated(() -> interval.overlaps(overlapping)), TOLERANCE);
+        assertEquals("overlaps allocates when disjoint", 0L, allocated(() -> interval.overlaps(following)), TOLERANCE);
+    }
+
+    @Test
+    public void testOverlap() {
+        System.out.println("overlap");
+        assertEquals("overlap allocates more than result", intervalSize, allocated(() -> interval.overlap(overlapping)), TOLERANCE);
+        assertEquals("overlap allocates when enclosed", 0L, allocated(() -> interval.overlap(enclosing)), TOLERANCE);
+        assertEquals("overlap allocates when disjoint", 0L, allocated(() -> interval.overlap(following)), TOLERANCE);
+    }
+
+    @Test
+    public void testGap() {
+        System.out.println("gap");
+        assertEquals("gap allocates more than result", intervalSize, allocated(() -> interval.gap(following)), TOLERANCE);
+        assertEquals("gap allocates when overlapping", 0L, allocated(() -> interval.gap(overlapping)), TOLERANCE);
+    }
+
+    @Test
+    public void testJoin() {
+        System.out.println("join");
+        assertEquals("join allocates more than result", intervalSize, allocated(() -> interval.join(following)), TOLERANCE);
+        assertEquals("join allocates when enclosing", 0L, allocated(() -> interval.join(enclosed)), TOLERANCE);
+    }
+
+    /**
+     * Measures bytes allocated by the current thread per single call of the operation, after warming it up.
+     */
+    private long allocated(final Supplier<?> operation) {
+        final Object[] sink = new Object[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink[i] = operation.get();
+        }
+        final long id = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink[i] = operation.get();
+        }
+        final long after = threads.getThreadAllocatedBytes(id);
+        return (after - before) / ITERATIONS;
+    }
+
+}
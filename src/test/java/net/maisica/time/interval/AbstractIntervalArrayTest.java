@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class AbstractIntervalArrayTest {
+
+    private final Random random = new Random(3L);
+
+    private List<InstantInterval> randomIntervals(final int count) {
+        final List<InstantInterval> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final long start = random.nextInt(100000) * 1000000L - 50000000000L;
+            result.add(InstantInterval.ofEpochNanos(start, start + random.nextInt(5000) * 1000000L));
+        }
+        return result;
+    }
+
+    @Test
+    public void testKernels() {
+        System.out.println("kernels");
+        final List<InstantInterval> intervals = randomIntervals(1000);
+        final InstantIntervalArray array = new InstantIntervalArray();
+        array.addAll(intervals);
+        assertEquals("size mismatch", intervals.size(), array.size());
+        for (int round = 0; round < 200; round++) {
+            final InstantInterval query = randomIntervals(1).get(0);
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < intervals.size(); i++) {
+                if (intervals.get(i).overlaps(query)) {
+                    expected.add(i);
+                }
+            }
+            assertEquals("count mismatch", expected.size(), array.countOverlapping(query));
+            final List<Integer> actual = new ArrayList<>();
+            for (final int i : array.filterOverlapping(query)) {
+                actual.add(i);
+            }
+            assertEquals("filter mismatch", expected, actual);
+
+            final Instant point = query.getStart();
+            final BitSet mask = array.containing(point);
+            for (int i = 0; i < intervals.size(); i++) {
+                assertEquals("mask mismatch at " + i, intervals.get(i).contains(point), mask.get(i));
+            }
+        }
+        assertEquals("min mismatch", intervals.stream().map(InstantInterval::toDuration).min(Duration::compareTo).get(), array.minDuration());
+        assertEquals("max mismatch", intervals.stream().map(InstantInterval::toDuration).max(Duration::compareTo).get(), array.maxDuration());
+        assertEquals("total mismatch", intervals.stream().map(InstantInterval::toDuration).reduce(Duration.ZERO, Duration::plus), array.totalDuration());
+        assertEquals("round trip mismatch", intervals.get(7), array.get(7));
+    }
+
+    @Test
+    public void testTotalOverflow() {
+        System.out.println("total overflow");
+        final InstantIntervalArray array = new InstantIntervalArray();
+        final InstantInterval interval = InstantInterval.of(Instant.parse("1900-01-01T00:00:00Z"), Instant.parse("2150-01-01T00:00:00Z"));
+        array.add(interval);
+        array.add(interval);
+        assertEquals("total mismatch", interval.toDuration().multipliedBy(2L), array.totalDuration());
+        try {
+            array.totalLength();
+            fail("overflow unchecked");
+        } catch (ArithmeticException ex) {
+            // pass
+        }
+        try {
+            new InstantIntervalArray().minDuration();
+            fail("minimum of empty array");
+        } catch (NoSuchElementException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testLongIntervals() {
+        System.out.println("long intervals");
+        final InstantIntervalArray array = new InstantIntervalArray();
+        final InstantInterval century = InstantInterval.of(Instant.parse("1900-01-01T00:00:00.7Z"), Instant.parse("2000-01-01T00:00:00.2Z"));
+        final InstantInterval long300 = InstantInterval.of(Instant.parse("1900-01-01T00:00:00Z"), Instant.parse("2200-01-01T00:00:00Z"));
+        array.add(century);
+        array.add(long300);
+        assertEquals("min mismatch", century.toDuration(), array.minDuration());
+        assertEquals("max mismatch", Duration.ofHours(2629752L), array.maxDuration());
+        assertEquals("total mismatch", century.toDuration().plus(long300.toDuration()), array.totalDuration());
+        try {
+            array.maxLength();
+            fail("length overflow unchecked");
+        } catch (ArithmeticException ex) {
+            // pass
+        }
+        final DateTimeIntervalArray dateTimes = new DateTimeIntervalArray();
+        dateTimes.add(DateTimeInterval.parse("1700-01-01T00:00/2250-01-01T00:00:00.5"));
+        assertEquals("date-time max mismatch", Duration.between(LocalDateTime.parse("1700-01-01T00:00"), LocalDateTime.parse("2250-01-01T00:00:00.5")),
+                dateTimes.maxDuration());
+        assertEquals("beyond count mismatch", 1, dateTimes.countOverlapping(DateTimeInterval.parse("1000-01-01T00:00/3000-01-01T00:00")));
+        assertEquals("after count mismatch", 0, dateTimes.countOverlapping(DateTimeInterval.parse("2900-01-01T00:00/3000-01-01T00:00")));
+        assertEquals("before filter mismatch", 0, dateTimes.filterOverlapping(DateTimeInterval.parse("1000-01-01T00:00/1600-01-01T00:00")).length);
+        assertTrue("beyond contained", dateTimes.containing(LocalDateTime.parse("3000-01-01T00:00")).isEmpty());
+        assertEquals("instant beyond count mismatch", 2, array.countOverlapping(InstantInterval.of(Instant.parse("1000-01-01T00:00:00Z"),
+                Instant.parse("1950-01-01T00:00:00Z"))));
+    }
+
+    @Test
+    public void testDateKinds() {
+        System.out.println("date kinds");
+        final DateIntervalArray dates = new DateIntervalArray();
+        final DateInterval date = DateInterval.parse("2016-01-01/2016-03-01");
+        dates.add(date);
+        dates.add(DateInterval.parse("2016-02-01/2016-02-02"));
+        assertEquals("date round trip", date, dates.get(0));
+        assertEquals("date total", 61L, dates.totalLength());
+        assertEquals("date count", 2, dates.countOverlapping(DateInterval.parse("2016-02-01/2016-02-15")));
+        assertEquals("date mask", BitSet.valueOf(new long[]{1L}), dates.containing(LocalDate.parse("2016-01-15")));
+
+        final DateTimeIntervalArray dateTimes = new DateTimeIntervalArray();
+        final DateTimeInterval dateTime = DateTimeInterval.parse("1969-12-31T23:00:00.5/1970-01-01T01:00");
+        dateTimes.add(dateTime);
+        assertEquals("date-time round trip", dateTime, dateTimes.get(0));
+        assertEquals("date-time duration", dateTime.toDuration(), dateTimes.totalDuration());
+        assertEquals("date-time mask", 1, dateTimes.containing(LocalDateTime.parse("1970-01-01T00:00")).cardinality());
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class BusinessCalendarTest {
+
+    private final List<LocalDate> holidays = Arrays.asList(LocalDate.parse("2016-12-26"), LocalDate.parse("2016-12-25"), LocalDate.parse("2017-01-06"),
+            LocalDate.parse("2016-11-01"), LocalDate.parse("2016-12-24"));
+
+    private final BusinessCalendar calendar = BusinessCalendar.of(
+            Recurrence.weekly(DayOfWeekInterval.parse("MONDAY/SATURDAY"), TimeInterval.parse("08:00/12:00"))
+                    .plus(DayOfWeekInterval.parse("MONDAY/SATURDAY"), TimeInterval.parse("13:00/17:00"))
+                    .plus(DayOfWeek.SATURDAY, TimeInterval.parse("10:00/14:00")), holidays);
+
+    private Duration bruteForce(final DateTimeInterval interval) {
+        return Duration.ofMinutes(interval.stream(Duration.ofMinutes(1L)).filter(calendar::isWorking).count());
+    }
+
+    @Test
+    public void testWorkingDuration() {
+        System.out.println("workingDuration");
+        assertEquals("day mismatch", Duration.ofHours(8L), calendar.workingDuration(DateTimeInterval.parse("2016-12-19T00:00/2016-12-20T00:00")));
+        assertEquals("week mismatch", Duration.ofHours(44L), calendar.workingDuration(DateTimeInterval.parse("2016-12-12T00:00/2016-12-19T00:00")));
+        assertEquals("christmas week mismatch", Duration.ofHours(40L),
+                calendar.workingDuration(DateTimeInterval.parse("2016-12-19T00:00/2016-12-26T00:00")));
+        assertEquals("holiday mismatch", Duration.ZERO, calendar.workingDuration(DateTimeInterval.parse("2016-12-26T09:00/2016-12-26T15:00")));
+        assertEquals("partial mismatch", Duration.parse("PT2H30M15S"),
+                calendar.workingDuration(DateTimeInterval.parse("2016-12-19T11:00/2016-12-19T14:30:15")));
+        assertEquals("empty mismatch", Duration.ZERO, calendar.workingDuration(DateTimeInterval.parse("2016-12-19T11:00/2016-12-19T11:00")));
+        assertEquals("decade mismatch", Duration.ofHours(44L * 522L - 3L * 8L - 4L),
+                calendar.workingDuration(DateTimeInterval.parse("2010-01-04T00:00/2020-01-06T00:00")));
+        final Random random = new Random(42L);
+        final LocalDateTime origin = LocalDateTime.parse("2016-10-01T00:00");
+        for (int i = 0; i < 200; i++) {
+            final LocalDateTime start = origin.plusMinutes(random.nextInt(60 * 24 * 120));
+            final DateTimeInterval interval = DateTimeInterval.of(start, start.plusMinutes(random.nextInt(60 * 24 * 20)));
+            assertEquals("brute force mismatch for " + interval, bruteForce(interval), calendar.workingDuration(interval));
+        }
+    }
+
+    @Test
+    public void testPlusWorking() {
+        System.out.println("plusWorking");
+        assertEquals("same day mismatch", LocalDateTime.parse("2016-12-19T11:00"),
+                calendar.plusWorking(LocalDateTime.parse("2016-12-19T08:00"), Duration.ofHours(3L)));
+        assertEquals("lunch mismatch", LocalDateTime.parse("2016-12-19T12:00"),
+                calendar.plusWorking(LocalDateTime.parse("2016-12-19T08:00"), Duration.ofHours(4L)));
+        assertEquals("after lunch mismatch", LocalDateTime.parse("2016-12-19T13:00:01"),
+                calendar.plusWorking(LocalDateTime.parse("2016-12-19T08:00"), Duration.parse("PT4H1S")));
+        assertEquals("evening mismatch", LocalDateTime.parse("2016-12-20T09:00"),
+                calendar.plusWorking(LocalDateTime.parse("2016-12-19T20:00"), Duration.ofHours(1L)));
+        assertEquals("christmas mismatch", LocalDateTime.parse("2016-12-27T09:00"),
+                calendar.plusWorking(LocalDateTime.parse("2016-12-23T17:00"), Duration.ofHours(1L)));
+        assertEquals("zero mismatch", LocalDateTime.parse("2016-12-25T20:00"),
+                calendar.plusWorking(LocalDateTime.parse("2016-12-25T20:00"), Duration.ZERO));
+        assertNull("no working time not null", BusinessCalendar.of(Recurrence.never(), holidays)
+                .plusWorking(LocalDateTime.parse("2016-12-19T08:00"), Duration.ofHours(1L)));
+        final Random random = new Random(42L);
+        final LocalDateTime origin = LocalDateTime.parse("2016-10-01T00:00");
+        for (int i = 0; i < 200; i++) {
+            final LocalDateTime start = origin.plusSeconds(random.nextInt(60 * 60 * 24 * 120));
+            final Duration amount = Duration.ofSeconds(random.nextInt(60 * 60 * 24 * 30));
+            final LocalDateTime end = calendar.plusWorking(start, amount);
+            assertEquals("round trip mismatch for " + start + " plus " + amount, amount, calendar.workingDuration(DateTimeInterval.of(start, end)));
+            assertTrue("not earliest for " + start + " plus " + amount, amount.isZero() || end.equals(start)
+                    || calendar.workingDuration(DateTimeInterval.of(start, end.minusNanos(1L))).compareTo(amount) < 0);
+        }
+        try {
+            calendar.plusWorking(LocalDateTime.parse("2016-12-19T08:00"), Duration.ofHours(-1L));
+            fail("negative amount added");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testOf() {
+        System.out.println("of");
+        try {
+            BusinessCalendar.of(Recurrence.daily(TimeInterval.parse("08:00/16:00")).except(MonthDayInterval.parse("--12-24/--12-27")),
+                    Collections.<LocalDate>emptyList());
+            fail("restricted schedule accepted");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+        assertTrue("working not true", calendar.isWorking(LocalDateTime.parse("2016-12-17T13:59")));
+        assertFalse("holiday working", calendar.isWorking(LocalDateTime.parse("2016-11-01T09:00")));
+        assertFalse("lunch working", calendar.isWorking(LocalDateTime.parse("2016-12-19T12:30")));
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ConcurrentIntervalIndexTest {
+
+    @Test
+    public void testTryInsertIfNoOverlap() {
+        System.out.println("tryInsertIfNoOverlap");
+        final ConcurrentIntervalIndex<LocalDateTime, DateTimeInterval> index = new ConcurrentIntervalIndex<>(Duration.ofHours(1L), 4);
+        final DateTimeInterval morning = DateTimeInterval.parse("2016-12-19T08:00/2016-12-19T12:00");
+        final DateTimeInterval afternoon = DateTimeInterval.parse("2016-12-19T12:00/2016-12-19T17:00");
+        assertTrue("morning not inserted", index.tryInsertIfNoOverlap(morning));
+        assertTrue("abutting not inserted", index.tryInsertIfNoOverlap(afternoon));
+        assertFalse("overlapping inserted", index.tryInsertIfNoOverlap(DateTimeInterval.parse("2016-12-19T11:59/2016-12-19T12:01")));
+        assertFalse("enclosing inserted", index.tryInsertIfNoOverlap(DateTimeInterval.parse("2016-12-18T00:00/2016-12-21T00:00")));
+        assertFalse("equal inserted", index.tryInsertIfNoOverlap(morning));
+        assertTrue("week later not inserted", index.tryInsertIfNoOverlap(DateTimeInterval.parse("2016-12-26T08:00/2016-12-26T12:00")));
+        assertEquals("size mismatch", 3, index.size());
+        assertEquals("intervals mismatch", Arrays.asList(morning, afternoon, DateTimeInterval.parse("2016-12-26T08:00/2016-12-26T12:00")),
+                new ArrayList<>(index.intervals()));
+        try {
+            index.tryInsertIfNoOverlap(DateTimeInterval.parse("2016-12-20T08:00/2016-12-20T08:00"));
+            fail("empty interval inserted");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+        try {
+            new ConcurrentIntervalIndex<LocalDateTime, DateTimeInterval>(Duration.ofMillis(10L));
+            fail("short bucket accepted");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testQueries() {
+        System.out.println("queries");
+        final ConcurrentIntervalIndex<LocalDateTime, DateTimeInterval> index = new ConcurrentIntervalIndex<>(Duration.ofDays(1L));
+        final DateTimeInterval morning = DateTimeInterval.parse("2016-12-19T08:00/2016-12-19T12:00");
+        final DateTimeInterval afternoon = DateTimeInterval.parse("2016-12-19T13:00/2016-12-19T17:00");
+        index.tryInsertIfNoOverlap(morning);
+        index.tryInsertIfNoOverlap(afternoon);
+        assertEquals("containing mismatch", afternoon, index.containing(LocalDateTime.parse("2016-12-19T13:00")));
+        assertNull("end contained", index.containing(LocalDateTime.parse("2016-12-19T12:00")));
+        assertTrue("overlap not found", index.overlapsAny(DateTimeInterval.parse("2016-12-19T11:00/2016-12-19T13:30")));
+        assertFalse("gap overlaps", index.overlapsAny(DateTimeInterval.parse("2016-12-19T12:00/2016-12-19T13:00")));
+        assertTrue("empty inside not overlapping", index.overlapsAny(DateTimeInterval.parse("2016-12-19T09:00/2016-12-19T09:00")));
+        assertFalse("empty at start overlapping", index.overlapsAny(DateTimeInterval.parse("2016-12-19T08:00/2016-12-19T08:00")));
+        assertEquals("overlapping mismatch", Arrays.asList(morning, afternoon),
+                index.overlapping(DateTimeInterval.parse("2016-12-19T11:00/2016-12-19T13:30")));
+        assertEquals("overlapping inside mismatch", Arrays.asList(morning), index.overlapping(DateTimeInterval.parse("2016-12-19T09:00/2016-12-19T10:00")));
+        assertTrue("overlapping gap not empty", index.overlapping(DateTimeInterval.parse("2016-12-19T12:00/2016-12-19T13:00")).isEmpty());
+        assertFalse("unequal removed", index.remove(DateTimeInterval.parse("2016-12-19T08:00/2016-12-19T11:00")));
+        assertTrue("morning not removed", index.remove(morning));
+        assertFalse("removed twice", index.remove(morning));
+        assertTrue("not inserted after removal", index.tryInsertIfNoOverlap(DateTimeInterval.parse("2016-12-19T09:00/2016-12-19T13:00")));
+    }
+
+    @Test
+    public void testConcurrentInsertions() throws InterruptedException {
+        System.out.println("concurrentInsertions");
+        final ConcurrentIntervalIndex<LocalDateTime, DateTimeInterval> index = new ConcurrentIntervalIndex<>(Duration.ofHours(1L), 8);
+        final LocalDateTime origin = LocalDateTime.parse("2016-12-01T00:00");
+        final Queue<DateTimeInterval> rejected = new ConcurrentLinkedQueue<>();
+        final Queue<DateTimeInterval> inserted = new ConcurrentLinkedQueue<>();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final Random random = new Random(t);
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 2000; i++) {
+                        final LocalDateTime from = origin.plusMinutes(random.nextInt(60 * 24 * 7));
+                        final DateTimeInterval interval = DateTimeInterval.of(from, from.plusMinutes(1 + random.nextInt(600)));
+                        (index.tryInsertIfNoOverlap(interval) ? inserted : rejected).add(interval);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        final List<DateTimeInterval> stored = new ArrayList<>(index.intervals());
+        assertEquals("size mismatch", inserted.size(), stored.size());
+        for (int i = 1; i < stored.size(); i++) {
+            assertFalse("stored intervals overlap", stored.get(i - 1).getEnd().isAfter(stored.get(i).getStart()));
+        }
+        for (final DateTimeInterval interval : rejected) {
+            assertTrue("rejected without conflict " + interval, index.overlapsAny(interval));
+        }
+    }
+
+}
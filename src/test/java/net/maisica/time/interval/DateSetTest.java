@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class DateSetTest {
+
+    private final IntervalFactory<LocalDate, DateInterval> factory = DateInterval::of;
+
+    private static DateSet random(final Random random, final long origin, final int days, final int density, final int length) {
+        final List<DateInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < density; i++) {
+            final LocalDate start = LocalDate.ofEpochDay(origin + random.nextInt(days));
+            intervals.add(DateInterval.of(start, start.plusDays(random.nextInt(length))));
+        }
+        return DateSet.of(intervals);
+    }
+
+    private static TreeSet<Long> days(final DateSet set) {
+        final TreeSet<Long> result = new TreeSet<>();
+        for (final DateInterval interval : set) {
+            for (long day = interval.getStart().toEpochDay(); day < interval.getEnd().toEpochDay(); day++) {
+                result.add(day);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testOf() {
+        System.out.println("of");
+        final DateSet set = DateSet.of(DateInterval.parse("2016-12-24/2016-12-27"), DateInterval.parse("2016-12-20/2016-12-22"),
+                DateInterval.parse("2016-12-27/2016-12-28"), DateInterval.parse("2016-12-21/2016-12-23"), DateInterval.parse("2016-12-30/2016-12-30"));
+        assertEquals("intervals mismatch", Arrays.asList(DateInterval.parse("2016-12-20/2016-12-23"), DateInterval.parse("2016-12-24/2016-12-28")),
+                set.intervals());
+        assertEquals("cardinality mismatch", 7L, set.cardinality());
+        assertTrue("date not contained", set.contains(LocalDate.parse("2016-12-27")));
+        assertFalse("gap contained", set.contains(LocalDate.parse("2016-12-23")));
+        assertFalse("null contained", set.contains(null));
+        assertEquals("span mismatch", DateInterval.parse("2016-12-20/2016-12-28"), set.span());
+        assertEquals("interval set mismatch", IntervalSet.of(factory, set.intervals()), set.toIntervalSet());
+        assertEquals("dates mismatch", set, DateSet.ofDates(Arrays.asList(LocalDate.parse("2016-12-22"), LocalDate.parse("2016-12-20"),
+                LocalDate.parse("2016-12-21"), LocalDate.parse("2016-12-24"), LocalDate.parse("2016-12-25"), LocalDate.parse("2016-12-26"),
+                LocalDate.parse("2016-12-27"), LocalDate.parse("2016-12-25"))));
+        assertEquals("string mismatch", "[2016-12-20/2016-12-23, 2016-12-24/2016-12-28]", set.toString());
+        assertTrue("empty not empty", DateSet.empty().isEmpty());
+        assertNull("empty span not null", DateSet.empty().span());
+        final DateSet wide = DateSet.of(DateInterval.parse("1900-01-01/2100-01-01"), DateInterval.parse("-1000-01-01/-0999-01-01"));
+        assertEquals("chunk boundary mismatch", Arrays.asList(DateInterval.parse("-1000-01-01/-0999-01-01"), DateInterval.parse("1900-01-01/2100-01-01")),
+                wide.intervals());
+        assertEquals("wide cardinality mismatch", 73049L + 365L, wide.cardinality());
+    }
+
+    @Test
+    public void testOperations() {
+        System.out.println("operations");
+        final Random random = new Random(42L);
+        for (int i = 0; i < 60; i++) {
+            final long origin = 65536L * (random.nextInt(4) - 2) - 500L;
+            final int dense = i % 5 == 0 ? 20000 : 4000;
+            final DateSet a = random(random, origin, 140000, 1 + random.nextInt(dense), 1 + random.nextInt(i % 3 == 0 ? 2 : 30));
+            final DateSet b = random(random, origin, 140000, 1 + random.nextInt(8000), 1 + random.nextInt(i % 2 == 0 ? 2 : 60));
+            final TreeSet<Long> x = days(a);
+            final TreeSet<Long> y = days(b);
+            assertEquals("cardinality mismatch", x.size(), a.cardinality());
+            final TreeSet<Long> union = new TreeSet<>(x);
+            union.addAll(y);
+            final TreeSet<Long> intersection = new TreeSet<>(x);
+            intersection.retainAll(y);
+            final TreeSet<Long> difference = new TreeSet<>(x);
+            difference.removeAll(y);
+            assertEquals("union mismatch", union, days(a.union(b)));
+            assertEquals("union cardinality mismatch", union.size(), a.union(b).cardinality());
+            assertEquals("intersection mismatch", intersection, days(a.intersection(b)));
+            assertEquals("intersection cardinality mismatch", intersection.size(), a.intersection(b).cardinality());
+            assertEquals("difference mismatch", difference, days(a.difference(b)));
+            assertEquals("difference cardinality mismatch", difference.size(), a.difference(b).cardinality());
+            assertEquals("union not canonical", DateSet.of(a.union(b).intervals()), a.union(b));
+            assertEquals("intersection not canonical", DateSet.of(a.intersection(b).intervals()), a.intersection(b));
+            assertEquals("interval set union mismatch", a.toIntervalSet().union(b.toIntervalSet()), a.union(b).toIntervalSet());
+            for (int j = 0; j < 100; j++) {
+                final long day = origin + random.nextInt(140000);
+                assertEquals("contains mismatch", x.contains(day), a.contains(LocalDate.ofEpochDay(day)));
+            }
+        }
+        assertTrue("self difference not empty", random(random, 0L, 1000, 100, 10).difference(random(random, 0L, 1000, 100, 10)).union(DateSet.empty())
+                .difference(DateSet.of(DateInterval.parse("1970-01-01/1980-01-01"))).isEmpty());
+    }
+
+}
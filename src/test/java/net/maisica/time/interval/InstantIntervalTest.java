@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.Instant;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class InstantIntervalTest {
+
+    private final InstantInterval interval = InstantInterval.parse("2016-01-01T00:00:00Z/2016-01-01T00:00:10.5Z");
+
+    @Test
+    public void testOfEpochMillis() {
+        System.out.println("ofEpochMillis");
+        assertEquals("positive mismatch", InstantInterval.of(Instant.ofEpochMilli(1500L), Instant.ofEpochMilli(2750L)), InstantInterval.ofEpochMillis(1500L, 2750L));
+        assertEquals("negative mismatch", InstantInterval.of(Instant.ofEpochMilli(-1500L), Instant.ofEpochMilli(-1L)), InstantInterval.ofEpochMillis(-1500L, -1L));
+        try {
+            InstantInterval.ofEpochMillis(1L, 0L);
+            fail("unchecked bounds");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testOfEpochNanos() {
+        System.out.println("ofEpochNanos");
+        assertEquals("positive mismatch", InstantInterval.of(Instant.ofEpochSecond(1L, 5L), Instant.ofEpochSecond(3L, 7L)),
+                InstantInterval.ofEpochNanos(1000000005L, 3000000007L));
+        assertEquals("negative mismatch", InstantInterval.of(Instant.ofEpochSecond(0L, -5L), Instant.ofEpochSecond(0L, 0L)), InstantInterval.ofEpochNanos(-5L, 0L));
+    }
+
+    @Test
+    public void testEpochMillis() {
+        System.out.println("epochMillis");
+        final InstantInterval fraction = InstantInterval.of(Instant.ofEpochSecond(-2L, 999_999L), Instant.ofEpochSecond(2L, 500_000_001L));
+        for (final long step : new long[]{1L, 3L, 7L, 1000L, 4500L, 4501L}) {
+            assertArrayEquals("millis mismatch by " + step, fraction.stream(Duration.ofMillis(step)).mapToLong(Instant::toEpochMilli).toArray(),
+                    fraction.epochMillis(step).toArray());
+        }
+        assertEquals("empty count mismatch", 0L, InstantInterval.ofEpochMillis(5L, 5L).epochMillis(1L).count());
+        assertEquals("parallel mismatch", interval.epochMillis(1L).sum(), interval.epochMillis(1L).parallel().sum());
+        try {
+            interval.epochMillis(0L);
+            fail("zero step accepted");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+        try {
+            InstantInterval.of(Instant.ofEpochSecond(0L), Instant.MAX).epochMillis(1L);
+            fail("end overflow accepted");
+        } catch (ArithmeticException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testEpochNanos() {
+        System.out.println("epochNanos");
+        final InstantInterval fraction = InstantInterval.of(Instant.ofEpochSecond(-1L, 999_999_990L), Instant.ofEpochSecond(0L, 20L));
+        assertArrayEquals("nanos mismatch", new long[]{-10L, -3L, 4L, 11L, 18L}, fraction.epochNanos(7L).toArray());
+        try {
+            InstantInterval.of(Instant.ofEpochSecond(0L), Instant.parse("3000-01-01T00:00:00Z")).epochNanos(1L);
+            fail("overflow accepted");
+        } catch (ArithmeticException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testOfEpochSeconds() {
+        System.out.println("ofEpochSeconds");
+        final InstantInterval result = InstantInterval.ofEpochSeconds(10L, -1L, 10L, 1000000000L);
+        assertEquals("start mismatch", Instant.ofEpochSecond(10L, -1L), result.getStart());
+        assertEquals("end mismatch", Instant.ofEpochSecond(11L), result.getEnd());
+        assertEquals("start second mismatch", 9L, result.getStartEpochSecond());
+        assertEquals("start nano mismatch", 999999999, result.getStartNano());
+        try {
+            InstantInterval.ofEpochSeconds(Instant.MAX.getEpochSecond(), 1000000000L, Instant.MAX.getEpochSecond(), 1000000000L);
+            fail("unchecked range");
+        } catch (java.time.DateTimeException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testPredicates() {
+        System.out.println("predicates");
+        assertTrue("start not contained", interval.contains(interval.getStart()));
+        assertFalse("end contained", interval.contains(interval.getEnd()));
+        assertTrue("last nano not contained", interval.contains(Instant.parse("2016-01-01T00:00:10.499999999Z")));
+        assertFalse("null contained", interval.contains(null));
+        assertTrue("not enclosing itself", interval.encloses(interval));
+        assertTrue("abutting not detected", interval.abuts(InstantInterval.of(interval.getEnd(), Duration.ofSeconds(1L))));
+        assertFalse("overlapping detected as abutting", interval.abuts(InstantInterval.of(interval.getStart(), Duration.ofSeconds(1L))));
+        assertTrue("overlap not detected", interval.overlaps(InstantInterval.of(interval.getEnd().minusNanos(1L), Duration.ofSeconds(1L))));
+        assertFalse("abutting detected as overlapping", interval.overlaps(InstantInterval.of(interval.getEnd(), Duration.ofSeconds(1L))));
+        assertTrue("equal empties not overlapping", interval.withEnd(interval.getStart()).overlaps(interval.withEnd(interval.getStart())));
+    }
+
+    @Test
+    public void testAlgebra() {
+        System.out.println("algebra");
+        final InstantInterval other = InstantInterval.parse("2016-01-01T00:00:05Z/2016-01-01T00:00:20Z");
+        final InstantInterval following = InstantInterval.parse("2016-01-01T00:00:30Z/2016-01-01T00:00:40Z");
+        assertEquals("overlap mismatch", InstantInterval.parse("2016-01-01T00:00:05Z/2016-01-01T00:00:10.5Z"), interval.overlap(other));
+        assertEquals("join mismatch", InstantInterval.parse("2016-01-01T00:00:00Z/2016-01-01T00:00:20Z"), interval.join(other));
+        assertEquals("gap mismatch", InstantInterval.parse("2016-01-01T00:00:10.5Z/2016-01-01T00:00:30Z"), interval.gap(following));
+        assertEquals("reverse gap mismatch", interval.gap(following), following.gap(interval));
+        assertNull("disjoint overlap", interval.overlap(following));
+        assertNull("overlapping gap", interval.gap(other));
+        assertSame("enclosed overlap not reused", interval, interval.overlap(interval.join(other)));
+        assertSame("enclosing join not reused", other, other.join(other.withStart(other.getStart().plusSeconds(1L))));
+    }
+
+    @Test
+    public void testHashCode() {
+        System.out.println("hashCode");
+        int hash = 7;
+        hash = 29 * hash + interval.getStart().hashCode();
+        hash = 29 * hash + interval.getEnd().hashCode();
+        assertEquals("hash code changed", hash, interval.hashCode());
+    }
+
+    @Test
+    public void testToSpan() {
+        System.out.println("toSpan");
+        assertEquals("span mismatch", interval.getStart(), interval.toSpan().getStart());
+        assertEquals("span mismatch", Duration.ofMillis(10500L), interval.toSpan().getDuration());
+        assertEquals("round trip mismatch", interval, interval.toSpan().toInterval());
+        assertEquals("text mismatch", "2016-01-01T00:00:00Z/2016-01-01T00:00:10.500Z", interval.toString());
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IntervalCollectorsTest {
+
+    private final IntervalFactory<LocalDate, DateInterval> dates = DateInterval::of;
+    private final IntervalFactory<Instant, InstantInterval> instants = InstantInterval::of;
+
+    @Test
+    public void testToIntervalSet() {
+        System.out.println("toIntervalSet");
+        final List<DateInterval> intervals = Arrays.asList(DateInterval.parse("2016-01-05/2016-01-10"), DateInterval.parse("2016-01-01/2016-01-05"),
+                DateInterval.parse("2016-01-20/2016-01-20"), DateInterval.parse("2016-01-15/2016-01-18"), DateInterval.parse("2016-01-16/2016-01-17"));
+        final IntervalSet<LocalDate, DateInterval> expected = IntervalSet.of(dates, DateInterval.parse("2016-01-01/2016-01-10"),
+                DateInterval.parse("2016-01-15/2016-01-18"));
+        assertEquals("set mismatch", expected, intervals.stream().collect(IntervalCollectors.toIntervalSet(dates)));
+        assertEquals("coalesced mismatch", expected.intervals(), intervals.stream().collect(IntervalCollectors.coalescing(dates)));
+        assertTrue("empty set mismatch", Collections.<DateInterval>emptyList().stream().collect(IntervalCollectors.toIntervalSet(dates)).isEmpty());
+    }
+
+    @Test
+    public void testBounding() {
+        System.out.println("bounding");
+        final List<DateInterval> intervals = Arrays.asList(DateInterval.parse("2016-01-05/2016-01-10"), DateInterval.parse("2016-01-01/2016-01-05"),
+                DateInterval.parse("2016-01-15/2016-01-18"));
+        assertEquals("bounds mismatch", DateInterval.parse("2016-01-01/2016-01-18"), intervals.stream().collect(IntervalCollectors.bounding(dates)));
+        assertNull("empty bounds not null", Collections.<DateInterval>emptyList().stream().collect(IntervalCollectors.bounding(dates)));
+    }
+
+    @Test
+    public void testTotalDuration() {
+        System.out.println("totalDuration");
+        final List<InstantInterval> intervals = Arrays.asList(InstantInterval.parse("2016-01-01T00:00:00.6Z/2016-01-01T00:00:01Z"),
+                InstantInterval.parse("2016-01-01T00:00:00.5Z/2016-01-01T00:00:01Z"), InstantInterval.parse("2016-01-01T00:00:00Z/2016-01-01T01:00:00Z"));
+        assertEquals("total duration mismatch", Duration.ofMillis(3600900L), intervals.stream().collect(IntervalCollectors.totalDuration()));
+    }
+
+    @Test
+    public void testParallel() {
+        System.out.println("parallel");
+        final Random random = new Random(18L);
+        final List<InstantInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            final Instant start = Instant.ofEpochSecond(random.nextInt(1000000), random.nextInt(1000) * 1000000L);
+            intervals.add(InstantInterval.of(start, start.plusMillis(random.nextInt(100000))));
+        }
+        final IntervalSet<Instant, InstantInterval> expected = IntervalSet.of(instants, intervals);
+        assertEquals("parallel set mismatch", expected, intervals.parallelStream().collect(IntervalCollectors.toIntervalSet(instants)));
+        assertEquals("parallel coalesced mismatch", expected.intervals(), intervals.parallelStream().collect(IntervalCollectors.coalescing(instants)));
+        assertEquals("parallel bounds mismatch", intervals.stream().collect(IntervalCollectors.bounding(instants)),
+                intervals.parallelStream().collect(IntervalCollectors.bounding(instants)));
+        Duration total = Duration.ZERO;
+        for (final InstantInterval interval : intervals) {
+            total = total.plus(interval.toDuration());
+        }
+        assertEquals("parallel total duration mismatch", total, intervals.parallelStream().collect(IntervalCollectors.totalDuration()));
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import net.maisica.time.interval.AbstractIntervalTest.AbstractIntervalImpl;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IntervalIndexTest {
+
+    private static final Comparator<Interval<Integer>> ORDER = Comparator.comparing((Interval<Integer> i) -> i.getStart()).thenComparing(i -> i.getEnd());
+
+    private final Random random = new Random(42L);
+
+    private AbstractIntervalImpl randomInterval(final int range, final int length) {
+        final int start = random.nextInt(range);
+        return new AbstractIntervalImpl(start, start + random.nextInt(length));
+    }
+
+    private IntervalIndex<Integer, AbstractIntervalImpl> populate(final List<AbstractIntervalImpl> reference, final int count) {
+        final IntervalIndex<Integer, AbstractIntervalImpl> index = new IntervalIndex<>();
+        for (int i = 0; i < count; i++) {
+            final AbstractIntervalImpl interval = randomInterval(1000, 50);
+            reference.add(interval);
+            assertTrue("not added", index.add(interval));
+        }
+        return index;
+    }
+
+    @Test
+    public void testContaining() {
+        System.out.println("containing");
+        final List<AbstractIntervalImpl> reference = new ArrayList<>();
+        final IntervalIndex<Integer, AbstractIntervalImpl> index = populate(reference, 2000);
+        for (int t = -10; t < 1060; t++) {
+            final int temporal = t;
+            final List<AbstractIntervalImpl> expected = reference.stream().filter(i -> i.contains(temporal)).sorted(ORDER).collect(Collectors.toList());
+            assertEquals("stabbing mismatch at " + t, expected, index.containing(t));
+        }
+    }
+
+    @Test
+    public void testOverlapping() {
+        System.out.println("overlapping");
+        final List<AbstractIntervalImpl> reference = new ArrayList<>();
+        final IntervalIndex<Integer, AbstractIntervalImpl> index = populate(reference, 2000);
+        for (int i = 0; i < 500; i++) {
+            final AbstractIntervalImpl query = randomInterval(1100, 30);
+            final List<AbstractIntervalImpl> expected = reference.stream().filter(query::overlaps).sorted(ORDER).collect(Collectors.toList());
+            assertEquals("overlap mismatch for " + query, expected, index.overlapping(query));
+            assertEquals("any overlap mismatch for " + query, !expected.isEmpty(), index.overlapsAny(query));
+        }
+    }
+
+    @Test
+    public void testPredecessorAndSuccessor() {
+        System.out.println("predecessor/successor");
+        final List<AbstractIntervalImpl> reference = new ArrayList<>();
+        final IntervalIndex<Integer, AbstractIntervalImpl> index = populate(reference, 300);
+        for (int t = -10; t < 1060; t++) {
+            final int temporal = t;
+            final AbstractIntervalImpl predecessor = index.predecessor(t);
+            final int latestEnd = reference.stream().filter(i -> i.getEnd() <= temporal).mapToInt(i -> i.getEnd()).max().orElse(Integer.MIN_VALUE);
+            if (predecessor == null) {
+                assertEquals("predecessor missed at " + t, Integer.MIN_VALUE, latestEnd);
+            } else {
+                assertEquals("predecessor mismatch at " + t, latestEnd, (int) predecessor.getEnd());
+            }
+            final AbstractIntervalImpl successor = index.successor(t);
+            final AbstractIntervalImpl expected = reference.stream().filter(i -> i.getStart() > temporal).min(ORDER).orElse(null);
+            assertEquals("successor mismatch at " + t, expected, successor);
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        System.out.println("remove");
+        final List<AbstractIntervalImpl> reference = new ArrayList<>();
+        final IntervalIndex<Integer, AbstractIntervalImpl> index = populate(reference, 2000);
+        for (int i = 0; i < 1000; i++) {
+            final AbstractIntervalImpl interval = reference.remove(random.nextInt(reference.size()));
+            assertTrue("not removed", index.remove(new AbstractIntervalImpl(interval.getStart(), interval.getEnd())));
+        }
+        assertFalse("removed absent", index.remove(new AbstractIntervalImpl(-5, -1)));
+        assertEquals("size mismatch", reference.size(), index.size());
+        reference.sort(ORDER);
+        assertEquals("content mismatch", reference, new ArrayList<>(index));
+        for (int t = 0; t < 1050; t += 7) {
+            final int temporal = t;
+            assertEquals("stabbing mismatch at " + t, reference.stream().filter(i -> i.contains(temporal)).collect(Collectors.toList()), index.containing(t));
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        System.out.println("iterator remove");
+        final List<AbstractIntervalImpl> reference = new ArrayList<>();
+        final IntervalIndex<Integer, AbstractIntervalImpl> index = populate(reference, 500);
+        reference.sort(ORDER);
+        final Iterator<AbstractIntervalImpl> iterator = index.iterator();
+        final List<AbstractIntervalImpl> kept = new ArrayList<>();
+        int position = 0;
+        while (iterator.hasNext()) {
+            final AbstractIntervalImpl interval = iterator.next();
+            assertEquals("iteration order mismatch", reference.get(position++), interval);
+            if (interval.getStart() % 2 == 0) {
+                iterator.remove();
+            } else {
+                kept.add(interval);
+            }
+        }
+        assertEquals("content mismatch", kept, new ArrayList<>(index));
+    }
+
+}
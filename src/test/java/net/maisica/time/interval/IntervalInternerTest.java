@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IntervalInternerTest {
+
+    @Test
+    public void testCreateInterval() {
+        System.out.println("createInterval");
+        final IntervalInterner<LocalDate, DateInterval> interner = IntervalInterner.of(DateInterval::of);
+        final DateInterval interval = interner.createInterval(LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 2));
+        assertEquals("interval mismatch", DateInterval.parse("2016-01-01/2016-01-02"), interval);
+        assertSame("interval not canonical", interval, interner.createInterval(LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 2)));
+        assertNotSame("different interval shared", interval, interner.createInterval(LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 3)));
+        assertEquals("size mismatch", 2, interner.size());
+    }
+
+    @Test
+    public void testIntern() {
+        System.out.println("intern");
+        final IntervalInterner<LocalTime, TimeInterval> interner = IntervalInterner.of(TimeInterval::of);
+        final TimeInterval shift = TimeInterval.parse("08:00/16:00");
+        assertSame("first interval not canonical", shift, interner.intern(shift));
+        assertSame("equal interval not replaced", shift, interner.intern(TimeInterval.parse("08:00/16:00")));
+        assertSame("created interval not canonical", shift, interner.createInterval(LocalTime.of(8, 0), LocalTime.of(16, 0)));
+    }
+
+    @Test
+    public void testPacked() {
+        System.out.println("packed");
+        final IntervalInterner<Instant, InstantInterval> interner = IntervalInterner.of(InstantInterval::of);
+        final InstantInterval interval = interner.intern(InstantInterval.parse("2016-01-01T00:00:00Z/2016-01-01T00:00:00.5Z"));
+        assertSame("created interval not canonical", interval, interner.createInterval(Instant.parse("2016-01-01T00:00:00Z"),
+                Instant.parse("2016-01-01T00:00:00.5Z")));
+        assertNotSame("different nano shared", interval, interner.createInterval(Instant.parse("2016-01-01T00:00:00Z"),
+                Instant.parse("2016-01-01T00:00:00.6Z")));
+        assertSame("equal interval not replaced", interval, interner.intern(InstantInterval.ofEpochMillis(1451606400000L, 1451606400500L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateIntervalEndBeforeStart() {
+        System.out.println("createInterval end before start");
+        final IntervalInterner<LocalDate, DateInterval> interner = IntervalInterner.of(DateInterval::of);
+        interner.createInterval(LocalDate.of(2016, 1, 2), LocalDate.of(2016, 1, 1));
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        System.out.println("concurrent");
+        final IntervalInterner<LocalDate, DateInterval> interner = IntervalInterner.of(DateInterval::of);
+        final LocalDate start = LocalDate.of(2016, 1, 1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<DateInterval>>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final Callable<List<DateInterval>> task = () -> {
+                    final List<DateInterval> result = new ArrayList<>();
+                    for (int day = 0; day < 1000; day++) {
+                        result.add(interner.createInterval(start.plusDays(day), start.plusDays(day + 1)));
+                    }
+                    return result;
+                };
+                futures.add(executor.submit(task));
+            }
+            final List<DateInterval> expected = futures.get(0).get();
+            for (final Future<List<DateInterval>> future : futures) {
+                final List<DateInterval> actual = future.get();
+                for (int day = 0; day < 1000; day++) {
+                    assertSame("interval not shared at " + day, expected.get(day), actual.get(day));
+                }
+            }
+            assertEquals("size mismatch", 1000, interner.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testReclaimed() throws Exception {
+        System.out.println("reclaimed");
+        final IntervalInterner<LocalDate, DateInterval> interner = IntervalInterner.of(DateInterval::of);
+        final LocalDate start = LocalDate.of(2016, 1, 1);
+        List<DateInterval> held = new ArrayList<>();
+        for (int day = 0; day < 1000; day++) {
+            held.add(interner.createInterval(start.plusDays(day), start.plusDays(day + 1)));
+        }
+        final DateInterval kept = held.get(0);
+        held = null;
+        for (int attempt = 0; attempt < 50 && interner.size() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertEquals("unreachable intervals not reclaimed", 1, interner.size());
+        assertSame("reachable interval lost", kept, interner.createInterval(start, start.plusDays(1)));
+    }
+
+}
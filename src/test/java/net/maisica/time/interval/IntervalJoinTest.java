@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IntervalJoinTest {
+
+    private final Random random = new Random(19L);
+
+    @Test
+    public void testStream() {
+        System.out.println("stream");
+        final List<DateInterval> sessions = Arrays.asList(DateInterval.parse("2016-01-01/2016-01-05"), DateInterval.parse("2016-01-03/2016-01-04"),
+                DateInterval.parse("2016-01-05/2016-01-05"), DateInterval.parse("2016-01-06/2016-01-09"));
+        final List<DateInterval> windows = Arrays.asList(DateInterval.parse("2016-01-02/2016-01-03"), DateInterval.parse("2016-01-05/2016-01-05"),
+                DateInterval.parse("2016-01-08/2016-01-20"));
+        final List<String> overlaps = IntervalJoin.<LocalDate, DateInterval, DateInterval>stream(sessions.stream(), windows.stream())
+                .map(m -> m.getLeft() + " " + m.getRight() + " " + m.getOverlap()).collect(Collectors.toList());
+        assertEquals("overlaps mismatch", Arrays.asList("2016-01-01/2016-01-05 2016-01-02/2016-01-03 2016-01-02/2016-01-03",
+                "2016-01-05/2016-01-05 2016-01-05/2016-01-05 2016-01-05/2016-01-05", "2016-01-06/2016-01-09 2016-01-08/2016-01-20 2016-01-08/2016-01-09"),
+                overlaps);
+    }
+
+    @Test
+    public void testRandom() {
+        System.out.println("random");
+        final List<InstantInterval> left = intervals(300);
+        final List<InstantInterval> right = intervals(200);
+        final Set<String> expected = new HashSet<>();
+        for (final InstantInterval l : left) {
+            for (final InstantInterval r : right) {
+                if (l.overlaps(r)) {
+                    expected.add(l + " " + r + " " + l.overlap(r));
+                }
+            }
+        }
+        final List<String> actual = new ArrayList<>();
+        final Iterator<IntervalJoin.Match<Instant, InstantInterval, InstantInterval>> iterator = IntervalJoin.iterator(left.iterator(), right.iterator());
+        while (iterator.hasNext()) {
+            final IntervalJoin.Match<Instant, InstantInterval, InstantInterval> match = iterator.next();
+            actual.add(match.getLeft() + " " + match.getRight() + " " + match.getOverlap());
+        }
+        assertEquals("duplicate pairs", actual.size(), new HashSet<>(actual).size());
+        assertEquals("pairs mismatch", expected, new HashSet<>(actual));
+    }
+
+    @Test
+    public void testLazy() {
+        System.out.println("lazy");
+        final Stream<InstantInterval> days = Stream.iterate(InstantInterval.parse("2016-01-01T00:00:00Z/2016-01-02T00:00:00Z"),
+                i -> InstantInterval.of(i.getEnd(), i.getEnd().plusSeconds(86400L)));
+        final Stream<InstantInterval> hours = Stream.iterate(InstantInterval.parse("2016-01-01T12:00:00Z/2016-01-01T13:00:00Z"),
+                i -> InstantInterval.of(i.getStart().plusSeconds(86400L), i.getEnd().plusSeconds(86400L)));
+        final List<IntervalJoin.Match<Instant, InstantInterval, InstantInterval>> matches = IntervalJoin.<Instant, InstantInterval, InstantInterval>stream(
+                days, hours).limit(1000).collect(Collectors.toList());
+        assertEquals("match count mismatch", 1000, matches.size());
+        assertEquals("last overlap mismatch", InstantInterval.parse("2018-09-26T12:00:00Z/2018-09-26T13:00:00Z"), matches.get(999).getOverlap());
+    }
+
+    @Test
+    public void testUnsorted() {
+        System.out.println("unsorted");
+        final List<DateInterval> unsorted = Arrays.asList(DateInterval.parse("2016-01-05/2016-01-06"), DateInterval.parse("2016-01-01/2016-01-02"));
+        try {
+            IntervalJoin.<LocalDate, DateInterval, DateInterval>stream(unsorted.stream(), unsorted.stream()).count();
+            fail("exception not thrown");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+    }
+
+    private List<InstantInterval> intervals(final int count) {
+        final List<InstantInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final Instant start = Instant.ofEpochSecond(random.nextInt(10_000));
+            intervals.add(InstantInterval.of(start, start.plusSeconds(random.nextInt(4) == 0 ? 0L : random.nextInt(300))));
+        }
+        intervals.sort(Comparator.comparing(InstantInterval::getStart));
+        return intervals;
+    }
+
+}
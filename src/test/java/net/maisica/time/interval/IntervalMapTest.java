@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import net.maisica.time.interval.AbstractIntervalTest.AbstractIntervalImpl;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IntervalMapTest {
+
+    private static final int RANGE = 100;
+
+    private final Random random = new Random(11L);
+
+    @Test
+    public void testPut() {
+        System.out.println("put");
+        final IntervalMap<Integer, String> map = new IntervalMap<>();
+        map.put(new AbstractIntervalImpl(0, 10), "a");
+        map.put(new AbstractIntervalImpl(3, 5), "b");
+        assertEquals("split mismatch", "[0/3=a, 3/5=b, 5/10=a]", map.toString());
+        map.put(new AbstractIntervalImpl(3, 5), "a");
+        assertEquals("coalesce mismatch", "[0/10=a]", map.toString());
+        map.put(new AbstractIntervalImpl(10, 12), "a");
+        map.put(new AbstractIntervalImpl(-2, 0), "a");
+        assertEquals("abutting not coalesced", "[-2/12=a]", map.toString());
+        map.remove(new AbstractIntervalImpl(2, 4));
+        assertEquals("remove mismatch", "[-2/2=a, 4/12=a]", map.toString());
+        assertEquals("lookup mismatch", "a", map.get(1));
+        assertNull("lookup in hole", map.get(2));
+        assertNull("lookup at end", map.get(12));
+    }
+
+    @Test
+    public void testRandomized() {
+        System.out.println("randomized");
+        for (int round = 0; round < 300; round++) {
+            final IntervalMap<Integer, Integer> map = new IntervalMap<>();
+            final Integer[] model = new Integer[RANGE];
+            for (int operation = 0; operation < 40; operation++) {
+                final int start = random.nextInt(RANGE);
+                final int end = Math.min(RANGE, start + random.nextInt(20));
+                final Integer value = random.nextInt(4) == 0 ? null : random.nextInt(3);
+                for (int t = start; t < end; t++) {
+                    model[t] = value;
+                }
+                if (value == null) {
+                    map.remove(new AbstractIntervalImpl(start, end));
+                } else {
+                    map.put(new AbstractIntervalImpl(start, end), value);
+                }
+            }
+            for (int t = 0; t < RANGE; t++) {
+                assertEquals("lookup mismatch at " + t, model[t], map.get(t));
+            }
+            Map.Entry<Interval<Integer>, Integer> previous = null;
+            for (final Map.Entry<Interval<Integer>, Integer> entry : map) {
+                assertFalse("empty entry", entry.getKey().isEmpty());
+                if (previous != null) {
+                    assertTrue("overlapping entries", previous.getKey().getEnd() <= entry.getKey().getStart());
+                    assertFalse("not coalesced " + map, previous.getKey().abuts(entry.getKey()) && previous.getValue().equals(entry.getValue()));
+                }
+                previous = entry;
+            }
+            final int from = random.nextInt(RANGE);
+            final int to = Math.min(RANGE, from + random.nextInt(30));
+            final Integer[] view = new Integer[RANGE];
+            for (final Iterator<Map.Entry<Interval<Integer>, Integer>> i = map.iterator(new AbstractIntervalImpl(from, to)); i.hasNext();) {
+                final Map.Entry<Interval<Integer>, Integer> entry = i.next();
+                assertTrue("entry outside of range", entry.getKey().getStart() >= from && entry.getKey().getEnd() <= to);
+                for (int t = entry.getKey().getStart(); t < entry.getKey().getEnd(); t++) {
+                    view[t] = entry.getValue();
+                }
+            }
+            for (int t = 0; t < RANGE; t++) {
+                assertEquals("view mismatch at " + t, t >= from && t < to ? model[t] : null, view[t]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import net.maisica.time.interval.AbstractIntervalTest.AbstractIntervalImpl;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IntervalSetTest {
+
+    private static final int RANGE = 200;
+
+    private final Random random = new Random(7L);
+
+    private List<AbstractIntervalImpl> randomIntervals() {
+        final List<AbstractIntervalImpl> result = new ArrayList<>();
+        final int count = random.nextInt(12);
+        for (int i = 0; i < count; i++) {
+            final int start = random.nextInt(RANGE);
+            result.add(new AbstractIntervalImpl(start, Math.min(RANGE, start + random.nextInt(30))));
+        }
+        return result;
+    }
+
+    private static BitSet bits(final Iterable<? extends Interval<Integer>> intervals) {
+        final BitSet result = new BitSet(RANGE);
+        for (final Interval<Integer> interval : intervals) {
+            result.set(interval.getStart(), interval.getEnd());
+        }
+        return result;
+    }
+
+    private static void assertNormalized(final IntervalSet<Integer, AbstractIntervalImpl> set) {
+        for (int i = 0; i < set.size(); i++) {
+            assertFalse("empty interval kept", set.get(i).isEmpty());
+            if (i > 0) {
+                assertTrue("not coalesced: " + set, set.get(i - 1).getEnd() < set.get(i).getStart());
+            }
+        }
+    }
+
+    @Test
+    public void testOf() {
+        System.out.println("of");
+        final IntervalSet<Integer, AbstractIntervalImpl> set = IntervalSet.of(AbstractIntervalImpl::new,
+                new AbstractIntervalImpl(10, 20), new AbstractIntervalImpl(0, 5), new AbstractIntervalImpl(5, 7), new AbstractIntervalImpl(15, 25),
+                new AbstractIntervalImpl(30, 30));
+        assertEquals("size mismatch", 2, set.size());
+        assertEquals("first mismatch", new AbstractIntervalImpl(0, 7), set.get(0));
+        assertEquals("second mismatch", new AbstractIntervalImpl(10, 25), set.get(1));
+        assertEquals("span mismatch", new AbstractIntervalImpl(0, 25), set.span());
+        assertEquals("text mismatch", "[0/7, 10/25]", set.toString());
+        assertNull("empty span", IntervalSet.empty(AbstractIntervalImpl::new).span());
+    }
+
+    @Test
+    public void testAlgebra() {
+        System.out.println("algebra");
+        final AbstractIntervalImpl bounds = new AbstractIntervalImpl(20, 180);
+        for (int round = 0; round < 2000; round++) {
+            final List<AbstractIntervalImpl> left = randomIntervals();
+            final List<AbstractIntervalImpl> right = randomIntervals();
+            final IntervalSet<Integer, AbstractIntervalImpl> a = IntervalSet.of(AbstractIntervalImpl::new, left);
+            final IntervalSet<Integer, AbstractIntervalImpl> b = IntervalSet.of(AbstractIntervalImpl::new, right);
+            assertNormalized(a);
+            assertEquals("content mismatch", bits(left), bits(a));
+
+            BitSet expected = bits(left);
+            expected.or(bits(right));
+            final IntervalSet<Integer, AbstractIntervalImpl> union = a.union(b);
+            assertNormalized(union);
+            assertEquals("union mismatch", expected, bits(union));
+
+            expected = bits(left);
+            expected.and(bits(right));
+            final IntervalSet<Integer, AbstractIntervalImpl> intersection = a.intersection(b);
+            assertNormalized(intersection);
+            assertEquals("intersection mismatch", expected, bits(intersection));
+
+            expected = bits(left);
+            expected.andNot(bits(right));
+            final IntervalSet<Integer, AbstractIntervalImpl> difference = a.difference(b);
+            assertNormalized(difference);
+            assertEquals("difference mismatch", expected, bits(difference));
+
+            expected = new BitSet();
+            expected.set(bounds.getStart(), bounds.getEnd());
+            expected.andNot(bits(left));
+            final IntervalSet<Integer, AbstractIntervalImpl> complement = a.complement(bounds);
+            assertNormalized(complement);
+            assertEquals("complement mismatch", expected, bits(complement));
+            assertEquals("equality mismatch", a, IntervalSet.of(AbstractIntervalImpl::new, a.intervals()));
+        }
+    }
+
+    @Test
+    public void testContains() {
+        System.out.println("contains");
+        for (int round = 0; round < 200; round++) {
+            final List<AbstractIntervalImpl> intervals = randomIntervals();
+            final IntervalSet<Integer, AbstractIntervalImpl> set = IntervalSet.of(AbstractIntervalImpl::new, intervals);
+            final BitSet expected = bits(intervals);
+            for (int t = -1; t <= RANGE; t++) {
+                assertEquals("contains mismatch at " + t, expected.get(Math.max(t, 0)) && t >= 0, set.contains(t));
+                final AbstractIntervalImpl query = new AbstractIntervalImpl(t, t + 3);
+                final int from = Math.max(t, 0);
+                assertEquals("overlaps mismatch at " + t, expected.nextSetBit(from) >= 0 && expected.nextSetBit(from) < t + 3, set.overlaps(query));
+                final int clear = expected.nextClearBit(from);
+                assertEquals("encloses mismatch at " + t, t >= 0 && clear >= t + 3, set.encloses(query));
+            }
+        }
+    }
+
+    @Test
+    public void testLength() {
+        System.out.println("length");
+        final LocalDateTime base = LocalDateTime.of(2016, 1, 1, 0, 0);
+        final IntervalSet<LocalDateTime, DateTimeInterval> set = IntervalSet.<LocalDateTime, DateTimeInterval>of(DateTimeInterval::of,
+                DateTimeInterval.of(base, Duration.ofHours(2L)), DateTimeInterval.of(base.plusHours(1L), Duration.ofHours(2L)),
+                DateTimeInterval.of(base.plusDays(1L), Duration.ofMinutes(30L)));
+        assertEquals("duration mismatch", Duration.ofMinutes(210L), set.toDuration());
+        assertEquals("length mismatch", 210L, set.length(ChronoUnit.MINUTES));
+    }
+
+}
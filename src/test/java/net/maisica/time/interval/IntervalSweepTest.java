@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class IntervalSweepTest {
+
+    private final Random random = new Random(17L);
+
+    @Test
+    public void testEmpty() {
+        System.out.println("empty");
+        final IntervalSweep<Instant> sweep = IntervalSweep.of(Collections.<InstantInterval>emptyList());
+        assertEquals("max concurrency mismatch", 0, sweep.maxConcurrency());
+        assertNull("peak not null", sweep.peak());
+        assertEquals("covered duration mismatch", Duration.ZERO, sweep.coveredDuration());
+        assertTrue("profile not empty", sweep.profile().isEmpty());
+        assertEquals("concurrency mismatch", 0, sweep.concurrencyAt(Instant.EPOCH));
+    }
+
+    @Test
+    public void testAbutting() {
+        System.out.println("abutting");
+        final List<DateInterval> intervals = Arrays.asList(DateInterval.parse("2016-01-01/2016-01-05"), DateInterval.parse("2016-01-05/2016-01-10"),
+                DateInterval.parse("2016-01-07/2016-01-07"), DateInterval.parse("2016-01-08/2016-01-12"), DateInterval.parse("2016-01-20/2016-01-21"));
+        final IntervalSweep<LocalDate> sweep = IntervalSweep.of(intervals);
+        assertEquals("max concurrency mismatch", 2, sweep.maxConcurrency());
+        assertEquals("peak mismatch", DateInterval.parse("2016-01-08/2016-01-10"), sweep.peak());
+        assertEquals("covered duration mismatch", Duration.ofDays(12L), sweep.coveredDuration());
+        assertEquals("concurrency mismatch", 1, sweep.concurrencyAt(LocalDate.of(2016, 1, 5)));
+        assertEquals("gap concurrency mismatch", 0, sweep.concurrencyAt(LocalDate.of(2016, 1, 15)));
+        final IntervalMap<LocalDate, Integer> expected = new IntervalMap<>();
+        expected.put(DateInterval.parse("2016-01-01/2016-01-08"), 1);
+        expected.put(DateInterval.parse("2016-01-08/2016-01-10"), 2);
+        expected.put(DateInterval.parse("2016-01-10/2016-01-12"), 1);
+        expected.put(DateInterval.parse("2016-01-20/2016-01-21"), 1);
+        assertEquals("profile mismatch", entries(expected), entries(sweep.profile()));
+    }
+
+    @Test
+    public void testZoned() {
+        System.out.println("zoned");
+        final List<ZonedDateTimeInterval> intervals = Arrays.asList(
+                ZonedDateTimeInterval.parse("2016-03-27T00:00+01:00[Europe/Warsaw]/2016-03-27T04:00+02:00[Europe/Warsaw]"),
+                ZonedDateTimeInterval.parse("2016-03-27T00:30Z[UTC]/2016-03-27T01:30Z[UTC]"));
+        final IntervalSweep<ZonedDateTime> sweep = IntervalSweep.of(intervals);
+        assertEquals("max concurrency mismatch", 2, sweep.maxConcurrency());
+        assertEquals("peak start mismatch", Instant.parse("2016-03-27T00:30:00Z"), sweep.peak().getStart().toInstant());
+        assertEquals("peak end mismatch", Instant.parse("2016-03-27T01:30:00Z"), sweep.peak().getEnd().toInstant());
+        assertEquals("covered duration mismatch", Duration.ofHours(3L), sweep.coveredDuration());
+    }
+
+    @Test
+    public void testRandom() {
+        System.out.println("random");
+        final List<InstantInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final Instant start = Instant.ofEpochSecond(random.nextInt(10_000), random.nextInt(4) * 250_000_000);
+            intervals.add(InstantInterval.of(start, start.plusSeconds(random.nextInt(200))));
+        }
+        final IntervalSweep<Instant> sweep = IntervalSweep.of(intervals);
+        final IntervalSweep<Instant> parallel = IntervalSweep.of(intervals.parallelStream());
+        int max = 0;
+        for (final InstantInterval interval : intervals) {
+            if (!interval.isEmpty()) {
+                max = Math.max(max, bruteConcurrency(intervals, interval.getStart()));
+            }
+        }
+        assertEquals("max concurrency mismatch", max, sweep.maxConcurrency());
+        assertEquals("parallel max concurrency mismatch", max, parallel.maxConcurrency());
+        assertEquals("peak concurrency mismatch", max, bruteConcurrency(intervals, sweep.peak().getStart()));
+        final IntervalFactory<Instant, InstantInterval> factory = InstantInterval::of;
+        Duration covered = Duration.ZERO;
+        for (final InstantInterval interval : IntervalSet.of(factory, intervals)) {
+            covered = covered.plus(Duration.between(interval.getStart(), interval.getEnd()));
+        }
+        assertEquals("covered duration mismatch", covered, sweep.coveredDuration());
+        assertEquals("parallel covered duration mismatch", covered, parallel.coveredDuration());
+        assertEquals("parallel profile mismatch", entries(sweep.profile()), entries(parallel.profile()));
+        for (final Map.Entry<Interval<Instant>, Integer> entry : sweep.profile()) {
+            final Instant start = entry.getKey().getStart();
+            assertEquals("profile concurrency mismatch", bruteConcurrency(intervals, start), entry.getValue().intValue());
+            assertEquals("concurrency mismatch", entry.getValue().intValue(), sweep.concurrencyAt(start));
+        }
+        for (int i = 0; i < 200; i++) {
+            final Instant instant = Instant.ofEpochSecond(random.nextInt(10_300), random.nextInt(1_000_000_000));
+            assertEquals("concurrency mismatch", bruteConcurrency(intervals, instant), sweep.concurrencyAt(instant));
+        }
+    }
+
+    @Test
+    public void testOverflow() {
+        System.out.println("overflow");
+        try {
+            IntervalSweep.of(Arrays.asList(InstantInterval.of(Instant.EPOCH, Instant.EPOCH), InstantInterval.of(Instant.EPOCH, Instant.MAX)));
+            fail("exception not thrown");
+        } catch (ArithmeticException ex) {
+            // pass
+        }
+        try {
+            IntervalSweep.of(Arrays.asList(InstantInterval.of(Instant.parse("1800-01-01T00:00:00Z"), Instant.parse("1900-01-01T00:00:00Z")),
+                    InstantInterval.of(Instant.parse("2100-01-01T00:00:00Z"), Instant.parse("2150-01-01T00:00:00Z"))));
+            fail("span overflow not thrown");
+        } catch (ArithmeticException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOtherIntervalType() {
+        System.out.println("other interval type");
+        final DateInterval first = DateInterval.parse("2016-01-01/2016-01-05");
+        final TemporalInterval<LocalDate> proxy = (TemporalInterval<LocalDate>) Proxy.newProxyInstance(TemporalInterval.class.getClassLoader(),
+                new Class<?>[]{TemporalInterval.class}, (object, method, args) -> method.invoke(first, args));
+        final IntervalSweep<LocalDate> sweep = IntervalSweep.of(Arrays.asList(proxy, DateInterval.parse("2016-01-10/2016-01-12")));
+        final IntervalMap<LocalDate, Integer> expected = new IntervalMap<>();
+        expected.put(first, 1);
+        expected.put(DateInterval.parse("2016-01-10/2016-01-12"), 1);
+        assertEquals("profile mismatch", expected, sweep.profile());
+    }
+
+    private static int bruteConcurrency(final List<InstantInterval> intervals, final Instant instant) {
+        int count = 0;
+        for (final InstantInterval interval : intervals) {
+            if (interval.contains(instant)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static <T extends Comparable<? super T>> List<String> entries(final IntervalMap<T, Integer> map) {
+        final List<String> entries = new ArrayList<>();
+        for (final Map.Entry<Interval<T>, Integer> entry : map) {
+            entries.add(entry.getKey() + "=" + entry.getValue());
+        }
+        return entries;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class RecurrenceTest {
+
+    private final Recurrence openingHours = Recurrence.weekly(DayOfWeekInterval.parse("MONDAY/SATURDAY"), TimeInterval.parse("08:00/17:00"))
+            .plus(DayOfWeek.SATURDAY, TimeInterval.parse("10:00/14:00"))
+            .plus(DayOfWeek.FRIDAY, TimeInterval.parse("20:00/23:59:59.999999999"))
+            .except(MonthDayInterval.parse("--12-24/--12-27"));
+
+    @Test
+    public void testIsActive() {
+        System.out.println("isActive");
+        assertTrue("monday morning not active", openingHours.isActive(LocalDateTime.parse("2016-12-19T08:00")));
+        assertFalse("monday evening active", openingHours.isActive(LocalDateTime.parse("2016-12-19T17:00")));
+        assertTrue("saturday not active", openingHours.isActive(LocalDateTime.parse("2016-12-17T13:59:59")));
+        assertFalse("sunday active", openingHours.isActive(LocalDateTime.parse("2016-12-18T12:00")));
+        assertFalse("christmas eve active", openingHours.isActive(LocalDateTime.parse("2016-12-24T12:00")));
+        assertFalse("christmas active", openingHours.isActive(LocalDateTime.parse("2016-12-26T12:00")));
+        assertTrue("after christmas not active", openingHours.isActive(LocalDateTime.parse("2016-12-27T12:00")));
+        assertTrue("friday night not active", openingHours.isActive(LocalDateTime.parse("2016-12-23T23:59:30")));
+        assertTrue("instant not active", openingHours.isActive(Instant.parse("2016-12-19T07:30:00Z"), ZoneId.of("Europe/Warsaw")));
+        assertFalse("never active", Recurrence.never().isActive(LocalDateTime.parse("2016-12-19T08:00")));
+        assertTrue("daily not active", Recurrence.daily(TimeInterval.parse("00:00/01:00")).isActive(LocalDateTime.parse("2016-12-25T00:30")));
+        final Recurrence summer = Recurrence.daily(TimeInterval.parse("06:00/22:00")).only(MonthDayInterval.parse("--06-01/--09-01"))
+                .except(MonthDay.of(8, 15));
+        assertTrue("summer not active", summer.isActive(LocalDateTime.parse("2016-07-01T06:00")));
+        assertFalse("holiday active", summer.isActive(LocalDateTime.parse("2016-08-15T12:00")));
+        assertFalse("winter active", summer.isActive(LocalDateTime.parse("2016-12-01T12:00")));
+    }
+
+    @Test
+    public void testOccurrences() {
+        System.out.println("occurrences");
+        assertEquals("next mismatch", DateTimeInterval.parse("2016-12-19T08:00/2016-12-19T17:00"),
+                openingHours.nextOccurrence(LocalDateTime.parse("2016-12-17T14:00")));
+        assertEquals("next inside mismatch", DateTimeInterval.parse("2016-12-20T08:00/2016-12-20T17:00"),
+                openingHours.nextOccurrence(LocalDateTime.parse("2016-12-19T08:00:01")));
+        assertEquals("next at start mismatch", DateTimeInterval.parse("2016-12-19T08:00/2016-12-19T17:00"),
+                openingHours.nextOccurrence(LocalDateTime.parse("2016-12-19T08:00")));
+        assertEquals("next after christmas mismatch", DateTimeInterval.parse("2016-12-27T08:00/2016-12-27T17:00"),
+                openingHours.nextOccurrence(LocalDateTime.parse("2016-12-23T23:00")));
+        assertEquals("night mismatch", DateTimeInterval.parse("2016-12-16T20:00/2016-12-17T00:00"),
+                openingHours.occurrenceAt(LocalDateTime.parse("2016-12-16T23:00")));
+        assertEquals("previous mismatch", DateTimeInterval.parse("2016-12-16T20:00/2016-12-17T00:00"),
+                openingHours.previousOccurrence(LocalDateTime.parse("2016-12-17T10:00")));
+        assertEquals("previous inside mismatch", DateTimeInterval.parse("2016-12-17T10:00/2016-12-17T14:00"),
+                openingHours.previousOccurrence(LocalDateTime.parse("2016-12-17T10:00:01")));
+        assertEquals("previous before christmas mismatch", DateTimeInterval.parse("2016-12-23T20:00/2016-12-24T00:00"),
+                openingHours.previousOccurrence(LocalDateTime.parse("2016-12-27T08:00")));
+        assertNull("never next not null", Recurrence.never().nextOccurrence(LocalDateTime.parse("2016-12-19T08:00")));
+        final Recurrence leap = Recurrence.weekly(DayOfWeekInterval.parse("MONDAY/TUESDAY"), TimeInterval.parse("12:00/13:00"))
+                .only(MonthDayInterval.parse("--02-29/--03-01"));
+        assertEquals("leap monday mismatch", DateTimeInterval.parse("2044-02-29T12:00/2044-02-29T13:00"),
+                leap.nextOccurrence(LocalDateTime.parse("2016-03-01T00:00")));
+        final List<DateTimeInterval> week = openingHours.occurrences(DateTimeInterval.parse("2016-12-16T21:00/2016-12-20T09:00"))
+                .collect(Collectors.toList());
+        assertEquals("occurrences mismatch", Arrays.asList(DateTimeInterval.parse("2016-12-16T21:00/2016-12-17T00:00"),
+                DateTimeInterval.parse("2016-12-17T10:00/2016-12-17T14:00"), DateTimeInterval.parse("2016-12-19T08:00/2016-12-19T17:00"),
+                DateTimeInterval.parse("2016-12-20T08:00/2016-12-20T09:00")), week);
+    }
+
+    @Test
+    public void testRandom() {
+        System.out.println("random");
+        final Random random = new Random(21L);
+        final DateTimeInterval range = DateTimeInterval.parse("2016-12-01T00:00/2017-01-15T00:00");
+        final List<DateTimeInterval> occurrences = openingHours.occurrences(range).collect(Collectors.toList());
+        final List<LocalDateTime> active = new ArrayList<>();
+        for (LocalDateTime t = range.getStart(); t.isBefore(range.getEnd()); t = t.plusMinutes(1L)) {
+            if (openingHours.isActive(t)) {
+                active.add(t);
+            }
+        }
+        final List<LocalDateTime> expanded = new ArrayList<>();
+        occurrences.forEach(o -> o.stream(java.time.Duration.ofMinutes(1L)).forEach(expanded::add));
+        assertEquals("expanded minutes mismatch", active, expanded);
+        for (int i = 0; i < 200; i++) {
+            final LocalDateTime t = range.getStart().plusSeconds(random.nextInt(40 * 86400));
+            final DateTimeInterval next = openingHours.nextOccurrence(t);
+            final DateTimeInterval expected = occurrences.stream().filter(o -> !o.getStart().isBefore(t)).findFirst().orElse(null);
+            assertEquals("next mismatch at " + t, expected, next);
+            final DateTimeInterval previous = openingHours.previousOccurrence(t);
+            final List<DateTimeInterval> before = occurrences.stream().filter(o -> o.getStart().isBefore(t)).collect(Collectors.toList());
+            if (!before.isEmpty()) {
+                assertEquals("previous mismatch at " + t, before.get(before.size() - 1), previous);
+            }
+        }
+    }
+
+}
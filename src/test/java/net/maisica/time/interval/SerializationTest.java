@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SerializationTest {
+
+    private static final List<Interval<?>> SAMPLES = Arrays.asList(
+            DateInterval.parse("2016-01-01/2016-02-01"),
+            DateTimeInterval.parse("2016-01-01T10:00/2016-01-01T12:30:15.5"),
+            DayOfWeekInterval.of(DayOfWeek.MONDAY, DayOfWeek.SUNDAY),
+            InstantInterval.parse("1916-01-01T00:00:00Z/2016-01-01T00:00:01.000000001Z"),
+            MonthDayInterval.parse("--01-01/--02-29"),
+            MonthInterval.of(Month.JANUARY, Month.DECEMBER),
+            OffsetDateTimeInterval.parse("2016-01-01T10:00+01:00/2016-01-01T12:00-05:30"),
+            OffsetTimeInterval.parse("10:00+01:00/12:00+01:00:30"),
+            TimeInterval.parse("10:00/23:59:59.999999999"),
+            YearInterval.parse("-2016/2017"),
+            YearMonthInterval.parse("-0001-12/2016-03"),
+            ZoneOffsetInterval.parse("+18:00/-18:00"),
+            ZonedDateTimeInterval.parse("2016-10-30T02:30+02:00[Europe/Warsaw]/2016-10-30T02:30+01:00[Europe/Warsaw]"),
+            ZonedDateTimeInterval.parse("2016-01-01T10:00+01:00[CET]/2016-01-01T12:00-05:00[America/New_York]"),
+            ZonedDateTimeInterval.parse("2016-01-01T10:00Z/2016-01-01T12:00+01:00"));
+
+    @Test
+    public void testRoundTrip() throws IOException, ClassNotFoundException {
+        System.out.println("roundTrip");
+        for (final Interval<?> interval : SAMPLES) {
+            final Object copy = deserialize(serialize(interval));
+            assertEquals("copy mismatch", interval, copy);
+            assertEquals("text mismatch", interval.toString(), copy.toString());
+        }
+        final List<Interval<?>> copy = deserialize(serialize(new ArrayList<>(SAMPLES)));
+        assertEquals("list mismatch", SAMPLES, copy);
+    }
+
+    @Test
+    public void testSize() throws IOException {
+        System.out.println("size");
+        for (final Interval<?> interval : SAMPLES) {
+            final int size = serialize(interval).length;
+            final int bounds = serialize(new Object[]{interval.getStart(), interval.getEnd()}).length;
+            assertTrue("not smaller than bounds", size < bounds);
+        }
+        final Random random = new Random(42L);
+        final List<Interval<?>> intervals = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final LocalDateTime start = LocalDateTime.of(2016, 1, 1, 0, 0).plusSeconds(random.nextInt(100000000));
+            intervals.add(DateTimeInterval.of(start, start.plusMinutes(random.nextInt(1000))));
+            final Instant instant = Instant.ofEpochMilli(1451606400000L + random.nextInt(Integer.MAX_VALUE));
+            intervals.add(InstantInterval.of(instant, instant.plusMillis(random.nextInt(100000))));
+            final ZonedDateTime zoned = start.atZone(ZoneId.of("Europe/Warsaw"));
+            intervals.add(ZonedDateTimeInterval.of(zoned, zoned.plusHours(random.nextInt(100))));
+        }
+        final List<Object> bounds = new ArrayList<>();
+        for (final Interval<?> interval : intervals) {
+            bounds.add(interval.getStart());
+            bounds.add(interval.getEnd());
+        }
+        final int size = serialize(intervals.toArray()).length;
+        final int boundsSize = serialize(bounds.toArray()).length;
+        assertTrue("batch not half of bounds", 2 * size < boundsSize);
+    }
+
+    @Test
+    public void testProxyRequired() throws IOException, ClassNotFoundException {
+        System.out.println("proxyRequired");
+        final byte[] data = serialize(DateInterval.parse("2016-01-01/2016-02-01"));
+        final String text = new String(data, "ISO-8859-1");
+        assertTrue("proxy not used", text.contains("net.maisica.time.interval.Ser"));
+        assertFalse("interval class written", text.contains("DateInterval"));
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T deserialize(final byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (T) in.readObject();
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.util.Random;
+import net.maisica.time.span.InstantSpan;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class TimeBucketerTest {
+
+    private final Random random = new Random(16L);
+
+    @Test
+    public void testFixed() {
+        System.out.println("fixed");
+        assertBuckets(InstantInterval.parse("2016-01-01T00:00:00.5Z/2016-01-02T00:00:00Z"), Duration.ofMinutes(7L), ChronoUnit.MILLIS);
+        assertBuckets(DateTimeInterval.parse("2016-01-01T00:00/2016-02-01T00:00"), Duration.ofHours(5L), ChronoUnit.SECONDS);
+        assertBuckets(DateInterval.parse("2016-01-01/2017-01-01"), Period.ofWeeks(1), ChronoUnit.DAYS);
+        assertBuckets(TimeInterval.parse("08:00/16:40"), Duration.ofSeconds(61L), ChronoUnit.NANOS);
+        assertBuckets(OffsetTimeInterval.parse("08:00+01:00/16:40+01:00"), Duration.ofMinutes(15L), ChronoUnit.SECONDS);
+        assertBuckets(ZonedDateTimeInterval.parse("2016-03-26T00:00+01:00[Europe/Warsaw]/2016-03-29T00:00+02:00[Europe/Warsaw]"), Duration.ofHours(1L),
+                ChronoUnit.SECONDS);
+    }
+
+    @Test
+    public void testCalendar() {
+        System.out.println("calendar");
+        final TimeBucketer<LocalDate> months = TimeBucketer.of(DateInterval.parse("2016-01-31/2017-01-15"), Period.ofMonths(1));
+        assertEquals("month count mismatch", 12L, months.count());
+        assertEquals("second month mismatch", DateInterval.parse("2016-02-29/2016-03-31"), months.bucketInterval(1L));
+        assertEquals("last month mismatch", DateInterval.parse("2016-12-31/2017-01-15"), months.bucketInterval(11L));
+        assertEquals("leap day index mismatch", 1L, months.bucketIndex(LocalDate.of(2016, 2, 29)));
+        assertEquals("month end index mismatch", 1L, months.bucketIndex(LocalDate.of(2016, 3, 30)));
+        assertBuckets(DateInterval.parse("2016-01-31/2017-01-15"), Period.ofMonths(1), ChronoUnit.DAYS);
+        assertBuckets(DateTimeInterval.parse("2016-01-31T12:00/2020-01-15T00:00"), Period.ofMonths(5), ChronoUnit.HOURS);
+        final ZonedDateTimeInterval zoned = ZonedDateTimeInterval.parse("2016-03-25T12:00+01:00[Europe/Warsaw]/2016-03-29T00:00+02:00[Europe/Warsaw]");
+        final TimeBucketer<ZonedDateTime> days = TimeBucketer.of(zoned, Period.ofDays(1));
+        assertEquals("short day mismatch", Duration.ofHours(23L), days.bucketInterval(1L).toDuration());
+        assertEquals("zoned index mismatch", 2L, days.bucketIndex(ZonedDateTime.parse("2016-03-27T12:00+02:00[Europe/Warsaw]")));
+        assertEquals("zoned epoch millis mismatch", 2L, days.bucketIndex(ZonedDateTime.parse("2016-03-27T12:00+02:00[Europe/Warsaw]").toInstant().toEpochMilli()));
+        assertBuckets(zoned, Period.ofDays(1), ChronoUnit.MINUTES);
+    }
+
+    @Test
+    public void testEpochMilli() {
+        System.out.println("epochMilli");
+        final TimeBucketer<Instant> bucketer = TimeBucketer.of(InstantSpan.parse("2016-01-01T00:00:00Z/PT1H0.5S"), Duration.ofMinutes(1L));
+        assertEquals("count mismatch", 61L, bucketer.count());
+        assertTrue("slow path", bucketer.isMilliStep());
+        final long start = Instant.parse("2016-01-01T00:00:00Z").toEpochMilli();
+        assertEquals("first mismatch", 0L, bucketer.bucketIndex(start));
+        assertEquals("before mismatch", -1L, bucketer.bucketIndex(start - 1L));
+        assertEquals("bucket mismatch", 59L, bucketer.bucketIndex(start + 3599999L));
+        assertEquals("last mismatch", 60L, bucketer.bucketIndex(start + 3600499L));
+        assertEquals("end mismatch", -1L, bucketer.bucketIndex(start + 3600500L));
+        assertEquals("start millis mismatch", start + 60000L, bucketer.bucketStartEpochMilli(1L));
+        assertEquals("last interval mismatch", InstantInterval.parse("2016-01-01T01:00:00Z/2016-01-01T01:00:00.5Z"), bucketer.bucketInterval(60L));
+        try {
+            bucketer.bucketStartEpochMilli(61L);
+            fail("index after end accepted");
+        } catch (final IndexOutOfBoundsException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testEpochMilliRange() {
+        System.out.println("epochMilli range");
+        final TimeBucketer<Instant> present = TimeBucketer.of(InstantSpan.parse("2026-10-18T00:00:00Z/P1D"), Duration.ofHours(1L));
+        assertTrue("present-day slow path", present.isMilliStep());
+        final long start = Instant.parse("2026-10-18T13:30:00Z").toEpochMilli();
+        assertEquals("present-day mismatch", 13L, present.bucketIndex(start));
+        final Instant first = Instant.ofEpochSecond(1L - Long.MAX_VALUE / 1000L);
+        final TimeBucketer<Instant> far = TimeBucketer.of(InstantInterval.of(first, Instant.MAX), Duration.ofDays(365L));
+        assertTrue("far slow path", far.isMilliStep());
+        assertEquals("far mismatch", far.bucketIndex(Instant.ofEpochMilli(Long.MAX_VALUE)), far.bucketIndex(Long.MAX_VALUE));
+        assertEquals("far start mismatch", 0L, far.bucketIndex(first.toEpochMilli()));
+        assertEquals("far before mismatch", -1L, far.bucketIndex(Long.MIN_VALUE));
+        final TimeBucketer<Instant> sub = TimeBucketer.of(InstantSpan.parse("2026-10-18T00:00:00.000000001Z/PT1H"), Duration.ofMinutes(1L));
+        assertFalse("sub-milli fast path", sub.isMilliStep());
+    }
+
+    @Test
+    public void testInvalid() {
+        System.out.println("invalid");
+        final DateTimeInterval interval = DateTimeInterval.parse("2016-01-01T00:00/2016-02-01T00:00");
+        for (final TemporalAmount step : new TemporalAmount[]{Duration.ZERO, Period.ofMonths(-1), Period.of(0, 1, 1)}) {
+            try {
+                TimeBucketer.of(interval, step);
+                fail("step accepted " + step);
+            } catch (final IllegalArgumentException ex) {
+                // pass
+            }
+        }
+        assertNull("outside bucket", TimeBucketer.of(interval, Duration.ofDays(1L)).bucketOf(LocalDateTime.of(2016, 2, 1, 0, 0)));
+        assertEquals("empty count mismatch", 0L, TimeBucketer.of(DateTimeInterval.parse("2016-01-01T00:00/2016-01-01T00:00"), Period.ofMonths(1)).count());
+    }
+
+    private <T extends Temporal & Comparable<? super T>> void assertBuckets(final TemporalInterval<T> interval, final TemporalAmount step, final ChronoUnit unit) {
+        final TimeBucketer<T> bucketer = TimeBucketer.of(interval, step);
+        final long length = interval.getStart().until(interval.getEnd(), unit);
+        TemporalInterval<T> previous = null;
+        for (long i = 0; i < bucketer.count(); i++) {
+            final TemporalInterval<T> bucket = bucketer.bucketInterval(i);
+            assertEquals("bucket type mismatch", interval.getClass(), bucket.getClass());
+            assertFalse("empty bucket " + bucket, bucket.isEmpty());
+            assertTrue("bucket not enclosed " + bucket, interval.encloses(bucket));
+            assertTrue("gap before " + bucket, previous == null ? bucket.getStart().equals(interval.getStart()) : previous.getEnd().equals(bucket.getStart()));
+            assertEquals("start index mismatch " + bucket, i, bucketer.bucketIndex(bucket.getStart()));
+            previous = bucket;
+        }
+        assertTrue("buckets do not end at end", previous == null || previous.getEnd().equals(interval.getEnd()));
+        for (int n = 0; n < 1000; n++) {
+            @SuppressWarnings("unchecked")
+            final T temporal = (T) interval.getStart().plus((long) (random.nextDouble() * length), unit);
+            final long index = bucketer.bucketIndex(temporal);
+            assertTrue("bucket mismatch for " + temporal, index >= 0L && bucketer.bucketInterval(index).contains(temporal));
+            assertEquals("bucket of mismatch for " + temporal, bucketer.bucketInterval(index), bucketer.bucketOf(temporal));
+        }
+        assertEquals("end index mismatch", -1L, bucketer.bucketIndex(interval.getEnd()));
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.interval;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import net.maisica.time.span.InstantSpan;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class TimingWheelTest {
+
+    private static final class ManualClock extends Clock {
+
+        private Instant instant;
+
+        ManualClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+    private final Instant origin = Instant.parse("2016-12-19T08:00:00Z");
+
+    @Test
+    public void testAdvance() {
+        System.out.println("advance");
+        final ManualClock clock = new ManualClock(origin);
+        final TimingWheel<String> wheel = new TimingWheel<>(clock, Duration.ofSeconds(1L), 4);
+        wheel.schedule(InstantSpan.of(origin, Duration.ofSeconds(3L)), "span");
+        wheel.schedule(InstantInterval.of(origin, origin.plusSeconds(100L)), "interval");
+        wheel.schedule(origin.plusMillis(2500L), "rounded");
+        wheel.schedule(origin.minusSeconds(10L), "past");
+        assertEquals("size mismatch", 4, wheel.size());
+        final List<List<String>> batches = new ArrayList<>();
+        assertEquals("past count mismatch", 1, wheel.advance(batches::add));
+        assertEquals("past batch mismatch", Arrays.asList(Arrays.asList("past")), batches);
+        clock.advance(Duration.ofMillis(2999L));
+        assertEquals("early count mismatch", 0, wheel.advance(batches::add));
+        clock.advance(Duration.ofMillis(1L));
+        assertEquals("due count mismatch", 2, wheel.advance(batches::add));
+        assertEquals("due batch mismatch", Arrays.asList("span", "rounded"), batches.get(1));
+        clock.advance(Duration.ofSeconds(96L));
+        assertEquals("interval early", 0, wheel.advance(batches::add));
+        clock.advance(Duration.ofSeconds(1L));
+        assertEquals("interval not due", 1, wheel.advance(batches::add));
+        assertEquals("interval batch mismatch", Arrays.asList("interval"), batches.get(2));
+        assertEquals("size not zero", 0, wheel.size());
+        clock.advance(Duration.ofDays(10000L));
+        assertEquals("idle count mismatch", 0, wheel.advance(batches::add));
+        assertEquals("batches mismatch", 3, batches.size());
+    }
+
+    @Test
+    public void testCancel() {
+        System.out.println("cancel");
+        final ManualClock clock = new ManualClock(origin);
+        final TimingWheel<Integer> wheel = new TimingWheel<>(clock, Duration.ofMillis(10L));
+        final TimingWheel.Timeout<Integer> kept = wheel.schedule(origin.plusSeconds(5L), 1);
+        final TimingWheel.Timeout<Integer> cancelled = wheel.schedule(origin.plusSeconds(5L), 2);
+        final TimingWheel.Timeout<Integer> far = wheel.schedule(origin.plus(Duration.ofDays(400L)), 3);
+        assertTrue("not cancelled", cancelled.cancel());
+        assertFalse("cancelled twice", cancelled.cancel());
+        assertTrue("far not cancelled", far.cancel());
+        assertTrue("cancelled state mismatch", cancelled.isCancelled());
+        assertEquals("size mismatch", 1, wheel.size());
+        clock.advance(Duration.ofSeconds(5L));
+        final List<Integer> expired = new ArrayList<>();
+        wheel.advance(expired::addAll);
+        assertEquals("expired mismatch", Collections.singletonList(1), expired);
+        assertTrue("expired state mismatch", kept.isExpired());
+        assertFalse("expired cancelled", kept.cancel());
+        assertEquals("element mismatch", Integer.valueOf(1), kept.getElement());
+    }
+
+    private long tick(final Instant deadline) {
+        final long nanos = Duration.between(origin, deadline).toNanos();
+        return (nanos + 999999L) / 1000000L;
+    }
+
+    @Test
+    public void testRandomDeadlines() {
+        System.out.println("randomDeadlines");
+        final ManualClock clock = new ManualClock(origin);
+        final TimingWheel<Instant> wheel = new TimingWheel<>(clock, Duration.ofMillis(1L), 8);
+        final Random random = new Random(42L);
+        final List<Instant> deadlines = new ArrayList<>();
+        final List<TimingWheel.Timeout<Instant>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final Instant deadline = origin.plusMillis(random.nextInt(i % 10 == 0 ? 100000000 : 100000)).plusNanos(random.nextInt(1000000));
+            timeouts.add(wheel.schedule(deadline, deadline));
+        }
+        for (final TimingWheel.Timeout<Instant> timeout : timeouts) {
+            if (random.nextInt(4) == 0) {
+                timeout.cancel();
+            } else {
+                deadlines.add(timeout.getElement());
+            }
+        }
+        Collections.sort(deadlines);
+        final List<Instant> expired = new ArrayList<>();
+        while (wheel.size() > 0) {
+            clock.advance(Duration.ofMillis(random.nextInt(3) == 0 ? random.nextInt(5000000) : random.nextInt(50)));
+            final Instant now = clock.instant();
+            wheel.advance(batch -> {
+                for (final Instant deadline : batch) {
+                    assertFalse("expired early", deadline.isAfter(now));
+                    assertTrue("not ordered by tick", expired.isEmpty() || tick(deadline) >= tick(expired.get(expired.size() - 1)));
+                    expired.add(deadline);
+                }
+            });
+            for (int i = expired.size(); i < deadlines.size() && !deadlines.get(i).plusMillis(1L).isAfter(now); i++) {
+                fail("not expired at " + now + ": " + deadlines.get(i));
+            }
+        }
+        final List<Instant> sorted = new ArrayList<>(expired);
+        Collections.sort(sorted);
+        assertEquals("expired mismatch", deadlines, sorted);
+    }
+
+    @Test
+    public void testConstructor() {
+        System.out.println("constructor");
+        final Clock clock = Clock.fixed(origin, ZoneOffset.UTC);
+        try {
+            new TimingWheel<String>(clock, Duration.ZERO);
+            fail("zero tick accepted");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+        try {
+            new TimingWheel<String>(clock, Duration.ofMillis(1L), 100);
+            fail("slots not a power of two accepted");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.span;
+
+import java.time.Duration;
+import java.time.Instant;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class InstantSpanTest {
+
+    private final InstantSpan span = InstantSpan.parse("2016-01-01T00:00:00Z/PT10.5S");
+
+    @Test
+    public void testOfEpochMillis() {
+        System.out.println("ofEpochMillis");
+        assertEquals("positive mismatch", InstantSpan.of(Instant.ofEpochMilli(1500L), Duration.ofMillis(1250L)), InstantSpan.ofEpochMillis(1500L, 1250L));
+        assertEquals("negative mismatch", InstantSpan.of(Instant.ofEpochMilli(-1500L), Duration.ofMillis(1L)), InstantSpan.ofEpochMillis(-1500L, 1L));
+        try {
+            InstantSpan.ofEpochMillis(0L, -1L);
+            fail("negative duration permitted");
+        } catch (IllegalArgumentException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testOfEpochNanos() {
+        System.out.println("ofEpochNanos");
+        assertEquals("mismatch", InstantSpan.of(Instant.ofEpochSecond(0L, -5L), Duration.ofNanos(1000000007L)), InstantSpan.ofEpochNanos(-5L, 1000000007L));
+    }
+
+    @Test
+    public void testComputeEnd() {
+        System.out.println("computeEnd");
+        assertEquals("end mismatch", Instant.parse("2016-01-01T00:00:10.5Z"), span.computeEnd());
+        assertEquals("interval mismatch", span.getStart(), span.toInterval().getStart());
+        assertEquals("interval mismatch", span.computeEnd(), span.toInterval().getEnd());
+    }
+
+    @Test
+    public void testEquals() {
+        System.out.println("equals");
+        final InstantSpan sample = InstantSpan.of(span.getStart(), span.getDuration());
+        assertEquals("not equal", span, sample);
+        assertEquals("hash code mismatch", span.hashCode(), sample.hashCode());
+        assertNotEquals("equal", span, span.withDuration(Duration.ofSeconds(10L)));
+        assertEquals("text mismatch", "2016-01-01T00:00:00Z/PT10.5S", span.toString());
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.span;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SerializationTest {
+
+    private static final List<Span<?, ?>> SAMPLES = Arrays.asList(
+            DateSpan.of(LocalDate.of(2016, 1, 1), Duration.ofDays(31L)),
+            DateTimeSpan.parse("2016-01-01T10:00/PT2H30M15.5S"),
+            InstantSpan.parse("1916-01-01T00:00:00.000001Z/PT876000H0.000000001S"),
+            OffsetDateTimeSpan.parse("2016-01-01T10:00+01:00/PT2H"),
+            OffsetTimeSpan.parse("10:00-05:30/PT2H"),
+            TimeSpan.parse("10:00/PT0S"),
+            YearMonthSpan.of(YearMonth.of(-1, 12), Duration.ofDays(365L)),
+            YearSpan.of(Year.of(2016), Duration.ofDays(366L)),
+            ZonedDateTimeSpan.parse("2016-10-30T02:30+02:00[Europe/Warsaw]/PT1H"),
+            ZonedDateTimeSpan.parse("2016-10-30T02:30+02:00/PT1H"));
+
+    @Test
+    public void testRoundTrip() throws IOException, ClassNotFoundException {
+        System.out.println("roundTrip");
+        for (final Span<?, ?> span : SAMPLES) {
+            final Object copy = deserialize(serialize(span));
+            assertEquals("copy mismatch", span, copy);
+            assertEquals("start mismatch", span.getStart().toString(), ((Span<?, ?>) copy).getStart().toString());
+        }
+        final List<Span<?, ?>> copy = deserialize(serialize(new ArrayList<>(SAMPLES)));
+        assertEquals("list mismatch", SAMPLES, copy);
+    }
+
+    @Test
+    public void testSize() throws IOException {
+        System.out.println("size");
+        for (final Span<?, ?> span : SAMPLES) {
+            final int size = serialize(span).length;
+            final int fields = serialize(new Object[]{span.getStart(), span.getDuration()}).length;
+            assertTrue("not smaller than fields", size < fields);
+        }
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T deserialize(final byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (T) in.readObject();
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.span;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class SpanInternerTest {
+
+    @Test
+    public void testCreateSpan() {
+        System.out.println("createSpan");
+        final SpanInterner<LocalDateTime, Duration, DateTimeSpan> interner = SpanInterner.of(DateTimeSpan::of);
+        final LocalDateTime start = LocalDateTime.of(2016, 1, 1, 8, 0);
+        final DateTimeSpan span = interner.createSpan(start, Duration.ofHours(8));
+        assertEquals("span mismatch", DateTimeSpan.parse("2016-01-01T08:00/PT8H"), span);
+        assertSame("span not canonical", span, interner.createSpan(start, Duration.ofHours(8)));
+        assertSame("interned span not canonical", span, interner.intern(DateTimeSpan.parse("2016-01-01T08:00/PT8H")));
+        assertNotSame("different span shared", span, interner.createSpan(start, Duration.ofHours(9)));
+        assertEquals("size mismatch", 2, interner.size());
+    }
+
+    @Test
+    public void testInstantSpan() {
+        System.out.println("instant span");
+        final SpanInterner<Instant, Duration, InstantSpan> interner = SpanInterner.of(InstantSpan::of);
+        final InstantSpan span = interner.intern(InstantSpan.parse("2016-01-01T00:00:00Z/PT1H"));
+        assertSame("packed span not canonical", span, interner.createSpan(span.getStart(), Duration.ofHours(1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateSpanNegative() {
+        System.out.println("createSpan negative");
+        final SpanInterner<LocalDateTime, Duration, DateTimeSpan> interner = SpanInterner.of(DateTimeSpan::of);
+        interner.createSpan(LocalDateTime.of(2016, 1, 1, 0, 0), Duration.ofHours(-1));
+    }
+
+}
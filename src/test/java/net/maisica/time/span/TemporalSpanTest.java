@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Kamil Becmer <kamil.becmer at maisica.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.maisica.time.span;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class TemporalSpanTest {
+
+    @Test
+    public void testStreamMonths() {
+        System.out.println("stream months");
+        final DateTimeSpan span = DateTimeSpan.parse("2016-01-31T12:00/PT1440H");
+        assertEquals("month mismatch", Arrays.asList(LocalDateTime.of(2016, 1, 31, 12, 0), LocalDateTime.of(2016, 2, 29, 12, 0), LocalDateTime.of(2016, 3, 29, 12, 0)),
+                span.stream(Period.ofMonths(1)).collect(Collectors.toList()));
+        assertEquals("month count mismatch", 3L, span.count(Period.ofMonths(1)));
+        final DateSpan dates = DateSpan.of(LocalDate.of(2016, 1, 31), Duration.ofDays(60L).plusNanos(1L));
+        assertEquals("date month mismatch", Arrays.asList(LocalDate.of(2016, 1, 31), LocalDate.of(2016, 2, 29), LocalDate.of(2016, 3, 29)),
+                dates.stream(Period.ofMonths(1)).collect(Collectors.toList()));
+        final ZonedDateTimeSpan zoned = ZonedDateTimeSpan.parse("2016-03-26T12:00+01:00[Europe/Warsaw]/PT47H");
+        assertEquals("zoned day mismatch", Arrays.asList(ZonedDateTime.parse("2016-03-26T12:00+01:00[Europe/Warsaw]"),
+                ZonedDateTime.parse("2016-03-27T12:00+02:00[Europe/Warsaw]")), zoned.stream(Period.ofDays(1)).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testStreamBeyondMax() {
+        System.out.println("stream beyond max");
+        final DateTimeSpan span = DateTimeSpan.of(LocalDateTime.MAX.minusMonths(3L), Duration.ofSeconds(Long.MAX_VALUE));
+        assertEquals("month count mismatch", 4L, span.stream(Period.ofMonths(1)).count());
+    }
+
+    @Test
+    public void testQuantize() {
+        System.out.println("quantize");
+        final InstantSpan span = InstantSpan.parse("2016-01-01T00:00:00Z/PT10H30M");
+        assertEquals("quanta mismatch", 10L, span.quantize(Duration.ofHours(1L)).count());
+        assertEquals("exact quanta mismatch", 21L, span.quantize(Duration.ofMinutes(30L)).count());
+        assertEquals("short span mismatch", 0L, span.quantize(Duration.ofHours(11L)).count());
+        assertEquals("last quant mismatch", Instant.parse("2016-01-01T10:00:00Z"), span.quantize(Duration.ofMinutes(30L)).reduce((a, b) -> b).get());
+        try {
+            span.quantize(Duration.ZERO);
+            fail("zero quant accepted");
+        } catch (final IllegalArgumentException ex) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testQuantizeLong() {
+        System.out.println("quantize long");
+        final DateTimeSpan span = DateTimeSpan.of(LocalDateTime.of(2000, 1, 1, 0, 0), Duration.ofDays(1000L * 366L));
+        assertEquals("day quanta mismatch", 1000L * 366L, span.quantize(Duration.ofDays(1L)).count());
+        assertEquals("last day mismatch", LocalDateTime.of(2000, 1, 1, 0, 0).plusDays(1000L * 366L - 1L),
+                span.quantize(Duration.ofDays(1L)).skip(1000L * 366L - 1L).findFirst().get());
+        assertEquals("nano quanta mismatch", Arrays.asList(span.getStart(), span.getStart().plusNanos(1L)),
+                span.quantize(Duration.ofNanos(1L)).limit(2L).collect(Collectors.toList()));
+        assertEquals("nano quanta beyond long sized", -1L, span.quantize(Duration.ofNanos(1L)).spliterator().getExactSizeIfKnown());
+    }
+
+}